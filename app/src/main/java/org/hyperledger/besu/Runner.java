@@ -27,7 +27,10 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.ipc.JsonRpcIpcService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.WebSocketService;
 import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionLogBloomCachingService;
+import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionLogIndexingService;
+import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionTraceIndexingService;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndex;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolEvictionService;
 import org.hyperledger.besu.ethereum.p2p.network.NetworkRunner;
@@ -88,6 +91,8 @@ public class Runner implements AutoCloseable {
   private final Path dataDir;
   private final Optional<AutoTransactionLogBloomCachingService>
       autoTransactionLogBloomCachingService;
+  private final Optional<AutoTransactionLogIndexingService> autoTransactionLogIndexingService;
+  private final Optional<AutoTransactionTraceIndexingService> autoTransactionTraceIndexingService;
   private ScheduledExecutorService ephemeryService;
   private final long ephemeryCycle = TimeUnit.DAYS.toSeconds(28);
 
@@ -109,6 +114,8 @@ public class Runner implements AutoCloseable {
    * @param dataDir the data dir
    * @param pidPath the pid path
    * @param transactionLogBloomCacher the transaction log bloom cacher
+   * @param transactionLogIndex the transaction log index
+   * @param autoTransactionTraceIndexingService the service maintaining the transaction trace index
    * @param blockchain the blockchain
    */
   Runner(
@@ -127,6 +134,8 @@ public class Runner implements AutoCloseable {
       final Path dataDir,
       final Optional<Path> pidPath,
       final Optional<TransactionLogBloomCacher> transactionLogBloomCacher,
+      final Optional<TransactionLogIndex> transactionLogIndex,
+      final Optional<AutoTransactionTraceIndexingService> autoTransactionTraceIndexingService,
       final Blockchain blockchain) {
     this.vertx = vertx;
     this.networkRunner = networkRunner;
@@ -145,6 +154,9 @@ public class Runner implements AutoCloseable {
     this.autoTransactionLogBloomCachingService =
         transactionLogBloomCacher.map(
             cacher -> new AutoTransactionLogBloomCachingService(blockchain, cacher));
+    this.autoTransactionLogIndexingService =
+        transactionLogIndex.map(index -> new AutoTransactionLogIndexingService(blockchain, index));
+    this.autoTransactionTraceIndexingService = autoTransactionTraceIndexingService;
     this.transactionPoolEvictionService =
         new TransactionPoolEvictionService(vertx, besuController.getTransactionPool());
   }
@@ -163,6 +175,8 @@ public class Runner implements AutoCloseable {
             waitForServiceToStart(
                 "ipcJsonRpc", service.start().toCompletionStage().toCompletableFuture()));
     autoTransactionLogBloomCachingService.ifPresent(AutoTransactionLogBloomCachingService::start);
+    autoTransactionLogIndexingService.ifPresent(AutoTransactionLogIndexingService::start);
+    autoTransactionTraceIndexingService.ifPresent(AutoTransactionTraceIndexingService::start);
   }
 
   private void startExternalServicePostMainLoop() {
@@ -318,6 +332,8 @@ public class Runner implements AutoCloseable {
     networkRunner.stop();
     waitForServiceToStop("Network", networkRunner::awaitStop);
     autoTransactionLogBloomCachingService.ifPresent(AutoTransactionLogBloomCachingService::stop);
+    autoTransactionLogIndexingService.ifPresent(AutoTransactionLogIndexingService::stop);
+    autoTransactionTraceIndexingService.ifPresent(AutoTransactionTraceIndexingService::stop);
     natService.stop();
     besuController.close();
   }
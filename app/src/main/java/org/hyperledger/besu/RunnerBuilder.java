@@ -63,6 +63,9 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.pending.
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.pending.PendingTransactionSubscriptionService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.syncing.SyncingSubscriptionService;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionTraceIndexingService;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndex;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionTraceIndex;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.MiningConfiguration;
@@ -105,6 +108,7 @@ import org.hyperledger.besu.ethereum.permissioning.node.InsufficientPeersPermiss
 import org.hyperledger.besu.ethereum.permissioning.node.NodePermissioningController;
 import org.hyperledger.besu.ethereum.permissioning.node.PeerPermissionsAdapter;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethstats.EthStatsService;
 import org.hyperledger.besu.ethstats.util.EthStatsConnectOptions;
@@ -731,7 +735,9 @@ public class RunnerBuilder {
                     ? p2pListenInterfaceIpv6.map(ignored -> p2pListenPortIpv6)
                     : Optional.empty())
             .setSupportedProtocols(subProtocols)
-            .setClientId(BesuVersionUtils.nodeName(identityString));
+            .setClientId(BesuVersionUtils.nodeName(identityString))
+            .setJdkCipherFramerEnabled(
+                networkingConfiguration.rlpxConfiguration().isJdkCipherFramerEnabled());
     networkingConfiguration =
         ImmutableNetworkingConfiguration.builder()
             .from(networkingConfiguration)
@@ -841,6 +847,23 @@ public class RunnerBuilder {
     final MiningCoordinator miningCoordinator = besuController.getMiningCoordinator();
     final MiningConfiguration miningConfiguration = besuController.getMiningParameters();
 
+    final Optional<TransactionLogIndex> transactionLogIndex =
+        apiConfiguration.isLogIndexEnabled()
+            ? Optional.of(
+                new TransactionLogIndex(
+                    context.getBlockchain(),
+                    besuController
+                        .getStorageProvider()
+                        .getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.LOG_INDEX)))
+            : Optional.empty();
+    final Optional<TransactionTraceIndex> transactionTraceIndex =
+        apiConfiguration.isTraceIndexEnabled()
+            ? Optional.of(
+                new TransactionTraceIndex(
+                    besuController
+                        .getStorageProvider()
+                        .getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.TRACE_INDEX)))
+            : Optional.empty();
     final BlockchainQueries blockchainQueries =
         new BlockchainQueries(
             protocolSchedule,
@@ -849,7 +872,9 @@ public class RunnerBuilder {
             Optional.of(dataDir.resolve(CACHE_PATH)),
             Optional.of(besuController.getProtocolManager().ethContext().getScheduler()),
             apiConfiguration,
-            miningConfiguration);
+            miningConfiguration,
+            transactionLogIndex,
+            transactionTraceIndex);
 
     final FilterManager filterManager =
         new FilterManagerBuilder()
@@ -1015,7 +1040,7 @@ public class RunnerBuilder {
       graphQlContextMap.putIfAbsent(GraphQLContextType.TRANSACTION_SIMULATOR, transactionSimulator);
       final GraphQL graphQL;
       try {
-        graphQL = GraphQLProvider.buildGraphQL(fetchers);
+        graphQL = GraphQLProvider.buildGraphQL(fetchers, blockchainQueries::headBlockNumber);
       } catch (final IOException ioe) {
         throw new RuntimeException(ioe);
       }
@@ -1194,6 +1219,11 @@ public class RunnerBuilder {
         dataDir,
         pidPath,
         autoLogBloomCaching ? blockchainQueries.getTransactionLogBloomCacher() : Optional.empty(),
+        transactionLogIndex,
+        transactionTraceIndex.map(
+            index ->
+                new AutoTransactionTraceIndexingService(
+                    protocolSchedule, blockchainQueries, index)),
         context.getBlockchain());
   }
 
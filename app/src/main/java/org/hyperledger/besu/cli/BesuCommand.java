@@ -2821,6 +2821,12 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         && !dataStorageConfiguration.getHistoryExpiryPruneEnabled()) {
       rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE);
     }
+    if (!apiConfigurationSupplier.get().isLogIndexEnabled()) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.LOG_INDEX);
+    }
+    if (!apiConfigurationSupplier.get().isTraceIndexEnabled()) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.TRACE_INDEX);
+    }
   }
 
   private void validatePostMergeCheckpointBlockRequirements() {
@@ -100,6 +100,12 @@ public interface DefaultCommandValues {
   /** The constant DEFAULT_HTTP_MAX_BATCH_SIZE. */
   int DEFAULT_HTTP_MAX_BATCH_SIZE = 1024;
 
+  /** The constant DEFAULT_HTTP_MAX_BATCH_PARALLELISM. */
+  int DEFAULT_HTTP_MAX_BATCH_PARALLELISM = 1;
+
+  /** The constant DEFAULT_HTTP_MAX_BATCH_WORKERS. */
+  int DEFAULT_HTTP_MAX_BATCH_WORKERS = 64;
+
   /** The constant DEFAULT_MAX_REQUEST_CONTENT_LENGTH. */
   long DEFAULT_MAX_REQUEST_CONTENT_LENGTH = 128 * 1024 * 1024; // 128MB
 
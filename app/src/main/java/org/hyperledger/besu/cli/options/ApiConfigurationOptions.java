@@ -94,6 +94,20 @@ public class ApiConfigurationOptions {
           "Specifies the maximum number of blocks for the trace_filter method. Must be >=0. 0 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Long maxTraceFilterRange = 1000L;
 
+  @CommandLine.Option(
+      names = {"--api-log-index-enabled"},
+      hidden = true,
+      description =
+          "Set to maintain an inverted index of log addresses and topics and use it to serve eth_getLogs (default: ${DEFAULT-VALUE})")
+  private final Boolean apiLogIndexEnabled = false;
+
+  @CommandLine.Option(
+      names = {"--api-trace-index-enabled"},
+      hidden = true,
+      description =
+          "Set to index the traces of new blocks by address and use the index to serve trace_filter (default: ${DEFAULT-VALUE})")
+  private final Boolean apiTraceIndexEnabled = false;
+
   /**
    * Validates the API options.
    *
@@ -137,7 +151,9 @@ public class ApiConfigurationOptions {
             .maxLogsRange(rpcMaxLogsRange)
             .gasCap(rpcGasCap)
             .isGasAndPriorityFeeLimitingEnabled(apiGasAndPriorityFeeLimitingEnabled)
-            .maxTraceFilterRange(maxTraceFilterRange);
+            .maxTraceFilterRange(maxTraceFilterRange)
+            .isLogIndexEnabled(apiLogIndexEnabled)
+            .isTraceIndexEnabled(apiTraceIndexEnabled);
     if (apiGasAndPriorityFeeLimitingEnabled) {
       builder
           .lowerBoundGasAndPriorityFeeCoefficient(apiGasAndPriorityFeeLowerBoundCoefficient)
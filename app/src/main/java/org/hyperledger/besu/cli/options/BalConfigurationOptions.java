@@ -39,6 +39,13 @@ public class BalConfigurationOptions {
           "Allows disabling BAL-based perfect parallelization even when BALs are present.")
   boolean balPerfectParallelizationEnabled = true;
 
+  @CommandLine.Option(
+      names = {"--Xbal-block-stm-enabled"},
+      hidden = true,
+      description =
+          "Use the Block-STM multi-version engine for parallel transaction processing of blocks without a BAL.")
+  boolean blockStmEnabled = false;
+
   @CommandLine.Option(
       names = {"--Xbal-lenient-on-state-root-mismatch"},
       hidden = true,
@@ -81,6 +88,7 @@ public class BalConfigurationOptions {
     return ImmutableBalConfiguration.builder()
         .isBalOptimisationEnabled(balOptimizationEnabled)
         .isPerfectParallelizationEnabled(balPerfectParallelizationEnabled)
+        .isBlockStmEnabled(blockStmEnabled)
         .shouldLogBalsOnMismatch(balLogBalsOnMismatch)
         .isBalLenientOnStateRootMismatch(balLenientOnStateRootMismatch)
         .isBalStateRootTrusted(balTrustStateRoot)
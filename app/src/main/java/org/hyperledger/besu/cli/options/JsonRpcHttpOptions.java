@@ -204,6 +204,22 @@ public class JsonRpcHttpOptions {
           "Specifies the maximum number of requests in a single RPC batch request via RPC. -1 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Integer rpcHttpMaxBatchSize = DefaultCommandValues.DEFAULT_HTTP_MAX_BATCH_SIZE;
 
+  @CommandLine.Option(
+      names = {"--rpc-http-max-batch-parallelism"},
+      paramLabel = DefaultCommandValues.MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Specifies the maximum number of requests of a single RPC batch request executed concurrently. Responses are always returned in request order (default: ${DEFAULT-VALUE})")
+  private final Integer rpcHttpMaxBatchParallelism =
+      DefaultCommandValues.DEFAULT_HTTP_MAX_BATCH_PARALLELISM;
+
+  @CommandLine.Option(
+      names = {"--rpc-http-max-batch-workers"},
+      paramLabel = DefaultCommandValues.MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Specifies the maximum number of RPC batch request elements executed concurrently across all batch requests. When the limit is reached, new batch requests are executed sequentially (default: ${DEFAULT-VALUE})")
+  private final Integer rpcHttpMaxBatchWorkers =
+      DefaultCommandValues.DEFAULT_HTTP_MAX_BATCH_WORKERS;
+
   @CommandLine.Option(
       names = {"--rpc-http-max-request-content-length"},
       paramLabel = DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP,
@@ -263,6 +279,18 @@ public class JsonRpcHttpOptions {
           "Unable to authenticate JSON-RPC HTTP endpoint without a supplied credentials file or authentication public key file");
     }
 
+    if (rpcHttpMaxBatchParallelism < 1) {
+      throw new CommandLine.ParameterException(
+          commandLine,
+          "Invalid value for option '--rpc-http-max-batch-parallelism': must be a positive integer");
+    }
+
+    if (rpcHttpMaxBatchWorkers < 1) {
+      throw new CommandLine.ParameterException(
+          commandLine,
+          "Invalid value for option '--rpc-http-max-batch-workers': must be a positive integer");
+    }
+
     checkDependencies(logger, commandLine);
 
     if (isRpcTlsConfigurationRequired()) {
@@ -291,6 +319,8 @@ public class JsonRpcHttpOptions {
     jsonRpcConfiguration.setAuthenticationAlgorithm(rpcHttpAuthenticationAlgorithm);
     jsonRpcConfiguration.setTlsConfiguration(rpcHttpTlsConfiguration());
     jsonRpcConfiguration.setMaxBatchSize(rpcHttpMaxBatchSize);
+    jsonRpcConfiguration.setMaxBatchParallelism(rpcHttpMaxBatchParallelism);
+    jsonRpcConfiguration.setMaxBatchWorkers(rpcHttpMaxBatchWorkers);
     jsonRpcConfiguration.setMaxRequestContentLength(rpcHttpMaxRequestContentLength);
     jsonRpcConfiguration.setPrettyJsonEnabled(prettyJsonEnabled);
     return jsonRpcConfiguration;
@@ -23,10 +23,12 @@ import static org.hyperledger.besu.ethereum.core.MiningConfiguration.MutableInit
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.MutableInitValues.DEFAULT_MIN_BLOCK_OCCUPANCY_RATIO;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.MutableInitValues.DEFAULT_MIN_PRIORITY_FEE_PER_GAS;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.MutableInitValues.DEFAULT_MIN_TRANSACTION_GAS_PRICE;
+import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_CREATION_INCREMENTAL;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_CREATION_MAX_TIME;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_SLOT_DURATION_SECS;
+import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_SPECULATIVE_TXS_EXECUTION_COUNT;
 
 import org.hyperledger.besu.cli.converter.PositiveNumberConverter;
 import org.hyperledger.besu.cli.util.CommandLineUtils;
@@ -148,6 +150,22 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
         description =
             "Specifies the maximum time, in milliseconds, to wait for block building to complete when only an empty block is available (default: ${DEFAULT-VALUE} milliseconds)")
     private Long posBlockFinalizationTimeoutMs = DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xblock-txs-selection-speculative-execution-count"},
+        description =
+            "Number of best pending transactions executed speculatively in parallel, against the parent state, while selecting the transactions of a block."
+                + " Only applies to Bonsai world states, 0 disables it (default: ${DEFAULT-VALUE})")
+    private Integer speculativeTxsExecutionCount = DEFAULT_SPECULATIVE_TXS_EXECUTION_COUNT;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xpos-block-creation-incremental-enabled"},
+        description =
+            "Whether each PoS block creation repetition resumes from the transactions selected by the previous one, only appending new transactions,"
+                + " instead of selecting and executing all the transactions again. Only applies to Bonsai world states (default: ${DEFAULT-VALUE})")
+    private Boolean posBlockCreationIncremental = DEFAULT_POS_BLOCK_CREATION_INCREMENTAL;
   }
 
   private TransactionSelectionService transactionSelectionService;
@@ -208,6 +226,11 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
           commandLine, "--Xpos-block-finalization-timeout-ms must be positive and ≤ 12000");
     }
 
+    if (unstableOptions.speculativeTxsExecutionCount < 0) {
+      throw new ParameterException(
+          commandLine, "--Xblock-txs-selection-speculative-execution-count must not be negative");
+    }
+
     CommandLineUtils.failIfOptionDoesntMeetRequirement(
         commandLine,
         "--block-txs-selection-max-time can only be used on networks with PoS support in the genesis file,"
@@ -246,6 +269,10 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
         miningConfiguration.getUnstable().getPosSlotDuration();
     miningOptions.unstableOptions.posBlockFinalizationTimeoutMs =
         miningConfiguration.getUnstable().getPosBlockFinalizationTimeoutMs();
+    miningOptions.unstableOptions.speculativeTxsExecutionCount =
+        miningConfiguration.getUnstable().getSpeculativeTxsExecutionCount();
+    miningOptions.unstableOptions.posBlockCreationIncremental =
+        miningConfiguration.getUnstable().isPosBlockCreationIncremental();
 
     miningConfiguration.getTargetGasLimit().ifPresent(tgl -> miningOptions.targetGasLimit = tgl);
     return miningOptions;
@@ -281,6 +308,8 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
                     unstableOptions.posBlockCreationRepetitionMinDuration)
                 .posSlotDuration(unstableOptions.posSlotDuration)
                 .posBlockFinalizationTimeoutMs(unstableOptions.posBlockFinalizationTimeoutMs)
+                .speculativeTxsExecutionCount(unstableOptions.speculativeTxsExecutionCount)
+                .isPosBlockCreationIncremental(unstableOptions.posBlockCreationIncremental)
                 .build())
         .build();
   }
@@ -20,6 +20,7 @@ import org.hyperledger.besu.cli.util.CommandLineUtils;
 import org.hyperledger.besu.ethereum.p2p.config.DiscoveryConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.ImmutableNetworkingConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
+import org.hyperledger.besu.ethereum.p2p.config.RlpxConfiguration;
 
 import java.time.Duration;
 import java.util.List;
@@ -36,6 +37,7 @@ public class NetworkingOptions implements CLIOptions<NetworkingConfiguration> {
   private final String P2P_PEER_TASK_TIMEOUT = "--Xp2p-peer-task-timeout";
   private final String DNS_DISCOVERY_SERVER_OVERRIDE_FLAG = "--Xp2p-dns-discovery-server";
   private final String DISCOVERY_PROTOCOL_V5_ENABLED = "--Xv5-discovery-enabled";
+  private final String JDK_CIPHER_FRAMER_ENABLED = "--Xp2p-jdk-cipher-framer-enabled";
 
   /** The constant FILTER_ON_ENR_FORK_ID. */
   public static final String FILTER_ON_ENR_FORK_ID = "--filter-on-enr-fork-id";
@@ -88,6 +90,13 @@ public class NetworkingOptions implements CLIOptions<NetworkingConfiguration> {
       description = "Whether to enable filtering of peers based on the ENR field ForkId)")
   private final Boolean filterOnEnrForkId = NetworkingConfiguration.DEFAULT_FILTER_ON_ENR_FORK_ID;
 
+  @CommandLine.Option(
+      names = JDK_CIPHER_FRAMER_ENABLED,
+      hidden = true,
+      description =
+          "Whether to encrypt and authenticate RLPx frames with the hardware accelerated AES of the JDK (default: ${DEFAULT-VALUE})")
+  private Boolean jdkCipherFramerEnabled = false;
+
   private NetworkingOptions() {}
 
   /**
@@ -112,6 +121,8 @@ public class NetworkingOptions implements CLIOptions<NetworkingConfiguration> {
     cliOptions.initiateConnectionsFrequency = networkingConfig.initiateConnectionsFrequency();
     cliOptions.p2pPeerTaskTimeout = networkingConfig.p2pPeerTaskTimeout();
     cliOptions.dnsDiscoveryServerOverride = networkingConfig.dnsDiscoveryServerOverride();
+    cliOptions.jdkCipherFramerEnabled =
+        networkingConfig.rlpxConfiguration().isJdkCipherFramerEnabled();
 
     return cliOptions;
   }
@@ -128,6 +139,8 @@ public class NetworkingOptions implements CLIOptions<NetworkingConfiguration> {
         .p2pPeerTaskTimeout(p2pPeerTaskTimeout)
         .dnsDiscoveryServerOverride(dnsDiscoveryServerOverride)
         .discoveryConfiguration(discovery)
+        .rlpxConfiguration(
+            RlpxConfiguration.create().setJdkCipherFramerEnabled(jdkCipherFramerEnabled))
         .build();
   }
 
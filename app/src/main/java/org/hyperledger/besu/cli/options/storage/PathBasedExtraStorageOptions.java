@@ -20,8 +20,11 @@ import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConf
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.DEFAULT_PARALLEL_TX_PROCESSING;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.DEFAULT_TRIE_LOG_PRUNING_WINDOW_SIZE;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.MINIMUM_TRIE_LOG_RETENTION_LIMIT;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_ACCOUNT_TRIE_NODE_CACHE_SIZE;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_CODE_USING_CODE_HASH_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_FLAT_STATE_CACHE_SIZE;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_FULL_FLAT_DB_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_STORAGE_TRIE_NODE_CACHE_SIZE;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
 import org.hyperledger.besu.cli.util.CommandLineUtils;
@@ -117,6 +120,30 @@ public class PathBasedExtraStorageOptions
             "Enables code storage using code hash instead of by account hash. (default: ${DEFAULT-VALUE})")
     private boolean codeUsingCodeHashEnabled = DEFAULT_CODE_USING_CODE_HASH_ENABLED;
 
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-account-trie-node-cache-size"},
+        paramLabel = "<LONG>",
+        description =
+            "Maximum memory footprint, in bytes, of the cache of preloaded account trie nodes. (default: ${DEFAULT-VALUE})")
+    private long accountTrieNodeCacheSize = DEFAULT_ACCOUNT_TRIE_NODE_CACHE_SIZE;
+
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-storage-trie-node-cache-size"},
+        paramLabel = "<LONG>",
+        description =
+            "Maximum memory footprint, in bytes, of the cache of preloaded storage trie nodes. (default: ${DEFAULT-VALUE})")
+    private long storageTrieNodeCacheSize = DEFAULT_STORAGE_TRIE_NODE_CACHE_SIZE;
+
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-flat-state-cache-size"},
+        paramLabel = "<LONG>",
+        description =
+            "Direct memory, in bytes, allocated to cache the flat accounts and storage of the head world state, 0 to disable. (default: ${DEFAULT-VALUE})")
+    private long flatStateCacheSize = DEFAULT_FLAT_STATE_CACHE_SIZE;
+
     /** Default Constructor. */
     Unstable() {}
   }
@@ -165,6 +192,15 @@ public class PathBasedExtraStorageOptions
                   maxLayersToLoad));
         }
       }
+      if (unstableOptions.accountTrieNodeCacheSize < 0
+          || unstableOptions.storageTrieNodeCacheSize < 0) {
+        throw new CommandLine.ParameterException(
+            commandLine, "Bonsai trie node cache sizes must not be negative");
+      }
+      if (unstableOptions.flatStateCacheSize < 0) {
+        throw new CommandLine.ParameterException(
+            commandLine, "Bonsai flat state cache size must not be negative");
+      }
     }
   }
 
@@ -184,6 +220,12 @@ public class PathBasedExtraStorageOptions
         domainObject.getUnstable().getFullFlatDbEnabled();
     dataStorageOptions.unstableOptions.codeUsingCodeHashEnabled =
         domainObject.getUnstable().getCodeStoredByCodeHashEnabled();
+    dataStorageOptions.unstableOptions.accountTrieNodeCacheSize =
+        domainObject.getUnstable().getAccountTrieNodeCacheSize();
+    dataStorageOptions.unstableOptions.storageTrieNodeCacheSize =
+        domainObject.getUnstable().getStorageTrieNodeCacheSize();
+    dataStorageOptions.unstableOptions.flatStateCacheSize =
+        domainObject.getUnstable().getFlatStateCacheSize();
     dataStorageOptions.isParallelTxProcessingEnabled =
         domainObject.getParallelTxProcessingEnabled();
     dataStorageOptions.isParallelStateRootComputationEnabled =
@@ -204,6 +246,9 @@ public class PathBasedExtraStorageOptions
             ImmutablePathBasedExtraStorageConfiguration.PathBasedUnstable.builder()
                 .fullFlatDbEnabled(unstableOptions.fullFlatDbEnabled)
                 .codeStoredByCodeHashEnabled(unstableOptions.codeUsingCodeHashEnabled)
+                .accountTrieNodeCacheSize(unstableOptions.accountTrieNodeCacheSize)
+                .storageTrieNodeCacheSize(unstableOptions.storageTrieNodeCacheSize)
+                .flatStateCacheSize(unstableOptions.flatStateCacheSize)
                 .build())
         .build();
   }
@@ -0,0 +1,96 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.cli.subcommands.operator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static org.hyperledger.besu.cli.DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP;
+
+import org.hyperledger.besu.cli.util.VersionProvider;
+import org.hyperledger.besu.controller.BesuController;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionTraceIndexingService;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionTraceIndex;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParentCommand;
+
+/** The generate-trace-index CLI command. */
+@Command(
+    name = "generate-trace-index",
+    description = "Backfill the trace index used by trace_filter.",
+    mixinStandardHelpOptions = true,
+    versionProvider = VersionProvider.class)
+public class GenerateTraceIndex implements Runnable {
+
+  @Option(
+      names = "--start-block",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      description = "The block to start indexing from (default: ${DEFAULT-VALUE})",
+      arity = "1..1")
+  private final Long startBlock = 0L;
+
+  @Option(
+      names = "--end-block",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      description =
+          "The block to stop indexing at (default is the highest indexed block, or the last block of the chain).",
+      arity = "1..1")
+  private final Long endBlock = Long.MAX_VALUE;
+
+  @ParentCommand private OperatorSubCommand parentCommand;
+
+  /** Default constructor. */
+  public GenerateTraceIndex() {}
+
+  @Override
+  public void run() {
+    checkPreconditions();
+    final BesuController besuController = parentCommand.parentCommand.buildController();
+    final MutableBlockchain blockchain = besuController.getProtocolContext().getBlockchain();
+    final TransactionTraceIndex traceIndex =
+        new TransactionTraceIndex(
+            besuController
+                .getStorageProvider()
+                .getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.TRACE_INDEX));
+    final AutoTransactionTraceIndexingService indexingService =
+        new AutoTransactionTraceIndexingService(
+            besuController.getProtocolSchedule(),
+            new BlockchainQueries(
+                besuController.getProtocolSchedule(),
+                blockchain,
+                besuController.getProtocolContext().getWorldStateArchive(),
+                besuController.getMiningParameters()),
+            traceIndex);
+    final long finalBlock =
+        Math.min(
+            endBlock,
+            traceIndex.getHighestIndexedBlock().orElse(blockchain.getChainHeadBlockNumber()));
+    checkState(
+        startBlock <= finalBlock,
+        "Start block %s is above the end block %s",
+        startBlock,
+        finalBlock);
+    indexingService.indexBlocks(startBlock, finalBlock);
+  }
+
+  private void checkPreconditions() {
+    checkNotNull(parentCommand.parentCommand.dataDir());
+    checkState(startBlock >= 0, "Start block must be positive");
+  }
+}
@@ -32,7 +32,12 @@ import picocli.CommandLine.Spec;
     description = "Operator related actions such as generating configuration and caches.",
     mixinStandardHelpOptions = true,
     versionProvider = VersionProvider.class,
-    subcommands = {GenerateBlockchainConfig.class, GenerateLogBloomCache.class})
+    subcommands = {
+      GenerateBlockchainConfig.class,
+      GenerateLogBloomCache.class,
+      GenerateLogIndex.class,
+      GenerateTraceIndex.class
+    })
 public class OperatorSubCommand implements Runnable {
 
   /** The constant COMMAND_NAME. */
@@ -79,6 +79,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfigurati
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolFactory;
 import org.hyperledger.besu.ethereum.forkid.ForkIdManager;
 import org.hyperledger.besu.ethereum.mainnet.BalConfiguration;
+import org.hyperledger.besu.ethereum.mainnet.BlockImportProfiler;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
@@ -662,7 +663,10 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
     final BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader =
         besuComponent
             .map(BesuComponent::getCachedMerkleTrieLoader)
-            .orElseGet(() -> new BonsaiCachedMerkleTrieLoader(metricsSystem));
+            .orElseGet(
+                () ->
+                    createCachedMerkleTrieLoader(
+                        dataStorageConfiguration.getPathBasedExtraStorageConfiguration()));
 
     final var worldStateHealerSupplier = new AtomicReference<WorldStateHealer>();
 
@@ -697,6 +701,12 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
                 .map(BesuComponent::getBesuPluginContext)
                 .orElse(new BesuPluginContextImpl()));
     validateContext(protocolContext);
+    if (worldStateStorageCoordinator.worldStateKeyValueStorage()
+        instanceof PathBasedWorldStateKeyValueStorage pathBasedWorldStateStorage) {
+      protocolContext
+          .getBlockImportProfiler()
+          .ifPresent(pathBasedWorldStateStorage::setAccessListener);
+    }
 
     final int maxMessageSize = ethereumWireProtocolConfiguration.getMaxMessageSize();
     final Supplier<ProtocolSpec> currentProtocolSpecSupplier =
@@ -1254,6 +1264,7 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
         .withConsensusContext(consensusContext)
         .withBadBlockManager(badBlockManager)
         .withServiceManager(serviceManager)
+        .withBlockImportProfiler(new BlockImportProfiler(metricsSystem))
         .build();
   }
 
@@ -1270,7 +1281,18 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
             ethPeers,
             snapMessages,
             protocolContext,
-            synchronizer));
+            synchronizer,
+            metricsSystem));
+  }
+
+  private BonsaiCachedMerkleTrieLoader createCachedMerkleTrieLoader(
+      final PathBasedExtraStorageConfiguration pathBasedExtraStorageConfiguration) {
+    final PathBasedExtraStorageConfiguration.PathBasedUnstable unstable =
+        pathBasedExtraStorageConfiguration.getUnstable();
+    return new BonsaiCachedMerkleTrieLoader(
+        metricsSystem,
+        unstable.getAccountTrieNodeCacheSize(),
+        unstable.getStorageTrieNodeCacheSize());
   }
 
   WorldStateArchive createWorldStateArchive(
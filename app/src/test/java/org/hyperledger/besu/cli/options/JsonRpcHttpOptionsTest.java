@@ -942,6 +942,59 @@ public class JsonRpcHttpOptionsTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void rpcHttpMaxBatchParallelismOptionMustBeUsed() {
+    final int rpcHttpMaxBatchParallelism = 16;
+    parseCommand(
+        "--rpc-http-max-batch-parallelism", Integer.toString(rpcHttpMaxBatchParallelism));
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getMaxBatchParallelism())
+        .isEqualTo(rpcHttpMaxBatchParallelism);
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcHttpMaxBatchParallelismMustBePositive() {
+    parseCommand("--rpc-http-max-batch-parallelism", "0");
+
+    verifyNoInteractions(mockRunnerBuilder);
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains(
+            "Invalid value for option '--rpc-http-max-batch-parallelism': must be a positive integer");
+  }
+
+  @Test
+  public void rpcHttpMaxBatchWorkersOptionMustBeUsed() {
+    final int rpcHttpMaxBatchWorkers = 8;
+    parseCommand("--rpc-http-max-batch-workers", Integer.toString(rpcHttpMaxBatchWorkers));
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getMaxBatchWorkers())
+        .isEqualTo(rpcHttpMaxBatchWorkers);
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcHttpMaxBatchWorkersMustBePositive() {
+    parseCommand("--rpc-http-max-batch-workers", "0");
+
+    verifyNoInteractions(mockRunnerBuilder);
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains(
+            "Invalid value for option '--rpc-http-max-batch-workers': must be a positive integer");
+  }
+
   @Test
   public void portInUseReportsError() throws IOException {
     final ServerSocket serverSocket = new ServerSocket(8545);
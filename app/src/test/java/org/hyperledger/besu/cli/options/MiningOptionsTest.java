@@ -175,6 +175,31 @@ public class MiningOptionsTest extends AbstractCLIOptionsTest<MiningConfiguratio
         "17000");
   }
 
+  @Test
+  public void speculativeTxsExecutionCountOption() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().getSpeculativeTxsExecutionCount()).isEqualTo(64),
+        "--Xblock-txs-selection-speculative-execution-count",
+        "64");
+  }
+
+  @Test
+  public void speculativeTxsExecutionCountMustNotBeNegative() {
+    internalTestFailure(
+        "--Xblock-txs-selection-speculative-execution-count must not be negative",
+        "--Xblock-txs-selection-speculative-execution-count",
+        "-1");
+  }
+
+  @Test
+  public void posBlockCreationIncrementalOption() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().isPosBlockCreationIncremental()).isTrue(),
+        "--Xpos-block-creation-incremental-enabled");
+  }
+
   @Test
   public void blockTxsSelectionMaxTimeDefaultValue() {
     internalTestSuccess(
@@ -22,6 +22,7 @@ import org.hyperledger.besu.cli.options.storage.DataStorageOptions;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.ImmutableDataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.ImmutablePathBasedExtraStorageConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 
 import org.junit.jupiter.api.Test;
@@ -138,6 +139,43 @@ public class DataStorageOptionsTest
         "false");
   }
 
+  @Test
+  public void trieNodeCacheCanBeConfigured() {
+    internalTestSuccess(
+        dataStorageConfiguration -> {
+          final PathBasedExtraStorageConfiguration.PathBasedUnstable unstable =
+              dataStorageConfiguration.getPathBasedExtraStorageConfiguration().getUnstable();
+          assertThat(unstable.getAccountTrieNodeCacheSize()).isEqualTo(1024L);
+          assertThat(unstable.getStorageTrieNodeCacheSize()).isEqualTo(2048L);
+        },
+        "--Xbonsai-account-trie-node-cache-size",
+        "1024",
+        "--Xbonsai-storage-trie-node-cache-size",
+        "2048");
+  }
+
+  @Test
+  public void flatStateCacheCanBeEnabled() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(
+                    dataStorageConfiguration
+                        .getPathBasedExtraStorageConfiguration()
+                        .getUnstable()
+                        .getFlatStateCacheSize())
+                .isEqualTo(268435456L),
+        "--Xbonsai-flat-state-cache-size",
+        "268435456");
+  }
+
+  @Test
+  public void trieNodeCacheSizeMustNotBeNegative() {
+    internalTestFailure(
+        "Bonsai trie node cache sizes must not be negative",
+        "--Xbonsai-storage-trie-node-cache-size",
+        "-1");
+  }
+
   @Test
   public void parallelTxProcessingEnabledByDefault() {
     internalTestSuccess(
@@ -75,7 +75,11 @@ public class OperatorSubCommandTest extends CommandTestAbstract {
           + System.lineSeparator()
           + "                                encoded extra data."
           + System.lineSeparator()
-          + "  generate-log-bloom-cache    Generate cached values of block log bloom filters.";
+          + "  generate-log-bloom-cache    Generate cached values of block log bloom filters."
+          + System.lineSeparator()
+          + "  generate-log-index          Backfill the log index used by eth_getLogs."
+          + System.lineSeparator()
+          + "  generate-trace-index        Backfill the trace index used by trace_filter.";
 
   private Path tmpOutputDirectoryPath;
 
@@ -133,6 +137,22 @@ public class OperatorSubCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void callingGenerateLogIndexCommandVersionMustDisplayVersion() {
+    parseCommand("generate-log-index", "--version");
+    assertThat(commandOutput.toString(UTF_8))
+        .isEqualToIgnoringWhitespace(BesuVersionUtils.version());
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void callingGenerateTraceIndexCommandVersionMustDisplayVersion() {
+    parseCommand("generate-trace-index", "--version");
+    assertThat(commandOutput.toString(UTF_8))
+        .isEqualToIgnoringWhitespace(BesuVersionUtils.version());
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
   @Test
   public void generateBlockchainConfigMustGenerateKeysWhenGenerateIsTrue() throws IOException {
     runCmdAndCheckOutput(
@@ -0,0 +1,341 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes32;
+
+/**
+ * Keccak-256 implementation built on a dedicated Keccak-f[1600] permutation.
+ *
+ * <p>Each thread reuses its own sponge state, so hashing does not allocate apart from the returned
+ * digest, and nothing at all when the digest is written into a caller-supplied buffer. Inputs are
+ * absorbed directly from their backing array, without intermediate buffering.
+ */
+public final class Keccak256 {
+
+  /** The length in bytes of a Keccak-256 digest. */
+  public static final int DIGEST_LENGTH = 32;
+
+  private static final int RATE = 136;
+  private static final int RATE_LANES = RATE / Long.BYTES;
+  private static final int DIGEST_LANES = DIGEST_LENGTH / Long.BYTES;
+
+  private static final VarHandle LONG_LE =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private static final long[] ROUND_CONSTANTS = {
+    0x0000000000000001L,
+    0x0000000000008082L,
+    0x800000000000808AL,
+    0x8000000080008000L,
+    0x000000000000808BL,
+    0x0000000080000001L,
+    0x8000000080008081L,
+    0x8000000000008009L,
+    0x000000000000008AL,
+    0x0000000000000088L,
+    0x0000000080008009L,
+    0x000000008000000AL,
+    0x000000008000808BL,
+    0x800000000000008BL,
+    0x8000000000008089L,
+    0x8000000000008003L,
+    0x8000000000008002L,
+    0x8000000000000080L,
+    0x000000000000800AL,
+    0x800000008000000AL,
+    0x8000000080008081L,
+    0x8000000000008080L,
+    0x0000000080000001L,
+    0x8000000080008008L
+  };
+
+  private static final ThreadLocal<long[]> STATE = ThreadLocal.withInitial(() -> new long[25]);
+
+  private Keccak256() {}
+
+  /**
+   * Digest the given input.
+   *
+   * @param input The input bytes to produce the digest for.
+   * @return A digest.
+   */
+  public static Bytes32 keccak256(final Bytes input) {
+    final byte[] output = new byte[DIGEST_LENGTH];
+    keccak256(input, output, 0);
+    return Bytes32.wrap(output);
+  }
+
+  /**
+   * Digest the given input into a caller-supplied array.
+   *
+   * @param input The input bytes to produce the digest for.
+   * @param output The array receiving the digest.
+   * @param outputOffset The offset in {@code output} at which the digest is written.
+   */
+  public static void keccak256(final Bytes input, final byte[] output, final int outputOffset) {
+    final byte[] inputArray = input.toArrayUnsafe();
+    keccak256(inputArray, 0, inputArray.length, output, outputOffset);
+  }
+
+  /**
+   * Digest the given input into a caller-supplied mutable value.
+   *
+   * @param input The input bytes to produce the digest for.
+   * @param output The value receiving the digest.
+   */
+  public static void keccak256(final Bytes input, final MutableBytes32 output) {
+    final byte[] inputArray = input.toArrayUnsafe();
+    final long[] state = absorb(inputArray, 0, inputArray.length);
+    for (int i = 0; i < DIGEST_LENGTH; i++) {
+      output.set(i, (byte) (state[i >>> 3] >>> ((i & 7) << 3)));
+    }
+  }
+
+  /**
+   * Digest a range of an array into a caller-supplied array.
+   *
+   * @param input The array holding the input bytes.
+   * @param inputOffset The offset of the first input byte.
+   * @param inputLength The number of input bytes.
+   * @param output The array receiving the digest.
+   * @param outputOffset The offset in {@code output} at which the digest is written.
+   */
+  public static void keccak256(
+      final byte[] input,
+      final int inputOffset,
+      final int inputLength,
+      final byte[] output,
+      final int outputOffset) {
+    Objects.checkFromIndexSize(outputOffset, DIGEST_LENGTH, output.length);
+    final long[] state = absorb(input, inputOffset, inputLength);
+    for (int i = 0; i < DIGEST_LANES; i++) {
+      LONG_LE.set(output, outputOffset + i * Long.BYTES, state[i]);
+    }
+  }
+
+  /**
+   * Digest every input of a batch, writing the digests one after the other, in input order, into a
+   * single array.
+   *
+   * @param inputs The inputs to produce the digests for.
+   * @param output The array receiving the digests, of at least {@code 32 * inputs.size()} bytes.
+   */
+  public static void keccak256(final List<? extends Bytes> inputs, final byte[] output) {
+    Objects.checkFromIndexSize(0, DIGEST_LENGTH * inputs.size(), output.length);
+    for (int i = 0; i < inputs.size(); i++) {
+      keccak256(inputs.get(i), output, i * DIGEST_LENGTH);
+    }
+  }
+
+  /**
+   * Digest every input of a batch.
+   *
+   * @param inputs The inputs to produce the digests for.
+   * @return The digests, in input order.
+   */
+  public static Bytes32[] keccak256(final List<? extends Bytes> inputs) {
+    final byte[] output = new byte[DIGEST_LENGTH * inputs.size()];
+    keccak256(inputs, output);
+    final Bytes32[] digests = new Bytes32[inputs.size()];
+    for (int i = 0; i < digests.length; i++) {
+      digests[i] = Bytes32.wrap(output, i * DIGEST_LENGTH);
+    }
+    return digests;
+  }
+
+  private static long[] absorb(final byte[] input, final int offset, final int length) {
+    Objects.checkFromIndexSize(offset, length, input.length);
+    final long[] state = STATE.get();
+    Arrays.fill(state, 0L);
+
+    int position = offset;
+    int remaining = length;
+    while (remaining >= RATE) {
+      for (int i = 0; i < RATE_LANES; i++) {
+        state[i] ^= (long) LONG_LE.get(input, position + i * Long.BYTES);
+      }
+      permute(state);
+      position += RATE;
+      remaining -= RATE;
+    }
+
+    // last block: remaining full lanes, then the partial lane carrying the 0x01 ... 0x80 padding
+    final int fullLanes = remaining >>> 3;
+    for (int i = 0; i < fullLanes; i++) {
+      state[i] ^= (long) LONG_LE.get(input, position + i * Long.BYTES);
+    }
+    final int tailPosition = position + (fullLanes << 3);
+    final int tailLength = remaining & 7;
+    long lastLane = 0x01L << (tailLength << 3);
+    for (int i = 0; i < tailLength; i++) {
+      lastLane |= (input[tailPosition + i] & 0xFFL) << (i << 3);
+    }
+    state[fullLanes] ^= lastLane;
+    state[RATE_LANES - 1] ^= 0x8000000000000000L;
+    permute(state);
+    return state;
+  }
+
+  private static void permute(final long[] state) {
+    long a00 = state[0];
+    long a01 = state[1];
+    long a02 = state[2];
+    long a03 = state[3];
+    long a04 = state[4];
+    long a05 = state[5];
+    long a06 = state[6];
+    long a07 = state[7];
+    long a08 = state[8];
+    long a09 = state[9];
+    long a10 = state[10];
+    long a11 = state[11];
+    long a12 = state[12];
+    long a13 = state[13];
+    long a14 = state[14];
+    long a15 = state[15];
+    long a16 = state[16];
+    long a17 = state[17];
+    long a18 = state[18];
+    long a19 = state[19];
+    long a20 = state[20];
+    long a21 = state[21];
+    long a22 = state[22];
+    long a23 = state[23];
+    long a24 = state[24];
+    for (int round = 0; round < 24; round++) {
+      final long c0 = a00 ^ a05 ^ a10 ^ a15 ^ a20;
+      final long c1 = a01 ^ a06 ^ a11 ^ a16 ^ a21;
+      final long c2 = a02 ^ a07 ^ a12 ^ a17 ^ a22;
+      final long c3 = a03 ^ a08 ^ a13 ^ a18 ^ a23;
+      final long c4 = a04 ^ a09 ^ a14 ^ a19 ^ a24;
+      final long d0 = c4 ^ Long.rotateLeft(c1, 1);
+      final long d1 = c0 ^ Long.rotateLeft(c2, 1);
+      final long d2 = c1 ^ Long.rotateLeft(c3, 1);
+      final long d3 = c2 ^ Long.rotateLeft(c4, 1);
+      final long d4 = c3 ^ Long.rotateLeft(c0, 1);
+      a00 ^= d0;
+      a05 ^= d0;
+      a10 ^= d0;
+      a15 ^= d0;
+      a20 ^= d0;
+      a01 ^= d1;
+      a06 ^= d1;
+      a11 ^= d1;
+      a16 ^= d1;
+      a21 ^= d1;
+      a02 ^= d2;
+      a07 ^= d2;
+      a12 ^= d2;
+      a17 ^= d2;
+      a22 ^= d2;
+      a03 ^= d3;
+      a08 ^= d3;
+      a13 ^= d3;
+      a18 ^= d3;
+      a23 ^= d3;
+      a04 ^= d4;
+      a09 ^= d4;
+      a14 ^= d4;
+      a19 ^= d4;
+      a24 ^= d4;
+      final long b00 = a00;
+      final long b16 = Long.rotateLeft(a05, 36);
+      final long b07 = Long.rotateLeft(a10, 3);
+      final long b23 = Long.rotateLeft(a15, 41);
+      final long b14 = Long.rotateLeft(a20, 18);
+      final long b10 = Long.rotateLeft(a01, 1);
+      final long b01 = Long.rotateLeft(a06, 44);
+      final long b17 = Long.rotateLeft(a11, 10);
+      final long b08 = Long.rotateLeft(a16, 45);
+      final long b24 = Long.rotateLeft(a21, 2);
+      final long b20 = Long.rotateLeft(a02, 62);
+      final long b11 = Long.rotateLeft(a07, 6);
+      final long b02 = Long.rotateLeft(a12, 43);
+      final long b18 = Long.rotateLeft(a17, 15);
+      final long b09 = Long.rotateLeft(a22, 61);
+      final long b05 = Long.rotateLeft(a03, 28);
+      final long b21 = Long.rotateLeft(a08, 55);
+      final long b12 = Long.rotateLeft(a13, 25);
+      final long b03 = Long.rotateLeft(a18, 21);
+      final long b19 = Long.rotateLeft(a23, 56);
+      final long b15 = Long.rotateLeft(a04, 27);
+      final long b06 = Long.rotateLeft(a09, 20);
+      final long b22 = Long.rotateLeft(a14, 39);
+      final long b13 = Long.rotateLeft(a19, 8);
+      final long b04 = Long.rotateLeft(a24, 14);
+      a00 = b00 ^ (~b01 & b02);
+      a01 = b01 ^ (~b02 & b03);
+      a02 = b02 ^ (~b03 & b04);
+      a03 = b03 ^ (~b04 & b00);
+      a04 = b04 ^ (~b00 & b01);
+      a05 = b05 ^ (~b06 & b07);
+      a06 = b06 ^ (~b07 & b08);
+      a07 = b07 ^ (~b08 & b09);
+      a08 = b08 ^ (~b09 & b05);
+      a09 = b09 ^ (~b05 & b06);
+      a10 = b10 ^ (~b11 & b12);
+      a11 = b11 ^ (~b12 & b13);
+      a12 = b12 ^ (~b13 & b14);
+      a13 = b13 ^ (~b14 & b10);
+      a14 = b14 ^ (~b10 & b11);
+      a15 = b15 ^ (~b16 & b17);
+      a16 = b16 ^ (~b17 & b18);
+      a17 = b17 ^ (~b18 & b19);
+      a18 = b18 ^ (~b19 & b15);
+      a19 = b19 ^ (~b15 & b16);
+      a20 = b20 ^ (~b21 & b22);
+      a21 = b21 ^ (~b22 & b23);
+      a22 = b22 ^ (~b23 & b24);
+      a23 = b23 ^ (~b24 & b20);
+      a24 = b24 ^ (~b20 & b21);
+      a00 ^= ROUND_CONSTANTS[round];
+    }
+    state[0] = a00;
+    state[1] = a01;
+    state[2] = a02;
+    state[3] = a03;
+    state[4] = a04;
+    state[5] = a05;
+    state[6] = a06;
+    state[7] = a07;
+    state[8] = a08;
+    state[9] = a09;
+    state[10] = a10;
+    state[11] = a11;
+    state[12] = a12;
+    state[13] = a13;
+    state[14] = a14;
+    state[15] = a15;
+    state[16] = a16;
+    state[17] = a17;
+    state[18] = a18;
+    state[19] = a19;
+    state[20] = a20;
+    state[21] = a21;
+    state[22] = a22;
+    state[23] = a23;
+    state[24] = a24;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes32;
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.junit.jupiter.api.Test;
+
+public class Keccak256Test {
+
+  private static final String EMPTY_KECCAK256 =
+      "c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470";
+
+  /** Validate the digest of the empty input. */
+  @Test
+  public void emptyInput() {
+    assertThat(Keccak256.keccak256(Bytes.EMPTY)).isEqualTo(Bytes.fromHexString(EMPTY_KECCAK256));
+  }
+
+  /** Validate against the reference digest for every length around the sponge rate. */
+  @Test
+  public void matchesReferenceDigestForAllLengths() {
+    final Random random = new Random(42);
+    for (int length = 0; length <= 600; length++) {
+      final byte[] input = new byte[length];
+      random.nextBytes(input);
+      assertThat(Keccak256.keccak256(Bytes.wrap(input)))
+          .as("input length %d", length)
+          .isEqualTo(Bytes.wrap(new Keccak.Digest256().digest(input)));
+    }
+  }
+
+  /** Validate digests of array ranges written at an offset of the output. */
+  @Test
+  public void hashesArrayRangeIntoOffset() {
+    final byte[] input = Bytes.fromHexString("0xdeadbeef0011223344").toArrayUnsafe();
+    final byte[] output = new byte[40];
+
+    Keccak256.keccak256(input, 2, 5, output, 8);
+
+    assertThat(Bytes.wrap(output, 8, 32))
+        .isEqualTo(Bytes.wrap(new Keccak.Digest256().digest(Bytes.wrap(input, 2, 5).toArray())));
+    assertThat(Bytes.wrap(output, 0, 8).isZero()).isTrue();
+  }
+
+  /** Validate digests written into a mutable value. */
+  @Test
+  public void hashesIntoMutableBytes32() {
+    final Bytes input = Bytes.fromHexString("0x636f77");
+    final MutableBytes32 output = MutableBytes32.create();
+
+    Keccak256.keccak256(input, output);
+
+    assertThat(output).isEqualTo(Hash.keccak256(input));
+  }
+
+  /** Validate that a batch produces the same digests as individual calls. */
+  @Test
+  public void batchMatchesIndividualDigests() {
+    final Random random = new Random(7);
+    final List<Bytes> inputs = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      final byte[] input = new byte[random.nextInt(300)];
+      random.nextBytes(input);
+      inputs.add(Bytes.wrap(input));
+    }
+
+    final Bytes32[] digests = Keccak256.keccak256(inputs);
+
+    assertThat(digests).hasSize(inputs.size());
+    for (int i = 0; i < inputs.size(); i++) {
+      assertThat(digests[i])
+          .isEqualTo(Bytes.wrap(new Keccak.Digest256().digest(inputs.get(i).toArrayUnsafe())));
+    }
+  }
+}
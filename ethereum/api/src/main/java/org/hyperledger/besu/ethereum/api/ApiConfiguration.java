@@ -157,4 +157,26 @@ public abstract class ApiConfiguration {
   public Long getMaxTraceFilterRange() {
     return 1000L;
   }
+
+  /**
+   * Returns whether eth_getLogs queries are served from the inverted log index, maintained in its
+   * own storage segment. Default value is false.
+   *
+   * @return true if the log index is enabled
+   */
+  @Value.Default
+  public boolean isLogIndexEnabled() {
+    return false;
+  }
+
+  /**
+   * Returns whether the flat traces of new blocks are indexed by address, in their own storage
+   * segment, so trace_filter only re-executes the matching transactions. Default value is false.
+   *
+   * @return true if the trace index is enabled
+   */
+  @Value.Default
+  public boolean isTraceIndexEnabled() {
+    return false;
+  }
 }
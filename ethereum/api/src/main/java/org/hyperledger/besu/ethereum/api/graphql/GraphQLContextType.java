@@ -42,5 +42,8 @@ public enum GraphQLContextType {
   CHAIN_ID,
 
   /** Represents the transaction simulator. */
-  TRANSACTION_SIMULATOR
+  TRANSACTION_SIMULATOR,
+
+  /** Represents the data loaders of a query, created on first use. */
+  DATA_LOADERS
 }
@@ -20,6 +20,7 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.LogTopic;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.graphql.internal.GraphQLDataLoaders;
 import org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter.AccountAdapter;
 import org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter.EmptyAccountAdapter;
 import org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter.LogAdapter;
@@ -231,10 +232,12 @@ public class GraphQLDataFetchers {
         throw new GraphQLException(GraphQLError.INVALID_PARAMS);
       }
 
+      final GraphQLDataLoaders dataLoaders =
+          GraphQLDataLoaders.get(dataFetchingEnvironment.getGraphQlContext());
       final List<NormalBlockAdapter> results = new ArrayList<>();
       for (long i = from; i <= to; i++) {
         final Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> block =
-            blockchainQuery.blockByNumber(i);
+            dataLoaders.blockByNumber(i);
         block.ifPresent(e -> results.add(new NormalBlockAdapter(e)));
       }
       return results;
@@ -266,12 +269,14 @@ public class GraphQLDataFetchers {
         throw new GraphQLException(GraphQLError.INVALID_PARAMS);
       }
 
+      final GraphQLDataLoaders dataLoaders =
+          GraphQLDataLoaders.get(dataFetchingEnvironment.getGraphQlContext());
       final Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> block;
       if (number != null) {
-        block = blockchain.blockByNumber(number);
+        block = dataLoaders.blockByNumber(number);
         checkArgument(block.isPresent(), "Block number %s was not found", number);
       } else if (hash != null) {
-        block = blockchain.blockByHash(hash);
+        block = dataLoaders.blockByHash(hash);
         Preconditions.checkArgument(block.isPresent(), "Block hash %s was not found", hash);
       } else {
         block = blockchain.latestBlock();
@@ -284,19 +289,13 @@ public class GraphQLDataFetchers {
     return dataFetchingEnvironment -> {
       final BlockchainQueries blockchainQuery =
           dataFetchingEnvironment.getGraphQlContext().get(GraphQLContextType.BLOCKCHAIN_QUERIES);
+      final GraphQLDataLoaders dataLoaders =
+          GraphQLDataLoaders.get(dataFetchingEnvironment.getGraphQlContext());
       final Address addr = dataFetchingEnvironment.getArgument("address");
       final Long bn = dataFetchingEnvironment.getArgument("blockNumber");
       if (bn != null) {
-        return blockchainQuery
-            .getAndMapWorldState(
-                bn,
-                ws -> {
-                  final Account account = ws.get(addr);
-                  if (account == null) {
-                    return Optional.of(new EmptyAccountAdapter(addr));
-                  }
-                  return Optional.of(new AccountAdapter(account));
-                })
+        return dataLoaders
+            .mapAccount(bn, addr, account -> toAccountAdapter(addr, account))
             .or(
                 () -> {
                   if (bn > blockchainQuery.getBlockchain().getChainHeadBlockNumber()) {
@@ -310,19 +309,18 @@ public class GraphQLDataFetchers {
       } else {
         // return account on latest block
         final long latestBn = blockchainQuery.latestBlock().orElseThrow().getHeader().getNumber();
-        return blockchainQuery.getAndMapWorldState(
-            latestBn,
-            ws -> {
-              final Account account = ws.get(addr);
-              if (account == null) {
-                return Optional.of(new EmptyAccountAdapter(addr));
-              }
-              return Optional.of(new AccountAdapter(account));
-            });
+        return dataLoaders.mapAccount(latestBn, addr, account -> toAccountAdapter(addr, account));
       }
     };
   }
 
+  private static AccountAdapter toAccountAdapter(final Address address, final Account account) {
+    if (account == null) {
+      return new EmptyAccountAdapter(address);
+    }
+    return new AccountAdapter(account);
+  }
+
   DataFetcher<Optional<List<LogAdapter>>> getLogsDataFetcher() {
     return dataFetchingEnvironment -> {
       final BlockchainQueries blockchainQuery =
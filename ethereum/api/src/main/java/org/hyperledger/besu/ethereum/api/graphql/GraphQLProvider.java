@@ -19,6 +19,8 @@ import org.hyperledger.besu.ethereum.api.graphql.internal.Scalars;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.LongSupplier;
 
 import com.google.common.io.Resources;
 import graphql.GraphQL;
@@ -42,14 +44,16 @@ public class GraphQLProvider {
    * The maximum complexity allowed for a GraphQL query.
    *
    * <p>This constant is used to prevent overly complex queries from being executed. A query's
-   * complexity is calculated based on the number and type of fields it contains.
+   * complexity is calculated based on the number and type of fields it contains, and on the number
+   * of blocks it spans.
    */
   public static final int MAX_COMPLEXITY = 200;
 
   private GraphQLProvider() {}
 
   /**
-   * Builds the GraphQL service with the provided data fetchers.
+   * Builds the GraphQL service with the provided data fetchers. As the chain head is unknown, a
+   * block range without an upper bound is rejected as too complex.
    *
    * @param graphQLDataFetchers the data fetchers to be used in the GraphQL service.
    * @return the built GraphQL service.
@@ -57,13 +61,30 @@ public class GraphQLProvider {
    */
   public static GraphQL buildGraphQL(final GraphQLDataFetchers graphQLDataFetchers)
       throws IOException {
+    return buildGraphQL(graphQLDataFetchers, () -> Long.MAX_VALUE);
+  }
+
+  /**
+   * Builds the GraphQL service with the provided data fetchers.
+   *
+   * @param graphQLDataFetchers the data fetchers to be used in the GraphQL service.
+   * @param chainHeadBlockNumber supplies the number of the chain head block, where a block range
+   *     without an upper bound ends.
+   * @return the built GraphQL service.
+   * @throws IOException if there is an error reading the schema file.
+   */
+  public static GraphQL buildGraphQL(
+      final GraphQLDataFetchers graphQLDataFetchers, final LongSupplier chainHeadBlockNumber)
+      throws IOException {
     final URL url = Resources.getResource("schema.graphqls");
     final String sdl = Resources.toString(url, StandardCharsets.UTF_8);
     final GraphQLSchema graphQLSchema = buildSchema(sdl, graphQLDataFetchers);
     return GraphQL.newGraphQL(graphQLSchema)
         .instrumentation(
             new MaxQueryComplexityInstrumentation(
-                MAX_COMPLEXITY, GraphQLProvider::calculateFieldCost))
+                MAX_COMPLEXITY,
+                (environment, childComplexity) ->
+                    calculateFieldCost(environment, childComplexity, chainHeadBlockNumber)))
         .build();
   }
 
@@ -108,7 +129,9 @@ public class GraphQLProvider {
   }
 
   private static int calculateFieldCost(
-      final FieldComplexityEnvironment environment, final int childComplexity) {
+      final FieldComplexityEnvironment environment,
+      final int childComplexity,
+      final LongSupplier chainHeadBlockNumber) {
     final String childTypeName = environment.getParentType().getName();
     final String fieldName = environment.getField().getName();
 
@@ -116,8 +139,31 @@ public class GraphQLProvider {
       return childComplexity + 100;
     } else if (childTypeName.equals("__Type") && fieldName.equals("fields")) {
       return childComplexity + 100;
+    } else if (childTypeName.equals("Query") && fieldName.equals("blocks")) {
+      return rangeCost(environment.getArguments(), childComplexity, chainHeadBlockNumber);
     } else {
       return childComplexity + 1;
     }
   }
+
+  /**
+   * The fields selected on the blocks of a range are resolved for each block, and the account
+   * fields among them open the world state of every block, so each block costs one plus the
+   * complexity of its selection. A range without an upper bound ends at the chain head.
+   */
+  private static int rangeCost(
+      final Map<String, Object> arguments,
+      final int childComplexity,
+      final LongSupplier chainHeadBlockNumber) {
+    if (!(arguments.get("from") instanceof Number from)) {
+      return childComplexity + 1;
+    }
+    final long to =
+        arguments.get("to") instanceof Number number
+            ? number.longValue()
+            : chainHeadBlockNumber.getAsLong();
+    final long blocks =
+        Math.min(Math.max(to - Math.max(from.longValue(), 0L) + 1, 1L), MAX_COMPLEXITY + 1L);
+    return (int) Math.min(blocks * (childComplexity + 1L), Integer.MAX_VALUE);
+  }
 }
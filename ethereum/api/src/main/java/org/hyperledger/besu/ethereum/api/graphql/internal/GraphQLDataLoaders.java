@@ -0,0 +1,252 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql.internal;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLContextType;
+import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.TransactionReceiptWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.evm.account.Account;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import graphql.GraphQLContext;
+
+/**
+ * Loads the blocks, receipts and accounts needed to resolve a GraphQL query, each of them at most
+ * once for the query.
+ *
+ * <p>The fields of a query are resolved independently, so a query over many blocks would otherwise
+ * read the same blocks and receipts again for each field referencing them, and open a world state
+ * for each account. The loaders are created for each query and cache what they load for the time
+ * of the query: a block is read once, the receipts of a block are read together the first time one
+ * of them is needed, and the accounts of a block are read with a single opening of its world state,
+ * together with the other accounts its transactions touch.
+ */
+public class GraphQLDataLoaders {
+
+  private final BlockchainQueries blockchainQueries;
+  private final ProtocolSchedule protocolSchedule;
+
+  private final Map<Hash, Optional<BlockWithMetadata<TransactionWithMetadata, Hash>>>
+      blocksByHash = new HashMap<>();
+  private final Map<Long, Optional<BlockWithMetadata<TransactionWithMetadata, Hash>>>
+      blocksByNumber = new HashMap<>();
+  private final Map<Hash, Optional<List<TransactionReceiptWithMetadata>>> receiptsByBlockHash =
+      new HashMap<>();
+  private final Map<Long, Map<Address, Optional<Account>>> accountsByBlockNumber =
+      new HashMap<>();
+  private final Map<Long, List<BlockWithMetadata<TransactionWithMetadata, Hash>>>
+      blocksWithRegisteredTransactions = new HashMap<>();
+  private final Map<Long, List<BlockWithMetadata<TransactionWithMetadata, Hash>>>
+      blocksWithAccountsToLoad = new HashMap<>();
+  private final Set<Long> missingWorldStates = new HashSet<>();
+
+  /**
+   * Creates the loaders of a query.
+   *
+   * @param blockchainQueries the blockchain queries to load from
+   * @param protocolSchedule the protocol schedule, needed to load receipts
+   */
+  public GraphQLDataLoaders(
+      final BlockchainQueries blockchainQueries, final ProtocolSchedule protocolSchedule) {
+    this.blockchainQueries = blockchainQueries;
+    this.protocolSchedule = protocolSchedule;
+  }
+
+  /**
+   * Returns the loaders of the query being executed, creating them if the context has none.
+   *
+   * @param graphQLContext the context of the query
+   * @return the loaders of the query
+   */
+  public static GraphQLDataLoaders get(final GraphQLContext graphQLContext) {
+    return graphQLContext.computeIfAbsent(
+        GraphQLContextType.DATA_LOADERS,
+        key ->
+            new GraphQLDataLoaders(
+                graphQLContext.get(GraphQLContextType.BLOCKCHAIN_QUERIES),
+                graphQLContext.get(GraphQLContextType.PROTOCOL_SCHEDULE)));
+  }
+
+  /**
+   * Returns the block with the given hash.
+   *
+   * @param blockHash the hash of the block
+   * @return the block, or empty if it is unknown
+   */
+  public synchronized Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> blockByHash(
+      final Hash blockHash) {
+    return blocksByHash.computeIfAbsent(blockHash, blockchainQueries::blockByHash);
+  }
+
+  /**
+   * Returns the canonical block with the given number.
+   *
+   * @param blockNumber the number of the block
+   * @return the block, or empty if there is no block with this number
+   */
+  public synchronized Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> blockByNumber(
+      final long blockNumber) {
+    return blocksByNumber.computeIfAbsent(blockNumber, blockchainQueries::blockByNumber);
+  }
+
+  /**
+   * Returns the transaction at the given index of a block.
+   *
+   * @param blockHash the hash of the block
+   * @param transactionIndex the index of the transaction in the block
+   * @return the transaction, or empty if the block or the transaction is unknown
+   */
+  public Optional<TransactionWithMetadata> transaction(
+      final Hash blockHash, final int transactionIndex) {
+    return blockByHash(blockHash)
+        .map(BlockWithMetadata::getTransactions)
+        .filter(transactions -> transactionIndex < transactions.size())
+        .map(transactions -> transactions.get(transactionIndex));
+  }
+
+  /**
+   * Returns the receipts of the transactions of a block.
+   *
+   * @param blockHash the hash of the block
+   * @return the receipts, in the order of the transactions, or empty if the block is unknown
+   */
+  public synchronized Optional<List<TransactionReceiptWithMetadata>> receiptsByBlockHash(
+      final Hash blockHash) {
+    return receiptsByBlockHash.computeIfAbsent(
+        blockHash,
+        hash -> blockchainQueries.transactionReceiptsByBlockHash(hash, protocolSchedule));
+  }
+
+  /**
+   * Returns the receipt of a transaction. The receipts of the block including the transaction are
+   * all read the first time one of them is needed.
+   *
+   * @param transaction the transaction
+   * @return the receipt, or empty if the transaction is not included in a block
+   */
+  public Optional<TransactionReceiptWithMetadata> receipt(
+      final TransactionWithMetadata transaction) {
+    if (transaction.getBlockHash().isEmpty() || transaction.getTransactionIndex().isEmpty()) {
+      return blockchainQueries.transactionReceiptByTransactionHash(
+          transaction.getTransaction().getHash(), protocolSchedule);
+    }
+    final int transactionIndex = transaction.getTransactionIndex().get();
+    return receiptsByBlockHash(transaction.getBlockHash().get())
+        .filter(receipts -> transactionIndex < receipts.size())
+        .map(receipts -> receipts.get(transactionIndex));
+  }
+
+  /**
+   * Registers a block whose transactions are resolved by the query, so the accounts they touch can
+   * be read together once one of them is needed.
+   *
+   * @param block the block
+   */
+  public synchronized void registerTransactions(
+      final BlockWithMetadata<TransactionWithMetadata, Hash> block) {
+    final List<BlockWithMetadata<TransactionWithMetadata, Hash>> blocks =
+        blocksWithRegisteredTransactions.computeIfAbsent(
+            block.getHeader().getNumber(), k -> new ArrayList<>());
+    if (!blocks.contains(block)) {
+      blocks.add(block);
+    }
+  }
+
+  /**
+   * Prefetches the accounts touched by the registered transactions of a block, that is its miner
+   * and their senders and recipients, so they are read with the next account read in its state.
+   *
+   * @param blockNumber the number of the block
+   */
+  public synchronized void prefetchTransactionAccounts(final long blockNumber) {
+    final List<BlockWithMetadata<TransactionWithMetadata, Hash>> blocks =
+        blocksWithRegisteredTransactions.remove(blockNumber);
+    if (blocks != null && !missingWorldStates.contains(blockNumber)) {
+      blocksWithAccountsToLoad.computeIfAbsent(blockNumber, k -> new ArrayList<>()).addAll(blocks);
+    }
+  }
+
+  /**
+   * Maps an account in the state of a block, as {@link BlockchainQueries#getAndMapWorldState(long,
+   * Function)} would. The accounts prefetched for the block are read in the same opening of its
+   * state.
+   *
+   * <p>The account is only valid for its header fields, like its balance and nonce. Its code and
+   * storage need to be read from the state itself.
+   *
+   * @param <U> the type of the mapped account
+   * @param blockNumber the number of the block
+   * @param address the address of the account
+   * @param mapper the function mapping the account, which is null if it does not exist
+   * @return the mapped account, or empty if the state of the block is not available
+   */
+  public synchronized <U> Optional<U> mapAccount(
+      final long blockNumber, final Address address, final Function<Account, U> mapper) {
+    if (missingWorldStates.contains(blockNumber)) {
+      return Optional.empty();
+    }
+    final Map<Address, Optional<Account>> loaded =
+        accountsByBlockNumber.computeIfAbsent(blockNumber, k -> new HashMap<>());
+    if (!loaded.containsKey(address)) {
+      final Set<Address> toLoad = new LinkedHashSet<>();
+      toLoad.add(address);
+      // the senders are only recovered now that one of the accounts is needed
+      blocksWithAccountsToLoad
+          .getOrDefault(blockNumber, List.of())
+          .forEach(block -> addAccounts(block, toLoad));
+      blocksWithAccountsToLoad.remove(blockNumber);
+      toLoad.removeAll(loaded.keySet());
+
+      final Optional<Map<Address, Optional<Account>>> read =
+          blockchainQueries.getAndMapWorldState(
+              blockNumber,
+              ws -> {
+                final Map<Address, Optional<Account>> accounts = new HashMap<>();
+                toLoad.forEach(a -> accounts.put(a, Optional.ofNullable(ws.get(a))));
+                return Optional.of(accounts);
+              });
+      if (read.isEmpty()) {
+        missingWorldStates.add(blockNumber);
+        accountsByBlockNumber.remove(blockNumber);
+        return Optional.empty();
+      }
+      loaded.putAll(read.get());
+    }
+    return Optional.ofNullable(mapper.apply(loaded.get(address).orElse(null)));
+  }
+
+  private static void addAccounts(
+      final BlockWithMetadata<TransactionWithMetadata, Hash> block, final Set<Address> addresses) {
+    addresses.add(block.getHeader().getCoinbase());
+    for (final TransactionWithMetadata transaction : block.getTransactions()) {
+      addresses.add(transaction.getTransaction().getSender());
+      transaction.getTransaction().getTo().ifPresent(addresses::add);
+    }
+  }
+}
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter;
 
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLContextType;
+import org.hyperledger.besu.ethereum.api.graphql.internal.GraphQLDataLoaders;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 
 import graphql.schema.DataFetchingEnvironment;
@@ -23,4 +24,8 @@ abstract class AdapterBase {
   BlockchainQueries getBlockchainQueries(final DataFetchingEnvironment environment) {
     return environment.getGraphQlContext().get(GraphQLContextType.BLOCKCHAIN_QUERIES);
   }
+
+  GraphQLDataLoaders getDataLoaders(final DataFetchingEnvironment environment) {
+    return GraphQLDataLoaders.get(environment.getGraphQlContext());
+  }
 }
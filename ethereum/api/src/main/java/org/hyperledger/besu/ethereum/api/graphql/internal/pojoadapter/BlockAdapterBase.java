@@ -41,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.function.Function;
 
 import com.google.common.primitives.Longs;
 import graphql.schema.DataFetchingEnvironment;
@@ -72,10 +73,9 @@ public class BlockAdapterBase extends AdapterBase {
    * @return an Optional containing the parent block if it exists, otherwise an empty Optional
    */
   public Optional<NormalBlockAdapter> getParent(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
     final Hash parentHash = header.getParentHash();
     final Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> block =
-        query.blockByHash(parentHash);
+        getDataLoaders(environment).blockByHash(parentHash);
     return block.map(NormalBlockAdapter::new);
   }
 
@@ -134,15 +134,14 @@ public class BlockAdapterBase extends AdapterBase {
    */
   public AccountAdapter getMiner(final DataFetchingEnvironment environment) {
 
-    final BlockchainQueries query = getBlockchainQueries(environment);
     long blockNumber = header.getNumber();
     final Long bn = environment.getArgument("block");
     if (bn != null) {
       blockNumber = bn;
     }
 
-    return query
-        .getAndMapWorldState(blockNumber, ws -> Optional.ofNullable(ws.get(header.getCoinbase())))
+    return getDataLoaders(environment)
+        .mapAccount(blockNumber, header.getCoinbase(), Function.identity())
         .map(AccountAdapter::new)
         .orElseGet(() -> new EmptyAccountAdapter(header.getCoinbase()));
   }
@@ -245,12 +244,10 @@ public class BlockAdapterBase extends AdapterBase {
    *     block
    */
   public AccountAdapter getAccount(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
     final long bn = header.getNumber();
     final Address address = environment.getArgument("address");
-    return query
-        .getAndMapWorldState(
-            bn, ws -> Optional.of(new AccountAdapter(ws.get(address), Optional.of(bn))))
+    return getDataLoaders(environment)
+        .mapAccount(bn, address, account -> new AccountAdapter(account, Optional.of(bn)))
         .get();
   }
 
@@ -15,9 +15,7 @@
 package org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter;
 
 import org.hyperledger.besu.datatypes.Address;
-import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.LogTopic;
-import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 
@@ -84,9 +82,14 @@ public class LogAdapter extends AdapterBase {
    * @throws java.util.NoSuchElementException if the transaction is not found.
    */
   public TransactionAdapter getTransaction(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
-    final Hash hash = logWithMetadata.getTransactionHash();
-    final Optional<TransactionWithMetadata> tran = query.transactionByHash(hash);
+    final Optional<TransactionWithMetadata> tran =
+        getDataLoaders(environment)
+            .transaction(logWithMetadata.getBlockHash(), logWithMetadata.getTransactionIndex())
+            .filter(t -> t.getTransaction().getHash().equals(logWithMetadata.getTransactionHash()))
+            .or(
+                () ->
+                    getBlockchainQueries(environment)
+                        .transactionByHash(logWithMetadata.getTransactionHash()));
     return tran.map(TransactionAdapter::new).orElseThrow();
   }
 
@@ -97,7 +100,6 @@ public class LogAdapter extends AdapterBase {
    * @return an AccountAdapter for the account associated with the log.
    */
   public AccountAdapter getAccount(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
     long blockNumber = logWithMetadata.getBlockNumber();
     final Long bn = environment.getArgument("block");
     if (bn != null) {
@@ -105,8 +107,8 @@ public class LogAdapter extends AdapterBase {
     }
 
     final Address logger = logWithMetadata.getLogger();
-    return query
-        .getAndMapWorldState(blockNumber, ws -> Optional.of(new AccountAdapter(ws.get(logger))))
+    return getDataLoaders(environment)
+        .mapAccount(blockNumber, logger, AccountAdapter::new)
         .orElse(new EmptyAccountAdapter(logger));
   }
 }
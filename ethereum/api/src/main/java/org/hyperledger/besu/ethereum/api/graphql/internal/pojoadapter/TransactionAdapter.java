@@ -19,7 +19,7 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.VersionedHash;
 import org.hyperledger.besu.datatypes.Wei;
-import org.hyperledger.besu.ethereum.api.graphql.GraphQLContextType;
+import org.hyperledger.besu.ethereum.api.graphql.internal.GraphQLDataLoaders;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.TransactionReceiptWithMetadata;
 import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
@@ -29,7 +29,6 @@ import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncoder;
 import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncodingConfiguration;
-import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 
 import java.math.BigInteger;
@@ -90,16 +89,12 @@ public class TransactionAdapter extends AdapterBase {
   private Optional<TransactionReceiptWithMetadata> getReceipt(
       final DataFetchingEnvironment environment) {
     if (transactionReceiptWithMetadata == null) {
-      final BlockchainQueries query = getBlockchainQueries(environment);
-      final ProtocolSchedule protocolSchedule =
-          environment.getGraphQlContext().get(GraphQLContextType.PROTOCOL_SCHEDULE);
-
       final Transaction transaction = transactionWithMetadata.getTransaction();
       if (transaction == null) {
         transactionReceiptWithMetadata = Optional.empty();
       } else {
         transactionReceiptWithMetadata =
-            query.transactionReceiptByTransactionHash(transaction.getHash(), protocolSchedule);
+            getDataLoaders(environment).receipt(transactionWithMetadata);
       }
     }
     return transactionReceiptWithMetadata;
@@ -145,8 +140,8 @@ public class TransactionAdapter extends AdapterBase {
    * Retrieves the sender of the transaction.
    *
    * <p>This method uses the BlockchainQueries to get the block number and then retrieves the sender
-   * of the transaction. It then uses the getAndMapWorldState method to get the state of the
-   * sender's account at the given block number.
+   * of the transaction. It then uses the data loaders of the query to get the state of the sender's
+   * account at the given block number.
    *
    * @param environment the data fetching environment.
    * @return an AccountAdapter object representing the sender's account state at the given block
@@ -160,10 +155,10 @@ public class TransactionAdapter extends AdapterBase {
             .orElseGet(query::headBlockNumber);
 
     final Address addr = transactionWithMetadata.getTransaction().getSender();
-    return query
-        .getAndMapWorldState(
-            blockNumber,
-            mutableWorldState -> Optional.of(new AccountAdapter(mutableWorldState.get(addr))))
+    final GraphQLDataLoaders dataLoaders = getDataLoaders(environment);
+    dataLoaders.prefetchTransactionAccounts(blockNumber);
+    return dataLoaders
+        .mapAccount(blockNumber, addr, AccountAdapter::new)
         .orElse(new EmptyAccountAdapter(addr));
   }
 
@@ -171,7 +166,7 @@ public class TransactionAdapter extends AdapterBase {
    * Retrieves the recipient of the transaction.
    *
    * <p>This method uses the BlockchainQueries to get the block number and then retrieves the
-   * recipient of the transaction. It then uses the getAndMapWorldState method to get the state of
+   * recipient of the transaction. It then uses the data loaders of the query to get the state of
    * the recipient's account at the given block number.
    *
    * @param environment the data fetching environment.
@@ -186,15 +181,16 @@ public class TransactionAdapter extends AdapterBase {
             .or(transactionWithMetadata::getBlockNumber)
             .orElseGet(query::headBlockNumber);
 
+    final GraphQLDataLoaders dataLoaders = getDataLoaders(environment);
+    dataLoaders.prefetchTransactionAccounts(blockNumber);
     return transactionWithMetadata
         .getTransaction()
         .getTo()
         .flatMap(
             address ->
-                query
-                    .getAndMapWorldState(
-                        blockNumber,
-                        ws -> Optional.of(new AccountAdapter(address, ws.get(address))))
+                dataLoaders
+                    .mapAccount(
+                        blockNumber, address, account -> new AccountAdapter(address, account))
                     .or(() -> Optional.of(new EmptyAccountAdapter(address))));
   }
 
@@ -290,7 +286,7 @@ public class TransactionAdapter extends AdapterBase {
   public Optional<NormalBlockAdapter> getBlock(final DataFetchingEnvironment environment) {
     return transactionWithMetadata
         .getBlockHash()
-        .flatMap(blockHash -> getBlockchainQueries(environment).blockByHash(blockHash))
+        .flatMap(blockHash -> getDataLoaders(environment).blockByHash(blockHash))
         .map(NormalBlockAdapter::new);
   }
 
@@ -404,9 +400,8 @@ public class TransactionAdapter extends AdapterBase {
    * Retrieves the contract created by the transaction.
    *
    * <p>This method checks if the transaction is a contract creation transaction. If it is, it
-   * retrieves the address of the created contract. It then uses the BlockchainQueries to get the
-   * block number and then retrieves the state of the created contract's account at the given block
-   * number.
+   * retrieves the address of the created contract and then retrieves the state of the created
+   * contract's account at the given block number.
    *
    * @param environment the data fetching environment.
    * @return an Optional containing an AccountAdapter object representing the created contract's
@@ -419,16 +414,14 @@ public class TransactionAdapter extends AdapterBase {
       final Optional<Address> addr = transactionWithMetadata.getTransaction().contractAddress();
 
       if (addr.isPresent()) {
-        final BlockchainQueries query = getBlockchainQueries(environment);
         final Optional<Long> txBlockNumber = transactionWithMetadata.getBlockNumber();
         final Optional<Long> bn = Optional.ofNullable(environment.getArgument("block"));
         if (txBlockNumber.isEmpty() && bn.isEmpty()) {
           return Optional.empty();
         }
         final long blockNumber = bn.orElseGet(txBlockNumber::get);
-        return query
-            .getAndMapWorldState(
-                blockNumber, ws -> Optional.of(new AccountAdapter(ws.get(addr.get()))))
+        return getDataLoaders(environment)
+            .mapAccount(blockNumber, addr.get(), AccountAdapter::new)
             .or(() -> Optional.of(new EmptyAccountAdapter(addr.get())));
       }
     }
@@ -448,10 +441,6 @@ public class TransactionAdapter extends AdapterBase {
    */
   public List<LogAdapter> getLogs(final DataFetchingEnvironment environment) {
     final BlockchainQueries query = getBlockchainQueries(environment);
-    final ProtocolSchedule protocolSchedule =
-        environment.getGraphQlContext().get(GraphQLContextType.PROTOCOL_SCHEDULE);
-
-    final Hash hash = transactionWithMetadata.getTransaction().getHash();
 
     final Optional<BlockHeader> maybeBlockHeader =
         transactionWithMetadata.getBlockNumber().flatMap(query::getBlockHeaderByNumber);
@@ -465,7 +454,7 @@ public class TransactionAdapter extends AdapterBase {
     }
 
     final Optional<TransactionReceiptWithMetadata> maybeTransactionReceiptWithMetadata =
-        query.transactionReceiptByTransactionHash(hash, protocolSchedule);
+        getReceipt(environment);
     final List<LogAdapter> results = new ArrayList<>();
     if (maybeTransactionReceiptWithMetadata.isPresent()) {
       final List<LogWithMetadata> logs =
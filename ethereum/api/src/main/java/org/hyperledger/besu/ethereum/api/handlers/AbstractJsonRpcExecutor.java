@@ -22,7 +22,9 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedJsonArray;
 
 import java.io.IOException;
 import java.util.Optional;
@@ -81,7 +83,8 @@ public abstract class AbstractJsonRpcExecutor {
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final JsonObject jsonRequest,
-      final RoutingContext ctx) {
+      final RoutingContext ctx,
+      final boolean streamedResultAllowed) {
     final Optional<User> user = ContextKey.AUTHENTICATED_USER.extractFrom(ctx, Optional::empty);
     final Context spanContext = ctx.get(SPAN_CONTEXT);
     return jsonRpcExecutor.execute(
@@ -90,7 +93,21 @@ public abstract class AbstractJsonRpcExecutor {
         spanContext,
         () -> !ctx.response().closed(),
         jsonRequest,
-        req -> req.mapTo(JsonRpcRequest.class));
+        req -> req.mapTo(JsonRpcRequest.class),
+        streamedResultAllowed);
+  }
+
+  /**
+   * Returns whether the result of a response is produced while it is serialized, in which case it
+   * must only be serialized once.
+   *
+   * @param response the response
+   * @return true if the result of the response is streamed
+   */
+  protected static boolean isStreamed(final JsonRpcResponse response) {
+    return response instanceof JsonRpcSuccessResponse successResponse
+        && successResponse.getResult() instanceof StreamedJsonArray<?> streamedResult
+        && !streamedResult.isCollected();
   }
 
   protected static void handleJsonRpcError(
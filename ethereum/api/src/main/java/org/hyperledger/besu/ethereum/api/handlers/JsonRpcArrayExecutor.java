@@ -35,12 +35,24 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 
 public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
+  private final JsonRpcBatchScheduler batchScheduler;
+
   public JsonRpcArrayExecutor(
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final RoutingContext ctx,
       final JsonRpcConfiguration jsonRpcConfiguration) {
+    this(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, JsonRpcBatchScheduler.sequential());
+  }
+
+  JsonRpcArrayExecutor(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final RoutingContext ctx,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final JsonRpcBatchScheduler batchScheduler) {
     super(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration);
+    this.batchScheduler = batchScheduler;
   }
 
   /**
@@ -63,17 +75,21 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
   }
 
   /**
-   * Executes a batch of RPC requests.
+   * Executes a batch of RPC requests. Independent elements of the batch may run concurrently, but
+   * their responses are always written in request order.
    *
    * @param rpcRequestBatch the batch of RPC requests.
    * @param streamer the JsonResponseStreamer to use.
    */
   public void executeRpcRequestBatch(
       final JsonArray rpcRequestBatch, final JsonResponseStreamer streamer) throws IOException {
-    try (JsonGenerator generator = getJsonObjectMapper().getFactory().createGenerator(streamer)) {
+    try (JsonGenerator generator = getJsonObjectMapper().getFactory().createGenerator(streamer);
+        JsonRpcBatchScheduler.Batch<JsonRpcResponse> batch =
+            batchScheduler.submit(
+                rpcRequestBatch.size(), i -> processMaybeRequest(rpcRequestBatch.getValue(i)))) {
       generator.writeStartArray();
       for (int i = 0; i < rpcRequestBatch.size(); i++) {
-        JsonRpcResponse response = processMaybeRequest(rpcRequestBatch.getValue(i));
+        JsonRpcResponse response = batch.get(i);
         if (response.getType() != RpcResponseType.NONE) {
           generator.writeObject(response);
         }
@@ -105,7 +121,7 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
    * @return the response from executing the request.
    */
   private JsonRpcResponse executeRequest(final JsonObject request) {
-    return executeRequest(jsonRpcExecutor, tracer, request, ctx);
+    return executeRequest(jsonRpcExecutor, tracer, request, ctx, false);
   }
 
   /**
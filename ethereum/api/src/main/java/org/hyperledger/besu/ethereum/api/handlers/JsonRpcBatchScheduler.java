@@ -0,0 +1,202 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Runs the elements of a JSON-RPC batch request concurrently, with at most a configured number of
+ * elements of the same batch in flight at any time. Results are exposed in request order, so the
+ * caller can stream each response as soon as it and all its predecessors are available.
+ *
+ * <p>The workers of all the batches share a bounded number of permits. A batch submitted while all
+ * the permits are in use is executed on the calling thread, as it would be without parallelism.
+ */
+public class JsonRpcBatchScheduler implements AutoCloseable {
+
+  private static final double[] FAN_OUT_BUCKETS = {1, 2, 4, 8, 16, 32, 64, 128};
+
+  private final int maxBatchParallelism;
+  private final Semaphore workerPermits;
+  private final ExecutorService workerPool = Executors.newVirtualThreadPerTaskExecutor();
+  private final Histogram batchFanOut;
+  private final OperationTimer batchQueueTimer;
+
+  /**
+   * Creates a scheduler that executes batch elements one at a time on the calling thread.
+   *
+   * @return a sequential scheduler
+   */
+  static JsonRpcBatchScheduler sequential() {
+    return new JsonRpcBatchScheduler(1, 0, new NoOpMetricsSystem());
+  }
+
+  /**
+   * Creates a new JsonRpcBatchScheduler.
+   *
+   * @param maxBatchParallelism the maximum number of elements of a batch executed concurrently
+   * @param maxBatchWorkers the maximum number of workers running across all the batches
+   * @param metricsSystem the metrics system used to report the batch fan-out and queue time
+   */
+  public JsonRpcBatchScheduler(
+      final int maxBatchParallelism, final int maxBatchWorkers, final MetricsSystem metricsSystem) {
+    this.maxBatchParallelism = Math.max(1, maxBatchParallelism);
+    this.workerPermits = new Semaphore(Math.max(0, maxBatchWorkers));
+    this.batchFanOut =
+        metricsSystem.createHistogram(
+            BesuMetricCategory.RPC,
+            "batch_request_fan_out",
+            "Number of elements of a JSON-RPC batch request executed concurrently",
+            FAN_OUT_BUCKETS);
+    this.batchQueueTimer =
+        metricsSystem.createTimer(
+            BesuMetricCategory.RPC,
+            "batch_request_queue_time",
+            "Time a JSON-RPC batch element waits before its execution starts");
+  }
+
+  /**
+   * Starts the execution of a batch.
+   *
+   * @param size the number of elements in the batch
+   * @param task the function executing the element at a given index
+   * @param <T> the type of the element results
+   * @return the running batch
+   */
+  <T> Batch<T> submit(final int size, final IntFunction<T> task) {
+    final int fanOut = Math.min(maxBatchParallelism, size);
+    final int workers = fanOut > 1 ? acquireWorkerPermits(fanOut) : 0;
+    batchFanOut.observe(Math.max(1, workers));
+    final Batch<T> batch = new Batch<>(size, task, workers == 0);
+    for (int i = 0; i < workers; i++) {
+      try {
+        workerPool.execute(
+            () -> {
+              try {
+                batch.drain();
+              } finally {
+                workerPermits.release();
+              }
+            });
+      } catch (final RejectedExecutionException e) {
+        // the scheduler is closed, the elements not claimed yet are executed by the caller
+        workerPermits.release(workers - i);
+        batch.drain();
+        break;
+      }
+    }
+    return batch;
+  }
+
+  private int acquireWorkerPermits(final int wanted) {
+    int acquired = 0;
+    while (acquired < wanted && workerPermits.tryAcquire()) {
+      acquired++;
+    }
+    return acquired;
+  }
+
+  /**
+   * Stops accepting new workers. Running workers complete the batch they are draining, and batches
+   * submitted afterwards are executed on the calling thread.
+   */
+  @Override
+  public void close() {
+    workerPool.shutdown();
+  }
+
+  /**
+   * A batch whose elements are claimed in order by a bounded set of workers.
+   *
+   * @param <T> the type of the element results
+   */
+  final class Batch<T> implements AutoCloseable {
+    private final IntFunction<T> task;
+    private final boolean executedByCaller;
+    private final CompletableFuture<T>[] results;
+    private final OperationTimer.TimingContext[] queueTimers;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    @SuppressWarnings("unchecked")
+    private Batch(final int size, final IntFunction<T> task, final boolean executedByCaller) {
+      this.task = task;
+      this.executedByCaller = executedByCaller;
+      this.results = new CompletableFuture[size];
+      this.queueTimers = new OperationTimer.TimingContext[size];
+      for (int i = 0; i < size; i++) {
+        results[i] = new CompletableFuture<>();
+        queueTimers[i] = batchQueueTimer.startTimer();
+      }
+    }
+
+    /**
+     * Returns the result of the element at the given index, waiting for it if needed. When no
+     * worker was started for this batch, the element is executed on the calling thread.
+     *
+     * @param index the index of the element
+     * @return the result of the element
+     */
+    T get(final int index) {
+      if (executedByCaller) {
+        drainUpTo(index);
+      }
+      try {
+        return results[index].join();
+      } catch (final CompletionException e) {
+        throw e.getCause() instanceof RuntimeException cause ? cause : e;
+      }
+    }
+
+    private void drain() {
+      drainUpTo(results.length - 1);
+    }
+
+    private void drainUpTo(final int lastIndex) {
+      while (!cancelled.get()) {
+        final int index = nextIndex.getAndUpdate(i -> i <= lastIndex ? i + 1 : i);
+        if (index > lastIndex) {
+          return;
+        }
+        queueTimers[index].stopTimer();
+        try {
+          results[index].complete(task.apply(index));
+        } catch (final RuntimeException e) {
+          results[index].completeExceptionally(e);
+        }
+      }
+    }
+
+    /** Stops claiming new elements, e.g. because the response could not be written. */
+    @Override
+    public void close() {
+      cancelled.set(true);
+    }
+  }
+}
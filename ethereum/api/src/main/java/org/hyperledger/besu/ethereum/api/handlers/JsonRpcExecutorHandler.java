@@ -39,6 +39,15 @@ public class JsonRpcExecutorHandler {
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final JsonRpcConfiguration jsonRpcConfiguration) {
+    return handler(
+        jsonRpcExecutor, tracer, jsonRpcConfiguration, JsonRpcBatchScheduler.sequential());
+  }
+
+  static Handler<RoutingContext> handler(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final JsonRpcBatchScheduler batchScheduler) {
     return ctx -> {
       long timeoutMillis = jsonRpcConfiguration.getHttpTimeoutSec() * 1000;
       final long timerId =
@@ -63,7 +72,7 @@ public class JsonRpcExecutorHandler {
       ctx.put("timerId", timerId);
 
       try {
-        createExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration)
+        createExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, batchScheduler)
             .ifPresentOrElse(
                 executor -> {
                   try {
@@ -128,14 +137,16 @@ public class JsonRpcExecutorHandler {
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final RoutingContext ctx,
-      final JsonRpcConfiguration jsonRpcConfiguration) {
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final JsonRpcBatchScheduler batchScheduler) {
     if (isJsonObjectRequest(ctx)) {
       return Optional.of(
           new JsonRpcObjectExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration));
     }
     if (isJsonArrayRequest(ctx)) {
       return Optional.of(
-          new JsonRpcArrayExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration));
+          new JsonRpcArrayExecutor(
+              jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, batchScheduler));
     }
     return Optional.empty();
   }
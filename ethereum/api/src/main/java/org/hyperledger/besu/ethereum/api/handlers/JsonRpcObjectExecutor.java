@@ -53,8 +53,9 @@ public class JsonRpcObjectExecutor extends AbstractJsonRpcExecutor {
 
     final JsonObject jsonRequest = ctx.get(ContextKey.REQUEST_BODY_AS_JSON_OBJECT.name());
     lazyTraceLogger(jsonRequest::toString);
+    // the response is serialized on this worker thread, so its result can be streamed
     final JsonRpcResponse jsonRpcResponse =
-        executeRequest(jsonRpcExecutor, tracer, jsonRequest, ctx);
+        executeRequest(jsonRpcExecutor, tracer, jsonRequest, ctx, true);
     handleJsonObjectResponse(response, jsonRpcResponse, ctx);
   }
 
@@ -75,8 +76,13 @@ public class JsonRpcObjectExecutor extends AbstractJsonRpcExecutor {
     } else {
       try (final JsonResponseStreamer streamer =
           new JsonResponseStreamer(response, ctx.request().remoteAddress())) {
+        // a streamed result would be produced again to be logged
+        lazyTraceLogger(
+            () ->
+                isStreamed(jsonRpcResponse)
+                    ? "Streamed JSON-RPC response, produced while it is written"
+                    : getJsonObjectMapper().writeValueAsString(jsonRpcResponse));
         // underlying output stream lifecycle is managed by the json object writer
-        lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(jsonRpcResponse));
         jsonObjectWriter.writeValue(streamer, jsonRpcResponse);
       }
     }
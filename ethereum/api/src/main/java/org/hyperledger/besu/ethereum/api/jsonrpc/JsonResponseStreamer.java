@@ -16,6 +16,10 @@ package org.hyperledger.besu.ethereum.api.jsonrpc;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.vertx.core.buffer.Buffer;
@@ -27,6 +31,7 @@ import org.slf4j.LoggerFactory;
 public class JsonResponseStreamer extends OutputStream {
 
   private static final Logger LOG = LoggerFactory.getLogger(JsonResponseStreamer.class);
+  private static final long DRAIN_CHECK_INTERVAL_MS = 100;
 
   private final HttpServerResponse response;
   private final SocketAddress remoteAddress;
@@ -61,11 +66,37 @@ public class JsonResponseStreamer extends OutputStream {
       chunked = true;
     }
 
+    awaitDrain();
     Buffer buf = Buffer.buffer(len);
     buf.appendBytes(bbuf, off, len);
     response.write(buf).onFailure(this::handleFailure);
   }
 
+  /**
+   * Blocks while the write queue of the response is full, so that a slow client holds back the
+   * producer of a large response instead of having it buffered in memory.
+   */
+  private void awaitDrain() throws IOException {
+    while (response.writeQueueFull()) {
+      final CompletableFuture<Void> drained = new CompletableFuture<>();
+      response.drainHandler(event -> drained.complete(null));
+      try {
+        // the queue may have drained before the handler was set, check it again on timeout
+        drained.get(DRAIN_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      } catch (final TimeoutException e) {
+        if (response.closed()) {
+          throw new IOException("Connection closed while waiting to write");
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while waiting to write", e);
+      } catch (final ExecutionException e) {
+        throw new IOException(e.getCause());
+      }
+      stopOnFailureOrClosed();
+    }
+  }
+
   @Override
   public void close() throws IOException {
     if (!closed) {
@@ -37,6 +37,8 @@ public class JsonRpcConfiguration {
   public static final int DEFAULT_ENGINE_JSON_RPC_PORT = 8551;
   public static final int DEFAULT_MAX_ACTIVE_CONNECTIONS = 80;
   public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+  public static final int DEFAULT_MAX_BATCH_PARALLELISM = 1;
+  public static final int DEFAULT_MAX_BATCH_WORKERS = 64;
   public static final long DEFAULT_HTTP_TIMEOUT_SEC =
       TimeoutOptions.defaultOptions().getTimeoutSeconds();
   public static final long DEFAULT_MAX_REQUEST_CONTENT_LENGTH = 128 * 1024 * 1024; // 128MB
@@ -57,6 +59,8 @@ public class JsonRpcConfiguration {
   private long httpTimeoutSec = DEFAULT_HTTP_TIMEOUT_SEC;
   private int maxActiveConnections;
   private int maxBatchSize;
+  private int maxBatchParallelism;
+  private int maxBatchWorkers;
   private long maxRequestContentLength;
   private boolean prettyJsonEnabled;
 
@@ -69,6 +73,8 @@ public class JsonRpcConfiguration {
     config.httpTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
     config.setMaxActiveConnections(DEFAULT_MAX_ACTIVE_CONNECTIONS);
     config.setMaxBatchSize(DEFAULT_MAX_BATCH_SIZE);
+    config.setMaxBatchParallelism(DEFAULT_MAX_BATCH_PARALLELISM);
+    config.setMaxBatchWorkers(DEFAULT_MAX_BATCH_WORKERS);
     config.setMaxRequestContentLength(DEFAULT_MAX_REQUEST_CONTENT_LENGTH);
     config.setPrettyJsonEnabled(DEFAULT_PRETTY_JSON_ENABLED);
     return config;
@@ -225,6 +231,8 @@ public class JsonRpcConfiguration {
         .add("httpTimeoutSec", httpTimeoutSec)
         .add("maxActiveConnections", maxActiveConnections)
         .add("maxBatchSize", maxBatchSize)
+        .add("maxBatchParallelism", maxBatchParallelism)
+        .add("maxBatchWorkers", maxBatchWorkers)
         .toString();
   }
 
@@ -246,7 +254,9 @@ public class JsonRpcConfiguration {
         && Objects.equals(hostsAllowlist, that.hostsAllowlist)
         && Objects.equals(authenticationCredentialsFile, that.authenticationCredentialsFile)
         && Objects.equals(authenticationPublicKeyFile, that.authenticationPublicKeyFile)
-        && maxBatchSize == that.maxBatchSize;
+        && maxBatchSize == that.maxBatchSize
+        && maxBatchParallelism == that.maxBatchParallelism
+        && maxBatchWorkers == that.maxBatchWorkers;
   }
 
   @Override
@@ -261,7 +271,9 @@ public class JsonRpcConfiguration {
         authenticationEnabled,
         authenticationCredentialsFile,
         authenticationPublicKeyFile,
-        maxBatchSize);
+        maxBatchSize,
+        maxBatchParallelism,
+        maxBatchWorkers);
   }
 
   public int getMaxActiveConnections() {
@@ -280,6 +292,22 @@ public class JsonRpcConfiguration {
     this.maxBatchSize = maxBatchSize;
   }
 
+  public int getMaxBatchParallelism() {
+    return maxBatchParallelism;
+  }
+
+  public void setMaxBatchParallelism(final int maxBatchParallelism) {
+    this.maxBatchParallelism = maxBatchParallelism;
+  }
+
+  public int getMaxBatchWorkers() {
+    return maxBatchWorkers;
+  }
+
+  public void setMaxBatchWorkers(final int maxBatchWorkers) {
+    this.maxBatchWorkers = maxBatchWorkers;
+  }
+
   public long getMaxRequestContentLength() {
     return maxRequestContentLength;
   }
@@ -18,6 +18,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static org.apache.tuweni.net.tls.VertxTrustOptions.allowlistClients;
 
 import org.hyperledger.besu.ethereum.api.handlers.HandlerFactory;
+import org.hyperledger.besu.ethereum.api.handlers.JsonRpcBatchScheduler;
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.AuthenticationService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.DefaultAuthenticationService;
@@ -135,6 +136,7 @@ public class JsonRpcHttpService {
   private final HealthService livenessService;
   private final HealthService readinessService;
   private final MetricsSystem metricsSystem;
+  private final JsonRpcBatchScheduler batchScheduler;
 
   /**
    * Construct a JsonRpcHttpService handler
@@ -206,6 +208,9 @@ public class JsonRpcHttpService {
       this.tracerProvider = ((OpenTelemetrySystem) metricsSystem).getTracerProvider();
     }
     this.metricsSystem = metricsSystem;
+    this.batchScheduler =
+        new JsonRpcBatchScheduler(
+            config.getMaxBatchParallelism(), config.getMaxBatchWorkers(), metricsSystem);
   }
 
   private void validateConfig(final JsonRpcConfiguration config) {
@@ -352,7 +357,8 @@ public class JsonRpcHttpService {
                       config.getNoAuthRpcApis()),
                   rpcMethods),
               tracer,
-              config),
+              config,
+              batchScheduler),
           false);
     } else {
       mainRoute.blockingHandler(
@@ -363,7 +369,8 @@ public class JsonRpcHttpService {
                       requestTimer),
                   rpcMethods),
               tracer,
-              config),
+              config,
+              batchScheduler),
           false);
     }
 
@@ -531,6 +538,7 @@ public class JsonRpcHttpService {
   }
 
   public CompletableFuture<?> stop() {
+    batchScheduler.close();
     if (httpServer == null) {
       return CompletableFuture.completedFuture(null);
     }
@@ -48,6 +48,7 @@ public enum RpcMethod {
   DEBUG_TRACE_CALL("debug_traceCall"),
   DEBUG_BATCH_RAW_TRANSACTION("debug_batchSendRawTransaction"),
   DEBUG_GET_BAD_BLOCKS("debug_getBadBlocks"),
+  DEBUG_GET_SLOWEST_BLOCKS("debug_getSlowestBlocks"),
   DEBUG_GET_RAW_HEADER("debug_getRawHeader"),
   DEBUG_GET_RAW_BLOCK("debug_getRawBlock"),
   DEBUG_GET_RAW_RECEIPTS("debug_getRawReceipts"),
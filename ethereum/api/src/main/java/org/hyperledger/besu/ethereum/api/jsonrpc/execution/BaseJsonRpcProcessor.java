@@ -20,7 +20,9 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonR
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedJsonArray;
 
 import java.util.Arrays;
 
@@ -41,7 +43,14 @@ public class BaseJsonRpcProcessor implements JsonRpcProcessor {
       final Span metricSpan,
       final JsonRpcRequestContext request) {
     try {
-      return method.response(request);
+      final JsonRpcResponse response = method.response(request);
+      if (!request.isStreamedResultAllowed()
+          && response instanceof JsonRpcSuccessResponse successResponse
+          && successResponse.getResult() instanceof StreamedJsonArray<?> streamedResult) {
+        // produced now, so it is neither produced on an event loop nor outside of the request
+        streamedResult.collect();
+      }
+      return response;
     } catch (final InvalidJsonRpcParameters e) {
       LOG.debug(
           "Invalid Params {} for method: {}, error: {}",
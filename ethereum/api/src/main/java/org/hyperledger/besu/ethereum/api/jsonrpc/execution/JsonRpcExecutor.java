@@ -62,6 +62,31 @@ public class JsonRpcExecutor {
       final Supplier<Boolean> alive,
       final JsonObject jsonRpcRequest,
       final Function<JsonObject, JsonRpcRequest> requestBodyProvider) {
+    return execute(
+        optionalUser, tracer, spanContext, alive, jsonRpcRequest, requestBodyProvider, false);
+  }
+
+  /**
+   * Executes a request.
+   *
+   * @param optionalUser the authenticated user, if any
+   * @param tracer the tracer of the request, may be null
+   * @param spanContext the context of the parent span of the request
+   * @param alive whether the client is still waiting for the response
+   * @param jsonRpcRequest the request
+   * @param requestBodyProvider parses the request
+   * @param streamedResultAllowed whether the result may be produced while the response is
+   *     serialized, only when the response is serialized on a worker thread
+   * @return the response
+   */
+  public JsonRpcResponse execute(
+      final Optional<User> optionalUser,
+      final Tracer tracer,
+      final Context spanContext,
+      final Supplier<Boolean> alive,
+      final JsonObject jsonRpcRequest,
+      final Function<JsonObject, JsonRpcRequest> requestBodyProvider,
+      final boolean streamedResultAllowed) {
     try {
       final JsonRpcRequest requestBody = requestBodyProvider.apply(jsonRpcRequest);
       final JsonRpcRequestId id = new JsonRpcRequestId(requestBody.getId());
@@ -90,7 +115,10 @@ public class JsonRpcExecutor {
       final JsonRpcMethod method = rpcMethods.get(requestBody.getMethod());
 
       return rpcProcessor.process(
-          id, method, span, new JsonRpcRequestContext(requestBody, optionalUser, alive));
+          id,
+          method,
+          span,
+          new JsonRpcRequestContext(requestBody, optionalUser, alive, streamedResultAllowed));
     } catch (final IllegalArgumentException e) {
       try {
         final Integer id = jsonRpcRequest.getInteger("id", null);
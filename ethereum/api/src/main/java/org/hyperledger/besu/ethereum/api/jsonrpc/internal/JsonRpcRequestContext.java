@@ -28,6 +28,7 @@ public class JsonRpcRequestContext {
   private final JsonRpcRequest jsonRpcRequest;
   private final Optional<User> user;
   private final Supplier<Boolean> alive;
+  private final boolean streamedResultAllowed;
 
   public JsonRpcRequestContext(final JsonRpcRequest jsonRpcRequest) {
     this(jsonRpcRequest, () -> true);
@@ -50,9 +51,18 @@ public class JsonRpcRequestContext {
       final JsonRpcRequest jsonRpcRequest,
       final Optional<User> user,
       final Supplier<Boolean> alive) {
+    this(jsonRpcRequest, user, alive, false);
+  }
+
+  public JsonRpcRequestContext(
+      final JsonRpcRequest jsonRpcRequest,
+      final Optional<User> user,
+      final Supplier<Boolean> alive,
+      final boolean streamedResultAllowed) {
     this.jsonRpcRequest = jsonRpcRequest;
     this.user = user;
     this.alive = alive;
+    this.streamedResultAllowed = streamedResultAllowed;
   }
 
   public JsonRpcRequest getRequest() {
@@ -98,4 +108,14 @@ public class JsonRpcRequestContext {
   public boolean isAlive() {
     return alive.get();
   }
+
+  /**
+   * Returns whether the result of the request may be produced while the response is serialized,
+   * which is only the case when the response is serialized on a worker thread.
+   *
+   * @return true if the result may be streamed into the response
+   */
+  public boolean isStreamedResultAllowed() {
+    return streamedResultAllowed;
+  }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.BlockImportProfileResult;
+import org.hyperledger.besu.ethereum.mainnet.BlockImportProfiler;
+
+import java.util.List;
+
+/** Returns the profiles of the slowest blocks imported since the node started, slowest first. */
+public class DebugGetSlowestBlocks implements JsonRpcMethod {
+
+  private final ProtocolContext protocolContext;
+
+  public DebugGetSlowestBlocks(final ProtocolContext protocolContext) {
+    this.protocolContext = protocolContext;
+  }
+
+  @Override
+  public String getName() {
+    return RpcMethod.DEBUG_GET_SLOWEST_BLOCKS.getMethodName();
+  }
+
+  @Override
+  public JsonRpcResponse response(final JsonRpcRequestContext requestContext) {
+    final List<BlockImportProfileResult> response =
+        protocolContext
+            .getBlockImportProfiler()
+            .map(BlockImportProfiler::getSlowestBlocks)
+            .orElse(List.of())
+            .stream()
+            .map(BlockImportProfileResult::new)
+            .toList();
+    return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), response);
+  }
+}
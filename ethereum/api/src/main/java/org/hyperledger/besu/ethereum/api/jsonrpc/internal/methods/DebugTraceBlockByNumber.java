@@ -26,8 +26,10 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedJsonArray;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
@@ -45,6 +47,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
 
@@ -108,57 +111,84 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
     Optional<Block> maybeBlock =
         getBlockchainQueries().getBlockchain().getBlockByNumber(blockNumber);
 
+    // the traces are streamed into the response as they are produced
     return maybeBlock
-        .flatMap(
+        .map(
             block ->
-                Tracer.processTracing(
-                    getBlockchainQueries(),
-                    Optional.of(block.getHeader()),
-                    traceableState -> {
-                      List<DebugTraceTransactionResult> tracesList =
-                          Collections.synchronizedList(new ArrayList<>());
-                      final ProtocolSpec protocolSpec =
-                          protocolSchedule.getByBlockHeader(block.getHeader());
-                      final MainnetTransactionProcessor transactionProcessor =
-                          protocolSpec.getTransactionProcessor();
-                      final TraceBlock.ChainUpdater chainUpdater =
-                          new TraceBlock.ChainUpdater(traceableState);
-
-                      TransactionSource transactionSource = new TransactionSource(block);
-                      DebugOperationTracer debugOperationTracer =
-                          new DebugOperationTracer(traceOptions.opCodeTracerConfig(), true);
-                      ExecuteTransactionStep executeTransactionStep =
-                          new ExecuteTransactionStep(
-                              chainUpdater,
-                              transactionProcessor,
-                              getBlockchainQueries().getBlockchain(),
-                              debugOperationTracer,
-                              protocolSpec,
-                              block);
-
-                      Pipeline<TransactionTrace> traceBlockPipeline =
-                          createPipelineFrom(
-                                  "getTransactions",
-                                  transactionSource,
-                                  4,
-                                  outputCounter,
-                                  false,
-                                  "debug_trace_block_by_number")
-                              .thenProcess("executeTransaction", executeTransactionStep)
-                              .thenProcessAsyncOrdered(
-                                  "debugTraceTransactionStep",
-                                  DebugTraceTransactionStepFactory.createAsync(
-                                      traceOptions, protocolSpec),
-                                  4)
-                              .andFinishWith("collect_results", tracesList::add);
-
-                      try {
-                        ethScheduler.startPipeline(traceBlockPipeline).get();
-                      } catch (InterruptedException | ExecutionException e) {
-                        throw new RuntimeException(e);
-                      }
-                      return Optional.of(tracesList);
-                    }))
+                new StreamedJsonArray<DebugTraceTransactionResult>(
+                    sink -> streamTraces(traceOptions, block, sink),
+                    () -> collectTraces(traceOptions, block)))
         .orElse(null);
   }
+
+  private boolean streamTraces(
+      final TraceOptions traceOptions,
+      final Block block,
+      final Consumer<? super DebugTraceTransactionResult> sink) {
+    return Tracer.processTracing(
+            getBlockchainQueries(),
+            Optional.of(block.getHeader()),
+            traceableState -> {
+              traceBlock(traceableState, traceOptions, block, sink);
+              return Optional.of(Boolean.TRUE);
+            })
+        .isPresent();
+  }
+
+  private List<DebugTraceTransactionResult> collectTraces(
+      final TraceOptions traceOptions, final Block block) {
+    return Tracer.processTracing(
+            getBlockchainQueries(),
+            Optional.of(block.getHeader()),
+            traceableState -> {
+              List<DebugTraceTransactionResult> tracesList =
+                  Collections.synchronizedList(new ArrayList<>());
+              traceBlock(traceableState, traceOptions, block, tracesList::add);
+              return Optional.of(tracesList);
+            })
+        .orElse(null);
+  }
+
+  private void traceBlock(
+      final MutableWorldState traceableState,
+      final TraceOptions traceOptions,
+      final Block block,
+      final Consumer<? super DebugTraceTransactionResult> sink) {
+    final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(block.getHeader());
+    final MainnetTransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
+    final TraceBlock.ChainUpdater chainUpdater = new TraceBlock.ChainUpdater(traceableState);
+
+    TransactionSource transactionSource = new TransactionSource(block);
+    DebugOperationTracer debugOperationTracer =
+        new DebugOperationTracer(traceOptions.opCodeTracerConfig(), true);
+    ExecuteTransactionStep executeTransactionStep =
+        new ExecuteTransactionStep(
+            chainUpdater,
+            transactionProcessor,
+            getBlockchainQueries().getBlockchain(),
+            debugOperationTracer,
+            protocolSpec,
+            block);
+
+    Pipeline<TransactionTrace> traceBlockPipeline =
+        createPipelineFrom(
+                "getTransactions",
+                transactionSource,
+                4,
+                outputCounter,
+                false,
+                "debug_trace_block_by_number")
+            .thenProcess("executeTransaction", executeTransactionStep)
+            .thenProcessAsyncOrdered(
+                "debugTraceTransactionStep",
+                DebugTraceTransactionStepFactory.createAsync(traceOptions, protocolSpec),
+                4)
+            .andFinishWith("collect_results", sink::accept);
+
+    try {
+      ethScheduler.startPipeline(traceBlockPipeline).get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+  }
 }
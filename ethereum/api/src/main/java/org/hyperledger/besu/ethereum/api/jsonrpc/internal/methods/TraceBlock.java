@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonRpcPara
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedJsonArray;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.RewardTraceGenerator;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.util.ArrayNodeWrapper;
@@ -100,78 +101,86 @@ public class TraceBlock extends AbstractBlockParameterMethod {
     }
     LOG.trace("Received RPC rpcName={} block={}", getName(), blockNumber);
 
+    // the traces are streamed into the response as they are produced
     return getBlockchainQueries()
         .getBlockchain()
         .getBlockByNumber(blockNumber)
-        .map(block -> traceBlock(block, Optional.empty()))
-        .map(ArrayNodeWrapper::getArrayNode)
+        .map(
+            block ->
+                new StreamedJsonArray<Object>(
+                    sink -> {
+                      traceBlock(
+                          block,
+                          Optional.empty(),
+                          new ArrayNodeWrapper(sink, Optional.empty(), Optional.empty()));
+                      return true;
+                    }))
         .orElse(null);
   }
 
-  protected ArrayNodeWrapper traceBlock(
-      final Block block, final Optional<FilterParameter> filterParameter) {
+  protected void traceBlock(
+      final Block block,
+      final Optional<FilterParameter> filterParameter,
+      final ArrayNodeWrapper resultArrayNode) {
 
     if (block == null) {
-      return emptyResult();
+      return;
     }
     final BlockHeader header = block.getHeader();
 
-    return Tracer.processTracing(
-            getBlockchainQueries(),
-            Optional.of(header),
-            traceableState -> {
-              ArrayNodeWrapper resultArrayNode = new ArrayNodeWrapper(MAPPER.createArrayNode());
-              final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
-              final MainnetTransactionProcessor transactionProcessor =
-                  protocolSpec.getTransactionProcessor();
-              final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
-
-              TransactionSource transactionSource = new TransactionSource(block);
-              DebugOperationTracer debugOperationTracer =
-                  new DebugOperationTracer(
-                      OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
-                          .traceStorage(false)
-                          .traceMemory(false)
-                          .traceStack(true)
-                          .build(),
-                      false);
-              ExecuteTransactionStep executeTransactionStep =
-                  new ExecuteTransactionStep(
-                      chainUpdater,
-                      transactionProcessor,
-                      getBlockchainQueries().getBlockchain(),
-                      debugOperationTracer,
-                      protocolSpec,
-                      block);
-              TraceFlatTransactionStep traceFlatTransactionStep =
-                  new TraceFlatTransactionStep(protocolSchedule, block, filterParameter);
-              BuildArrayNodeCompleterStep buildArrayNodeStep =
-                  new BuildArrayNodeCompleterStep(resultArrayNode);
-              Pipeline<TransactionTrace> traceBlockPipeline =
-                  createPipelineFrom(
-                          "getTransactions",
-                          transactionSource,
-                          4,
-                          outputCounter,
-                          false,
-                          "trace_block_transactions")
-                      .thenProcess("executeTransaction", executeTransactionStep)
-                      .thenProcessAsyncOrdered("traceFlatTransaction", traceFlatTransactionStep, 4)
-                      .andFinishWith(
-                          "buildArrayNode",
-                          traceStream -> traceStream.forEachOrdered(buildArrayNodeStep));
-
-              try {
-                ethScheduler.startPipeline(traceBlockPipeline).get();
-              } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
-              }
-
-              resultArrayNode = buildArrayNodeStep.getResultArrayNode();
-              generateRewardsFromBlock(filterParameter, block, resultArrayNode);
-              return Optional.of(resultArrayNode);
-            })
-        .orElse(emptyResult());
+    Tracer.processTracing(
+        getBlockchainQueries(),
+        Optional.of(header),
+        traceableState -> {
+          final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
+          final MainnetTransactionProcessor transactionProcessor =
+              protocolSpec.getTransactionProcessor();
+          final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
+
+          TransactionSource transactionSource = new TransactionSource(block);
+          DebugOperationTracer debugOperationTracer =
+              new DebugOperationTracer(
+                  OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
+                      .traceStorage(false)
+                      .traceMemory(false)
+                      .traceStack(true)
+                      .build(),
+                  false);
+          ExecuteTransactionStep executeTransactionStep =
+              new ExecuteTransactionStep(
+                  chainUpdater,
+                  transactionProcessor,
+                  getBlockchainQueries().getBlockchain(),
+                  debugOperationTracer,
+                  protocolSpec,
+                  block);
+          TraceFlatTransactionStep traceFlatTransactionStep =
+              new TraceFlatTransactionStep(protocolSchedule, block, filterParameter);
+          BuildArrayNodeCompleterStep buildArrayNodeStep =
+              new BuildArrayNodeCompleterStep(resultArrayNode);
+          Pipeline<TransactionTrace> traceBlockPipeline =
+              createPipelineFrom(
+                      "getTransactions",
+                      transactionSource,
+                      4,
+                      outputCounter,
+                      false,
+                      "trace_block_transactions")
+                  .thenProcess("executeTransaction", executeTransactionStep)
+                  .thenProcessAsyncOrdered("traceFlatTransaction", traceFlatTransactionStep, 4)
+                  .andFinishWith(
+                      "buildArrayNode",
+                      traceStream -> traceStream.forEachOrdered(buildArrayNodeStep));
+
+          try {
+            ethScheduler.startPipeline(traceBlockPipeline).get();
+          } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+          }
+
+          generateRewardsFromBlock(filterParameter, block, resultArrayNode);
+          return Optional.of(resultArrayNode);
+        });
   }
 
   protected void generateRewardsFromBlock(
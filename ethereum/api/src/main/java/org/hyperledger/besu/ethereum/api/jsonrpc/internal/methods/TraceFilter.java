@@ -29,9 +29,11 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorR
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedJsonArray;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.RewardTraceGenerator;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionTraceIndex;
 import org.hyperledger.besu.ethereum.api.util.ArrayNodeWrapper;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -50,16 +52,19 @@ import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.constraints.NotNull;
 import org.apache.tuweni.bytes.Bytes32;
 import org.slf4j.Logger;
@@ -120,20 +125,212 @@ public class TraceFilter extends TraceBlock {
           requestContext.getRequest().getId(), RpcErrorType.EXCEEDS_RPC_MAX_BLOCK_RANGE);
     }
 
-    final ObjectMapper mapper = new ObjectMapper();
-    final ArrayNodeWrapper resultArrayNode =
-        new ArrayNodeWrapper(
-            mapper.createArrayNode(), filterParameter.getAfter(), filterParameter.getCount());
-    if (fromBlock > toBlock)
+    if (fromBlock > toBlock) {
       return new JsonRpcSuccessResponse(
-          requestContext.getRequest().getId(), resultArrayNode.getArrayNode());
-    else
-      return traceFilterWithPipeline(
-          requestContext, filterParameter, fromBlock, toBlock, resultArrayNode);
+          requestContext.getRequest().getId(), emptyResult().getArrayNode());
+    }
+    // the traces are streamed into the response as they are produced
+    return new JsonRpcSuccessResponse(
+        requestContext.getRequest().getId(),
+        new StreamedJsonArray<Object>(
+            sink -> {
+              traceFilter(
+                  filterParameter,
+                  fromBlock,
+                  toBlock,
+                  new ArrayNodeWrapper(
+                      sink, filterParameter.getAfter(), filterParameter.getCount()));
+              return true;
+            }));
+  }
+
+  private void traceFilter(
+      final FilterParameter filterParameter,
+      final long fromBlock,
+      final long toBlock,
+      final ArrayNodeWrapper resultArrayNode) {
+    final Optional<TransactionTraceIndex> traceIndex =
+        getBlockchainQueries().getTransactionTraceIndex();
+    if (traceIndex.isPresent()
+        && traceFilterIndexed(
+            traceIndex.get(), filterParameter, fromBlock, toBlock, resultArrayNode)) {
+      return;
+    }
+    traceFilterWithPipeline(filterParameter, fromBlock, toBlock, resultArrayNode);
+  }
+
+  /**
+   * Traces the part of the range covered by the trace index by re-executing only the blocks of the
+   * candidate transactions, up to their last candidate transaction, and the parts before and after
+   * it with the pipeline. Rewards are not indexed, so without a from address, which no reward
+   * matches, the rewards of every block of the indexed part are filtered as well.
+   *
+   * @return false if the index cannot serve the request, in which case nothing was traced
+   */
+  private boolean traceFilterIndexed(
+      final TransactionTraceIndex traceIndex,
+      final FilterParameter filterParameter,
+      final long fromBlock,
+      final long toBlock,
+      final ArrayNodeWrapper resultArrayNode) {
+    final OptionalLong lowestIndexed = traceIndex.getLowestIndexedBlock();
+    final OptionalLong highestIndexed = traceIndex.getHighestIndexedBlock();
+    if (lowestIndexed.isEmpty() || highestIndexed.isEmpty()) {
+      return false;
+    }
+    final long indexedFrom = Math.max(fromBlock, lowestIndexed.getAsLong());
+    final long indexedTo = Math.min(toBlock, highestIndexed.getAsLong());
+    if (indexedFrom > indexedTo) {
+      return false;
+    }
+    final Optional<NavigableMap<Long, BitSet>> candidates =
+        traceIndex.matchingTransactions(
+            filterParameter.getFromAddress(),
+            filterParameter.getToAddress(),
+            indexedFrom,
+            indexedTo);
+    if (candidates.isEmpty()) {
+      return false;
+    }
+    final List<Block> candidateBlocks = new ArrayList<>(candidates.get().size());
+    for (final long blockNumber : candidates.get().keySet()) {
+      final Optional<Block> block =
+          getBlockchainQueries().getBlockchain().getBlockByNumber(blockNumber);
+      if (block.isEmpty() || !isParentWorldStateAvailable(block.get().getHeader())) {
+        // every candidate block is traced from the state of its parent
+        return false;
+      }
+      candidateBlocks.add(block.get());
+    }
+
+    if (fromBlock < indexedFrom) {
+      traceFilterWithPipeline(filterParameter, fromBlock, indexedFrom - 1, resultArrayNode);
+    }
+    if (filterParameter.getFromAddress().isEmpty()) {
+      traceCandidateTransactionsAndRewards(
+          filterParameter,
+          indexedFrom,
+          indexedTo,
+          candidates.get(),
+          candidateBlocks,
+          resultArrayNode);
+    } else {
+      for (final Block block : candidateBlocks) {
+        if (resultArrayNode.isFull()) {
+          return true;
+        }
+        traceCandidateTransactions(
+            filterParameter,
+            block,
+            candidates.get().get(block.getHeader().getNumber()),
+            resultArrayNode);
+      }
+    }
+    if (indexedTo < toBlock && !resultArrayNode.isFull()) {
+      traceFilterWithPipeline(filterParameter, indexedTo + 1, toBlock, resultArrayNode);
+    }
+    return true;
   }
 
-  private JsonRpcResponse traceFilterWithPipeline(
-      final JsonRpcRequestContext requestContext,
+  private void traceCandidateTransactionsAndRewards(
+      final FilterParameter filterParameter,
+      final long fromBlock,
+      final long toBlock,
+      final NavigableMap<Long, BitSet> candidates,
+      final List<Block> candidateBlocks,
+      final ArrayNodeWrapper resultArrayNode) {
+    final Iterator<Block> candidateBlockIterator = candidateBlocks.iterator();
+    Optional<Block> nextCandidateBlock = nextBlock(candidateBlockIterator);
+    for (long blockNumber = fromBlock; blockNumber <= toBlock; blockNumber++) {
+      if (resultArrayNode.isFull()) {
+        return;
+      }
+      final Block block;
+      if (nextCandidateBlock.isPresent()
+          && nextCandidateBlock.get().getHeader().getNumber() == blockNumber) {
+        block = nextCandidateBlock.get();
+        nextCandidateBlock = nextBlock(candidateBlockIterator);
+        traceCandidateTransactions(
+            filterParameter, block, candidates.get(blockNumber), resultArrayNode);
+      } else {
+        final Optional<Block> maybeBlock =
+            getBlockchainQueries().getBlockchain().getBlockByNumber(blockNumber);
+        if (maybeBlock.isEmpty()) {
+          continue;
+        }
+        block = maybeBlock.get();
+      }
+      // as in the pipeline, the rewards of a block follow its transactions
+      generateRewardsFromBlock(Optional.of(filterParameter), block, resultArrayNode);
+    }
+  }
+
+  private static Optional<Block> nextBlock(final Iterator<Block> blocks) {
+    return blocks.hasNext() ? Optional.of(blocks.next()) : Optional.empty();
+  }
+
+  private boolean isParentWorldStateAvailable(final BlockHeader header) {
+    return getBlockchainQueries()
+        .getBlockchain()
+        .getBlockHeader(header.getParentHash())
+        .map(
+            parent ->
+                getBlockchainQueries()
+                    .getWorldStateArchive()
+                    .isWorldStateAvailable(parent.getStateRoot(), parent.getHash()))
+        .orElse(false);
+  }
+
+  private void traceCandidateTransactions(
+      final FilterParameter filterParameter,
+      final Block block,
+      final BitSet transactionPositions,
+      final ArrayNodeWrapper resultArrayNode) {
+    Tracer.processTracing(
+        getBlockchainQueries(),
+        Optional.of(block.getHeader()),
+        traceableState -> {
+          final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(block.getHeader());
+          DebugOperationTracer debugOperationTracer =
+              new DebugOperationTracer(
+                  OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
+                      .traceStorage(false)
+                      .traceMemory(false)
+                      .traceStack(true)
+                      .build(),
+                  false);
+          ExecuteTransactionStep executeTransactionStep =
+              new ExecuteTransactionStep(
+                  new ChainUpdater(traceableState),
+                  protocolSpec.getTransactionProcessor(),
+                  getBlockchainQueries().getBlockchain(),
+                  debugOperationTracer,
+                  protocolSpec,
+                  block);
+          TraceFlatTransactionStep traceFlatTransactionStep =
+              new TraceFlatTransactionStep(protocolSchedule, block, Optional.of(filterParameter));
+          BuildArrayNodeCompleterStep buildArrayNodeStep =
+              new BuildArrayNodeCompleterStep(resultArrayNode);
+
+          // the transactions before the last candidate are executed to reach its state
+          final List<Transaction> transactions = block.getBody().getTransactions();
+          final int lastPosition = Math.min(transactionPositions.length(), transactions.size());
+          for (int position = 0; position < lastPosition; position++) {
+            final TransactionTrace transactionTrace =
+                executeTransactionStep.apply(
+                    new TransactionTrace(transactions.get(position), Optional.of(block)));
+            if (transactionPositions.get(position)) {
+              traceFlatTransactionStep
+                  .apply(transactionTrace)
+                  .join()
+                  .forEachOrdered(buildArrayNodeStep);
+            }
+          }
+          return Optional.of(resultArrayNode);
+        });
+  }
+
+  private void traceFilterWithPipeline(
       final FilterParameter filterParameter,
       final long fromBlock,
       final long toBlock,
@@ -149,72 +346,65 @@ public class TraceFilter extends TraceBlock {
       block = blockchainQueriesSupplier.get().getBlockchain().getBlockByNumber(currentBlockNumber);
     }
     if (block.isEmpty()) {
-      return new JsonRpcSuccessResponse(
-          requestContext.getRequest().getId(), resultArrayNode.getArrayNode());
+      return;
     }
     final BlockHeader header = block.get().getHeader();
 
     List<Block> blockList = getBlockList(currentBlockNumber, toBlock, block);
 
-    ArrayNodeWrapper result =
-        Tracer.processTracing(
-                getBlockchainQueries(),
-                Optional.of(header),
-                traceableState -> {
-                  TraceFilterSource traceFilterSource =
-                      new TraceFilterSource(blockList, resultArrayNode);
-                  final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
-                  final MainnetTransactionProcessor transactionProcessor =
-                      protocolSpec.getTransactionProcessor();
-                  final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
-                  DebugOperationTracer debugOperationTracer =
-                      new DebugOperationTracer(
-                          OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
-                              .traceStorage(false)
-                              .traceMemory(false)
-                              .traceStack(true)
-                              .build(),
-                          false);
-                  ExecuteTransactionStep executeTransactionStep =
-                      new ExecuteTransactionStep(
-                          chainUpdater,
-                          transactionProcessor,
-                          getBlockchainQueries().getBlockchain(),
-                          debugOperationTracer,
-                          protocolSpec);
+    Tracer.processTracing(
+        getBlockchainQueries(),
+        Optional.of(header),
+        traceableState -> {
+          TraceFilterSource traceFilterSource = new TraceFilterSource(blockList, resultArrayNode);
+          final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
+          final MainnetTransactionProcessor transactionProcessor =
+              protocolSpec.getTransactionProcessor();
+          final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
+          DebugOperationTracer debugOperationTracer =
+              new DebugOperationTracer(
+                  OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
+                      .traceStorage(false)
+                      .traceMemory(false)
+                      .traceStack(true)
+                      .build(),
+                  false);
+          ExecuteTransactionStep executeTransactionStep =
+              new ExecuteTransactionStep(
+                  chainUpdater,
+                  transactionProcessor,
+                  getBlockchainQueries().getBlockchain(),
+                  debugOperationTracer,
+                  protocolSpec);
 
-                  Function<TransactionTrace, CompletableFuture<Stream<FlatTrace>>>
-                      traceFlatTransactionStep =
-                          new TraceFlatTransactionStep(
-                              protocolSchedule, null, Optional.of(filterParameter));
+          Function<TransactionTrace, CompletableFuture<Stream<FlatTrace>>>
+              traceFlatTransactionStep =
+                  new TraceFlatTransactionStep(
+                      protocolSchedule, null, Optional.of(filterParameter));
 
-                  BuildArrayNodeCompleterStep buildArrayNodeStep =
-                      new BuildArrayNodeCompleterStep(resultArrayNode);
-                  Pipeline<TransactionTrace> traceBlockPipeline =
-                      createPipelineFrom(
-                              "getTransactions",
-                              traceFilterSource,
-                              4,
-                              outputCounter,
-                              false,
-                              "trace_block_transactions")
-                          .thenProcess("executeTransaction", executeTransactionStep)
-                          .thenProcessAsyncOrdered(
-                              "traceFlatTransaction", traceFlatTransactionStep, 4)
-                          .andFinishWith(
-                              "buildArrayNode",
-                              traceStream -> traceStream.forEachOrdered(buildArrayNodeStep));
+          BuildArrayNodeCompleterStep buildArrayNodeStep =
+              new BuildArrayNodeCompleterStep(resultArrayNode);
+          Pipeline<TransactionTrace> traceBlockPipeline =
+              createPipelineFrom(
+                      "getTransactions",
+                      traceFilterSource,
+                      4,
+                      outputCounter,
+                      false,
+                      "trace_block_transactions")
+                  .thenProcess("executeTransaction", executeTransactionStep)
+                  .thenProcessAsyncOrdered("traceFlatTransaction", traceFlatTransactionStep, 4)
+                  .andFinishWith(
+                      "buildArrayNode",
+                      traceStream -> traceStream.forEachOrdered(buildArrayNodeStep));
 
-                  try {
-                    ethScheduler.startPipeline(traceBlockPipeline).get();
-                  } catch (InterruptedException | ExecutionException e) {
-                    throw new RuntimeException(e);
-                  }
-                  return Optional.of(resultArrayNode);
-                })
-            .orElse(emptyResult());
-
-    return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), result.getArrayNode());
+          try {
+            ethScheduler.startPipeline(traceBlockPipeline).get();
+          } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+          }
+          return Optional.of(resultArrayNode);
+        });
   }
 
   @NotNull
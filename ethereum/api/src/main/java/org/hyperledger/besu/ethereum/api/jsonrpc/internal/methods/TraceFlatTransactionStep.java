@@ -74,7 +74,11 @@ public class TraceFlatTransactionStep
               .filter(
                   trace ->
                       toAddress.isEmpty()
-                          || Optional.ofNullable(trace.getAction().getTo())
+                          // the author of a reward is its recipient
+                          || Optional.ofNullable(
+                                  transactionTrace.getTransaction() == null
+                                      ? trace.getAction().getAuthor()
+                                      : trace.getAction().getTo())
                               .map(Address::fromHexString)
                               .map(toAddress::contains)
                               .orElse(false)));
@@ -0,0 +1,116 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.mainnet.BlockImportProfile;
+import org.hyperledger.besu.ethereum.mainnet.BlockImportProfiler.Phase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonPropertyOrder({
+  "number",
+  "hash",
+  "transactionCount",
+  "gasUsed",
+  "successful",
+  "durationMillis",
+  "gasPerSecond",
+  "phasesMillis",
+  "stateReads"
+})
+public class BlockImportProfileResult implements JsonRpcResult {
+
+  private final String number;
+  private final String hash;
+  private final String transactionCount;
+  private final String gasUsed;
+  private final boolean successful;
+  private final double durationMillis;
+  private final long gasPerSecond;
+  private final Map<String, Double> phasesMillis;
+  private final Map<String, Long> stateReads;
+
+  public BlockImportProfileResult(final BlockImportProfile profile) {
+    this.number = Quantity.create(profile.blockNumber());
+    this.hash = profile.blockHash().getBytes().toHexString();
+    this.transactionCount = Quantity.create(profile.transactionCount());
+    this.gasUsed = Quantity.create(profile.gasUsed());
+    this.successful = profile.successful();
+    this.durationMillis = toMillis(profile.totalNanos());
+    this.gasPerSecond = (long) profile.gasPerSecond();
+    this.phasesMillis = new LinkedHashMap<>();
+    for (final Phase phase : Phase.values()) {
+      phasesMillis.put(phase.getLabel(), toMillis(profile.phaseNanos().get(phase)));
+    }
+    phasesMillis.put("other", toMillis(profile.otherNanos()));
+    this.stateReads = new LinkedHashMap<>();
+    stateReads.put("cache", profile.stateCacheReads());
+    stateReads.put("database", profile.stateDatabaseReads());
+  }
+
+  private static double toMillis(final long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  @JsonGetter(value = "number")
+  public String getNumber() {
+    return number;
+  }
+
+  @JsonGetter(value = "hash")
+  public String getHash() {
+    return hash;
+  }
+
+  @JsonGetter(value = "transactionCount")
+  public String getTransactionCount() {
+    return transactionCount;
+  }
+
+  @JsonGetter(value = "gasUsed")
+  public String getGasUsed() {
+    return gasUsed;
+  }
+
+  @JsonGetter(value = "successful")
+  public boolean isSuccessful() {
+    return successful;
+  }
+
+  @JsonGetter(value = "durationMillis")
+  public double getDurationMillis() {
+    return durationMillis;
+  }
+
+  @JsonGetter(value = "gasPerSecond")
+  public long getGasPerSecond() {
+    return gasPerSecond;
+  }
+
+  @JsonGetter(value = "phasesMillis")
+  public Map<String, Double> getPhasesMillis() {
+    return phasesMillis;
+  }
+
+  @JsonGetter(value = "stateReads")
+  public Map<String, Long> getStateReads() {
+    return stateReads;
+  }
+}
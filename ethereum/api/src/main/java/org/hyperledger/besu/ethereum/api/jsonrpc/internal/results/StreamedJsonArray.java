@@ -0,0 +1,211 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * A JSON array result whose elements are produced while the response is serialized.
+ *
+ * <p>Each element is written to the response as soon as it is produced, so that results spanning
+ * many transactions, such as block traces, never need to be held in memory at once. Writes block
+ * when the client does not keep up, which in turn stalls the producer.
+ *
+ * <p>Read as a collection, the result is produced once into memory, for callers that need its
+ * elements rather than its JSON representation. A result collected this way is serialized from
+ * memory, without producing it again. Only the HTTP transport, which serializes responses on a
+ * worker thread, streams results, the other transports collect them while the request is
+ * processed, see {@link #collect()}.
+ *
+ * @param <T> the type of the elements
+ */
+@JsonSerialize(using = StreamedJsonArray.Serializer.class)
+public class StreamedJsonArray<T> extends AbstractCollection<T> {
+
+  /**
+   * Produces the elements of a result.
+   *
+   * @param <T> the type of the elements
+   */
+  @FunctionalInterface
+  public interface Producer<T> {
+    /**
+     * Hands each element, in order, to the sink as soon as it is available.
+     *
+     * @param sink the consumer of the elements
+     * @return false if there is no result, which is serialized as null
+     */
+    boolean produce(Consumer<? super T> sink);
+  }
+
+  private final Producer<T> producer;
+  private final Supplier<? extends Collection<T>> collector;
+  private Collection<T> collected;
+  private boolean present;
+
+  /**
+   * Creates a result that is collected by running the producer into a list.
+   *
+   * @param producer the producer of the elements
+   */
+  public StreamedJsonArray(final Producer<T> producer) {
+    this(producer, () -> collect(producer));
+  }
+
+  /**
+   * Creates a result with a distinct way of collecting it into memory.
+   *
+   * @param producer the producer of the elements, used for serialization
+   * @param collector collects the elements when the result is read as a collection, may return
+   *     null if there is no result
+   */
+  public StreamedJsonArray(
+      final Producer<T> producer, final Supplier<? extends Collection<T>> collector) {
+    this.producer = producer;
+    this.collector = collector;
+  }
+
+  private static <T> List<T> collect(final Producer<T> producer) {
+    final List<T> elements = new ArrayList<>();
+    return producer.produce(elements::add) ? elements : null;
+  }
+
+  private synchronized Collection<T> collected() {
+    if (collected == null) {
+      final Collection<T> elements = collector.get();
+      present = elements != null;
+      collected = present ? elements : Collections.emptyList();
+    }
+    return collected;
+  }
+
+  /**
+   * Produces the result into memory if it has not been yet, so it is serialized from memory rather
+   * than produced while it is serialized.
+   */
+  public void collect() {
+    collected();
+  }
+
+  /**
+   * Returns whether the result has been produced into memory.
+   *
+   * @return true if the result is serialized from memory
+   */
+  public synchronized boolean isCollected() {
+    return collected != null;
+  }
+
+  private synchronized boolean isPresent() {
+    return present;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return collected().iterator();
+  }
+
+  @Override
+  public int size() {
+    return collected().size();
+  }
+
+  /** Writes the elements of a {@link StreamedJsonArray} as they are produced. */
+  public static class Serializer extends StdSerializer<StreamedJsonArray<?>> {
+
+    /** Creates the serializer. */
+    public Serializer() {
+      super(StreamedJsonArray.class, false);
+    }
+
+    @Override
+    public void serialize(
+        final StreamedJsonArray<?> result,
+        final JsonGenerator gen,
+        final SerializerProvider provider)
+        throws IOException {
+      if (result.isCollected()) {
+        serializeCollected(result, gen, provider);
+        return;
+      }
+
+      final boolean[] started = {false};
+      final Consumer<Object> sink =
+          element -> {
+            try {
+              if (!started[0]) {
+                gen.writeStartArray();
+                started[0] = true;
+              }
+              provider.defaultSerializeValue(element, gen);
+            } catch (final IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          };
+
+      final boolean present;
+      try {
+        present = result.producer.produce(sink);
+      } catch (final RuntimeException e) {
+        // the producer may run the sink on another thread and wrap its failure
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+          if (cause instanceof UncheckedIOException uncheckedIOException) {
+            throw uncheckedIOException.getCause();
+          }
+        }
+        throw e;
+      }
+
+      if (started[0]) {
+        gen.writeEndArray();
+      } else if (present) {
+        gen.writeStartArray();
+        gen.writeEndArray();
+      } else {
+        gen.writeNull();
+      }
+    }
+
+    private static void serializeCollected(
+        final StreamedJsonArray<?> result,
+        final JsonGenerator gen,
+        final SerializerProvider provider)
+        throws IOException {
+      if (!result.isPresent()) {
+        gen.writeNull();
+        return;
+      }
+      gen.writeStartArray();
+      for (final Object element : result) {
+        provider.defaultSerializeValue(element, gen);
+      }
+      gen.writeEndArray();
+    }
+  }
+}
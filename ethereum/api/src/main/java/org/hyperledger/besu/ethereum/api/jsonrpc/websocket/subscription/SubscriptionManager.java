@@ -55,10 +55,16 @@ public class SubscriptionManager extends AbstractVerticle {
       "SubscriptionManager::removeSubscriptions";
 
   private final AtomicLong subscriptionCounter = new AtomicLong(0);
+  private final AtomicLong subscriptionsVersion = new AtomicLong(0);
   private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
   private final SubscriptionBuilder subscriptionBuilder = new SubscriptionBuilder();
   private final LabelledMetric<Counter> subscribeCounter;
   private final LabelledMetric<Counter> unsubscribeCounter;
+  // the last result sent with its JSON, so a result sent to many subscriptions, like a log matching
+  // the filters of many subscriptions, is only serialized once
+  private volatile EncodedResult lastEncodedResult;
+
+  private record EncodedResult(JsonRpcResult result, String json) {}
 
   public SubscriptionManager(
       final MetricsSystem metricsSystem, final Blockchain blockchainQueries) {
@@ -93,6 +99,7 @@ public class SubscriptionManager extends AbstractVerticle {
     final Subscription subscription =
         subscriptionBuilder.build(subscriptionId, request.getConnectionId(), request);
     subscriptions.put(subscription.getSubscriptionId(), subscription);
+    subscriptionsVersion.incrementAndGet();
 
     return subscription.getSubscriptionId();
   }
@@ -116,6 +123,7 @@ public class SubscriptionManager extends AbstractVerticle {
   private void destroySubscription(final long subscriptionId) {
     final Subscription removed = subscriptions.remove(subscriptionId);
     if (removed != null) {
+      subscriptionsVersion.incrementAndGet();
       unsubscribeCounter.labels(removed.getSubscriptionType().getCode()).inc();
     }
   }
@@ -137,6 +145,17 @@ public class SubscriptionManager extends AbstractVerticle {
     return subscriptions.get(subscriptionId);
   }
 
+  /**
+   * Returns the version of the subscriptions, that changes every time a subscription is added or
+   * removed, so the services notifying the subscriptions can index them and only index them again
+   * when they change.
+   *
+   * @return the version of the subscriptions
+   */
+  public long getSubscriptionsVersion() {
+    return subscriptionsVersion.get();
+  }
+
   public <T> List<T> subscriptionsOfType(final SubscriptionType type, final Class<T> clazz) {
     return subscriptions.values().stream()
         .filter(subscription -> subscription.isType(type))
@@ -148,17 +167,28 @@ public class SubscriptionManager extends AbstractVerticle {
     final Subscription subscription = subscriptions.get(subscriptionId);
 
     if (subscription != null) {
-      final SubscriptionResponse response = new SubscriptionResponse(subscription, msg);
       try {
         vertx
             .eventBus()
-            .send(subscription.getConnectionId(), jsonObjectMapper.writeValueAsString(response));
+            .send(
+                subscription.getConnectionId(),
+                SubscriptionResponse.encode(subscription, encodeResult(msg)));
       } catch (JsonProcessingException e) {
         LOG.error("Error streaming websocket JSON-RPC response", e);
       }
     }
   }
 
+  private String encodeResult(final JsonRpcResult result) throws JsonProcessingException {
+    final EncodedResult encodedResult = lastEncodedResult;
+    if (encodedResult != null && encodedResult.result() == result) {
+      return encodedResult.json();
+    }
+    final String json = jsonObjectMapper.writeValueAsString(result);
+    lastEncodedResult = new EncodedResult(result, json);
+    return json;
+  }
+
   public <T> void notifySubscribersOnWorkerThread(
       final SubscriptionType subscriptionType,
       final Class<T> clazz,
@@ -0,0 +1,88 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Logs subscriptions indexed by the address and the first topic of their filters, so a log is only
+ * checked against the filters that can match it.
+ *
+ * <p>A subscription filtering on addresses is indexed by each of them, otherwise by each value of
+ * its first topic, and otherwise can match any log. Each subscription is indexed in only one of
+ * these ways, so it is a candidate at most once for a log.
+ */
+class LogsSubscriptionIndex {
+
+  private final Map<Address, List<LogsSubscription>> byAddress = new HashMap<>();
+  private final Map<LogTopic, List<LogsSubscription>> byFirstTopic = new HashMap<>();
+  private final List<LogsSubscription> matchingAnyLog = new ArrayList<>();
+
+  LogsSubscriptionIndex(final List<LogsSubscription> subscriptions) {
+    subscriptions.forEach(this::index);
+  }
+
+  private void index(final LogsSubscription subscription) {
+    final LogsQuery logsQuery = subscription.getFilterParameter().getLogsQuery();
+    if (!logsQuery.getAddresses().isEmpty()) {
+      // a null address can match no log, so there is nothing to index for it
+      distinct(logsQuery.getAddresses())
+          .forEach(
+              address ->
+                  byAddress.computeIfAbsent(address, k -> new ArrayList<>()).add(subscription));
+      return;
+    }
+    final List<List<LogTopic>> topics = logsQuery.getTopics();
+    if (topics.isEmpty() || topics.get(0).isEmpty() || topics.get(0).contains(null)) {
+      matchingAnyLog.add(subscription);
+      return;
+    }
+    distinct(topics.get(0))
+        .forEach(
+            topic -> byFirstTopic.computeIfAbsent(topic, k -> new ArrayList<>()).add(subscription));
+  }
+
+  private static <T> Set<T> distinct(final List<T> values) {
+    final Set<T> distinct = new LinkedHashSet<>(values);
+    distinct.remove(null);
+    return distinct;
+  }
+
+  /**
+   * Passes the subscriptions whose filter can match the log to the consumer. Their filter still
+   * needs to be checked against the log.
+   *
+   * @param log the log
+   * @param consumer the consumer of the candidate subscriptions
+   */
+  void forEachCandidate(final Log log, final Consumer<LogsSubscription> consumer) {
+    byAddress.getOrDefault(log.getLogger(), List.of()).forEach(consumer);
+    if (!log.getTopics().isEmpty()) {
+      byFirstTopic.getOrDefault(log.getTopics().get(0), List.of()).forEach(consumer);
+    }
+    matchingAnyLog.forEach(consumer);
+  }
+}
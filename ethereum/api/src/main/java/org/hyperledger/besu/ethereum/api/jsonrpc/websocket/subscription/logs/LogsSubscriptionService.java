@@ -26,6 +26,9 @@ import java.util.function.Consumer;
 public class LogsSubscriptionService implements Consumer<LogWithMetadata> {
 
   private final SubscriptionManager subscriptionManager;
+  private volatile IndexedSubscriptions indexedSubscriptions;
+
+  private record IndexedSubscriptions(long version, LogsSubscriptionIndex index) {}
 
   public LogsSubscriptionService(final SubscriptionManager subscriptionManager) {
     this.subscriptionManager = subscriptionManager;
@@ -33,25 +36,37 @@ public class LogsSubscriptionService implements Consumer<LogWithMetadata> {
 
   @Override
   public void accept(final LogWithMetadata logWithMetadata) {
-    subscriptionManager.subscriptionsOfType(SubscriptionType.LOGS, LogsSubscription.class).stream()
-        .filter(
+    final long blockNumber = logWithMetadata.getBlockNumber();
+    // the same result is sent to all the matching subscriptions, so it is serialized only once
+    final LogResult logResult = new LogResult(logWithMetadata);
+    index()
+        .forEachCandidate(
+            logWithMetadata,
             logsSubscription -> {
               final FilterParameter filterParameter = logsSubscription.getFilterParameter();
-              final long blockNumber = logWithMetadata.getBlockNumber();
-              return filterParameter
+              if (filterParameter
                           .getFromBlock()
                           .getNumber()
                           .orElse(BlockHeader.GENESIS_BLOCK_NUMBER)
                       <= blockNumber
                   && filterParameter.getToBlock().getNumber().orElse(Long.MAX_VALUE) >= blockNumber
-                  && filterParameter.getLogsQuery().matches(logWithMetadata);
-            })
-        .forEach(logsSubscription -> sendLogToSubscription(logWithMetadata, logsSubscription));
+                  && filterParameter.getLogsQuery().matches(logWithMetadata)) {
+                subscriptionManager.sendMessage(logsSubscription.getSubscriptionId(), logResult);
+              }
+            });
   }
 
-  private void sendLogToSubscription(
-      final LogWithMetadata logWithMetadata, final LogsSubscription subscription) {
-    subscriptionManager.sendMessage(
-        subscription.getSubscriptionId(), new LogResult(logWithMetadata));
+  private LogsSubscriptionIndex index() {
+    // read the version before the subscriptions, so a change while indexing them is seen next time
+    final long version = subscriptionManager.getSubscriptionsVersion();
+    final IndexedSubscriptions indexed = indexedSubscriptions;
+    if (indexed != null && indexed.version() == version) {
+      return indexed.index();
+    }
+    final LogsSubscriptionIndex index =
+        new LogsSubscriptionIndex(
+            subscriptionManager.subscriptionsOfType(SubscriptionType.LOGS, LogsSubscription.class));
+    indexedSubscriptions = new IndexedSubscriptions(version, index);
+    return index;
   }
 }
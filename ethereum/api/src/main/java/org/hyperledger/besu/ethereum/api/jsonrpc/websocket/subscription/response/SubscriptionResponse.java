@@ -37,6 +37,27 @@ public class SubscriptionResponse {
         new SubscriptionResponseResult(Quantity.create(subscription.getSubscriptionId()), result);
   }
 
+  /**
+   * Encodes the JSON of the response to a subscription around the JSON of its result, the same as
+   * serializing a {@link SubscriptionResponse}, so a result sent to many subscriptions is only
+   * serialized once.
+   *
+   * @param subscription the subscription
+   * @param encodedResult the JSON of the result
+   * @return the JSON of the response
+   */
+  public static String encode(final Subscription subscription, final String encodedResult) {
+    return "{\"jsonrpc\":\""
+        + JSON_RPC_VERSION
+        + "\",\"method\":\""
+        + ETH_SUBSCRIPTION_METHOD
+        + "\",\"params\":{\"subscription\":\""
+        + Quantity.create(subscription.getSubscriptionId())
+        + "\",\"result\":"
+        + encodedResult
+        + "}}";
+  }
+
   @JsonGetter("jsonrpc")
   public String getJsonrpc() {
     return JSON_RPC_VERSION;
@@ -26,6 +26,8 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndex;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionTraceIndex;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.TransactionLocation;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -56,6 +58,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -78,6 +81,8 @@ public class BlockchainQueries {
   private final Blockchain blockchain;
   private final Optional<Path> cachePath;
   private final Optional<TransactionLogBloomCacher> transactionLogBloomCacher;
+  private final Optional<TransactionLogIndex> transactionLogIndex;
+  private final Optional<TransactionTraceIndex> transactionTraceIndex;
   private final Optional<EthScheduler> ethScheduler;
   private final ApiConfiguration apiConfig;
   private final MiningConfiguration miningConfiguration;
@@ -136,6 +141,28 @@ public class BlockchainQueries {
       final Optional<EthScheduler> scheduler,
       final ApiConfiguration apiConfig,
       final MiningConfiguration miningConfiguration) {
+    this(
+        protocolSchedule,
+        blockchain,
+        worldStateArchive,
+        cachePath,
+        scheduler,
+        apiConfig,
+        miningConfiguration,
+        Optional.empty(),
+        Optional.empty());
+  }
+
+  public BlockchainQueries(
+      final ProtocolSchedule protocolSchedule,
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final Optional<Path> cachePath,
+      final Optional<EthScheduler> scheduler,
+      final ApiConfiguration apiConfig,
+      final MiningConfiguration miningConfiguration,
+      final Optional<TransactionLogIndex> transactionLogIndex,
+      final Optional<TransactionTraceIndex> transactionTraceIndex) {
     this.protocolSchedule = protocolSchedule;
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
@@ -146,6 +173,8 @@ public class BlockchainQueries {
             ? Optional.of(
                 new TransactionLogBloomCacher(blockchain, cachePath.get(), scheduler.get()))
             : Optional.empty();
+    this.transactionLogIndex = transactionLogIndex;
+    this.transactionTraceIndex = transactionTraceIndex;
     this.apiConfig = apiConfig;
     this.miningConfiguration = miningConfiguration;
   }
@@ -162,6 +191,14 @@ public class BlockchainQueries {
     return transactionLogBloomCacher;
   }
 
+  public Optional<TransactionLogIndex> getTransactionLogIndex() {
+    return transactionLogIndex;
+  }
+
+  public Optional<TransactionTraceIndex> getTransactionTraceIndex() {
+    return transactionTraceIndex;
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
@@ -828,6 +865,68 @@ public class BlockchainQueries {
       final long toBlockNumber,
       final LogsQuery query,
       final Supplier<Boolean> isQueryAlive) {
+    if (transactionLogIndex.isPresent()) {
+      final Optional<List<LogWithMetadata>> indexedLogs =
+          matchingLogsIndexed(
+              transactionLogIndex.get(), fromBlockNumber, toBlockNumber, query, isQueryAlive);
+      if (indexedLogs.isPresent()) {
+        return indexedLogs.get();
+      }
+    }
+    return matchingLogsScanned(fromBlockNumber, toBlockNumber, query, isQueryAlive);
+  }
+
+  /**
+   * Resolves the part of the range covered by the log index through the index, and the parts
+   * before and after it by scanning the block blooms.
+   */
+  private Optional<List<LogWithMetadata>> matchingLogsIndexed(
+      final TransactionLogIndex logIndex,
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive) {
+    final OptionalLong lowestIndexed = logIndex.getLowestIndexedBlock();
+    final OptionalLong highestIndexed = logIndex.getHighestIndexedBlock();
+    if (lowestIndexed.isEmpty() || highestIndexed.isEmpty()) {
+      return Optional.empty();
+    }
+    final long indexedFrom = Math.max(fromBlockNumber, lowestIndexed.getAsLong());
+    final long indexedTo = Math.min(toBlockNumber, highestIndexed.getAsLong());
+    if (indexedFrom > indexedTo) {
+      return Optional.empty();
+    }
+    final Optional<List<Long>> candidateBlocks =
+        logIndex.matchingBlocks(query, indexedFrom, indexedTo);
+    if (candidateBlocks.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final List<LogWithMetadata> result = new ArrayList<>();
+    if (fromBlockNumber < indexedFrom) {
+      result.addAll(matchingLogsScanned(fromBlockNumber, indexedFrom - 1, query, isQueryAlive));
+    }
+    try {
+      for (final long blockNumber : candidateBlocks.get()) {
+        BackendQuery.stopIfExpired(isQueryAlive);
+        blockchain
+            .getBlockHashByNumber(blockNumber)
+            .ifPresent(blockHash -> result.addAll(matchingLogs(blockHash, query, isQueryAlive)));
+      }
+    } catch (final Exception e) {
+      throw new IllegalStateException("Error retrieving matching logs", e);
+    }
+    if (indexedTo < toBlockNumber) {
+      result.addAll(matchingLogsScanned(indexedTo + 1, toBlockNumber, query, isQueryAlive));
+    }
+    return Optional.of(result);
+  }
+
+  private List<LogWithMetadata> matchingLogsScanned(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive) {
     try {
       final List<LogWithMetadata> result = new ArrayList<>();
       final long startSegment = fromBlockNumber / BLOCKS_PER_BLOOM_CACHE;
@@ -0,0 +1,100 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link TransactionLogIndex} up to date with the canonical chain. Index updates are
+ * applied in order on a dedicated thread, so block import is never blocked by the index.
+ */
+public class AutoTransactionLogIndexingService {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(AutoTransactionLogIndexingService.class);
+  private final Blockchain blockchain;
+  private final TransactionLogIndex transactionLogIndex;
+  private final ExecutorService indexingExecutor =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat(AutoTransactionLogIndexingService.class.getSimpleName())
+              .setDaemon(true)
+              .build());
+  private OptionalLong blockAddedSubscriptionId = OptionalLong.empty();
+
+  public AutoTransactionLogIndexingService(
+      final Blockchain blockchain, final TransactionLogIndex transactionLogIndex) {
+    this.blockchain = blockchain;
+    this.transactionLogIndex = transactionLogIndex;
+  }
+
+  public void start() {
+    LOG.info("Starting auto transaction log indexing service.");
+    indexingExecutor.execute(this::catchUpWithChainHead);
+    blockAddedSubscriptionId =
+        OptionalLong.of(
+            blockchain.observeBlockAdded(
+                event -> {
+                  if (event.isNewCanonicalHead()) {
+                    indexingExecutor.execute(
+                        () -> {
+                          try {
+                            transactionLogIndex.onBlockAdded(event);
+                          } catch (final RuntimeException e) {
+                            LOG.error("Failed to index logs of block {}", event.getHeader(), e);
+                          }
+                        });
+                  }
+                }));
+  }
+
+  private void catchUpWithChainHead() {
+    final OptionalLong highestIndexed = transactionLogIndex.getHighestIndexedBlock();
+    final long chainHead = blockchain.getChainHeadBlockNumber();
+    if (highestIndexed.isPresent() && highestIndexed.getAsLong() < chainHead) {
+      LOG.info(
+          "Indexing logs of blocks {}-{} missed since the last run",
+          highestIndexed.getAsLong() + 1,
+          chainHead);
+      try {
+        transactionLogIndex.indexBlocks(highestIndexed.getAsLong() + 1, chainHead);
+      } catch (final RuntimeException e) {
+        LOG.error("Failed to catch up the transaction log index with the chain head", e);
+      }
+    }
+  }
+
+  public void stop() {
+    LOG.info("Shutting down auto transaction log indexing service.");
+    blockAddedSubscriptionId.ifPresent(blockchain::removeObserver);
+    // drop pending updates, they are caught up on the next start
+    indexingExecutor.shutdownNow();
+    try {
+      if (!indexingExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+        LOG.warn("Transaction log indexing did not stop in time");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.ExecuteTransactionStep;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.TraceBlock;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTraceGenerator;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder;
+import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder.OpCodeTracerConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link TransactionTraceIndex} up to date with the canonical chain, tracing every new
+ * canonical block on a dedicated thread, so block import is never blocked by the index. Blocks
+ * replaced by a reorg are dropped from the index and the blocks of the new canonical chain are
+ * traced in their place.
+ *
+ * <p>Tracing a block needs the world state of its parent, so backfilling blocks far below the head
+ * requires a node that keeps historical state.
+ */
+public class AutoTransactionTraceIndexingService {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(AutoTransactionTraceIndexingService.class);
+  private final ProtocolSchedule protocolSchedule;
+  private final BlockchainQueries blockchainQueries;
+  private final Blockchain blockchain;
+  private final TransactionTraceIndex transactionTraceIndex;
+  private final ExecutorService indexingExecutor =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat(AutoTransactionTraceIndexingService.class.getSimpleName())
+              .setDaemon(true)
+              .build());
+  private OptionalLong blockAddedSubscriptionId = OptionalLong.empty();
+
+  public AutoTransactionTraceIndexingService(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final TransactionTraceIndex transactionTraceIndex) {
+    this.protocolSchedule = protocolSchedule;
+    this.blockchainQueries = blockchainQueries;
+    this.blockchain = blockchainQueries.getBlockchain();
+    this.transactionTraceIndex = transactionTraceIndex;
+  }
+
+  public void start() {
+    LOG.info("Starting auto transaction trace indexing service.");
+    indexingExecutor.execute(this::catchUpWithChainHead);
+    blockAddedSubscriptionId =
+        OptionalLong.of(
+            blockchain.observeBlockAdded(
+                event -> {
+                  if (event.isNewCanonicalHead()) {
+                    indexingExecutor.execute(
+                        () -> {
+                          try {
+                            onBlockAdded(event);
+                          } catch (final RuntimeException e) {
+                            LOG.error("Failed to index traces of block {}", event.getHeader(), e);
+                          }
+                        });
+                  }
+                }));
+  }
+
+  private void catchUpWithChainHead() {
+    final OptionalLong highestIndexed = transactionTraceIndex.getHighestIndexedBlock();
+    final long chainHead = blockchain.getChainHeadBlockNumber();
+    if (highestIndexed.isPresent() && highestIndexed.getAsLong() < chainHead) {
+      LOG.info(
+          "Indexing traces of blocks {}-{} missed since the last run",
+          highestIndexed.getAsLong() + 1,
+          chainHead);
+      try {
+        indexBlocks(highestIndexed.getAsLong() + 1, chainHead);
+      } catch (final RuntimeException e) {
+        LOG.error("Failed to catch up the transaction trace index with the chain head", e);
+      }
+    }
+  }
+
+  private void onBlockAdded(final BlockAddedEvent event) {
+    final long headNumber = event.getHeader().getNumber();
+    final OptionalLong highest = transactionTraceIndex.getHighestIndexedBlock();
+    if (highest.isEmpty()) {
+      // start indexing from the current head, older blocks can be backfilled
+      indexBlocks(headNumber, headNumber);
+      return;
+    }
+    long firstChangedBlock = Math.min(highest.getAsLong() + 1, headNumber);
+    if (event.getCommonAncestorHash() != null) {
+      final long commonAncestor =
+          blockchain
+              .getBlockHeader(event.getCommonAncestorHash())
+              .map(BlockHeader::getNumber)
+              .orElse(0L);
+      firstChangedBlock = Math.min(firstChangedBlock, commonAncestor + 1);
+    }
+    transactionTraceIndex.truncate(firstChangedBlock - 1);
+    indexBlocks(firstChangedBlock, headNumber);
+  }
+
+  /**
+   * Indexes the traces of a range of canonical blocks, e.g. to backfill the index. The range must
+   * overlap or be adjacent to the range already covered by the index, if any.
+   *
+   * @param fromBlock the first block to index
+   * @param toBlock the last block to index, inclusive
+   */
+  public void indexBlocks(final long fromBlock, final long toBlock) {
+    checkArgument(fromBlock <= toBlock, "Invalid block range %s-%s", fromBlock, toBlock);
+    final OptionalLong lowest = transactionTraceIndex.getLowestIndexedBlock();
+    final OptionalLong highest = transactionTraceIndex.getHighestIndexedBlock();
+    checkArgument(
+        lowest.isEmpty()
+            || (fromBlock <= highest.getAsLong() + 1 && toBlock >= lowest.getAsLong() - 1),
+        "Block range %s-%s is not contiguous with the indexed range %s-%s",
+        fromBlock,
+        toBlock,
+        lowest,
+        highest);
+
+    // index the blocks below the indexed range from the top down, so the indexed range
+    // stays contiguous if the process is interrupted
+    final long lowestIndexed = lowest.orElse(toBlock + 1);
+    final long highestIndexed = highest.orElse(toBlock);
+    for (long number = Math.min(toBlock, lowestIndexed - 1); number >= fromBlock; number--) {
+      indexBlock(number);
+    }
+    for (long number = Math.max(fromBlock, highestIndexed + 1); number <= toBlock; number++) {
+      indexBlock(number);
+    }
+  }
+
+  private void indexBlock(final long blockNumber) {
+    LOG.debug("Indexing traces of block {}", blockNumber);
+    final Block block =
+        blockchain
+            .getBlockByNumber(blockNumber)
+            .orElseThrow(() -> new IllegalStateException("Missing canonical block " + blockNumber));
+    final List<FlatTrace> traces =
+        traceBlock(block)
+            .orElseThrow(
+                () ->
+                    new IllegalStateException(
+                        "World state of the parent of block " + blockNumber + " is unavailable"));
+    transactionTraceIndex.indexBlock(blockNumber, traces);
+  }
+
+  private Optional<List<FlatTrace>> traceBlock(final Block block) {
+    if (block.getBody().getTransactions().isEmpty()) {
+      return Optional.of(List.of());
+    }
+    return Tracer.processTracing(
+        blockchainQueries,
+        Optional.of(block.getHeader()),
+        traceableState -> {
+          final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(block.getHeader());
+          final DebugOperationTracer debugOperationTracer =
+              new DebugOperationTracer(
+                  OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
+                      .traceStorage(false)
+                      .traceMemory(false)
+                      .traceStack(true)
+                      .build(),
+                  false);
+          final ExecuteTransactionStep executeTransactionStep =
+              new ExecuteTransactionStep(
+                  new TraceBlock.ChainUpdater(traceableState),
+                  protocolSpec.getTransactionProcessor(),
+                  blockchain,
+                  debugOperationTracer,
+                  protocolSpec,
+                  block);
+          final List<FlatTrace> traces = new ArrayList<>();
+          for (final Transaction transaction : block.getBody().getTransactions()) {
+            final TransactionTrace transactionTrace =
+                executeTransactionStep.apply(new TransactionTrace(transaction, Optional.of(block)));
+            FlatTraceGenerator.generateFromTransactionTraceAndBlock(
+                    protocolSchedule, transactionTrace, block)
+                .map(FlatTrace.class::cast)
+                .forEachOrdered(traces::add);
+          }
+          return Optional.of(traces);
+        });
+  }
+
+  public void stop() {
+    LOG.info("Shutting down auto transaction trace indexing service.");
+    blockAddedSubscriptionId.ifPresent(blockchain::removeObserver);
+    // drop pending updates, they are caught up on the next start
+    indexingExecutor.shutdownNow();
+    try {
+      if (!indexingExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+        LOG.warn("Transaction trace indexing did not stop in time");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.util.BitSet;
+
+/**
+ * Compact encoding of the set of block offsets, within a bucket of the log index, at which an
+ * address or a topic was logged. Sparse sets are stored as a list of varint encoded deltas, dense
+ * ones as a plain bitmap, whichever is smaller.
+ */
+final class LogIndexBitmap {
+
+  private static final byte SPARSE = 0;
+  private static final byte DENSE = 1;
+
+  private LogIndexBitmap() {}
+
+  static byte[] encode(final BitSet offsets) {
+    final ByteArrayOutputStream sparse = new ByteArrayOutputStream();
+    sparse.write(SPARSE);
+    final int denseSize = 1 + (offsets.length() + 7) / 8;
+    int previous = -1;
+    for (int offset = offsets.nextSetBit(0); offset >= 0; offset = offsets.nextSetBit(offset + 1)) {
+      writeVarInt(sparse, offset - previous);
+      previous = offset;
+      if (sparse.size() >= denseSize) {
+        return encodeDense(offsets);
+      }
+    }
+    return sparse.toByteArray();
+  }
+
+  static BitSet decode(final byte[] encoded) {
+    if (encoded[0] == DENSE) {
+      final byte[] bits = new byte[encoded.length - 1];
+      System.arraycopy(encoded, 1, bits, 0, bits.length);
+      return BitSet.valueOf(bits);
+    }
+    final BitSet offsets = new BitSet();
+    int offset = -1;
+    int position = 1;
+    while (position < encoded.length) {
+      int delta = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = encoded[position++];
+        delta |= (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      offset += delta;
+      offsets.set(offset);
+    }
+    return offsets;
+  }
+
+  private static byte[] encodeDense(final BitSet offsets) {
+    final byte[] bits = offsets.toByteArray();
+    final byte[] encoded = new byte[bits.length + 1];
+    encoded[0] = DENSE;
+    System.arraycopy(bits, 0, encoded, 1, bits.length);
+    return encoded;
+  }
+
+  private static void writeVarInt(final ByteArrayOutputStream out, final int value) {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      out.write((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    out.write(remaining);
+  }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.LogWithMetadata;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Inverted index of the logs of the canonical chain, mapping every log address and every topic (at
+ * its position in the log) to the numbers of the blocks in which it was logged. Block numbers are
+ * grouped in buckets of {@link #BLOCKS_PER_BUCKET} blocks, each stored as a compressed bitmap under
+ * its own key, so a filter is resolved by intersecting, per bucket, the union of the bitmaps of the
+ * alternatives at every filtered position.
+ *
+ * <p>The index covers a contiguous range of blocks, recorded alongside the bitmaps. Candidate
+ * blocks may contain false positives, e.g. a log whose topic matches at one position and another
+ * log of the same block matching the other positions, so results must still be filtered against
+ * the receipts of every candidate block.
+ */
+public class TransactionLogIndex {
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionLogIndex.class);
+
+  /** The number of consecutive blocks sharing a bitmap. */
+  public static final int BLOCKS_PER_BUCKET = 1 << 16;
+
+  private static final Bytes VARIABLES_PREFIX = Bytes.of(0);
+  private static final Bytes ADDRESS_PREFIX = Bytes.of(1);
+  private static final Bytes TOPIC_PREFIX = Bytes.of(2);
+  private static final Bytes LOWEST_INDEXED_BLOCK_KEY =
+      Bytes.concatenate(
+          VARIABLES_PREFIX, Bytes.wrap("lowestIndexedBlock".getBytes(StandardCharsets.UTF_8)));
+  private static final Bytes HIGHEST_INDEXED_BLOCK_KEY =
+      Bytes.concatenate(
+          VARIABLES_PREFIX, Bytes.wrap("highestIndexedBlock".getBytes(StandardCharsets.UTF_8)));
+
+  private final Blockchain blockchain;
+  private final KeyValueStorage storage;
+
+  public TransactionLogIndex(final Blockchain blockchain, final KeyValueStorage storage) {
+    this.blockchain = blockchain;
+    this.storage = storage;
+  }
+
+  public OptionalLong getLowestIndexedBlock() {
+    return getLong(LOWEST_INDEXED_BLOCK_KEY);
+  }
+
+  public OptionalLong getHighestIndexedBlock() {
+    return getLong(HIGHEST_INDEXED_BLOCK_KEY);
+  }
+
+  /**
+   * Updates the index with a new canonical head, removing the logs of the blocks that were dropped
+   * from the canonical chain by a reorg before adding the logs of the new canonical blocks. Blocks
+   * that were missed since the last indexed block are indexed first.
+   *
+   * @param event the block added event
+   */
+  public synchronized void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+    final long headNumber = event.getHeader().getNumber();
+    final OptionalLong highest = getHighestIndexedBlock();
+    if (highest.isPresent() && headNumber > highest.getAsLong() + 1) {
+      indexBlocks(highest.getAsLong() + 1, headNumber - 1);
+    }
+
+    final BitmapUpdater updater = new BitmapUpdater();
+    for (final LogWithMetadata log : event.getLogsWithMetadata()) {
+      updater.update(log.getBlockNumber(), log, !log.isRemoved());
+    }
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    updater.writeTo(transaction);
+    final long lowest = getLowestIndexedBlock().orElse(headNumber);
+    putLong(transaction, LOWEST_INDEXED_BLOCK_KEY, Math.min(lowest, headNumber));
+    putLong(transaction, HIGHEST_INDEXED_BLOCK_KEY, headNumber);
+    transaction.commit();
+  }
+
+  /**
+   * Indexes the logs of a range of canonical blocks, e.g. to backfill an existing database. The
+   * range must overlap or be adjacent to the range already covered by the index, if any.
+   *
+   * @param fromBlock the first block to index
+   * @param toBlock the last block to index, inclusive
+   */
+  public synchronized void indexBlocks(final long fromBlock, final long toBlock) {
+    checkArgument(fromBlock <= toBlock, "Invalid block range %s-%s", fromBlock, toBlock);
+    final OptionalLong lowest = getLowestIndexedBlock();
+    final OptionalLong highest = getHighestIndexedBlock();
+    checkArgument(
+        lowest.isEmpty()
+            || (fromBlock <= highest.getAsLong() + 1 && toBlock >= lowest.getAsLong() - 1),
+        "Block range %s-%s is not contiguous with the indexed range %s-%s",
+        fromBlock,
+        toBlock,
+        lowest,
+        highest);
+
+    long newLowest = lowest.orElse(fromBlock);
+    long newHighest = highest.orElse(fromBlock - 1);
+    // index the blocks below the indexed range from the top down, so the indexed range
+    // stays contiguous if the process is interrupted
+    for (long bucketEnd = Math.min(toBlock, newLowest - 1); bucketEnd >= fromBlock; ) {
+      final long bucketStart = Math.max(fromBlock, bucketStart(bucketEnd));
+      indexBucket(bucketStart, bucketEnd, Math.min(newLowest, bucketStart), newHighest);
+      newLowest = Math.min(newLowest, bucketStart);
+      newHighest = Math.max(newHighest, bucketEnd);
+      bucketEnd = bucketStart - 1;
+    }
+    for (long bucketStart = Math.max(fromBlock, newHighest + 1); bucketStart <= toBlock; ) {
+      final long bucketEnd = Math.min(toBlock, bucketStart(bucketStart) + BLOCKS_PER_BUCKET - 1);
+      indexBucket(bucketStart, bucketEnd, newLowest, bucketEnd);
+      newHighest = bucketEnd;
+      bucketStart = bucketEnd + 1;
+    }
+  }
+
+  private void indexBucket(
+      final long fromBlock, final long toBlock, final long newLowest, final long newHighest) {
+    LOG.debug("Indexing logs of blocks {}-{}", fromBlock, toBlock);
+    final BitmapUpdater updater = new BitmapUpdater();
+    for (long number = fromBlock; number <= toBlock; number++) {
+      final Optional<Hash> blockHash = blockchain.getBlockHashByNumber(number);
+      if (blockHash.isEmpty()) {
+        throw new IllegalStateException("Missing canonical block " + number);
+      }
+      final List<TransactionReceipt> receipts =
+          blockchain
+              .getTxReceipts(blockHash.get())
+              .orElseThrow(() -> new IllegalStateException("Missing receipts of " + blockHash.get()));
+      for (final TransactionReceipt receipt : receipts) {
+        for (final Log log : receipt.getLogsList()) {
+          updater.update(number, log, true);
+        }
+      }
+    }
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    updater.writeTo(transaction);
+    putLong(transaction, LOWEST_INDEXED_BLOCK_KEY, newLowest);
+    putLong(transaction, HIGHEST_INDEXED_BLOCK_KEY, newHighest);
+    transaction.commit();
+  }
+
+  /**
+   * Returns the blocks that may contain logs matching a query.
+   *
+   * @param query the logs query
+   * @param fromBlock the first block of the range, must be covered by the index
+   * @param toBlock the last block of the range, inclusive, must be covered by the index
+   * @return the candidate block numbers in ascending order, or empty if the query does not filter
+   *     on any address or topic and therefore cannot be served by the index
+   */
+  public Optional<List<Long>> matchingBlocks(
+      final LogsQuery query, final long fromBlock, final long toBlock) {
+    final List<List<Bytes>> criteria = criteria(query);
+    if (criteria.isEmpty()) {
+      return Optional.empty();
+    }
+    final List<Long> blocks = new ArrayList<>();
+    for (long bucketStart = bucketStart(fromBlock);
+        bucketStart <= toBlock;
+        bucketStart += BLOCKS_PER_BUCKET) {
+      BitSet matching = null;
+      for (final List<Bytes> alternatives : criteria) {
+        final BitSet union = new BitSet();
+        for (final Bytes key : alternatives) {
+          union.or(getBitmap(bucketKey(key, bucketStart)));
+        }
+        if (matching == null) {
+          matching = union;
+        } else {
+          matching.and(union);
+        }
+        if (matching.isEmpty()) {
+          break;
+        }
+      }
+      final int fromOffset = (int) Math.max(0, fromBlock - bucketStart);
+      final long lastOffset = Math.min(BLOCKS_PER_BUCKET - 1, toBlock - bucketStart);
+      for (int offset = matching.nextSetBit(fromOffset);
+          offset >= 0 && offset <= lastOffset;
+          offset = matching.nextSetBit(offset + 1)) {
+        blocks.add(bucketStart + offset);
+      }
+    }
+    return Optional.of(blocks);
+  }
+
+  private static List<List<Bytes>> criteria(final LogsQuery query) {
+    final List<List<Bytes>> criteria = new ArrayList<>();
+    if (!query.getAddresses().isEmpty()) {
+      criteria.add(query.getAddresses().stream().map(TransactionLogIndex::addressKey).toList());
+    }
+    final List<List<LogTopic>> topics = query.getTopics();
+    for (int position = 0; position < topics.size(); position++) {
+      final List<LogTopic> alternatives = topics.get(position);
+      if (!alternatives.isEmpty() && alternatives.stream().allMatch(Objects::nonNull)) {
+        final int topicPosition = position;
+        criteria.add(alternatives.stream().map(t -> topicKey(topicPosition, t)).toList());
+      }
+    }
+    return criteria;
+  }
+
+  private BitSet getBitmap(final Bytes key) {
+    return storage.get(key.toArrayUnsafe()).map(LogIndexBitmap::decode).orElseGet(BitSet::new);
+  }
+
+  private OptionalLong getLong(final Bytes key) {
+    return storage
+        .get(key.toArrayUnsafe())
+        .map(bytes -> OptionalLong.of(Bytes.wrap(bytes).toLong()))
+        .orElse(OptionalLong.empty());
+  }
+
+  private static void putLong(
+      final KeyValueStorageTransaction transaction, final Bytes key, final long value) {
+    transaction.put(key.toArrayUnsafe(), Bytes.ofUnsignedLong(value).toArrayUnsafe());
+  }
+
+  private static long bucketStart(final long blockNumber) {
+    return blockNumber - blockNumber % BLOCKS_PER_BUCKET;
+  }
+
+  private static Bytes addressKey(final Address address) {
+    return Bytes.concatenate(ADDRESS_PREFIX, address.getBytes());
+  }
+
+  private static Bytes topicKey(final int position, final LogTopic topic) {
+    return Bytes.concatenate(TOPIC_PREFIX, Bytes.of(position), topic.getBytes());
+  }
+
+  private static Bytes bucketKey(final Bytes key, final long bucketStart) {
+    return Bytes.concatenate(key, Bytes.ofUnsignedLong(bucketStart / BLOCKS_PER_BUCKET));
+  }
+
+  /** Accumulates the changes to the bitmaps touched by a set of logs before writing them. */
+  private class BitmapUpdater {
+    private final Map<Bytes, BitSet> bitmaps = new HashMap<>();
+
+    void update(final long blockNumber, final Log log, final boolean added) {
+      final long bucketStart = bucketStart(blockNumber);
+      final int offset = (int) (blockNumber - bucketStart);
+      update(bucketKey(addressKey(log.getLogger()), bucketStart), offset, added);
+      final List<LogTopic> topics = log.getTopics();
+      for (int position = 0; position < topics.size(); position++) {
+        update(bucketKey(topicKey(position, topics.get(position)), bucketStart), offset, added);
+      }
+    }
+
+    private void update(final Bytes key, final int offset, final boolean added) {
+      bitmaps.computeIfAbsent(key, TransactionLogIndex.this::getBitmap).set(offset, added);
+    }
+
+    void writeTo(final KeyValueStorageTransaction transaction) {
+      bitmaps.forEach(
+          (key, bitmap) -> {
+            if (bitmap.isEmpty()) {
+              transaction.remove(key.toArrayUnsafe());
+            } else {
+              transaction.put(key.toArrayUnsafe(), LogIndexBitmap.encode(bitmap));
+            }
+          });
+    }
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTrace;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Index of the flat traces of the canonical chain, mapping the sender and the recipient of every
+ * traced call to the transactions in which it occurred, so trace_filter queries on addresses only
+ * need to re-execute the matching transactions.
+ *
+ * <p>Every entry is a key made of the role of the address, the address, the block number and the
+ * transaction position, so the transactions of an address over a range of blocks are read with a
+ * single range scan. The keys written for a block are also recorded under the block number, so the
+ * block can be dropped from the index when a reorg replaces it. The index covers a contiguous range
+ * of blocks, recorded alongside the entries.
+ */
+public class TransactionTraceIndex {
+
+  private static final Bytes VARIABLES_PREFIX = Bytes.of(0);
+  private static final Bytes FROM_PREFIX = Bytes.of(1);
+  private static final Bytes TO_PREFIX = Bytes.of(2);
+  private static final Bytes BLOCK_PREFIX = Bytes.of(3);
+  private static final int ENTRY_KEY_SIZE = 1 + Address.SIZE + Long.BYTES + Integer.BYTES;
+  private static final byte[] EMPTY_VALUE = new byte[0];
+  private static final Bytes LOWEST_INDEXED_BLOCK_KEY =
+      Bytes.concatenate(
+          VARIABLES_PREFIX, Bytes.wrap("lowestIndexedBlock".getBytes(StandardCharsets.UTF_8)));
+  private static final Bytes HIGHEST_INDEXED_BLOCK_KEY =
+      Bytes.concatenate(
+          VARIABLES_PREFIX, Bytes.wrap("highestIndexedBlock".getBytes(StandardCharsets.UTF_8)));
+
+  private final KeyValueStorage storage;
+
+  public TransactionTraceIndex(final KeyValueStorage storage) {
+    this.storage = storage;
+  }
+
+  public OptionalLong getLowestIndexedBlock() {
+    return getLong(LOWEST_INDEXED_BLOCK_KEY);
+  }
+
+  public OptionalLong getHighestIndexedBlock() {
+    return getLong(HIGHEST_INDEXED_BLOCK_KEY);
+  }
+
+  /**
+   * Records the flat traces of a canonical block, replacing the entries previously recorded for
+   * the same block number. The block must be covered by or adjacent to the indexed range, if any.
+   *
+   * @param blockNumber the number of the block
+   * @param traces the flat traces of the transactions of the block
+   */
+  public synchronized void indexBlock(final long blockNumber, final List<FlatTrace> traces) {
+    final OptionalLong lowest = getLowestIndexedBlock();
+    final OptionalLong highest = getHighestIndexedBlock();
+    checkArgument(
+        lowest.isEmpty()
+            || (blockNumber >= lowest.getAsLong() - 1 && blockNumber <= highest.getAsLong() + 1),
+        "Block %s is not contiguous with the indexed range %s-%s",
+        blockNumber,
+        lowest,
+        highest);
+
+    final Set<Bytes> keys = new TreeSet<>();
+    for (final FlatTrace trace : traces) {
+      final Integer transactionPosition = trace.getTransactionPosition();
+      if (transactionPosition == null) {
+        // block rewards are not bound to a transaction
+        continue;
+      }
+      final String from = trace.getAction().getFrom();
+      if (from != null) {
+        keys.add(
+            entryKey(FROM_PREFIX, Address.fromHexString(from), blockNumber, transactionPosition));
+      }
+      final String to = trace.getAction().getTo();
+      if (to != null) {
+        keys.add(entryKey(TO_PREFIX, Address.fromHexString(to), blockNumber, transactionPosition));
+      }
+    }
+
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    removeBlock(transaction, blockNumber);
+    keys.forEach(key -> transaction.put(key.toArrayUnsafe(), EMPTY_VALUE));
+    transaction.put(
+        blockKey(blockNumber).toArrayUnsafe(),
+        Bytes.concatenate(keys.toArray(Bytes[]::new)).toArrayUnsafe());
+    putLong(
+        transaction, LOWEST_INDEXED_BLOCK_KEY, Math.min(lowest.orElse(blockNumber), blockNumber));
+    putLong(
+        transaction, HIGHEST_INDEXED_BLOCK_KEY, Math.max(highest.orElse(blockNumber), blockNumber));
+    transaction.commit();
+  }
+
+  /**
+   * Drops the blocks above a block from the index, e.g. the blocks of a chain that a reorg
+   * replaced.
+   *
+   * @param lastBlock the last block to keep in the index
+   */
+  public synchronized void truncate(final long lastBlock) {
+    final OptionalLong lowest = getLowestIndexedBlock();
+    final OptionalLong highest = getHighestIndexedBlock();
+    if (highest.isEmpty() || highest.getAsLong() <= lastBlock) {
+      return;
+    }
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    for (long number = Math.max(lastBlock + 1, lowest.getAsLong());
+        number <= highest.getAsLong();
+        number++) {
+      removeBlock(transaction, number);
+    }
+    if (lastBlock < lowest.getAsLong()) {
+      transaction.remove(LOWEST_INDEXED_BLOCK_KEY.toArrayUnsafe());
+      transaction.remove(HIGHEST_INDEXED_BLOCK_KEY.toArrayUnsafe());
+    } else {
+      putLong(transaction, HIGHEST_INDEXED_BLOCK_KEY, lastBlock);
+    }
+    transaction.commit();
+  }
+
+  private void removeBlock(final KeyValueStorageTransaction transaction, final long blockNumber) {
+    final byte[] blockKey = blockKey(blockNumber).toArrayUnsafe();
+    storage
+        .get(blockKey)
+        .ifPresent(
+            keys -> {
+              for (int offset = 0; offset < keys.length; offset += ENTRY_KEY_SIZE) {
+                transaction.remove(Bytes.wrap(keys, offset, ENTRY_KEY_SIZE).toArray());
+              }
+              transaction.remove(blockKey);
+            });
+  }
+
+  /**
+   * Returns the transactions whose traces may match the addresses of a trace_filter query. Like
+   * the query, a transaction matches if one of its traces has a sender among the from addresses
+   * and a recipient among the to addresses, an empty list of addresses matching any address. The
+   * traces of the candidate transactions must still be filtered, as the sender and the recipient
+   * may belong to different traces of the same transaction.
+   *
+   * @param fromAddresses the senders to match
+   * @param toAddresses the recipients to match
+   * @param fromBlock the first block of the range, must be covered by the index
+   * @param toBlock the last block of the range, inclusive, must be covered by the index
+   * @return the positions of the candidate transactions by block number, or empty if the query
+   *     does not filter on any address and therefore cannot be served by the index
+   */
+  public Optional<NavigableMap<Long, BitSet>> matchingTransactions(
+      final List<Address> fromAddresses,
+      final List<Address> toAddresses,
+      final long fromBlock,
+      final long toBlock) {
+    if (fromAddresses.isEmpty() && toAddresses.isEmpty()) {
+      return Optional.empty();
+    }
+    if (fromAddresses.isEmpty()) {
+      return Optional.of(transactionsOf(TO_PREFIX, toAddresses, fromBlock, toBlock));
+    }
+    final NavigableMap<Long, BitSet> matching =
+        transactionsOf(FROM_PREFIX, fromAddresses, fromBlock, toBlock);
+    if (!toAddresses.isEmpty()) {
+      final NavigableMap<Long, BitSet> toMatching =
+          transactionsOf(TO_PREFIX, toAddresses, fromBlock, toBlock);
+      matching
+          .entrySet()
+          .removeIf(
+              block -> {
+                final BitSet toPositions = toMatching.get(block.getKey());
+                if (toPositions == null) {
+                  return true;
+                }
+                block.getValue().and(toPositions);
+                return block.getValue().isEmpty();
+              });
+    }
+    return Optional.of(matching);
+  }
+
+  private NavigableMap<Long, BitSet> transactionsOf(
+      final Bytes prefix, final List<Address> addresses, final long fromBlock, final long toBlock) {
+    final NavigableMap<Long, BitSet> transactions = new TreeMap<>();
+    for (final Address address : addresses) {
+      try (Stream<byte[]> keys =
+          storage
+              .streamFromKey(
+                  entryKey(prefix, address, fromBlock, 0).toArrayUnsafe(),
+                  entryKey(prefix, address, toBlock, -1).toArrayUnsafe())
+              .map(Pair::getKey)) {
+        keys.forEach(
+            key -> {
+              final Bytes entry = Bytes.wrap(key);
+              transactions
+                  .computeIfAbsent(entry.getLong(1 + Address.SIZE), number -> new BitSet())
+                  .set(entry.getInt(1 + Address.SIZE + Long.BYTES));
+            });
+      }
+    }
+    return transactions;
+  }
+
+  private OptionalLong getLong(final Bytes key) {
+    return storage
+        .get(key.toArrayUnsafe())
+        .map(bytes -> OptionalLong.of(Bytes.wrap(bytes).toLong()))
+        .orElse(OptionalLong.empty());
+  }
+
+  private static void putLong(
+      final KeyValueStorageTransaction transaction, final Bytes key, final long value) {
+    transaction.put(key.toArrayUnsafe(), Bytes.ofUnsignedLong(value).toArrayUnsafe());
+  }
+
+  private static Bytes entryKey(
+      final Bytes prefix,
+      final Address address,
+      final long blockNumber,
+      final int transactionPosition) {
+    return Bytes.concatenate(
+        prefix,
+        address.getBytes(),
+        Bytes.ofUnsignedLong(blockNumber),
+        Bytes.ofUnsignedInt(Integer.toUnsignedLong(transactionPosition)));
+  }
+
+  private static Bytes blockKey(final long blockNumber) {
+    return Bytes.concatenate(BLOCK_PREFIX, Bytes.ofUnsignedLong(blockNumber));
+  }
+}
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.api.util;
 
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -23,9 +24,11 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 public class ArrayNodeWrapper {
 
   private final ArrayNode arrayNode;
+  private final Consumer<? super Object> sink;
   private final Optional<Integer> maybeAfter;
   private final Optional<Integer> maybeCount;
   private int currentOffset;
+  private int size;
 
   public ArrayNodeWrapper(final ArrayNode arrayNode) {
     this(arrayNode, Optional.empty(), Optional.empty());
@@ -35,7 +38,31 @@ public class ArrayNodeWrapper {
       final ArrayNode arrayNode,
       final Optional<Integer> maybeAfter,
       final Optional<Integer> maybeCount) {
+    this(arrayNode, arrayNode::addPOJO, maybeAfter, maybeCount);
+  }
+
+  /**
+   * Creates a wrapper that hands the elements it accepts to a sink instead of an array node, for
+   * results streamed as they are produced.
+   *
+   * @param sink the consumer of the accepted elements
+   * @param maybeAfter the number of elements to skip
+   * @param maybeCount the maximum number of elements to accept
+   */
+  public ArrayNodeWrapper(
+      final Consumer<? super Object> sink,
+      final Optional<Integer> maybeAfter,
+      final Optional<Integer> maybeCount) {
+    this(null, sink, maybeAfter, maybeCount);
+  }
+
+  private ArrayNodeWrapper(
+      final ArrayNode arrayNode,
+      final Consumer<? super Object> sink,
+      final Optional<Integer> maybeAfter,
+      final Optional<Integer> maybeCount) {
     this.arrayNode = arrayNode;
+    this.sink = sink;
     currentOffset = 0;
     this.maybeAfter = maybeAfter;
     this.maybeCount = maybeCount;
@@ -43,9 +70,10 @@ public class ArrayNodeWrapper {
 
   public void addPOJO(final Object object) {
     final boolean isValidOffset = maybeAfter.map(after -> currentOffset >= after).orElse(true);
-    final boolean isValidSize = maybeCount.map(count -> count > arrayNode.size()).orElse(true);
+    final boolean isValidSize = maybeCount.map(count -> count > size).orElse(true);
     if (isValidOffset && isValidSize) {
-      arrayNode.addPOJO(object);
+      sink.accept(object);
+      size++;
     }
     currentOffset++;
   }
@@ -58,9 +86,14 @@ public class ArrayNodeWrapper {
   }
 
   public boolean isFull() {
-    return maybeCount.map(count -> count <= arrayNode.size()).orElse(false);
+    return maybeCount.map(count -> count <= size).orElse(false);
   }
 
+  /**
+   * Returns the array node holding the accepted elements.
+   *
+   * @return the array node, or null if the elements are handed to a sink
+   */
   public ArrayNode getArrayNode() {
     return arrayNode;
   }
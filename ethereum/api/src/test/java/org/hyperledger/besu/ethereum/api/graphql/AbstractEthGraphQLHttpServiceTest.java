@@ -129,7 +129,8 @@ public abstract class AbstractEthGraphQLHttpServiceTest {
 
     config.setPort(0);
     final GraphQLDataFetchers dataFetchers = new GraphQLDataFetchers(supportedCapabilities);
-    final GraphQL graphQL = GraphQLProvider.buildGraphQL(dataFetchers);
+    final GraphQL graphQL =
+        GraphQLProvider.buildGraphQL(dataFetchers, blockchainQueries::headBlockNumber);
 
     final var transactionSimulator =
         new TransactionSimulator(
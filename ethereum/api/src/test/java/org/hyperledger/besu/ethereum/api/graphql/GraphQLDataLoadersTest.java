@@ -0,0 +1,143 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.graphql.internal.GraphQLDataLoaders;
+import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.TransactionReceiptWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.evm.account.Account;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GraphQLDataLoadersTest {
+  private static final Hash BLOCK_HASH = Hash.hash(Bytes.of(1));
+  private static final Address COINBASE = Address.fromHexString("0xc0");
+  private static final Address SENDER = Address.fromHexString("0x5e");
+  private static final Address RECIPIENT = Address.fromHexString("0xde");
+
+  @Mock private BlockchainQueries blockchainQueries;
+  @Mock private ProtocolSchedule protocolSchedule;
+  @Mock private BlockHeader header;
+  @Mock private Transaction transaction;
+  @Mock private MutableWorldState worldState;
+  @Mock private Account senderAccount;
+  @Mock private Account recipientAccount;
+  @Mock private TransactionReceiptWithMetadata firstReceipt;
+  @Mock private TransactionReceiptWithMetadata secondReceipt;
+
+  private GraphQLDataLoaders dataLoaders;
+
+  @BeforeEach
+  void setUp() {
+    dataLoaders = new GraphQLDataLoaders(blockchainQueries, protocolSchedule);
+  }
+
+  @Test
+  void blocksAreReadOnce() {
+    final BlockWithMetadata<TransactionWithMetadata, Hash> block = block(List.of());
+    when(blockchainQueries.blockByNumber(1L)).thenReturn(Optional.of(block));
+    when(blockchainQueries.blockByHash(BLOCK_HASH)).thenReturn(Optional.of(block));
+
+    assertThat(dataLoaders.blockByNumber(1L)).containsSame(block);
+    assertThat(dataLoaders.blockByNumber(1L)).containsSame(block);
+    assertThat(dataLoaders.blockByHash(BLOCK_HASH)).containsSame(block);
+    assertThat(dataLoaders.blockByHash(BLOCK_HASH)).containsSame(block);
+
+    verify(blockchainQueries, times(1)).blockByNumber(1L);
+    verify(blockchainQueries, times(1)).blockByHash(BLOCK_HASH);
+  }
+
+  @Test
+  void receiptsOfABlockAreReadTogether() {
+    when(blockchainQueries.transactionReceiptsByBlockHash(BLOCK_HASH, protocolSchedule))
+        .thenReturn(Optional.of(List.of(firstReceipt, secondReceipt)));
+
+    assertThat(dataLoaders.receipt(includedTransaction(0))).containsSame(firstReceipt);
+    assertThat(dataLoaders.receipt(includedTransaction(1))).containsSame(secondReceipt);
+
+    verify(blockchainQueries, times(1))
+        .transactionReceiptsByBlockHash(BLOCK_HASH, protocolSchedule);
+  }
+
+  @Test
+  void accountsTouchedByTheTransactionsOfABlockAreReadTogether() {
+    when(header.getNumber()).thenReturn(1L);
+    when(header.getCoinbase()).thenReturn(COINBASE);
+    when(transaction.getSender()).thenReturn(SENDER);
+    when(transaction.getTo()).thenReturn(Optional.of(RECIPIENT));
+    when(worldState.get(SENDER)).thenReturn(senderAccount);
+    when(worldState.get(RECIPIENT)).thenReturn(recipientAccount);
+    when(worldState.get(COINBASE)).thenReturn(null);
+    when(blockchainQueries.getAndMapWorldState(anyLong(), any()))
+        .thenAnswer(
+            invocation -> {
+              final Function<MutableWorldState, Optional<?>> mapper = invocation.getArgument(1);
+              return mapper.apply(worldState);
+            });
+
+    dataLoaders.registerTransactions(block(List.of(includedTransaction(0))));
+    dataLoaders.prefetchTransactionAccounts(1L);
+
+    assertThat(dataLoaders.mapAccount(1L, SENDER, Function.identity())).containsSame(senderAccount);
+    assertThat(dataLoaders.mapAccount(1L, RECIPIENT, Function.identity()))
+        .containsSame(recipientAccount);
+    assertThat(dataLoaders.mapAccount(1L, COINBASE, Function.identity())).isEmpty();
+
+    verify(blockchainQueries, times(1)).getAndMapWorldState(anyLong(), any());
+  }
+
+  @Test
+  void missingWorldStateIsOnlyLookedUpOnce() {
+    assertThat(dataLoaders.mapAccount(1L, SENDER, Function.identity())).isEmpty();
+    assertThat(dataLoaders.mapAccount(1L, RECIPIENT, Function.identity())).isEmpty();
+
+    verify(blockchainQueries, times(1)).getAndMapWorldState(anyLong(), any());
+  }
+
+  private BlockWithMetadata<TransactionWithMetadata, Hash> block(
+      final List<TransactionWithMetadata> transactions) {
+    return new BlockWithMetadata<>(header, transactions, List.of(), Difficulty.ONE, 0);
+  }
+
+  private TransactionWithMetadata includedTransaction(final int index) {
+    return new TransactionWithMetadata(transaction, 1L, Optional.empty(), BLOCK_HASH, index, 0L);
+  }
+}
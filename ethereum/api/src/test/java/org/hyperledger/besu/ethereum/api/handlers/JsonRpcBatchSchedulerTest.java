@@ -0,0 +1,195 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class JsonRpcBatchSchedulerTest {
+
+  @Test
+  void sequentialSchedulerRunsElementsOnCallingThread() {
+    final Thread caller = Thread.currentThread();
+    final List<Thread> threads = new ArrayList<>();
+
+    try (JsonRpcBatchScheduler.Batch<Integer> batch =
+        JsonRpcBatchScheduler.sequential()
+            .submit(
+                3,
+                i -> {
+                  threads.add(Thread.currentThread());
+                  return i;
+                })) {
+      for (int i = 0; i < 3; i++) {
+        assertThat(batch.get(i)).isEqualTo(i);
+      }
+    }
+
+    assertThat(threads).containsOnly(caller);
+  }
+
+  @Test
+  void parallelSchedulerReturnsResultsInRequestOrder() {
+    final JsonRpcBatchScheduler scheduler =
+        new JsonRpcBatchScheduler(8, 8, new NoOpMetricsSystem());
+
+    try (JsonRpcBatchScheduler.Batch<Integer> batch =
+        scheduler.submit(
+            50,
+            i -> {
+              sleepQuietly(50 - i);
+              return i * 2;
+            })) {
+      for (int i = 0; i < 50; i++) {
+        assertThat(batch.get(i)).isEqualTo(i * 2);
+      }
+    }
+  }
+
+  @Test
+  void parallelSchedulerRespectsConcurrencyLimit() {
+    final int limit = 4;
+    final JsonRpcBatchScheduler scheduler =
+        new JsonRpcBatchScheduler(limit, limit, new NoOpMetricsSystem());
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+
+    try (JsonRpcBatchScheduler.Batch<Integer> batch =
+        scheduler.submit(
+            40,
+            i -> {
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              sleepQuietly(5);
+              running.decrementAndGet();
+              return i;
+            })) {
+      for (int i = 0; i < 40; i++) {
+        batch.get(i);
+      }
+    }
+
+    assertThat(maxRunning.get()).isBetween(1, limit);
+  }
+
+  @Test
+  void workersAreBoundedAcrossBatches() {
+    final JsonRpcBatchScheduler scheduler =
+        new JsonRpcBatchScheduler(4, 2, new NoOpMetricsSystem());
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final Thread caller = Thread.currentThread();
+    final List<Thread> threads = new ArrayList<>();
+
+    try (JsonRpcBatchScheduler.Batch<Integer> blocked =
+        scheduler.submit(
+            4,
+            i -> {
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              awaitQuietly(release);
+              running.decrementAndGet();
+              return i;
+            })) {
+      try (JsonRpcBatchScheduler.Batch<Integer> batch =
+          scheduler.submit(
+              3,
+              i -> {
+                threads.add(Thread.currentThread());
+                return i;
+              })) {
+        for (int i = 0; i < 3; i++) {
+          assertThat(batch.get(i)).isEqualTo(i);
+        }
+      }
+      release.countDown();
+      for (int i = 0; i < 4; i++) {
+        assertThat(blocked.get(i)).isEqualTo(i);
+      }
+    }
+
+    assertThat(threads).containsOnly(caller);
+    assertThat(maxRunning.get()).isBetween(1, 2);
+  }
+
+  @Test
+  void closedSchedulerRunsElementsOnCallingThread() {
+    final JsonRpcBatchScheduler scheduler =
+        new JsonRpcBatchScheduler(4, 4, new NoOpMetricsSystem());
+    scheduler.close();
+    final Thread caller = Thread.currentThread();
+    final List<Thread> threads = new ArrayList<>();
+
+    try (JsonRpcBatchScheduler.Batch<Integer> batch =
+        scheduler.submit(
+            4,
+            i -> {
+              threads.add(Thread.currentThread());
+              return i;
+            })) {
+      for (int i = 0; i < 4; i++) {
+        assertThat(batch.get(i)).isEqualTo(i);
+      }
+    }
+
+    assertThat(threads).containsOnly(caller);
+  }
+
+  @Test
+  void failureOfAnElementIsRethrownWhenItsResultIsRequested() {
+    final JsonRpcBatchScheduler scheduler =
+        new JsonRpcBatchScheduler(2, 2, new NoOpMetricsSystem());
+
+    try (JsonRpcBatchScheduler.Batch<Integer> batch =
+        scheduler.submit(
+            3,
+            i -> {
+              if (i == 1) {
+                throw new IllegalStateException("boom");
+              }
+              return i;
+            })) {
+      assertThat(batch.get(0)).isZero();
+      assertThatThrownBy(() -> batch.get(1))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("boom");
+      assertThat(batch.get(2)).isEqualTo(2);
+    }
+  }
+
+  private static void awaitQuietly(final CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleepQuietly(final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
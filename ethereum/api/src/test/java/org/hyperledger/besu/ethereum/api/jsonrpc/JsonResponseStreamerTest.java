@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.api.jsonrpc;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -24,6 +25,7 @@ import static org.mockito.Mockito.when;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
+import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.impl.future.FailedFuture;
@@ -111,6 +113,37 @@ public class JsonResponseStreamerTest {
     verify(failedResponse).end();
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void waitForDrainWhenWriteQueueIsFull() throws IOException {
+    when(httpResponse.writeQueueFull()).thenReturn(true, false);
+    doAnswer(
+            invocation -> {
+              ((Handler<Void>) invocation.getArgument(0)).handle(null);
+              return httpResponse;
+            })
+        .when(httpResponse)
+        .drainHandler(any());
+
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+
+    verify(httpResponse).drainHandler(any());
+    verify(httpResponse).write(argThat(bufferContains("xyz")));
+  }
+
+  @Test
+  public void stopWaitingForDrainWhenClosed() {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+    when(httpResponse.closed()).thenReturn(true);
+
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    assertThatThrownBy(() -> streamer.write("xyz".getBytes(StandardCharsets.UTF_8)))
+        .isInstanceOf(IOException.class);
+
+    verify(httpResponse, never()).write(any(Buffer.class));
+  }
+
   private ArgumentMatcher<Buffer> bufferContains(final String text) {
     return buf -> buf.toString().equals(text);
   }
@@ -0,0 +1,141 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.jsonrpc.AbstractJsonRpcHttpServiceTest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionTraceIndexingService;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionTraceIndex;
+import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.ethereum.core.MiningConfiguration;
+import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+import org.hyperledger.besu.testutil.BlockTestUtil.ChainResources;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TraceFilterIndexedTest {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  // the beneficiary of every block of the trace test chain
+  private static final Address MINER = Address.ZERO;
+
+  private BlockchainSetupUtil blockchainSetupUtil;
+  private TransactionTraceIndex traceIndex;
+
+  @BeforeEach
+  public void setUp() {
+    blockchainSetupUtil =
+        BlockchainSetupUtil.createForEthashChain(
+            new ChainResources(
+                AbstractJsonRpcHttpServiceTest.class.getResource("trace/chain-data/genesis.json"),
+                AbstractJsonRpcHttpServiceTest.class.getResource("trace/chain-data/blocks.bin")),
+            DataStorageFormat.BONSAI);
+    blockchainSetupUtil.importAllBlocks(HeaderValidationMode.NONE, HeaderValidationMode.NONE);
+
+    traceIndex = new TransactionTraceIndex(new InMemoryKeyValueStorage());
+    new AutoTransactionTraceIndexingService(
+            blockchainSetupUtil.getProtocolSchedule(),
+            blockchainQueries(Optional.empty()),
+            traceIndex)
+        .indexBlocks(0, blockchainSetupUtil.getBlockchain().getChainHeadBlockNumber());
+  }
+
+  @Test
+  public void indexedPathReturnsTheRewardsOfTheMinerAsThePipelineDoes() throws Exception {
+    final FilterParameter filterParameter =
+        new FilterParameter(
+            new BlockParameter(0),
+            BlockParameter.LATEST,
+            null,
+            List.of(MINER),
+            null,
+            null,
+            null,
+            null,
+            null);
+
+    final String withPipeline = traceFilter(Optional.empty(), filterParameter);
+    final String withIndex = traceFilter(Optional.of(traceIndex), filterParameter);
+
+    assertThat(withPipeline).contains("\"type\":\"reward\"");
+    assertThat(withIndex).isEqualTo(withPipeline);
+  }
+
+  @Test
+  public void noRewardMatchesAFromAddress() throws Exception {
+    final FilterParameter filterParameter =
+        new FilterParameter(
+            new BlockParameter(0),
+            BlockParameter.LATEST,
+            List.of(MINER),
+            List.of(MINER),
+            null,
+            null,
+            null,
+            null,
+            null);
+
+    assertThat(traceFilter(Optional.of(traceIndex), filterParameter))
+        .isEqualTo(traceFilter(Optional.empty(), filterParameter))
+        .doesNotContain("\"type\":\"reward\"");
+  }
+
+  private String traceFilter(
+      final Optional<TransactionTraceIndex> traceIndex, final FilterParameter filterParameter)
+      throws Exception {
+    final TraceFilter method =
+        new TraceFilter(
+            blockchainSetupUtil.getProtocolSchedule(),
+            blockchainQueries(traceIndex),
+            0L,
+            new NoOpMetricsSystem(),
+            blockchainSetupUtil.getScheduler());
+    final JsonRpcSuccessResponse response =
+        (JsonRpcSuccessResponse)
+            method.response(
+                new JsonRpcRequestContext(
+                    new JsonRpcRequest("2.0", "trace_filter", new Object[] {filterParameter})));
+    return MAPPER.writeValueAsString(response.getResult());
+  }
+
+  private BlockchainQueries blockchainQueries(final Optional<TransactionTraceIndex> traceIndex) {
+    return new BlockchainQueries(
+        blockchainSetupUtil.getProtocolSchedule(),
+        blockchainSetupUtil.getBlockchain(),
+        blockchainSetupUtil.getWorldArchive(),
+        Optional.empty(),
+        Optional.of(blockchainSetupUtil.getScheduler()),
+        ImmutableApiConfiguration.builder().build(),
+        MiningConfiguration.MINING_DISABLED,
+        Optional.empty(),
+        traceIndex);
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import org.junit.jupiter.api.Test;
+
+class StreamedJsonArrayTest {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final AtomicInteger productions = new AtomicInteger();
+
+  @Test
+  void streamedResultIsProducedWhileSerialized() throws Exception {
+    final StreamedJsonArray<Integer> result = result(true);
+
+    assertThat(MAPPER.writeValueAsString(result)).isEqualTo("[1,2]");
+    assertThat(productions).hasValue(1);
+    assertThat(result.isCollected()).isFalse();
+  }
+
+  @Test
+  void collectedResultIsSerializedWithoutProducingItAgain() throws Exception {
+    final StreamedJsonArray<Integer> result = result(true);
+    result.collect();
+
+    assertThat(MAPPER.writeValueAsString(result)).isEqualTo("[1,2]");
+    assertThat(MAPPER.writeValueAsString(result)).isEqualTo("[1,2]");
+    assertThat(productions).hasValue(1);
+  }
+
+  @Test
+  void collectedAbsentResultIsSerializedAsNull() throws Exception {
+    final StreamedJsonArray<Integer> result = result(false);
+    result.collect();
+
+    assertThat(MAPPER.writeValueAsString(result)).isEqualTo("null");
+    assertThat(productions).hasValue(1);
+  }
+
+  @Test
+  void processorCollectsResultUnlessStreamingIsAllowed() {
+    final StreamedJsonArray<Integer> collected = result(true);
+    process(collected, false);
+    assertThat(collected.isCollected()).isTrue();
+
+    final StreamedJsonArray<Integer> streamed = result(true);
+    process(streamed, true);
+    assertThat(streamed.isCollected()).isFalse();
+    assertThat(productions).hasValue(1);
+  }
+
+  private StreamedJsonArray<Integer> result(final boolean present) {
+    return new StreamedJsonArray<>(
+        sink -> {
+          productions.incrementAndGet();
+          if (present) {
+            sink.accept(1);
+            sink.accept(2);
+          }
+          return present;
+        });
+  }
+
+  private static void process(
+      final StreamedJsonArray<Integer> result, final boolean streamedResultAllowed) {
+    final JsonRpcMethod method = mock(JsonRpcMethod.class);
+    when(method.response(any())).thenReturn(new JsonRpcSuccessResponse(1, result));
+    new BaseJsonRpcProcessor()
+        .process(
+            new JsonRpcRequestId(1),
+            method,
+            Span.getInvalid(),
+            new JsonRpcRequestContext(
+                new JsonRpcRequest("2.0", "trace_block", new Object[] {}),
+                Optional.empty(),
+                () -> true,
+                streamedResultAllowed));
+  }
+}
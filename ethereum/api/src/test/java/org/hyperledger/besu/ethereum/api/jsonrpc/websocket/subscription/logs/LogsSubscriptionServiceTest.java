@@ -263,6 +263,42 @@ public class LogsSubscriptionServiceTest {
     }
   }
 
+  @Test
+  public void subscriptionsFilteringOnTopicsOrNothingReceiveTheSameResult() {
+    final BlockWithReceipts blockWithReceipts = generateBlock(2, 2, 2);
+    final Block block = blockWithReceipts.getBlock();
+    final List<TransactionReceipt> receipts = blockWithReceipts.getReceipts();
+
+    final int txIndex = 1;
+    final int logIndex = 1;
+    final Log targetLog = receipts.get(txIndex).getLogsList().get(logIndex);
+
+    final LogsSubscription firstTopicSubscription =
+        createSubscription(
+            Collections.emptyList(), List.of(List.of(targetLog.getTopics().get(0))));
+    final LogsSubscription secondTopicSubscription =
+        createSubscription(
+            Collections.emptyList(),
+            Arrays.asList(Arrays.asList((LogTopic) null), List.of(targetLog.getTopics().get(1))));
+    final LogsSubscription otherTopicSubscription =
+        createSubscription(
+            Collections.emptyList(), List.of(List.of(LogTopic.fromHexString("0x01"))));
+    registerSubscriptions(firstTopicSubscription, secondTopicSubscription, otherTopicSubscription);
+    blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
+
+    final ArgumentCaptor<LogResult> firstCaptor = ArgumentCaptor.forClass(LogResult.class);
+    verify(subscriptionManager)
+        .sendMessage(eq(firstTopicSubscription.getSubscriptionId()), firstCaptor.capture());
+    final ArgumentCaptor<LogResult> secondCaptor = ArgumentCaptor.forClass(LogResult.class);
+    verify(subscriptionManager)
+        .sendMessage(eq(secondTopicSubscription.getSubscriptionId()), secondCaptor.capture());
+    verify(subscriptionManager, times(0))
+        .sendMessage(eq(otherTopicSubscription.getSubscriptionId()), any());
+
+    assertLogResultMatches(firstCaptor.getValue(), block, receipts, txIndex, logIndex, 3, false);
+    assertThat(secondCaptor.getValue()).isSameAs(firstCaptor.getValue());
+  }
+
   @Test
   public void noLogsEmitted() {
     final Address address = Address.fromHexString("0x0");
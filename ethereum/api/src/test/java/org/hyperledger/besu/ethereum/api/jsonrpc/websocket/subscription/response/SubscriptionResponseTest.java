@@ -0,0 +1,41 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.JsonRpcResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.Subscription;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.pending.PendingTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscriptionType;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+public class SubscriptionResponseTest {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void encodeAroundResultIsSameAsSerializingResponse() throws JsonProcessingException {
+    final Subscription subscription =
+        new Subscription(255L, "conn", SubscriptionType.NEW_PENDING_TRANSACTIONS, false);
+    final JsonRpcResult result = new PendingTransactionResult(Hash.ZERO);
+
+    assertThat(SubscriptionResponse.encode(subscription, MAPPER.writeValueAsString(result)))
+        .isEqualTo(MAPPER.writeValueAsString(new SubscriptionResponse(subscription, result)));
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator.BlockOptions;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TransactionLogIndexTest {
+
+  private static final Address CONTRACT = Address.fromHexString("0x1111");
+  private static final Address OTHER_CONTRACT = Address.fromHexString("0x2222");
+  private static final LogTopic TRANSFER = LogTopic.fromHexString("0x" + "aa".repeat(32));
+  private static final LogTopic APPROVAL = LogTopic.fromHexString("0x" + "bb".repeat(32));
+  private static final LogTopic OWNER = LogTopic.fromHexString("0x" + "cc".repeat(32));
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private MutableBlockchain blockchain;
+  private TransactionLogIndex logIndex;
+
+  @BeforeEach
+  public void setUp() {
+    blockchain = InMemoryKeyValueStorageProvider.createInMemoryBlockchain(gen.genesisBlock());
+    logIndex = new TransactionLogIndex(blockchain, new InMemoryKeyValueStorage());
+  }
+
+  @Test
+  public void indexesLogsOfNewCanonicalBlocks() {
+    blockchain.observeBlockAdded(logIndex::onBlockAdded);
+    appendBlock(blockchain.getChainHeadHeader(), log(CONTRACT, TRANSFER, OWNER));
+    appendBlock(blockchain.getChainHeadHeader(), log(OTHER_CONTRACT, TRANSFER));
+    appendBlock(blockchain.getChainHeadHeader(), log(CONTRACT, APPROVAL, OWNER));
+
+    assertThat(logIndex.getLowestIndexedBlock()).hasValue(1);
+    assertThat(logIndex.getHighestIndexedBlock()).hasValue(3);
+    assertThat(matchingBlocks(List.of(CONTRACT), List.of())).containsExactly(1L, 3L);
+    assertThat(matchingBlocks(List.of(), List.of(List.of(TRANSFER)))).containsExactly(1L, 2L);
+    assertThat(matchingBlocks(List.of(CONTRACT), List.of(List.of(TRANSFER))))
+        .containsExactly(1L);
+    assertThat(matchingBlocks(List.of(), List.of(List.of(TRANSFER, APPROVAL), List.of(OWNER))))
+        .containsExactly(1L, 3L);
+    assertThat(matchingBlocks(List.of(), List.of(List.of(OWNER)))).isEmpty();
+  }
+
+  @Test
+  public void wildcardOnlyQueryCannotBeServedByIndex() {
+    blockchain.observeBlockAdded(logIndex::onBlockAdded);
+    appendBlock(blockchain.getChainHeadHeader(), log(CONTRACT, TRANSFER));
+
+    final List<LogTopic> wildcard = new ArrayList<>();
+    wildcard.add(null);
+    assertThat(logIndex.matchingBlocks(new LogsQuery(List.of(), List.of(wildcard)), 0, 1))
+        .isEmpty();
+  }
+
+  @Test
+  public void reorgRemovesLogsOfDroppedBlocks() {
+    blockchain.observeBlockAdded(logIndex::onBlockAdded);
+    final BlockHeader genesis = blockchain.getChainHeadHeader();
+    appendBlock(genesis, log(CONTRACT, TRANSFER));
+
+    // a fork without the log replaces block 1
+    BlockHeader parent = genesis;
+    while (!blockchain.getChainHeadHash().equals(parent.getHash())) {
+      parent = appendBlock(parent, log(OTHER_CONTRACT, APPROVAL));
+    }
+
+    final long head = blockchain.getChainHeadBlockNumber();
+    assertThat(logIndex.getHighestIndexedBlock()).hasValue(head);
+    assertThat(matchingBlocks(List.of(CONTRACT), List.of())).isEmpty();
+    assertThat(matchingBlocks(List.of(OTHER_CONTRACT), List.of())).hasSize((int) head);
+  }
+
+  @Test
+  public void backfillsBlocksBelowIndexedRange() {
+    appendBlock(blockchain.getChainHeadHeader(), log(CONTRACT, TRANSFER));
+    appendBlock(blockchain.getChainHeadHeader(), log(OTHER_CONTRACT, TRANSFER));
+    blockchain.observeBlockAdded(logIndex::onBlockAdded);
+    appendBlock(blockchain.getChainHeadHeader(), log(CONTRACT, APPROVAL));
+
+    assertThat(logIndex.getLowestIndexedBlock()).hasValue(3);
+    logIndex.indexBlocks(0, 3);
+
+    assertThat(logIndex.getLowestIndexedBlock()).hasValue(0);
+    assertThat(logIndex.getHighestIndexedBlock()).hasValue(3);
+    assertThat(matchingBlocks(List.of(CONTRACT), List.of())).containsExactly(1L, 3L);
+  }
+
+  @Test
+  public void rejectsRangeNotContiguousWithIndexedRange() {
+    for (int i = 0; i < 4; i++) {
+      appendBlock(blockchain.getChainHeadHeader(), log(CONTRACT, TRANSFER));
+    }
+    logIndex.indexBlocks(3, 4);
+
+    assertThatThrownBy(() -> logIndex.indexBlocks(0, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void catchesUpWithMissedBlocks() {
+    final long observerId = blockchain.observeBlockAdded(logIndex::onBlockAdded);
+    appendBlock(blockchain.getChainHeadHeader(), log(CONTRACT, TRANSFER));
+    blockchain.removeObserver(observerId);
+    appendBlock(blockchain.getChainHeadHeader(), log(CONTRACT, TRANSFER));
+    blockchain.observeBlockAdded(logIndex::onBlockAdded);
+    appendBlock(blockchain.getChainHeadHeader(), log(OTHER_CONTRACT, APPROVAL));
+
+    assertThat(logIndex.getHighestIndexedBlock()).hasValue(3);
+    assertThat(matchingBlocks(List.of(CONTRACT), List.of())).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void bitmapEncodingRoundTrips() {
+    final BitSet sparse = new BitSet();
+    sparse.set(3);
+    sparse.set(200);
+    sparse.set(TransactionLogIndex.BLOCKS_PER_BUCKET - 1);
+    assertThat(LogIndexBitmap.decode(LogIndexBitmap.encode(sparse))).isEqualTo(sparse);
+    assertThat(LogIndexBitmap.encode(sparse)).hasSizeLessThan(10);
+
+    final BitSet dense = new BitSet();
+    dense.set(0, 5000);
+    assertThat(LogIndexBitmap.decode(LogIndexBitmap.encode(dense))).isEqualTo(dense);
+    assertThat(LogIndexBitmap.encode(dense)).hasSizeLessThanOrEqualTo(1 + 5000 / 8);
+
+    assertThat(LogIndexBitmap.decode(LogIndexBitmap.encode(new BitSet()))).isEmpty();
+  }
+
+  private List<Long> matchingBlocks(
+      final List<Address> addresses, final List<List<LogTopic>> topics) {
+    return logIndex
+        .matchingBlocks(
+            new LogsQuery(addresses, topics), 0, blockchain.getChainHeadBlockNumber())
+        .orElseThrow();
+  }
+
+  private static Log log(final Address logger, final LogTopic... topics) {
+    return new Log(logger, Bytes.EMPTY, List.of(topics));
+  }
+
+  private BlockHeader appendBlock(final BlockHeader parent, final Log log) {
+    final BlockOptions blockOptions =
+        BlockOptions.create()
+            .addTransaction(gen.transaction())
+            .setParentHash(parent.getHash())
+            .setBlockNumber(parent.getNumber() + 1L);
+    final Block block = gen.block(blockOptions);
+    final List<TransactionReceipt> receipts = List.of(gen.receipt(List.of(log)));
+    blockchain.appendBlock(block, receipts);
+    return block.getHeader();
+  }
+}
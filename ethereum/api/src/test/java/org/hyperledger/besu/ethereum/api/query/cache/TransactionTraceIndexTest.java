@@ -0,0 +1,134 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.Action;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTrace;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TransactionTraceIndexTest {
+
+  private static final Address SENDER = Address.fromHexString("0x1111");
+  private static final Address CONTRACT = Address.fromHexString("0x2222");
+  private static final Address OTHER_CONTRACT = Address.fromHexString("0x3333");
+
+  private TransactionTraceIndex traceIndex;
+
+  @BeforeEach
+  public void setUp() {
+    traceIndex = new TransactionTraceIndex(new InMemoryKeyValueStorage());
+  }
+
+  @Test
+  public void matchesTransactionsBySenderAndRecipient() {
+    traceIndex.indexBlock(
+        1, List.of(trace(0, SENDER, CONTRACT), trace(0, CONTRACT, OTHER_CONTRACT)));
+    traceIndex.indexBlock(2, List.of(trace(0, SENDER, OTHER_CONTRACT), trace(3, CONTRACT, SENDER)));
+    traceIndex.indexBlock(3, List.of());
+
+    assertThat(traceIndex.getLowestIndexedBlock()).hasValue(1);
+    assertThat(traceIndex.getHighestIndexedBlock()).hasValue(3);
+    assertThat(matching(List.of(SENDER), List.of(), 1, 3))
+        .isEqualTo(Map.of(1L, positions(0), 2L, positions(0)));
+    assertThat(matching(List.of(), List.of(OTHER_CONTRACT), 1, 3))
+        .isEqualTo(Map.of(1L, positions(0), 2L, positions(0)));
+    // the sender and the recipient may match different traces of the same transaction
+    assertThat(matching(List.of(CONTRACT), List.of(SENDER, CONTRACT), 1, 3))
+        .isEqualTo(Map.of(1L, positions(0), 2L, positions(3)));
+    assertThat(matching(List.of(CONTRACT), List.of(SENDER), 1, 3))
+        .isEqualTo(Map.of(2L, positions(3)));
+    assertThat(matching(List.of(SENDER), List.of(), 2, 3)).isEqualTo(Map.of(2L, positions(0)));
+    assertThat(matching(List.of(OTHER_CONTRACT), List.of(), 1, 3)).isEmpty();
+  }
+
+  @Test
+  public void queryWithoutAddressesCannotBeServedByIndex() {
+    traceIndex.indexBlock(1, List.of(trace(0, SENDER, CONTRACT)));
+
+    assertThat(traceIndex.matchingTransactions(List.of(), List.of(), 1, 1)).isEmpty();
+  }
+
+  @Test
+  public void reindexingBlockReplacesItsEntries() {
+    traceIndex.indexBlock(1, List.of(trace(0, SENDER, CONTRACT)));
+    traceIndex.indexBlock(1, List.of(trace(1, SENDER, OTHER_CONTRACT)));
+
+    assertThat(matching(List.of(), List.of(CONTRACT), 1, 1)).isEmpty();
+    assertThat(matching(List.of(SENDER), List.of(), 1, 1)).isEqualTo(Map.of(1L, positions(1)));
+  }
+
+  @Test
+  public void truncateDropsBlocksReplacedByReorg() {
+    traceIndex.indexBlock(1, List.of(trace(0, SENDER, CONTRACT)));
+    traceIndex.indexBlock(2, List.of(trace(0, SENDER, CONTRACT)));
+    traceIndex.indexBlock(3, List.of(trace(0, SENDER, CONTRACT)));
+
+    traceIndex.truncate(1);
+
+    assertThat(traceIndex.getHighestIndexedBlock()).hasValue(1);
+    assertThat(matching(List.of(SENDER), List.of(), 1, 3)).isEqualTo(Map.of(1L, positions(0)));
+
+    traceIndex.truncate(0);
+
+    assertThat(traceIndex.getLowestIndexedBlock()).isEmpty();
+    assertThat(traceIndex.getHighestIndexedBlock()).isEmpty();
+    assertThat(matching(List.of(SENDER), List.of(), 1, 3)).isEmpty();
+  }
+
+  @Test
+  public void rejectsBlocksNotContiguousWithIndexedRange() {
+    traceIndex.indexBlock(10, List.of(trace(0, SENDER, CONTRACT)));
+    traceIndex.indexBlock(9, List.of());
+
+    assertThat(traceIndex.getLowestIndexedBlock()).hasValue(9);
+    assertThatThrownBy(() -> traceIndex.indexBlock(12, List.of()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private Map<Long, BitSet> matching(
+      final List<Address> from, final List<Address> to, final long fromBlock, final long toBlock) {
+    return traceIndex.matchingTransactions(from, to, fromBlock, toBlock).orElseThrow();
+  }
+
+  private static BitSet positions(final int... positions) {
+    final BitSet bitSet = new BitSet();
+    for (final int position : positions) {
+      bitSet.set(position);
+    }
+    return bitSet;
+  }
+
+  private static FlatTrace trace(
+      final int transactionPosition, final Address from, final Address to) {
+    final FlatTrace trace = mock(FlatTrace.class);
+    when(trace.getTransactionPosition()).thenReturn(transactionPosition);
+    when(trace.getAction())
+        .thenReturn(Action.builder().from(from.toHexString()).to(to.toHexString()).build());
+    return trace;
+  }
+}
@@ -25,6 +25,8 @@ import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.BlockTransactionSelector;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.SelectionCheckpoint;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.SpeculativeTransactionExecutor;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionSelectionResults;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockBody;
@@ -55,10 +57,12 @@ import org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator;
 import org.hyperledger.besu.ethereum.mainnet.requests.RequestProcessingContext;
 import org.hyperledger.besu.ethereum.mainnet.requests.RequestProcessorCoordinator;
 import org.hyperledger.besu.ethereum.mainnet.systemcall.BlockProcessingContext;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
 import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.securitymodule.SecurityModuleException;
+import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
 import org.hyperledger.besu.plugin.services.txselection.PluginTransactionSelector;
 import org.hyperledger.besu.plugin.services.txselection.SelectorsStateManager;
 
@@ -92,6 +96,7 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
   private final EthScheduler ethScheduler;
   private final AtomicBoolean isCancelled = new AtomicBoolean(false);
   private volatile BlockTransactionSelector selector;
+  private volatile SelectionCheckpoint selectionCheckpoint;
 
   protected AbstractBlockCreator(
       final MiningConfiguration miningConfiguration,
@@ -195,6 +200,53 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       final boolean rewardCoinbase,
       final BlockHeader parentHeader) {
 
+    // when the same block is created again, only append the transactions arrived in the meantime
+    // to the ones already selected, instead of selecting and executing all of them again
+    final SelectionCheckpoint checkpoint = selectionCheckpoint;
+    if (checkpoint != null && maybeTransactions.isEmpty()) {
+      final Optional<BlockCreationResult> maybeResumedBlock =
+          createBlock(
+              maybeTransactions,
+              maybeOmmers,
+              maybeWithdrawals,
+              maybePrevRandao,
+              maybeParentBeaconBlockRoot,
+              maybeSlotNumber,
+              timestamp,
+              rewardCoinbase,
+              parentHeader,
+              Optional.of(checkpoint));
+      if (maybeResumedBlock.isPresent()) {
+        return maybeResumedBlock.get();
+      }
+      LOG.debug("Cannot resume from the previous creation of the block, creating it from scratch");
+    }
+    return createBlock(
+            maybeTransactions,
+            maybeOmmers,
+            maybeWithdrawals,
+            maybePrevRandao,
+            maybeParentBeaconBlockRoot,
+            maybeSlotNumber,
+            timestamp,
+            rewardCoinbase,
+            parentHeader,
+            Optional.empty())
+        .orElseThrow();
+  }
+
+  private Optional<BlockCreationResult> createBlock(
+      final Optional<List<Transaction>> maybeTransactions,
+      final Optional<List<BlockHeader>> maybeOmmers,
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final Optional<Bytes32> maybePrevRandao,
+      final Optional<Bytes32> maybeParentBeaconBlockRoot,
+      final Optional<Long> maybeSlotNumber,
+      final long timestamp,
+      final boolean rewardCoinbase,
+      final BlockHeader parentHeader,
+      final Optional<SelectionCheckpoint> maybeCheckpoint) {
+
     final var timings = new BlockCreationTiming();
 
     try (final MutableWorldState disposableWorldState = duplicateWorldStateAtParent(parentHeader)) {
@@ -213,6 +265,11 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
                   maybeSlotNumber)
               .buildProcessableBlockHeader();
 
+      if (maybeCheckpoint.isPresent()
+          && !maybeCheckpoint.get().isResumableFor(processableBlockHeader, transactionPool)) {
+        return Optional.empty();
+      }
+
       final Address miningBeneficiary =
           miningBeneficiaryCalculator.getMiningBeneficiary(timestamp, processableBlockHeader);
 
@@ -250,7 +307,7 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
           .process(blockProcessingContext, preExecutionAccessLocationTracker);
 
       timings.register("preTxsSelection");
-      final TransactionSelectionResults transactionResults =
+      final Optional<TransactionSelectionResults> maybeTransactionResults =
           selectTransactions(
               processableBlockHeader,
               disposableWorldState,
@@ -260,8 +317,20 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
               pluginTransactionSelector,
               selectorsStateManager,
               parentHeader,
-              blockAccessListBuilder);
+              blockAccessListBuilder,
+              maybeCheckpoint);
+      if (maybeTransactionResults.isEmpty()) {
+        return Optional.empty();
+      }
+      final TransactionSelectionResults transactionResults = maybeTransactionResults.get();
       transactionResults.logSelectionStats();
+      if (isIncrementalSelectionEnabled(
+          disposableWorldState,
+          maybeTransactions,
+          pluginTransactionSelector,
+          blockAccessListBuilder)) {
+        selectionCheckpoint = selector.createCheckpoint();
+      }
       timings.register("txsSelection");
 
       final Optional<AccessLocationTracker> postExecutionAccessLocationTracker =
@@ -353,7 +422,8 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
 
       operationTracer.traceEndBlock(blockHeader, blockBody);
       timings.register("blockAssembled");
-      return new BlockCreationResult(block, transactionResults, timings, blockAccessList);
+      return Optional.of(
+          new BlockCreationResult(block, transactionResults, timings, blockAccessList));
     } catch (final SecurityModuleException ex) {
       throw new IllegalStateException("Failed to create block signature", ex);
     } catch (final CancellationException | StorageException ex) {
@@ -388,7 +458,7 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     return null;
   }
 
-  private TransactionSelectionResults selectTransactions(
+  private Optional<TransactionSelectionResults> selectTransactions(
       final ProcessableBlockHeader processableBlockHeader,
       final MutableWorldState disposableWorldState,
       final Optional<List<Transaction>> transactions,
@@ -397,7 +467,8 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       final PluginTransactionSelector pluginTransactionSelector,
       final SelectorsStateManager selectorsStateManager,
       final BlockHeader parentHeader,
-      final Optional<BlockAccessListBuilder> blockAccessListBuilder)
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder,
+      final Optional<SelectionCheckpoint> maybeCheckpoint)
       throws RuntimeException {
     final MainnetTransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
 
@@ -424,13 +495,76 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
             pluginTransactionSelector,
             ethScheduler,
             selectorsStateManager,
-            blockAccessListBuilder);
+            blockAccessListBuilder,
+            createSpeculativeTransactionExecutor(
+                processableBlockHeader,
+                disposableWorldState,
+                transactions,
+                miningBeneficiary,
+                protocolSpec,
+                pluginTransactionSelector,
+                parentHeader,
+                blobGasPrice,
+                blockAccessListBuilder));
 
     if (transactions.isPresent()) {
-      return selector.evaluateTransactions(transactions.get());
-    } else {
-      return selector.buildTransactionListForBlock();
+      return Optional.of(selector.evaluateTransactions(transactions.get()));
     }
+    if (maybeCheckpoint.isPresent() && !selector.resumeFrom(maybeCheckpoint.get())) {
+      return Optional.empty();
+    }
+    return Optional.of(selector.buildTransactionListForBlock());
+  }
+
+  private boolean isIncrementalSelectionEnabled(
+      final MutableWorldState disposableWorldState,
+      final Optional<List<Transaction>> transactions,
+      final PluginTransactionSelector pluginTransactionSelector,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder) {
+    // the state changes of the selected transactions are copied from the accumulator of path based
+    // world states, and the transactions are neither traced by plugins nor recorded in the block
+    // access list when included again
+    return miningConfiguration.getUnstable().isPosBlockCreationIncremental()
+        && transactions.isEmpty()
+        && disposableWorldState instanceof PathBasedWorldState
+        && blockAccessListBuilder.isEmpty()
+        && BlockAwareOperationTracer.NO_TRACING.equals(
+            pluginTransactionSelector.getOperationTracer());
+  }
+
+  private Optional<SpeculativeTransactionExecutor> createSpeculativeTransactionExecutor(
+      final ProcessableBlockHeader processableBlockHeader,
+      final MutableWorldState disposableWorldState,
+      final Optional<List<Transaction>> transactions,
+      final Address miningBeneficiary,
+      final ProtocolSpec protocolSpec,
+      final PluginTransactionSelector pluginTransactionSelector,
+      final BlockHeader parentHeader,
+      final Wei blobGasPrice,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder) {
+    final int speculativeTxsExecutionCount =
+        miningConfiguration.getUnstable().getSpeculativeTxsExecutionCount();
+    // speculative executions detect conflicts using the accumulator of path based world states,
+    // and are neither traced by plugins nor recorded in the block access list
+    if (speculativeTxsExecutionCount <= 0
+        || transactions.isPresent()
+        || !(disposableWorldState instanceof PathBasedWorldState)
+        || blockAccessListBuilder.isPresent()
+        || !BlockAwareOperationTracer.NO_TRACING.equals(
+            pluginTransactionSelector.getOperationTracer())) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new SpeculativeTransactionExecutor(
+            protocolContext.getWorldStateArchive(),
+            protocolContext.getBlockchain(),
+            parentHeader,
+            processableBlockHeader,
+            protocolSpec,
+            miningBeneficiary,
+            blobGasPrice,
+            speculativeTxsExecutionCount,
+            ethScheduler));
   }
 
   private MutableWorldState duplicateWorldStateAtParent(final BlockHeader parentHeader) {
@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.ethereum.blockcreation.txselection;
 
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.BLOCK_FULL;
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.BLOCK_OCCUPANCY_ABOVE_THRESHOLD;
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.BLOCK_SELECTION_TIMEOUT;
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.BLOCK_SELECTION_TIMEOUT_INVALID_TX;
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.INTERNAL_ERROR;
@@ -26,7 +28,9 @@ import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.SELECT
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.TX_EVALUATION_TOO_LONG;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.SelectionCheckpoint.SelectedTransaction;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.AbstractTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.BlobPriceTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.BlobSizeTransactionSelector;
@@ -53,6 +57,7 @@ import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.AccessLocationTracker;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
@@ -65,9 +70,11 @@ import org.hyperledger.besu.plugin.services.txselection.SelectorsStateManager;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
@@ -125,6 +132,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
   private final long blockTxsSelectionMaxTimeNanos;
   private final long pluginTxsSelectionMaxTimeNanos;
   private final Optional<BlockAccessList.BlockAccessListBuilder> maybeBlockAccessListBuilder;
+  private final Optional<SpeculativeTransactionExecutor> maybeSpeculativeTransactionExecutor;
   private WorldUpdater blockWorldStateUpdater;
   private WorldUpdater txWorldStateUpdater;
   private volatile TransactionEvaluationContext currTxEvaluationContext;
@@ -133,6 +141,8 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
   private volatile TransactionSelectionResult validTxSelectionTimeoutResult;
   private volatile TransactionSelectionResult invalidTxSelectionTimeoutResult;
   private volatile FutureTask<Void> currTxSelectionTask;
+  private final List<SelectedTransaction> selectedTransactions = new ArrayList<>();
+  private final Set<Hash> resumedTransactions = new HashSet<>();
 
   public BlockTransactionSelector(
       final MiningConfiguration miningConfiguration,
@@ -148,7 +158,8 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
       final PluginTransactionSelector pluginTransactionSelector,
       final EthScheduler ethScheduler,
       final SelectorsStateManager selectorsStateManager,
-      final Optional<BlockAccessList.BlockAccessListBuilder> maybeBlockAccessListBuilder) {
+      final Optional<BlockAccessList.BlockAccessListBuilder> maybeBlockAccessListBuilder,
+      final Optional<SpeculativeTransactionExecutor> maybeSpeculativeTransactionExecutor) {
     this.transactionProcessor = transactionProcessor;
     this.blockchain = blockchain;
     this.worldState = worldState;
@@ -177,6 +188,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
     this.pluginTxsSelectionMaxTimeNanos =
         miningConfiguration.getPluginTxsSelectionMaxTime(blockTxsSelectionMaxTime).toNanos();
     this.maybeBlockAccessListBuilder = maybeBlockAccessListBuilder;
+    this.maybeSpeculativeTransactionExecutor = maybeSpeculativeTransactionExecutor;
   }
 
   private List<AbstractTransactionSelector> createTransactionSelectors(
@@ -212,6 +224,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
 
   public void cancel() {
     isCancelled.set(true);
+    maybeSpeculativeTransactionExecutor.ifPresent(SpeculativeTransactionExecutor::stop);
     if (currTxSelectionTask != null) {
       currTxSelectionTask.cancel(true);
       LOG.debug("Cancelled transaction selection task");
@@ -222,6 +235,17 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
       final List<PendingTransaction> candidatePendingTransactions) {
     final long startTime = System.nanoTime();
 
+    // speculatively execute the best candidates while the plugin selection runs
+    maybeSpeculativeTransactionExecutor.ifPresent(
+        executor ->
+            executor.start(
+                resumedTransactions.isEmpty()
+                    ? candidatePendingTransactions
+                    : candidatePendingTransactions.stream()
+                        .filter(
+                            candidate -> !resumedTransactions.contains(candidate.getHash()))
+                        .toList()));
+
     selectorsStateManager.blockSelectionStarted();
 
     pluginTimeLimitedSelection(candidatePendingTransactions, startTime);
@@ -300,6 +324,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
           nanosToMillis(remainingSelectionTime));
     }
 
+    maybeSpeculativeTransactionExecutor.ifPresent(SpeculativeTransactionExecutor::stop);
     return selectionResults;
   }
 
@@ -468,6 +493,68 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
     return transactionSelectionResults;
   }
 
+  /**
+   * Includes again the transactions selected by a previous creation of the same block, without
+   * executing them, so the selection only appends the transactions arrived in the meantime. The
+   * transactions are still evaluated by the selectors, with the results of their previous
+   * execution, so their state is the same as if they were selected again.
+   *
+   * <p>Must be called before the selection starts, with the world state of the block at the same
+   * point where the previous creation started the selection. If a transaction is not selected
+   * anymore, the world state is left in an undefined state and must be discarded, together with
+   * this selector.
+   *
+   * @param checkpoint the checkpoint of the previous creation of the block
+   * @return true if all the transactions of the checkpoint have been included again
+   */
+  public boolean resumeFrom(final SelectionCheckpoint checkpoint) {
+    selectorsStateManager.blockSelectionStarted();
+    checkpoint.applyStateChanges(worldState);
+    txWorldStateUpdater = blockWorldStateUpdater.updater();
+
+    for (final var selected : checkpoint.getSelectedTransactions()) {
+      final TransactionEvaluationContext evaluationContext =
+          createTransactionEvaluationContext(selected.pendingTransaction());
+      TransactionSelectionResult selectionResult = evaluatePreProcessing(evaluationContext);
+      if (selectionResult.selected()) {
+        selectionResult = evaluatePostProcessing(evaluationContext, selected.processingResult());
+      }
+      if (!selectionResult.selected()) {
+        LOG.atDebug()
+            .setMessage("Cannot resume block creation, {} now not selected with result {}")
+            .addArgument(evaluationContext.getPendingTransaction()::toTraceLog)
+            .addArgument(selectionResult)
+            .log();
+        return false;
+      }
+      handleTransactionSelected(evaluationContext, selected.processingResult());
+      commit();
+      resumedTransactions.add(evaluationContext.getTransaction().getHash());
+    }
+    LOG.atDebug()
+        .setMessage("Resumed block creation with {} already selected transactions")
+        .addArgument(resumedTransactions::size)
+        .log();
+    return true;
+  }
+
+  /**
+   * Creates a checkpoint of the transactions selected so far, so a following creation of the same
+   * block can resume from it. Must be called once the selection is done, before any other change
+   * to the world state of the block.
+   *
+   * @return the checkpoint of the selection
+   */
+  public SelectionCheckpoint createCheckpoint() {
+    final boolean blockFull =
+        transactionSelectionResults.getNotSelectedTransactions().values().stream()
+            .anyMatch(
+                result ->
+                    result.equals(BLOCK_FULL) || result.equals(BLOCK_OCCUPANCY_ABOVE_THRESHOLD));
+    return SelectionCheckpoint.create(
+        blockSelectionContext.pendingBlockHeader(), selectedTransactions, worldState, blockFull);
+  }
+
   private TransactionSelectionResult evaluateTransaction(
       final PendingTransaction pendingTransaction) {
 
@@ -502,6 +589,11 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
 
     LOG.atTrace().setMessage("Starting evaluation of {}").addArgument(pendingTransaction).log();
 
+    if (resumedTransactions.contains(pendingTransaction.getTransaction().getHash())) {
+      // already included when resuming from a previous creation of this block
+      return SELECTED;
+    }
+
     final TransactionEvaluationContext evaluationContext =
         createTransactionEvaluationContext(pendingTransaction);
     currTxEvaluationContext = evaluationContext;
@@ -515,16 +607,28 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
       return handleTransactionNotSelected(evaluationContext, selectionResult);
     }
 
+    final Optional<ParallelizedTransactionContext> maybeSpeculativeExecution =
+        maybeSpeculativeTransactionExecutor.flatMap(
+            executor -> executor.takeExecution(evaluationContext.getTransaction(), worldState));
     final TransactionProcessingResult processingResult =
-        processTransaction(evaluationContext.getTransaction());
+        maybeSpeculativeExecution
+            .map(ParallelizedTransactionContext::transactionProcessingResult)
+            .orElseGet(() -> processTransaction(evaluationContext.getTransaction()));
 
     txWorldStateUpdater.markTransactionBoundary();
 
     var postProcessingSelectionResult = evaluatePostProcessing(evaluationContext, processingResult);
 
-    return postProcessingSelectionResult.selected()
-        ? handleTransactionSelected(evaluationContext, processingResult)
-        : handleTransactionNotSelected(evaluationContext, postProcessingSelectionResult);
+    if (postProcessingSelectionResult.selected()) {
+      // the state changes of a speculative execution are only applied if the tx is committed
+      maybeSpeculativeExecution.ifPresent(
+          speculativeExecution ->
+              selectionPendingActions.add(
+                  new SpeculativeStateChangesPendingAction(
+                      evaluationContext, speculativeExecution)));
+      return handleTransactionSelected(evaluationContext, processingResult);
+    }
+    return handleTransactionNotSelected(evaluationContext, postProcessingSelectionResult);
   }
 
   @Override
@@ -883,6 +987,8 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
 
       transactionSelectionResults.updateSelected(
           transaction, receipt, blockGasUsed, receiptGasUsed);
+      selectedTransactions.add(
+          new SelectedTransaction(evaluationContext.getPendingTransaction(), processingResult));
 
       notifySelected(evaluationContext, processingResult);
       LOG.atTrace()
@@ -906,6 +1012,29 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
     }
   }
 
+  private class SpeculativeStateChangesPendingAction extends PendingAction {
+    final ParallelizedTransactionContext speculativeExecution;
+
+    SpeculativeStateChangesPendingAction(
+        final TransactionEvaluationContext evaluationContext,
+        final ParallelizedTransactionContext speculativeExecution) {
+      super(evaluationContext);
+      this.speculativeExecution = speculativeExecution;
+    }
+
+    @Override
+    void runOnCommit() {
+      maybeSpeculativeTransactionExecutor
+          .orElseThrow()
+          .applyStateChanges(speculativeExecution, worldState);
+    }
+
+    @Override
+    void runOnRollback() {
+      // no-op, the state changes were not applied
+    }
+  }
+
   private class NotSelectedPendingAction extends PendingAction {
     final TransactionSelectionResult selectionResult;
 
@@ -0,0 +1,138 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import org.hyperledger.besu.datatypes.PendingTransaction;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The transactions selected for a block, with the results of their execution and the state changes
+ * they made, so a following creation of the same block can resume from them instead of selecting
+ * and executing them again, only appending the transactions that arrived in the meantime.
+ *
+ * <p>The selected transactions stay valid as long as the block is built on the same parent with
+ * the same header, since nothing else can change the state they were executed against. The
+ * checkpoint is not resumed when one of them is no longer in the pool, for example when it was
+ * replaced by a transaction of the same sender and nonce paying more, or when the block was full,
+ * since only selecting the transactions again can then make a block of higher value.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class SelectionCheckpoint {
+
+  /**
+   * A selected transaction and the result of its execution.
+   *
+   * @param pendingTransaction the selected pending transaction
+   * @param processingResult the result of its execution
+   */
+  public record SelectedTransaction(
+      PendingTransaction pendingTransaction, TransactionProcessingResult processingResult) {}
+
+  private final ProcessableBlockHeader pendingBlockHeader;
+  private final List<SelectedTransaction> selectedTransactions;
+  private final PathBasedWorldStateUpdateAccumulator stateChanges;
+  private final boolean blockFull;
+
+  private SelectionCheckpoint(
+      final ProcessableBlockHeader pendingBlockHeader,
+      final List<SelectedTransaction> selectedTransactions,
+      final PathBasedWorldStateUpdateAccumulator stateChanges,
+      final boolean blockFull) {
+    this.pendingBlockHeader = pendingBlockHeader;
+    this.selectedTransactions = selectedTransactions;
+    this.stateChanges = stateChanges;
+    this.blockFull = blockFull;
+  }
+
+  /**
+   * Creates a checkpoint of the transactions selected for a block. The state changes of the block
+   * are copied, so the block state can be modified and closed afterwards.
+   *
+   * @param pendingBlockHeader the header of the block
+   * @param selectedTransactions the selected transactions, in their order in the block
+   * @param blockWorldState the state of the block, a path based world state
+   * @param blockFull whether the selection stopped because the block was full
+   * @return the checkpoint
+   */
+  static SelectionCheckpoint create(
+      final ProcessableBlockHeader pendingBlockHeader,
+      final List<SelectedTransaction> selectedTransactions,
+      final MutableWorldState blockWorldState,
+      final boolean blockFull) {
+    final PathBasedWorldStateUpdateAccumulator blockAccumulator =
+        (PathBasedWorldStateUpdateAccumulator) blockWorldState.updater();
+    // the copy shares the accounts of the block state, so their changes are imported in a new one
+    final PathBasedWorldStateUpdateAccumulator stateChanges = blockAccumulator.copy();
+    stateChanges.reset();
+    stateChanges.importStateChangesFromSource(blockAccumulator);
+    return new SelectionCheckpoint(
+        pendingBlockHeader, List.copyOf(selectedTransactions), stateChanges, blockFull);
+  }
+
+  /**
+   * Returns whether a block with the given header can be built resuming from this checkpoint.
+   *
+   * @param pendingBlockHeader the header of the block to build
+   * @param transactionPool the transaction pool
+   * @return true if the selected transactions can be included again as they are
+   */
+  public boolean isResumableFor(
+      final ProcessableBlockHeader pendingBlockHeader, final TransactionPool transactionPool) {
+    return !blockFull
+        && hasSameContent(pendingBlockHeader)
+        && selectedTransactions.stream()
+            .map(selected -> selected.pendingTransaction().getTransaction().getHash())
+            .allMatch(hash -> transactionPool.getTransactionByHash(hash).isPresent());
+  }
+
+  private boolean hasSameContent(final ProcessableBlockHeader header) {
+    return header.getParentHash().equals(pendingBlockHeader.getParentHash())
+        && header.getTimestamp() == pendingBlockHeader.getTimestamp()
+        && header.getGasLimit() == pendingBlockHeader.getGasLimit()
+        && header.getCoinbase().equals(pendingBlockHeader.getCoinbase())
+        && header.getBaseFee().equals(pendingBlockHeader.getBaseFee())
+        && header.getPrevRandao().equals(pendingBlockHeader.getPrevRandao())
+        && header.getParentBeaconBlockRoot().equals(pendingBlockHeader.getParentBeaconBlockRoot())
+        && Objects.equals(
+            header.getOptionalSlotNumber(), pendingBlockHeader.getOptionalSlotNumber());
+  }
+
+  /**
+   * Returns the selected transactions, in their order in the block.
+   *
+   * @return the selected transactions
+   */
+  public List<SelectedTransaction> getSelectedTransactions() {
+    return selectedTransactions;
+  }
+
+  /**
+   * Applies the state changes of the selected transactions to the state of a new block, built on
+   * the same parent.
+   *
+   * @param blockWorldState the state of the new block, a path based world state
+   */
+  void applyStateChanges(final MutableWorldState blockWorldState) {
+    ((PathBasedWorldStateUpdateAccumulator) blockWorldState.updater())
+        .importStateChangesFromSource(stateChanges);
+  }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.TransactionCollisionDetector;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Speculatively executes the best candidate transactions of a block in parallel, each one against
+ * the parent state, while the {@link BlockTransactionSelector} evaluates the candidates one after
+ * the other against the state of the block being built.
+ *
+ * <p>When the selector reaches a candidate whose speculative execution is complete, the accounts
+ * and storage slots read and written by that execution are checked against the ones already
+ * modified by the block, like the parallel block processor does on import. Without conflict the
+ * result of the speculative execution is used and its state changes are applied to the block when
+ * the candidate is committed, otherwise the candidate is executed again on top of the block state,
+ * reusing the state already loaded by its speculative execution.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class SpeculativeTransactionExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(SpeculativeTransactionExecutor.class);
+
+  private final WorldStateArchive worldStateArchive;
+  private final Blockchain blockchain;
+  private final BlockHeader parentHeader;
+  private final ProcessableBlockHeader pendingBlockHeader;
+  private final ProtocolSpec protocolSpec;
+  private final MainnetTransactionProcessor transactionProcessor;
+  private final Address miningBeneficiary;
+  private final Wei blobGasPrice;
+  private final int maxTransactions;
+  private final EthScheduler ethScheduler;
+  private final TransactionCollisionDetector transactionCollisionDetector =
+      new TransactionCollisionDetector();
+  private final Map<Hash, CompletableFuture<ParallelizedTransactionContext>> executions =
+      new ConcurrentHashMap<>();
+  private final Set<Address> speculatedSenders = new HashSet<>();
+  private final AtomicBoolean stopped = new AtomicBoolean(false);
+  private final AtomicInteger reusedCount = new AtomicInteger();
+  private final AtomicInteger conflictingCount = new AtomicInteger();
+  private final AtomicInteger notReadyCount = new AtomicInteger();
+  private int startedCount;
+
+  public SpeculativeTransactionExecutor(
+      final WorldStateArchive worldStateArchive,
+      final Blockchain blockchain,
+      final BlockHeader parentHeader,
+      final ProcessableBlockHeader pendingBlockHeader,
+      final ProtocolSpec protocolSpec,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final int maxTransactions,
+      final EthScheduler ethScheduler) {
+    this.worldStateArchive = worldStateArchive;
+    this.blockchain = blockchain;
+    this.parentHeader = parentHeader;
+    this.pendingBlockHeader = pendingBlockHeader;
+    this.protocolSpec = protocolSpec;
+    this.transactionProcessor = protocolSpec.getTransactionProcessor();
+    this.miningBeneficiary = miningBeneficiary;
+    this.blobGasPrice = blobGasPrice;
+    this.maxTransactions = maxTransactions;
+    this.ethScheduler = ethScheduler;
+  }
+
+  /**
+   * Starts the speculative execution of the best candidates, in their priority order. Only the
+   * first candidate of each sender is executed, since the following ones depend on the state
+   * changes of the previous ones and would fail against the parent state.
+   *
+   * @param candidateTransactions the candidates, sorted by priority
+   */
+  public synchronized void start(final List<PendingTransaction> candidateTransactions) {
+    for (final PendingTransaction candidate : candidateTransactions) {
+      if (startedCount >= maxTransactions || stopped.get()) {
+        break;
+      }
+      if (speculatedSenders.add(candidate.getSender())) {
+        final Transaction transaction = candidate.getTransaction().detachedCopy();
+        executions.put(
+            candidate.getHash(), ethScheduler.scheduleComputationTask(() -> execute(transaction)));
+        startedCount++;
+      }
+    }
+    LOG.atDebug()
+        .setMessage("Started the speculative execution of {} candidate transactions for block {}")
+        .addArgument(startedCount)
+        .addArgument(pendingBlockHeader::getNumber)
+        .log();
+  }
+
+  private ParallelizedTransactionContext execute(final Transaction transaction) {
+    if (stopped.get()) {
+      return null;
+    }
+    final Optional<MutableWorldState> maybeWorldState =
+        worldStateArchive.getWorldState(withBlockHeaderAndNoUpdateNodeHead(parentHeader));
+    if (maybeWorldState.isEmpty()) {
+      return null;
+    }
+    try (final PathBasedWorldState ws = (PathBasedWorldState) maybeWorldState.get()) {
+      if (ws instanceof BonsaiWorldState bonsaiWorldState) {
+        bonsaiWorldState.disableCacheMerkleTrieLoader();
+      }
+      final ParallelizedTransactionContext.Builder contextBuilder =
+          new ParallelizedTransactionContext.Builder();
+      final PathBasedWorldStateUpdateAccumulator<?> roundWorldStateUpdater = ws.updater();
+      final WorldUpdater transactionUpdater = roundWorldStateUpdater.updater();
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              transactionUpdater,
+              pendingBlockHeader,
+              transaction,
+              miningBeneficiary,
+              new OperationTracer() {
+                @Override
+                public void traceBeforeRewardTransaction(
+                    final WorldView worldView,
+                    final org.hyperledger.besu.datatypes.Transaction tx,
+                    final Wei miningReward) {
+                  // the beneficiary only needs to be checked for conflicts if the transaction
+                  // used it before being rewarded
+                  if (transactionCollisionDetector
+                      .getAddressesTouchedByTransaction(
+                          transaction, Optional.of(roundWorldStateUpdater))
+                      .contains(miningBeneficiary)) {
+                    contextBuilder.isMiningBeneficiaryTouchedPreRewardByTransaction(true);
+                  }
+                  contextBuilder.miningBeneficiaryReward(miningReward);
+                }
+              },
+              protocolSpec
+                  .getPreExecutionProcessor()
+                  .createBlockHashLookup(blockchain, pendingBlockHeader),
+              TransactionValidationParams.mining(),
+              blobGasPrice,
+              Optional.empty());
+
+      transactionUpdater.commit();
+      roundWorldStateUpdater.commit();
+
+      contextBuilder
+          .transactionAccumulator(ws.getAccumulator())
+          .transactionProcessingResult(result);
+      final ParallelizedTransactionContext context = contextBuilder.build();
+      if (!context.isMiningBeneficiaryTouchedPreRewardByTransaction()) {
+        // the reward is added to the block state when the changes are applied
+        roundWorldStateUpdater.getAccountsToUpdate().remove(miningBeneficiary);
+      }
+      return context;
+    } catch (final Exception e) {
+      LOG.atTrace()
+          .setMessage("Speculative execution of {} failed")
+          .addArgument(transaction::toTraceLog)
+          .setCause(e)
+          .log();
+      return null;
+    }
+  }
+
+  /**
+   * Returns the speculative execution of a candidate if it can be used in place of executing it
+   * against the block state, that is if it is complete, successful and did not touch any account
+   * or storage slot already modified by the block. A speculative execution is returned only once.
+   *
+   * @param transaction the candidate about to be executed
+   * @param blockWorldState the state of the block being built
+   * @return the speculative execution, or empty if the candidate must be executed
+   */
+  public Optional<ParallelizedTransactionContext> takeExecution(
+      final Transaction transaction, final MutableWorldState blockWorldState) {
+    final CompletableFuture<ParallelizedTransactionContext> execution =
+        executions.remove(transaction.getHash());
+    if (execution == null) {
+      return Optional.empty();
+    }
+    if (!execution.isDone()) {
+      // executing the candidate now is faster than waiting for its speculative execution
+      execution.cancel(false);
+      notReadyCount.incrementAndGet();
+      return Optional.empty();
+    }
+    final ParallelizedTransactionContext context = execution.getNow(null);
+    if (context == null) {
+      return Optional.empty();
+    }
+    final PathBasedWorldStateUpdateAccumulator blockAccumulator =
+        (PathBasedWorldStateUpdateAccumulator) blockWorldState.updater();
+    if (context.transactionProcessingResult().isSuccessful()
+        && !transactionCollisionDetector.hasCollision(
+            transaction, miningBeneficiary, context, blockAccumulator)) {
+      reusedCount.incrementAndGet();
+      return Optional.of(context);
+    }
+    blockAccumulator.importPriorStateFromSource(context.transactionAccumulator());
+    conflictingCount.incrementAndGet();
+    return Optional.empty();
+  }
+
+  /**
+   * Applies the state changes of a speculative execution to the block, with the reward of the
+   * mining beneficiary.
+   *
+   * @param context the speculative execution returned by {@link #takeExecution}
+   * @param blockWorldState the state of the block being built
+   */
+  public void applyStateChanges(
+      final ParallelizedTransactionContext context, final MutableWorldState blockWorldState) {
+    final PathBasedWorldStateUpdateAccumulator blockAccumulator =
+        (PathBasedWorldStateUpdateAccumulator) blockWorldState.updater();
+    final Wei reward = context.miningBeneficiaryReward();
+    if (!reward.isZero() || !transactionProcessor.getClearEmptyAccounts()) {
+      final MutableAccount miningBeneficiaryAccount =
+          blockAccumulator.getOrCreate(miningBeneficiary);
+      miningBeneficiaryAccount.incrementBalance(reward);
+    }
+    blockAccumulator.importStateChangesFromSource(context.transactionAccumulator());
+  }
+
+  /** Stops the speculative executions that did not start yet and discards the pending ones. */
+  public void stop() {
+    if (stopped.compareAndSet(false, true)) {
+      executions.values().forEach(execution -> execution.cancel(false));
+      executions.clear();
+      LOG.atDebug()
+          .setMessage(
+              "Speculative execution for block {}: {} reused, {} conflicting, {} not ready in time")
+          .addArgument(pendingBlockHeader::getNumber)
+          .addArgument(reusedCount::get)
+          .addArgument(conflictingCount::get)
+          .addArgument(notReadyCount::get)
+          .log();
+    }
+  }
+
+  @VisibleForTesting
+  int getReusedCount() {
+    return reusedCount.get();
+  }
+
+  @VisibleForTesting
+  int getConflictingCount() {
+    return conflictingCount.get();
+  }
+}
@@ -43,6 +43,7 @@ import org.hyperledger.besu.ethereum.blockcreation.BlockCreator.BlockCreationRes
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.BlobTestFixture;
+import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
@@ -400,6 +401,104 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
     assertThat(maybeBlockAccessList).isEmpty();
   }
 
+  @Test
+  public void incrementalBlockCreationAppendsNewTransactionsToTheSelectedOnes() {
+    final MiningConfiguration.Unstable incremental =
+        ImmutableMiningConfiguration.Unstable.builder().isPosBlockCreationIncremental(true).build();
+    final CreateOn miningOn = createBlockCreator(alwaysValidProtocolSpecAdapters(), incremental);
+    final CreateOn fromScratchOn =
+        createBlockCreator(alwaysValidProtocolSpecAdapters(), MiningConfiguration.Unstable.DEFAULT);
+    final long timestamp = miningOn.parentHeader.getTimestamp() + 1;
+    final Transaction firstTxn = transfer(accounts.get(1), accounts.get(2), 0);
+    final Transaction secondTxn = transfer(accounts.get(1), accounts.get(2), 1);
+    final Transaction otherSenderTxn = transfer(accounts.get(2), accounts.get(1), 0);
+
+    miningOn.transactionPool.addTransactionViaApi(firstTxn);
+    final Block firstBlock =
+        miningOn.blockCreator.createBlock(timestamp, miningOn.parentHeader).getBlock();
+    assertThat(firstBlock.getBody().getTransactions()).containsExactly(firstTxn);
+
+    List.of(secondTxn, otherSenderTxn)
+        .forEach(
+            txn -> {
+              miningOn.transactionPool.addTransactionViaApi(txn);
+              fromScratchOn.transactionPool.addTransactionViaApi(txn);
+            });
+    fromScratchOn.transactionPool.addTransactionViaApi(firstTxn);
+
+    final Block resumedBlock =
+        miningOn.blockCreator.createBlock(timestamp, miningOn.parentHeader).getBlock();
+    final Block fromScratchBlock =
+        fromScratchOn.blockCreator.createBlock(timestamp, fromScratchOn.parentHeader).getBlock();
+
+    assertThat(resumedBlock.getBody().getTransactions())
+        .containsExactlyInAnyOrder(firstTxn, secondTxn, otherSenderTxn)
+        .startsWith(firstTxn);
+    assertThat(resumedBlock.getHeader().getGasUsed())
+        .isEqualTo(fromScratchBlock.getHeader().getGasUsed());
+    assertThat(resumedBlock.getHeader().getStateRoot())
+        .isEqualTo(fromScratchBlock.getHeader().getStateRoot());
+  }
+
+  @Test
+  public void incrementalBlockCreationStartsFromScratchWhenASelectedTransactionIsReplaced() {
+    final MiningConfiguration.Unstable incremental =
+        ImmutableMiningConfiguration.Unstable.builder().isPosBlockCreationIncremental(true).build();
+    final CreateOn miningOn = createBlockCreator(alwaysValidProtocolSpecAdapters(), incremental);
+    final long timestamp = miningOn.parentHeader.getTimestamp() + 1;
+    final Transaction txn = transfer(accounts.get(1), accounts.get(2), 0);
+    final Transaction replacementTxn =
+        new TransactionTestFixture()
+            .sender(accounts.get(1).address())
+            .to(Optional.of(accounts.get(1).address()))
+            .gasPrice(Wei.of(1_000))
+            .gasLimit(21_000L)
+            .nonce(accounts.get(1).nonce())
+            .chainId(Optional.of(BigInteger.valueOf(42)))
+            .createTransaction(keyPair(accounts.get(1)));
+
+    miningOn.transactionPool.addTransactionViaApi(txn);
+    miningOn.blockCreator.createBlock(timestamp, miningOn.parentHeader);
+    miningOn.transactionPool.addTransactionViaApi(replacementTxn);
+
+    final Block block =
+        miningOn.blockCreator.createBlock(timestamp, miningOn.parentHeader).getBlock();
+    assertThat(block.getBody().getTransactions()).containsExactly(replacementTxn);
+  }
+
+  private Transaction transfer(
+      final GenesisAccount sender, final GenesisAccount recipient, final long nonceDelta) {
+    return new TransactionTestFixture()
+        .sender(sender.address())
+        .to(Optional.of(recipient.address()))
+        .value(Wei.fromEth(1))
+        .gasPrice(Wei.of(100))
+        .gasLimit(21_000L)
+        .nonce(sender.nonce() + nonceDelta)
+        .chainId(Optional.of(BigInteger.valueOf(42)))
+        .createTransaction(keyPair(sender));
+  }
+
+  private static KeyPair keyPair(final GenesisAccount account) {
+    return SIGNATURE_ALGORITHM
+        .get()
+        .createKeyPair(SECPPrivateKey.create(account.privateKey(), "ECDSA"));
+  }
+
+  private ProtocolSpecAdapters alwaysValidProtocolSpecAdapters() {
+    final var alwaysValidTransactionValidatorFactory = mock(TransactionValidatorFactory.class);
+    when(alwaysValidTransactionValidatorFactory.get())
+        .thenReturn(new AlwaysValidTransactionValidator());
+    return ProtocolSpecAdapters.create(
+        0,
+        specBuilder -> {
+          specBuilder.isReplayProtectionSupported(true);
+          specBuilder.transactionValidatorFactoryBuilder(
+              (evm, gasLimitCalculator, feeMarket) -> alwaysValidTransactionValidatorFactory);
+          return specBuilder;
+        });
+  }
+
   private CreateOn blockCreatorWithWithdrawalsProcessor() {
     final ProtocolSpecAdapters protocolSpecAdapters =
         ProtocolSpecAdapters.create(
@@ -413,9 +512,18 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
     return createBlockCreator(protocolSpecAdapters);
   }
 
-  record CreateOn(AbstractBlockCreator blockCreator, BlockHeader parentHeader) {}
+  record CreateOn(
+      AbstractBlockCreator blockCreator,
+      BlockHeader parentHeader,
+      TransactionPool transactionPool) {}
 
   private CreateOn createBlockCreator(final ProtocolSpecAdapters protocolSpecAdapters) {
+    return createBlockCreator(protocolSpecAdapters, MiningConfiguration.Unstable.DEFAULT);
+  }
+
+  private CreateOn createBlockCreator(
+      final ProtocolSpecAdapters protocolSpecAdapters,
+      final MiningConfiguration.Unstable unstable) {
 
     final ExecutionContextTestFixture executionContextTestFixture =
         ExecutionContextTestFixture.builder(genesisConfig)
@@ -470,6 +578,7 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
                     .minBlockOccupancyRatio(0d)
                     .coinbase(Address.ZERO)
                     .build())
+            .unstable(unstable)
             .build();
 
     return new CreateOn(
@@ -481,7 +590,8 @@ class AbstractBlockCreatorTest extends TrustedSetupClassLoaderExtension {
             executionContextTestFixture.getProtocolContext(),
             executionContextTestFixture.getProtocolSchedule(),
             ethScheduler),
-        parentHeader);
+        parentHeader,
+        transactionPool);
   }
 
   static class TestBlockCreator extends AbstractBlockCreator {
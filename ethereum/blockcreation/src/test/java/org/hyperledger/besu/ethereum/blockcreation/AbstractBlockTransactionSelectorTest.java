@@ -1597,6 +1597,7 @@ public abstract class AbstractBlockTransactionSelectorTest {
             transactionSelectionService.createPluginTransactionSelector(selectorsStateManager),
             ethScheduler,
             selectorsStateManager,
+            Optional.empty(),
             Optional.empty());
 
     return selector;
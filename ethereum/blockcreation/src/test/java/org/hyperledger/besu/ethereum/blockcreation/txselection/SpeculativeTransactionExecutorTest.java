@@ -0,0 +1,126 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.testutil.DeterministicEthScheduler;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SpeculativeTransactionExecutorTest {
+  private static final Address SENDER_1 = Address.fromHexString("0x1111");
+  private static final Address SENDER_2 = Address.fromHexString("0x2222");
+  private static final Address SENDER_3 = Address.fromHexString("0x3333");
+
+  private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
+  private final MutableWorldState blockWorldState = mock(MutableWorldState.class);
+  private final DeterministicEthScheduler ethScheduler = new DeterministicEthScheduler();
+
+  @BeforeEach
+  void setUp() {
+    // the speculative executions complete without result when the parent state is unavailable
+    when(worldStateArchive.getWorldState(any(WorldStateQueryParams.class)))
+        .thenReturn(Optional.empty());
+  }
+
+  @Test
+  void executesOnlyTheFirstCandidateOfEachSenderUpToTheLimit() {
+    final SpeculativeTransactionExecutor executor = createExecutor(2);
+    final PendingTransaction first = pendingTransaction(SENDER_1, 1);
+    final PendingTransaction sameSender = pendingTransaction(SENDER_1, 2);
+    final PendingTransaction second = pendingTransaction(SENDER_2, 3);
+    final PendingTransaction overLimit = pendingTransaction(SENDER_3, 4);
+
+    executor.start(List.of(first, sameSender, second, overLimit));
+
+    verify(worldStateArchive, times(2)).getWorldState(any(WorldStateQueryParams.class));
+    assertThat(executor.takeExecution(first.getTransaction(), blockWorldState)).isEmpty();
+    assertThat(executor.takeExecution(sameSender.getTransaction(), blockWorldState)).isEmpty();
+    assertThat(executor.takeExecution(second.getTransaction(), blockWorldState)).isEmpty();
+    assertThat(executor.takeExecution(overLimit.getTransaction(), blockWorldState)).isEmpty();
+  }
+
+  @Test
+  void doesNotWaitForExecutionsNotCompletedYet() {
+    ethScheduler.disableAutoRun();
+    final SpeculativeTransactionExecutor executor = createExecutor(10);
+    final PendingTransaction candidate = pendingTransaction(SENDER_1, 1);
+
+    executor.start(List.of(candidate));
+
+    assertThat(executor.takeExecution(candidate.getTransaction(), blockWorldState)).isEmpty();
+    ethScheduler.runPendingFutures();
+    // an execution is only offered once
+    assertThat(executor.takeExecution(candidate.getTransaction(), blockWorldState)).isEmpty();
+  }
+
+  @Test
+  void doesNotStartExecutionsOnceStopped() {
+    final SpeculativeTransactionExecutor executor = createExecutor(10);
+
+    executor.stop();
+    executor.start(List.of(pendingTransaction(SENDER_1, 1)));
+
+    verify(worldStateArchive, times(0)).getWorldState(any(WorldStateQueryParams.class));
+  }
+
+  private SpeculativeTransactionExecutor createExecutor(final int maxTransactions) {
+    return new SpeculativeTransactionExecutor(
+        worldStateArchive,
+        mock(Blockchain.class),
+        mock(BlockHeader.class),
+        mock(ProcessableBlockHeader.class),
+        mock(ProtocolSpec.class),
+        Address.ZERO,
+        Wei.ZERO,
+        maxTransactions,
+        ethScheduler);
+  }
+
+  private static PendingTransaction pendingTransaction(final Address sender, final int id) {
+    final Hash hash = Hash.hash(Bytes.of(id));
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.getHash()).thenReturn(hash);
+    when(transaction.detachedCopy()).thenReturn(transaction);
+    final PendingTransaction pendingTransaction = mock(PendingTransaction.class);
+    when(pendingTransaction.getSender()).thenReturn(sender);
+    when(pendingTransaction.getHash()).thenReturn(hash);
+    when(pendingTransaction.getTransaction()).thenReturn(transaction);
+    return pendingTransaction;
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead;
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.SELECTED;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.config.GenesisConfig;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SECPPrivateKey;
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
+import org.hyperledger.besu.ethereum.core.ImmutableMiningConfiguration;
+import org.hyperledger.besu.ethereum.core.ImmutableMiningConfiguration.MutableInitValues;
+import org.hyperledger.besu.ethereum.core.MiningConfiguration;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.plugin.data.TransactionProcessingResult;
+import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+import org.hyperledger.besu.plugin.services.txselection.PluginTransactionSelector;
+import org.hyperledger.besu.plugin.services.txselection.SelectorsStateManager;
+import org.hyperledger.besu.plugin.services.txselection.TransactionEvaluationContext;
+import org.hyperledger.besu.testutil.DeterministicEthScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Selects the same transactions on a Bonsai state with and without speculative execution, and
+ * checks that both selections lead to the same block.
+ */
+class SpeculativeTransactionSelectionTest {
+  private static final KeyPair SENDER_1 =
+      keyPair("c87509a1c067bbde78beb793e6fa76530b6382a4c0241e5e4a9ec0a0f44dc0d3");
+  private static final KeyPair SENDER_2 =
+      keyPair("ae6ae8e5ccbfb04590405997ee2d52d2b330726137b875053c36d94e974d162f");
+  private static final Address RECIPIENT_1 = Address.fromHexString("0x02");
+  private static final Address RECIPIENT_2 = Address.fromHexString("0x03");
+  private static final Address COINBASE = Address.fromHexString("0xc0");
+  private static final Wei ONE_ETHER = Wei.fromEth(1);
+
+  private final List<MutableWorldState> worldStates = new ArrayList<>();
+  private ExecutionContextTestFixture fixture;
+  private BlockHeader parentHeader;
+  private BlockHeader pendingHeader;
+  private ProtocolSpec protocolSpec;
+
+  @BeforeEach
+  void setUp() {
+    fixture =
+        ExecutionContextTestFixture.builder(GenesisConfig.fromResource("/dev.json"))
+            .dataStorageFormat(DataStorageFormat.BONSAI)
+            .build();
+    parentHeader = fixture.getBlockchain().getChainHeadHeader();
+    pendingHeader =
+        new BlockHeaderTestFixture()
+            .number(parentHeader.getNumber() + 1)
+            .parentHash(parentHeader.getHash())
+            .timestamp(parentHeader.getTimestamp() + 1)
+            .gasLimit(30_000_000L)
+            .baseFeePerGas(Wei.of(5))
+            .coinbase(COINBASE)
+            .buildHeader();
+    protocolSpec = fixture.getProtocolSchedule().getByBlockHeader(pendingHeader);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    for (final MutableWorldState worldState : worldStates) {
+      worldState.close();
+    }
+  }
+
+  @Test
+  void nonConflictingTransactionsAreNotExecutedAgain() {
+    final List<Transaction> transactions =
+        List.of(
+            transfer(SENDER_1, 0, RECIPIENT_1, ONE_ETHER),
+            transfer(SENDER_2, 0, RECIPIENT_2, ONE_ETHER));
+
+    final Selection plain = select(false, PluginTransactionSelector.ACCEPT_ALL, transactions);
+    final Selection speculative = select(true, PluginTransactionSelector.ACCEPT_ALL, transactions);
+
+    assertThat(speculative.executor().getReusedCount()).isEqualTo(2);
+    assertThat(speculative.executor().getConflictingCount()).isZero();
+    assertSameBlock(speculative, plain);
+    assertThat(speculative.results().getSelectedTransactions()).isEqualTo(transactions);
+  }
+
+  @Test
+  void conflictingTransactionIsExecutedAgainOnTheBlockState() {
+    // the second sender is credited by the first transaction, so its speculative execution read a
+    // stale balance
+    final Address sender2 = Address.extract(SENDER_2.getPublicKey());
+    final List<Transaction> transactions =
+        List.of(
+            transfer(SENDER_1, 0, sender2, ONE_ETHER),
+            transfer(SENDER_2, 0, RECIPIENT_2, ONE_ETHER));
+
+    final Selection plain = select(false, PluginTransactionSelector.ACCEPT_ALL, transactions);
+    final Selection speculative = select(true, PluginTransactionSelector.ACCEPT_ALL, transactions);
+
+    assertThat(speculative.executor().getReusedCount()).isEqualTo(1);
+    assertThat(speculative.executor().getConflictingCount()).isEqualTo(1);
+    assertSameBlock(speculative, plain);
+    assertThat(speculative.results().getSelectedTransactions()).isEqualTo(transactions);
+  }
+
+  @Test
+  void speculativeChangesOfARolledBackTransactionAreDiscarded() {
+    final Transaction rejected = transfer(SENDER_1, 0, RECIPIENT_1, ONE_ETHER);
+    final Transaction selected = transfer(SENDER_2, 0, RECIPIENT_2, ONE_ETHER);
+    final List<Transaction> transactions = List.of(rejected, selected);
+    final PluginTransactionSelector rejectingSelector = rejectingPostProcessing(rejected);
+
+    final Selection plain = select(false, rejectingSelector, transactions);
+    final Selection speculative = select(true, rejectingSelector, transactions);
+
+    assertThat(speculative.executor().getReusedCount()).isEqualTo(2);
+    assertThat(speculative.results().getSelectedTransactions()).containsExactly(selected);
+    assertThat(speculative.results().getNotSelectedTransactions()).containsOnlyKeys(rejected);
+    assertThat(speculative.worldState().get(RECIPIENT_1)).isNull();
+    assertSameBlock(speculative, plain);
+  }
+
+  @Test
+  void beneficiaryIsRewardedForTheReusedTransactions() {
+    final List<Transaction> transactions =
+        List.of(
+            transfer(SENDER_1, 0, RECIPIENT_1, ONE_ETHER),
+            transfer(SENDER_2, 0, RECIPIENT_2, ONE_ETHER));
+
+    final Selection plain = select(false, PluginTransactionSelector.ACCEPT_ALL, transactions);
+    final Selection speculative = select(true, PluginTransactionSelector.ACCEPT_ALL, transactions);
+
+    assertThat(speculative.executor().getReusedCount()).isEqualTo(2);
+    // each transfer pays a priority fee of 2 wei per gas
+    assertThat(speculative.worldState().get(COINBASE).getBalance())
+        .isEqualTo(Wei.of(2 * 2 * 21_000L))
+        .isEqualTo(plain.worldState().get(COINBASE).getBalance());
+  }
+
+  private void assertSameBlock(final Selection speculative, final Selection plain) {
+    assertThat(speculative.results().getSelectedTransactions())
+        .isEqualTo(plain.results().getSelectedTransactions());
+    assertThat(speculative.results().getReceipts()).isEqualTo(plain.results().getReceipts());
+    assertThat(speculative.worldState().rootHash()).isEqualTo(plain.worldState().rootHash());
+  }
+
+  private Selection select(
+      final boolean speculative,
+      final PluginTransactionSelector pluginTransactionSelector,
+      final List<Transaction> transactions) {
+    final MutableWorldState worldState =
+        fixture
+            .getStateArchive()
+            .getWorldState(withBlockHeaderAndNoUpdateNodeHead(parentHeader))
+            .orElseThrow();
+    worldStates.add(worldState);
+    final DeterministicEthScheduler ethScheduler = new DeterministicEthScheduler();
+    final SpeculativeTransactionExecutor executor =
+        new SpeculativeTransactionExecutor(
+            fixture.getStateArchive(),
+            fixture.getBlockchain(),
+            parentHeader,
+            pendingHeader,
+            protocolSpec,
+            COINBASE,
+            Wei.ZERO,
+            transactions.size(),
+            ethScheduler);
+    final SelectorsStateManager selectorsStateManager = new SelectorsStateManager();
+    final BlockTransactionSelector selector =
+        new BlockTransactionSelector(
+            miningConfiguration(),
+            protocolSpec.getTransactionProcessor(),
+            fixture.getBlockchain(),
+            worldState,
+            mock(TransactionPool.class),
+            pendingHeader,
+            protocolSpec.getTransactionReceiptFactory(),
+            COINBASE,
+            Wei.ZERO,
+            protocolSpec,
+            pluginTransactionSelector,
+            ethScheduler,
+            selectorsStateManager,
+            Optional.empty(),
+            speculative ? Optional.of(executor) : Optional.empty());
+
+    if (speculative) {
+      // as the selection from the pool does, and completed before the evaluation starts
+      executor.start(
+          transactions.stream()
+              .<PendingTransaction>map(PendingTransaction.Local.Priority::new)
+              .toList());
+    }
+    return new Selection(selector.evaluateTransactions(transactions), worldState, executor);
+  }
+
+  private static MiningConfiguration miningConfiguration() {
+    return ImmutableMiningConfiguration.builder()
+        .mutableInitValues(MutableInitValues.builder().minTransactionGasPrice(Wei.ZERO).build())
+        .build();
+  }
+
+  private static PluginTransactionSelector rejectingPostProcessing(final Transaction rejected) {
+    return new PluginTransactionSelector() {
+      @Override
+      public TransactionSelectionResult evaluateTransactionPreProcessing(
+          final TransactionEvaluationContext evaluationContext) {
+        return SELECTED;
+      }
+
+      @Override
+      public TransactionSelectionResult evaluateTransactionPostProcessing(
+          final TransactionEvaluationContext evaluationContext,
+          final TransactionProcessingResult processingResult) {
+        return evaluationContext.getPendingTransaction().getTransaction().equals(rejected)
+            ? TransactionSelectionResult.invalidTransient("rejected after processing")
+            : SELECTED;
+      }
+    };
+  }
+
+  private Transaction transfer(
+      final KeyPair sender, final long nonce, final Address to, final Wei value) {
+    return Transaction.builder()
+        .type(TransactionType.EIP1559)
+        .nonce(nonce)
+        .maxPriorityFeePerGas(Wei.of(5))
+        .maxFeePerGas(Wei.of(7))
+        .gasLimit(21_000L)
+        .to(to)
+        .value(value)
+        .payload(Bytes.EMPTY)
+        .chainId(fixture.getProtocolSchedule().getChainId().orElseThrow())
+        .signAndBuild(sender);
+  }
+
+  private static KeyPair keyPair(final String privateKeyHex) {
+    return SignatureAlgorithmFactory.getInstance()
+        .createKeyPair(
+            SECPPrivateKey.create(
+                Bytes32.fromHexString(privateKeyHex), SignatureAlgorithm.ALGORITHM));
+  }
+
+  private record Selection(
+      TransactionSelectionResults results,
+      MutableWorldState worldState,
+      SpeculativeTransactionExecutor executor) {}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.WorldStateAccessListener;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the overhead of the block import profiler on the flat state reads, the hottest of its
+ * hooks: without profiler, with a profiler and no import profiled on the reading thread, as for RPC
+ * calls, and while an import is profiled.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class BlockImportProfilerBenchmark {
+  private static final int ACCOUNTS = 1024;
+
+  @Param({"none", "idle", "recording"})
+  public String profiling;
+
+  private final Hash[] accountHashes = new Hash[ACCOUNTS];
+  private BonsaiWorldStateKeyValueStorage storage;
+  private BlockImportProfiler.Recording recording;
+  private int index;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    storage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    final BonsaiWorldStateKeyValueStorage.Updater updater = storage.updater();
+    for (int i = 0; i < ACCOUNTS; i++) {
+      accountHashes[i] = Hash.hash(Bytes.ofUnsignedInt(i));
+      updater.putAccountInfoState(accountHashes[i], Bytes.random(70));
+    }
+    updater.commit();
+
+    final BlockImportProfiler profiler = new BlockImportProfiler(new NoOpMetricsSystem());
+    storage.setAccessListener(profiling.equals("none") ? WorldStateAccessListener.NOOP : profiler);
+    if (profiling.equals("recording")) {
+      recording = profiler.startRecording(new BlockDataGenerator().block());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (recording != null) {
+      recording.close();
+    }
+  }
+
+  @Benchmark
+  public void getAccount(final Blackhole blackhole) {
+    blackhole.consume(storage.getAccount(accountHashes[index++ & (ACCOUNTS - 1)]));
+  }
+}
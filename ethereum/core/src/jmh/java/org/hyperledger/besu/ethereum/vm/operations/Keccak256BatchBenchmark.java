@@ -0,0 +1,97 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.crypto.Keccak256;
+import org.hyperledger.besu.crypto.MessageDigestFactory;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares hashing a batch of inputs, the size of typical trie nodes, through a cloned {@link
+ * MessageDigest}, through the thread-local {@link Keccak256} engine one input at a time, and
+ * through its batch entry point.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class Keccak256BatchBenchmark {
+
+  private static final int BATCH_SIZE = 256;
+
+  @Param({"32", "83", "136", "532"})
+  private String inputSize;
+
+  private List<Bytes> inputs;
+  private byte[] output;
+  private MessageDigest prototype;
+
+  @Setup
+  public void setUp() throws Exception {
+    final Random random = new Random();
+    inputs = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      final byte[] byteArray = new byte[Integer.parseInt(inputSize)];
+      random.nextBytes(byteArray);
+      inputs.add(Bytes.wrap(byteArray));
+    }
+    output = new byte[Keccak256.DIGEST_LENGTH * BATCH_SIZE];
+    prototype = MessageDigestFactory.create(MessageDigestFactory.KECCAK256_ALG);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void clonedMessageDigest(final Blackhole blackhole) throws Exception {
+    for (final Bytes input : inputs) {
+      final MessageDigest digest = (MessageDigest) prototype.clone();
+      input.update(digest);
+      blackhole.consume(digest.digest());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void engineIntoArray() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      Keccak256.keccak256(inputs.get(i), output, i * Keccak256.DIGEST_LENGTH);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void engineBatch() {
+    Keccak256.keccak256(inputs, output);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.evm.frame.Memory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Memory expansion heavy workloads: frames growing their memory word by word like MSTORE loops, a
+ * call tree where every frame writes its input and returns its output, and large copies like
+ * MCOPY. Each frame releases its memory when it completes, as the message processors do.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.MICROSECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class MemoryExpansionBenchmark {
+
+  // 1KiB, 32KiB, 1MiB
+  @Param({"1024", "32768", "1048576"})
+  public int memorySize;
+
+  @Param({"16"})
+  public int callDepth;
+
+  private Bytes32 word;
+  private Bytes callData;
+
+  @Setup
+  public void setUp() {
+    word = Bytes32.fromHexString("0x" + "ab".repeat(32));
+    callData = Bytes.repeat((byte) 0xcd, memorySize / 2);
+  }
+
+  @Benchmark
+  public void expandWordByWord(final Blackhole blackhole) {
+    final Memory memory = new Memory();
+    for (int offset = 0; offset < memorySize; offset += Bytes32.SIZE) {
+      memory.setWord(offset, word);
+    }
+    blackhole.consume(memory.getWord(memorySize - Bytes32.SIZE));
+    memory.release();
+  }
+
+  @Benchmark
+  public void callTree(final Blackhole blackhole) {
+    blackhole.consume(call(callData, callDepth));
+  }
+
+  private Bytes call(final Bytes input, final int depth) {
+    final Memory memory = new Memory();
+    memory.setBytes(0, input.size(), input);
+    if (depth > 0) {
+      final Bytes output = call(memory.getMutableBytes(0, input.size()), depth - 1);
+      memory.setBytes(input.size(), output.size(), output);
+    }
+    final Bytes output = memory.getSharedBytes(input.size() / 2, input.size());
+    memory.release();
+    return output;
+  }
+
+  @Benchmark
+  public void copyHalves(final Blackhole blackhole) {
+    final Memory memory = new Memory();
+    memory.setBytes(0, callData.size(), callData);
+    memory.copy(memorySize / 2, 0, memorySize / 2);
+    memory.copy(1, memorySize / 2, memorySize / 2 - 1);
+    blackhole.consume(memory.getWord(0));
+    memory.release();
+  }
+}
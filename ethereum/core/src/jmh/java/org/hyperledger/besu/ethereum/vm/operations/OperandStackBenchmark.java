@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.vm.operations;
 
+import org.hyperledger.besu.evm.UInt256;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.internal.OperandStack;
 
@@ -44,6 +45,7 @@ public class OperandStackBenchmark {
 
   private static final Bytes BYTES =
       Bytes.fromHexString("0x3232323232323232323232323232323232323232323232323232323232323232");
+  private static final UInt256 LIMBS = UInt256.fromBytesBE(BYTES.toArrayUnsafe());
 
   @Benchmark
   @OperationsPerInvocation(OPERATIONS_PER_INVOCATION)
@@ -55,4 +57,15 @@ public class OperandStackBenchmark {
       }
     }
   }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS_PER_INVOCATION)
+  public void fillUpUInt256() {
+    for (int i = 0; i < OPERATIONS_PER_INVOCATION; i++) {
+      OperandStack stack = new OperandStack(MessageFrame.DEFAULT_MAX_STACK_SIZE);
+      for (int j = 0; j < stackDepth; j++) {
+        stack.pushUInt256(LIMBS);
+      }
+    }
+  }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.frame.BlockValues;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs a countdown loop closed by a PUSH and JUMPI pair through the interpreter, once without a
+ * tracer, which lets the EVM execute the pair as a single step, and once with a tracer that does
+ * nothing, which forces single steps.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class StaticJumpLoopBenchmark {
+
+  private static final int ITERATIONS = 1_000;
+
+  // PUSH2 1000, JUMPDEST, PUSH1 1, SWAP1, SUB, DUP1, PUSH1 3, JUMPI
+  private static final Bytes LOOP = Bytes.fromHexString("0x6103e85b6001900380600357");
+
+  private static final OperationTracer NOOP_TRACER = new OperationTracer() {};
+
+  private EVM evm;
+  private Code code;
+  private WorldUpdater worldUpdater;
+  private BlockValues blockValues;
+
+  @Setup
+  public void setUp() {
+    evm = MainnetEVMs.futureEips(EvmConfiguration.DEFAULT);
+    code = new Code(LOOP);
+    worldUpdater = mock(WorldUpdater.class);
+    blockValues = mock(BlockValues.class);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ITERATIONS)
+  public MessageFrame staticJumps() {
+    return run(OperationTracer.NO_TRACING);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ITERATIONS)
+  public MessageFrame singleSteps() {
+    return run(NOOP_TRACER);
+  }
+
+  private MessageFrame run(final OperationTracer tracer) {
+    final MessageFrame frame =
+        MessageFrame.builder()
+            .worldUpdater(worldUpdater)
+            .originator(Address.ZERO)
+            .gasPrice(Wei.ONE)
+            .blobGasPrice(Wei.ONE)
+            .blockValues(blockValues)
+            .miningBeneficiary(Address.ZERO)
+            .blockHashLookup((__, ___) -> Hash.ZERO)
+            .type(MessageFrame.Type.MESSAGE_CALL)
+            .initialGas(Long.MAX_VALUE)
+            .address(Address.ZERO)
+            .contract(Address.ZERO)
+            .inputData(Bytes.EMPTY)
+            .sender(Address.ZERO)
+            .value(Wei.ZERO)
+            .apparentValue(Wei.ZERO)
+            .code(code)
+            .completer(__ -> {})
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, tracer);
+    return frame;
+  }
+}
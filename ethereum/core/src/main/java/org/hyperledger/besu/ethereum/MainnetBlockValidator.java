@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.mainnet.BlockAccessListValidator;
 import org.hyperledger.besu.ethereum.mainnet.BlockBodyValidator;
 import org.hyperledger.besu.ethereum.mainnet.BlockHeaderValidator;
+import org.hyperledger.besu.ethereum.mainnet.BlockImportProfiler;
 import org.hyperledger.besu.ethereum.mainnet.BlockProcessor;
 import org.hyperledger.besu.ethereum.mainnet.BodyValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
@@ -135,6 +136,30 @@ public class MainnetBlockValidator implements BlockValidator {
       final Optional<BlockAccessList> blockAccessList,
       final boolean shouldUpdateHead,
       final boolean shouldRecordBadBlock) {
+    try (final BlockImportProfiler.Recording recording =
+        BlockImportProfiler.startRecording(context, block)) {
+      final BlockProcessingResult result =
+          doValidateAndProcessBlock(
+              context,
+              block,
+              headerValidationMode,
+              ommerValidationMode,
+              blockAccessList,
+              shouldUpdateHead,
+              shouldRecordBadBlock);
+      recording.setSuccessful(result.isSuccessful());
+      return result;
+    }
+  }
+
+  private BlockProcessingResult doValidateAndProcessBlock(
+      final ProtocolContext context,
+      final Block block,
+      final HeaderValidationMode headerValidationMode,
+      final HeaderValidationMode ommerValidationMode,
+      final Optional<BlockAccessList> blockAccessList,
+      final boolean shouldUpdateHead,
+      final boolean shouldRecordBadBlock) {
 
     final int blockSize = block.getSize();
     if (blockSize > maxRlpBlockSize) {
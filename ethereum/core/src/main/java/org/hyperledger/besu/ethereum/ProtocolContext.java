@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum;
 
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.mainnet.BlockImportProfiler;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.plugin.ServiceManager;
 
@@ -32,6 +33,7 @@ public class ProtocolContext {
   private final ConsensusContext consensusContext;
   private final BadBlockManager badBlockManager;
   private final ServiceManager serviceManager;
+  private final Optional<BlockImportProfiler> blockImportProfiler;
 
   /**
    * Constructs a new ProtocolContext with the given blockchain, world state archive, consensus
@@ -49,11 +51,39 @@ public class ProtocolContext {
       final ConsensusContext consensusContext,
       final BadBlockManager badBlockManager,
       final ServiceManager serviceManager) {
+    this(
+        blockchain,
+        worldStateArchive,
+        consensusContext,
+        badBlockManager,
+        serviceManager,
+        Optional.empty());
+  }
+
+  /**
+   * Constructs a new ProtocolContext with the given blockchain, world state archive, consensus
+   * context, bad block manager and block import profiler.
+   *
+   * @param blockchain the blockchain of the protocol context
+   * @param worldStateArchive the world state archive of the protocol context
+   * @param consensusContext the consensus context
+   * @param badBlockManager the bad block manager of the protocol context
+   * @param serviceManager plugin service manager
+   * @param blockImportProfiler the profiler of the block imports, if enabled
+   */
+  protected ProtocolContext(
+      final MutableBlockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final ConsensusContext consensusContext,
+      final BadBlockManager badBlockManager,
+      final ServiceManager serviceManager,
+      final Optional<BlockImportProfiler> blockImportProfiler) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.consensusContext = consensusContext;
     this.badBlockManager = badBlockManager;
     this.serviceManager = serviceManager;
+    this.blockImportProfiler = blockImportProfiler;
   }
 
   /**
@@ -83,6 +113,15 @@ public class ProtocolContext {
     return badBlockManager;
   }
 
+  /**
+   * Gets the profiler of the block imports, if enabled.
+   *
+   * @return the block import profiler of the protocol context
+   */
+  public Optional<BlockImportProfiler> getBlockImportProfiler() {
+    return blockImportProfiler;
+  }
+
   /**
    * Gets the plugin service manager from protocol context.
    *
@@ -152,6 +191,7 @@ public class ProtocolContext {
     private ConsensusContext consensusContext;
     private BadBlockManager badBlockManager = new BadBlockManager();
     private ServiceManager serviceManager = new ServiceManager.SimpleServiceManager();
+    private Optional<BlockImportProfiler> blockImportProfiler = Optional.empty();
 
     /** Default constructor. linter requires javadoc. */
     public Builder() {}
@@ -211,6 +251,17 @@ public class ProtocolContext {
       return this;
     }
 
+    /**
+     * Sets the {@link BlockImportProfiler} for the {@link ProtocolContext}.
+     *
+     * @param blockImportProfiler the profiler of the block imports.
+     * @return the builder instance for chaining.
+     */
+    public Builder withBlockImportProfiler(final BlockImportProfiler blockImportProfiler) {
+      this.blockImportProfiler = Optional.of(blockImportProfiler);
+      return this;
+    }
+
     /**
      * Constructs a new {@link ProtocolContext} using the currently configured properties.
      *
@@ -218,7 +269,12 @@ public class ProtocolContext {
      */
     public ProtocolContext build() {
       return new ProtocolContext(
-          blockchain, worldStateArchive, consensusContext, badBlockManager, serviceManager);
+          blockchain,
+          worldStateArchive,
+          consensusContext,
+          badBlockManager,
+          serviceManager,
+          blockImportProfiler);
     }
   }
 }
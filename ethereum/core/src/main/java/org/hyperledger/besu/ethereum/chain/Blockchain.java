@@ -22,13 +22,20 @@ import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptDecoder;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncoder;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncodingConfiguration;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptTranscoder;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 
+import org.apache.tuweni.bytes.Bytes;
+
 /** An interface for reading data from the blockchain. */
 public interface Blockchain {
   /**
@@ -174,6 +181,17 @@ public interface Blockchain {
    */
   Optional<BlockHeader> getBlockHeaderSafe(Hash blockHeaderHash);
 
+  /**
+   * Returns the RLP encoding of the block header corresponding to the given block hash, without
+   * decoding it when the blockchain keeps it encoded.
+   *
+   * @param blockHeaderHash The hash of the block whose header we want to retrieve.
+   * @return The RLP encoded block header.
+   */
+  default Optional<Bytes> getBlockHeaderRlp(final Hash blockHeaderHash) {
+    return getBlockHeader(blockHeaderHash).map(header -> RLP.encode(header::writeTo));
+  }
+
   /**
    * Returns the block body corresponding to the given block header hash. Associated block is not
    * necessarily on the canonical chain.
@@ -193,6 +211,18 @@ public interface Blockchain {
    */
   Optional<BlockBody> getBlockBodySafe(Hash blockHeaderHash);
 
+  /**
+   * Returns the RLP encoding of the block body corresponding to the given block header hash,
+   * wrapped in a list like in the BlockBodies message, without decoding it when the blockchain
+   * keeps it encoded.
+   *
+   * @param blockHeaderHash The hash of the block whose body we want to retrieve.
+   * @return The RLP encoded wrapped block body.
+   */
+  default Optional<Bytes> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return getBlockBody(blockHeaderHash).map(body -> RLP.encode(body::writeWrappedBodyTo));
+  }
+
   Optional<BlockAccessList> getBlockAccessList(Hash blockHash);
 
   /**
@@ -204,6 +234,30 @@ public interface Blockchain {
    */
   Optional<List<TransactionReceipt>> getTxReceipts(Hash blockHeaderHash);
 
+  /**
+   * Returns the RLP encoding of the transaction receipts of a block, without decoding them when the
+   * blockchain keeps them encoded. The receipts are in one of the encodings read by the {@link
+   * TransactionReceiptDecoder}, use the {@link TransactionReceiptTranscoder} to convert them to the
+   * encoding of a protocol.
+   *
+   * @param blockHeaderHash The header hash of the block we're querying.
+   * @return The RLP encoded list of transaction receipts.
+   */
+  default Optional<Bytes> getTxReceiptsRlp(final Hash blockHeaderHash) {
+    return getTxReceipts(blockHeaderHash)
+        .map(
+            receipts ->
+                RLP.encode(
+                    out ->
+                        out.writeList(
+                            receipts,
+                            (receipt, receiptOut) ->
+                                TransactionReceiptEncoder.writeTo(
+                                    receipt,
+                                    receiptOut,
+                                    TransactionReceiptEncodingConfiguration.DEFAULT))));
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
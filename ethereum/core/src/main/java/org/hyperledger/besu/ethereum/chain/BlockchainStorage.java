@@ -27,6 +27,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.apache.tuweni.bytes.Bytes;
+
 public interface BlockchainStorage {
 
   Optional<Hash> getChainHead();
@@ -39,12 +41,39 @@ public interface BlockchainStorage {
 
   Optional<BlockHeader> getBlockHeader(Hash blockHash);
 
+  /**
+   * Returns the RLP encoding of a block header as stored, without decoding it.
+   *
+   * @param blockHash the hash of the block
+   * @return the RLP encoded header
+   */
+  Optional<Bytes> getBlockHeaderRlp(Hash blockHash);
+
   Optional<BlockBody> getBlockBody(Hash blockHash);
 
+  /**
+   * Returns the RLP encoding of a block body as stored, wrapped in a list like in the BlockBodies
+   * message, without decoding it.
+   *
+   * @param blockHash the hash of the block
+   * @return the RLP encoded wrapped body
+   */
+  Optional<Bytes> getBlockBodyRlp(Hash blockHash);
+
   Optional<BlockAccessList> getBlockAccessList(Hash blockHash);
 
   Optional<List<TransactionReceipt>> getTransactionReceipts(Hash blockHash);
 
+  /**
+   * Returns the RLP encoding of the receipts of a block as stored, without decoding them. The
+   * receipts may be in any of the encodings read by the {@link
+   * org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptDecoder}.
+   *
+   * @param blockHash the hash of the block
+   * @return the RLP encoded list of receipts
+   */
+  Optional<Bytes> getTransactionReceiptsRlp(Hash blockHash);
+
   Optional<Hash> getBlockHash(long blockNumber);
 
   Optional<Difficulty> getTotalDifficulty(Hash blockHash);
@@ -61,6 +61,7 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
+import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -433,6 +434,11 @@ public class DefaultBlockchain implements MutableBlockchain {
         .orElseGet(() -> blockchainStorage.getBlockHeader(blockHeaderHash));
   }
 
+  @Override
+  public Optional<Bytes> getBlockHeaderRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockHeaderRlp(blockHeaderHash);
+  }
+
   @Override
   public Optional<BlockBody> getBlockBody(final Hash blockHeaderHash) {
     return blockBodiesCache
@@ -448,6 +454,11 @@ public class DefaultBlockchain implements MutableBlockchain {
     return getBlockBody(blockHeaderHash);
   }
 
+  @Override
+  public Optional<Bytes> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockBodyRlp(blockHeaderHash);
+  }
+
   @Override
   public Optional<List<TransactionReceipt>> getTxReceipts(final Hash blockHeaderHash) {
     return transactionReceiptsCache
@@ -458,6 +469,11 @@ public class DefaultBlockchain implements MutableBlockchain {
         .orElseGet(() -> blockchainStorage.getTransactionReceipts(blockHeaderHash));
   }
 
+  @Override
+  public Optional<Bytes> getTxReceiptsRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getTransactionReceiptsRlp(blockHeaderHash);
+  }
+
   @Override
   public Optional<BlockAccessList> getBlockAccessList(final Hash blockHash) {
     return blockAccessListCache
@@ -355,6 +355,8 @@ public abstract class MiningConfiguration {
     long DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION = Duration.ofMillis(500).toMillis();
     long DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS = 800L;
     Integer DEFAULT_POS_SLOT_DURATION_SECS = 12;
+    int DEFAULT_SPECULATIVE_TXS_EXECUTION_COUNT = 0;
+    boolean DEFAULT_POS_BLOCK_CREATION_INCREMENTAL = false;
 
     MiningConfiguration.Unstable DEFAULT = ImmutableMiningConfiguration.Unstable.builder().build();
 
@@ -397,5 +399,15 @@ public abstract class MiningConfiguration {
     default long getPosBlockFinalizationTimeoutMs() {
       return DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS;
     }
+
+    @Value.Default
+    default int getSpeculativeTxsExecutionCount() {
+      return DEFAULT_SPECULATIVE_TXS_EXECUTION_COUNT;
+    }
+
+    @Value.Default
+    default boolean isPosBlockCreationIncremental() {
+      return DEFAULT_POS_BLOCK_CREATION_INCREMENTAL;
+    }
   }
 }
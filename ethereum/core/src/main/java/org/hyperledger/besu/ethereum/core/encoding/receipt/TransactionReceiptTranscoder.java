@@ -0,0 +1,273 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core.encoding.receipt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.datatypes.LogsBloomFilter;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+
+import javax.annotation.Nullable;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.MutableBytes;
+
+/**
+ * Converts RLP encoded lists of transaction receipts to the encoding of a network protocol without
+ * decoding them into {@link org.hyperledger.besu.ethereum.core.TransactionReceipt}s.
+ *
+ * <p>The receipts can be in any of the encodings read by the {@link TransactionReceiptDecoder}:
+ * the storage encodings, with or without compaction, and the eth/68 and eth/69 encodings. The
+ * status, cumulative gas and uncompacted logs are copied as they are, compacted logs are expanded,
+ * the bloom filter is computed from the logs when the target encoding needs one the source does
+ * not have, and revert reasons are dropped.
+ */
+public class TransactionReceiptTranscoder {
+
+  private TransactionReceiptTranscoder() {}
+
+  /**
+   * Converts an RLP encoded list of receipts to a network encoding.
+   *
+   * @param receipts the RLP encoded list of receipts
+   * @param options the network encoding, either eth/69 or eth/68 without compacted logs and revert
+   *     reasons
+   * @return the RLP encoded list of receipts in the network encoding
+   */
+  public static Bytes transcode(
+      final Bytes receipts, final TransactionReceiptEncodingConfiguration options) {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    transcode(new BytesValueRLPInput(receipts, false), out, options);
+    return out.encoded();
+  }
+
+  /**
+   * Reads an RLP encoded list of receipts and writes it in a network encoding.
+   *
+   * @param in the input positioned at the list of receipts
+   * @param out the output the list of receipts is written to
+   * @param options the network encoding, either eth/69 or eth/68 without compacted logs and revert
+   *     reasons
+   */
+  public static void transcode(
+      final RLPInput in,
+      final RLPOutput out,
+      final TransactionReceiptEncodingConfiguration options) {
+    checkArgument(
+        !options.isWithCompactedLogs() && !options.isWithRevertReason(),
+        "Receipts can only be transcoded to a network encoding, got %s",
+        options);
+    in.enterList();
+    out.startList();
+    while (!in.isEndOfCurrentList()) {
+      transcodeReceipt(in, out, options);
+    }
+    out.endList();
+    in.leaveList();
+  }
+
+  private static void transcodeReceipt(
+      final RLPInput in,
+      final RLPOutput out,
+      final TransactionReceiptEncodingConfiguration options) {
+    if (!in.nextIsList()) {
+      // typed receipt wrapped in opaque bytes: type || rlp([status, gas, bloom?, logs, reason?])
+      final Bytes typedReceipt = in.readBytes();
+      final byte typeByte = typedReceipt.get(0);
+      final TransactionType transactionType =
+          TransactionType.fromOpaque(typeByte).orElseThrow(() -> invalidTransactionType(typeByte));
+      final RLPInput receiptIn = new BytesValueRLPInput(typedReceipt.slice(1), false);
+      receiptIn.enterList();
+      final Bytes statusOrStateRoot = receiptIn.readAsRlp().raw();
+      final Bytes cumulativeGas = receiptIn.readAsRlp().raw();
+      final boolean isCompacted = isNextNotBloomFilter(receiptIn);
+      final Bytes bloomFilter = isCompacted ? null : receiptIn.readAsRlp().raw();
+      writeReceipt(
+          transactionType,
+          statusOrStateRoot,
+          cumulativeGas,
+          bloomFilter,
+          receiptIn,
+          isCompacted,
+          out,
+          options);
+      return;
+    }
+
+    in.enterList();
+    final RLPInput firstElement = in.readAsRlp();
+    final RLPInput secondElement = in.readAsRlp();
+    final boolean isCompacted = isNextNotBloomFilter(in);
+    final Bytes bloomFilter = isCompacted ? null : in.readAsRlp().raw();
+    if (isCompacted && !in.nextIsList()) {
+      // eth/69 receipt: [type, status, gas, logs]
+      writeReceipt(
+          readEth69TransactionType(firstElement),
+          secondElement.raw(),
+          in.readAsRlp().raw(),
+          null,
+          in,
+          false,
+          out,
+          options);
+    } else {
+      // legacy receipt: [status, gas, bloom?, logs, reason?]
+      writeReceipt(
+          TransactionType.FRONTIER,
+          firstElement.raw(),
+          secondElement.raw(),
+          bloomFilter,
+          in,
+          isCompacted,
+          out,
+          options);
+    }
+    // skip the revert reason, if any
+    while (!in.isEndOfCurrentList()) {
+      in.skipNext();
+    }
+    in.leaveList();
+  }
+
+  private static void writeReceipt(
+      final TransactionType transactionType,
+      final Bytes statusOrStateRoot,
+      final Bytes cumulativeGas,
+      @Nullable final Bytes bloomFilter,
+      final RLPInput logsIn,
+      final boolean compactedLogs,
+      final RLPOutput out,
+      final TransactionReceiptEncodingConfiguration options) {
+    if (options.isWithEth69Receipt()) {
+      out.startList();
+      out.writeByte(transactionType.getEthSerializedType());
+      out.writeRaw(statusOrStateRoot);
+      out.writeRaw(cumulativeGas);
+      writeLogs(logsIn, compactedLogs, out, null);
+      out.endList();
+      return;
+    }
+
+    final boolean isTyped = !transactionType.equals(TransactionType.FRONTIER);
+    final BytesValueRLPOutput receiptOut =
+        isTyped && options.isWithOpaqueBytes() ? new BytesValueRLPOutput() : null;
+    final RLPOutput target = receiptOut != null ? receiptOut : out;
+    if (isTyped) {
+      target.writeByte(transactionType.getSerializedType());
+    }
+    target.startList();
+    target.writeRaw(statusOrStateRoot);
+    target.writeRaw(cumulativeGas);
+    if (!options.isWithBloomFilter()) {
+      writeLogs(logsIn, compactedLogs, target, null);
+    } else if (bloomFilter != null) {
+      target.writeRaw(bloomFilter);
+      writeLogs(logsIn, compactedLogs, target, null);
+    } else {
+      // the bloom filter comes before the logs it is computed from
+      final LogsBloomFilter.Builder bloomBuilder = LogsBloomFilter.builder();
+      final BytesValueRLPOutput logsOut = new BytesValueRLPOutput();
+      writeLogs(logsIn, compactedLogs, logsOut, bloomBuilder);
+      target.writeBytes(bloomBuilder.build().getBytes());
+      target.writeRaw(logsOut.encoded());
+    }
+    target.endList();
+    if (receiptOut != null) {
+      out.writeBytes(receiptOut.encoded());
+    }
+  }
+
+  private static void writeLogs(
+      final RLPInput in,
+      final boolean compacted,
+      final RLPOutput out,
+      @Nullable final LogsBloomFilter.Builder bloomBuilder) {
+    if (!compacted && bloomBuilder == null) {
+      out.writeRaw(in.readAsRlp().raw());
+      return;
+    }
+    in.enterList();
+    out.startList();
+    while (!in.isEndOfCurrentList()) {
+      // log: [address, [topic, ...], data], topics and data being trimmed when compacted
+      in.enterList();
+      out.startList();
+      final Bytes address = in.readBytes();
+      out.writeBytes(address);
+      if (bloomBuilder != null) {
+        bloomBuilder.insertBytes(address);
+      }
+      in.enterList();
+      out.startList();
+      while (!in.isEndOfCurrentList()) {
+        final Bytes topic = compacted ? readTrimmedData(in) : in.readBytes();
+        out.writeBytes(topic);
+        if (bloomBuilder != null) {
+          bloomBuilder.insertBytes(topic);
+        }
+      }
+      out.endList();
+      in.leaveList();
+      if (compacted) {
+        out.writeBytes(readTrimmedData(in));
+      } else {
+        out.writeRaw(in.readAsRlp().raw());
+      }
+      out.endList();
+      in.leaveList();
+    }
+    out.endList();
+    in.leaveList();
+  }
+
+  private static Bytes readTrimmedData(final RLPInput in) {
+    in.enterList();
+    final int zeroLeadDataSize = in.readIntScalar();
+    final Bytes shortData = in.readBytes();
+    in.leaveList();
+    if (zeroLeadDataSize == 0) {
+      return shortData;
+    }
+    final MutableBytes data = MutableBytes.create(zeroLeadDataSize + shortData.size());
+    data.set(zeroLeadDataSize, shortData);
+    return data;
+  }
+
+  private static TransactionType readEth69TransactionType(final RLPInput transactionTypeRlp) {
+    final Bytes transactionTypeBytes = transactionTypeRlp.readBytes();
+    if (transactionTypeBytes.isEmpty()) {
+      return TransactionType.FRONTIER;
+    }
+    if (transactionTypeBytes.size() != 1) {
+      throw new IllegalStateException(
+          "Invalid transaction type " + transactionTypeBytes.toHexString());
+    }
+    final byte typeByte = transactionTypeBytes.get(0);
+    return TransactionType.fromEthSerializedType(typeByte)
+        .orElseThrow(() -> invalidTransactionType(typeByte));
+  }
+
+  private static IllegalStateException invalidTransactionType(final byte typeByte) {
+    return new IllegalStateException("Invalid transaction type %x".formatted(typeByte));
+  }
+
+  private static boolean isNextNotBloomFilter(final RLPInput input) {
+    return input.nextIsList() || input.nextSize() != LogsBloomFilter.BYTE_SIZE;
+  }
+}
@@ -248,6 +248,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
             .getBlockAccessListFactory()
             .map(BlockAccessListFactory::newBlockAccessListBuilder);
 
+    final long executionStart = System.nanoTime();
     try {
       final Optional<AccessLocationTracker> preExecutionAccessLocationTracker =
           blockAccessListBuilder.map(
@@ -387,6 +388,9 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
         }
       }
 
+      BlockImportProfiler.recordPhase(BlockImportProfiler.Phase.EXECUTION, executionStart);
+      final long postExecutionStart = System.nanoTime();
+
       final Optional<AccessLocationTracker> postExecutionAccessLocationTracker =
           blockAccessListBuilder.map(
               b ->
@@ -513,6 +517,9 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
         return new BlockProcessingResult(Optional.empty(), e);
       }
 
+      BlockImportProfiler.recordPhase(
+          BlockImportProfiler.Phase.POST_EXECUTION, postExecutionStart);
+
       LOG.trace("traceEndBlock for {}", blockHeader.getNumber());
       blockTracer.traceEndBlock(blockHeader, blockBody);
 
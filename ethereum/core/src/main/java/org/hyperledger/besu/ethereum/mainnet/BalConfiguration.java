@@ -42,6 +42,15 @@ public interface BalConfiguration {
     return true;
   }
 
+  /**
+   * Returns whether blocks processed without a BAL should use the Block-STM multi-version engine
+   * instead of optimistic execution with sequential replay on collision.
+   */
+  @Value.Default
+  default boolean isBlockStmEnabled() {
+    return false;
+  }
+
   /**
    * Returns whether mismatches between BAL and synchronously computed state roots should only log
    * an error instead of throwing an exception.
@@ -0,0 +1,64 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.mainnet.BlockImportProfiler.Phase;
+
+import java.util.Map;
+
+/**
+ * The profile of the import of a block, recorded by the {@link BlockImportProfiler}.
+ *
+ * @param blockNumber the number of the block
+ * @param blockHash the hash of the block
+ * @param transactionCount the number of transactions of the block
+ * @param gasUsed the gas used by the block
+ * @param successful whether the block was imported
+ * @param totalNanos the duration of the import
+ * @param phaseNanos the time spent in each phase of the import
+ * @param stateCacheReads the number of flat state reads served by the cache
+ * @param stateDatabaseReads the number of flat state reads served by the database
+ */
+public record BlockImportProfile(
+    long blockNumber,
+    Hash blockHash,
+    int transactionCount,
+    long gasUsed,
+    boolean successful,
+    long totalNanos,
+    Map<Phase, Long> phaseNanos,
+    long stateCacheReads,
+    long stateDatabaseReads) {
+
+  /**
+   * Returns the time of the import not spent in any phase, like the validation of the block.
+   *
+   * @return the time not spent in any phase
+   */
+  public long otherNanos() {
+    return Math.max(
+        0, totalNanos - phaseNanos.values().stream().mapToLong(Long::longValue).sum());
+  }
+
+  /**
+   * Returns the gas used by the block divided by the duration of its import.
+   *
+   * @return the gas processed per second
+   */
+  public double gasPerSecond() {
+    return totalNanos == 0 ? 0 : gasUsed * 1e9 / totalNanos;
+  }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.WorldStateAccessListener;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Profiles the import of every block, breaking its duration down into {@link Phase phases}. The
+ * profile of each block is exported as histograms, and the profiles of the slowest blocks are kept
+ * to be queried over RPC.
+ *
+ * <p>A block is profiled from {@link #startRecording(Block)} until the returned recording is
+ * closed, on the importing thread. The code importing the block reports the time spent in each
+ * phase with {@link #recordPhase(Phase, long)}, which does nothing when no block is being profiled
+ * on the current thread, so the hooks cost a clock read when blocks are processed for other
+ * purposes.
+ *
+ * <p>The path-based world state storage reports its flat state reads and the persistence of the
+ * state to the profiler as a {@link WorldStateAccessListener}. They are attributed to the block
+ * profiled on the calling thread, if any, so the reads made concurrently by RPC calls are not
+ * counted, nor are those made by the worker threads of parallel transaction processing.
+ */
+public class BlockImportProfiler implements WorldStateAccessListener {
+  public static final int DEFAULT_MAX_SLOWEST_BLOCKS = 32;
+
+  private static final double[] DURATION_BUCKETS = {
+    0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+  };
+  private static final double[] GAS_PER_SECOND_BUCKETS = {
+    10e6, 25e6, 50e6, 100e6, 250e6, 500e6, 1e9, 2.5e9, 5e9
+  };
+  private static final double[] STATE_READS_BUCKETS = {
+    10, 100, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000
+  };
+
+  private static final ThreadLocal<Recording> CURRENT_RECORDING = new ThreadLocal<>();
+  private static final Recording NO_RECORDING = new Recording(null, null);
+
+  /** The phases of a block import. The time not spent in any phase is reported as other. */
+  public enum Phase {
+    /** Pre-execution system calls and execution of the transactions. */
+    EXECUTION("execution"),
+    /** Withdrawals, requests, rewards and block access list. */
+    POST_EXECUTION("post_execution"),
+    /** Computation of the state root and of the trie nodes to commit. */
+    STATE_ROOT("state_root"),
+    /** Writing of the trie log of the block. */
+    TRIE_LOG("trie_log"),
+    /** Commit of the world state changes to the database. */
+    DB_COMMIT("db_commit"),
+    /** Appending the block to the blockchain. */
+    CHAIN_APPEND("chain_append");
+
+    private final String label;
+
+    Phase(final String label) {
+      this.label = label;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+  }
+
+  private final int maxSlowestBlocks;
+  private final PriorityQueue<BlockImportProfile> slowestBlocks =
+      new PriorityQueue<>(Comparator.comparingLong(BlockImportProfile::totalNanos));
+  private final LabelledMetric<Histogram> phaseDuration;
+  private final Histogram importDuration;
+  private final Histogram gasPerSecond;
+  private final LabelledMetric<Histogram> stateReads;
+
+  public BlockImportProfiler(final MetricsSystem metricsSystem) {
+    this(metricsSystem, DEFAULT_MAX_SLOWEST_BLOCKS);
+  }
+
+  public BlockImportProfiler(final MetricsSystem metricsSystem, final int maxSlowestBlocks) {
+    this.maxSlowestBlocks = maxSlowestBlocks;
+    this.phaseDuration =
+        metricsSystem.createLabelledHistogram(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "block_import_phase_duration_seconds",
+            "Time spent in each phase of a block import",
+            DURATION_BUCKETS,
+            "phase");
+    this.importDuration =
+        metricsSystem.createHistogram(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "block_import_duration_seconds",
+            "Time taken to import a block",
+            DURATION_BUCKETS);
+    this.gasPerSecond =
+        metricsSystem.createHistogram(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "block_import_gas_per_second",
+            "Gas used by a block divided by the time taken to import it",
+            GAS_PER_SECOND_BUCKETS);
+    this.stateReads =
+        metricsSystem.createLabelledHistogram(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "block_import_state_reads",
+            "Number of flat state reads made during a block import, by source",
+            STATE_READS_BUCKETS,
+            "source");
+  }
+
+  /**
+   * Starts profiling the import of a block on the current thread. If a block is already profiled
+   * on this thread, its recording is returned and keeps going until its outermost user closes it.
+   *
+   * @param block the block being imported
+   * @return the recording, to close once the import is complete
+   */
+  public Recording startRecording(final Block block) {
+    final Recording current = CURRENT_RECORDING.get();
+    if (current != null) {
+      current.depth++;
+      return current;
+    }
+    final Recording recording = new Recording(this, block);
+    CURRENT_RECORDING.set(recording);
+    return recording;
+  }
+
+  /**
+   * Starts profiling the import of a block with the profiler of the protocol context, if enabled.
+   *
+   * @param context the protocol context
+   * @param block the block being imported
+   * @return the recording, to close once the import is complete
+   */
+  public static Recording startRecording(final ProtocolContext context, final Block block) {
+    return context
+        .getBlockImportProfiler()
+        .map(profiler -> profiler.startRecording(block))
+        .orElse(NO_RECORDING);
+  }
+
+  /**
+   * Adds the time elapsed since the given start to a phase of the block profiled on the current
+   * thread, if any.
+   *
+   * @param phase the phase
+   * @param startNanos the start of the phase, as returned by {@link System#nanoTime()}
+   */
+  public static void recordPhase(final Phase phase, final long startNanos) {
+    addPhaseNanos(phase, System.nanoTime() - startNanos);
+  }
+
+  @Override
+  public void onFlatStateRead() {
+    final Recording recording = CURRENT_RECORDING.get();
+    if (recording != null) {
+      recording.stateReads++;
+    }
+  }
+
+  @Override
+  public void onFlatStateDatabaseRead() {
+    final Recording recording = CURRENT_RECORDING.get();
+    if (recording != null) {
+      recording.stateDatabaseReads++;
+    }
+  }
+
+  @Override
+  public void onTrieLogPersisted(final long durationNanos) {
+    addPhaseNanos(Phase.TRIE_LOG, durationNanos);
+  }
+
+  @Override
+  public void onWorldStateCommitted(final long durationNanos) {
+    addPhaseNanos(Phase.DB_COMMIT, durationNanos);
+  }
+
+  private static void addPhaseNanos(final Phase phase, final long nanos) {
+    final Recording recording = CURRENT_RECORDING.get();
+    if (recording != null) {
+      recording.phaseNanos[phase.ordinal()] += nanos;
+    }
+  }
+
+  /**
+   * Returns the profiles of the slowest blocks imported, slowest first.
+   *
+   * @return the profiles of the slowest blocks
+   */
+  public synchronized List<BlockImportProfile> getSlowestBlocks() {
+    final List<BlockImportProfile> profiles = new ArrayList<>(slowestBlocks);
+    profiles.sort(Comparator.comparingLong(BlockImportProfile::totalNanos).reversed());
+    return profiles;
+  }
+
+  @VisibleForTesting
+  void record(final BlockImportProfile profile) {
+    for (final Phase phase : Phase.values()) {
+      phaseDuration.labels(phase.getLabel()).observe(toSeconds(profile.phaseNanos().get(phase)));
+    }
+    phaseDuration.labels("other").observe(toSeconds(profile.otherNanos()));
+    importDuration.observe(toSeconds(profile.totalNanos()));
+    gasPerSecond.observe(profile.gasPerSecond());
+    stateReads.labels("cache").observe(profile.stateCacheReads());
+    stateReads.labels("database").observe(profile.stateDatabaseReads());
+    keepIfSlowest(profile);
+  }
+
+  private synchronized void keepIfSlowest(final BlockImportProfile profile) {
+    if (maxSlowestBlocks <= 0) {
+      return;
+    }
+    if (slowestBlocks.size() < maxSlowestBlocks) {
+      slowestBlocks.add(profile);
+    } else if (slowestBlocks.peek().totalNanos() < profile.totalNanos()) {
+      slowestBlocks.poll();
+      slowestBlocks.add(profile);
+    }
+  }
+
+  private static double toSeconds(final long nanos) {
+    return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+  }
+
+  /** The recording of the import of a block, completed when closed by its outermost user. */
+  public static class Recording implements AutoCloseable {
+    private final BlockImportProfiler profiler;
+    private final Block block;
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long stateReads;
+    private long stateDatabaseReads;
+    private int depth;
+    private boolean successful;
+
+    private Recording(final BlockImportProfiler profiler, final Block block) {
+      this.profiler = profiler;
+      this.block = block;
+    }
+
+    /**
+     * Sets whether the import succeeded, the last outcome set before the recording completes is
+     * kept.
+     *
+     * @param successful whether the import succeeded
+     */
+    public void setSuccessful(final boolean successful) {
+      this.successful = successful;
+    }
+
+    @Override
+    public void close() {
+      if (profiler == null) {
+        return;
+      }
+      if (depth > 0) {
+        depth--;
+        return;
+      }
+      CURRENT_RECORDING.remove();
+      final long totalNanos = System.nanoTime() - startNanos;
+      final Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+      for (final Phase phase : Phase.values()) {
+        phases.put(phase, phaseNanos[phase.ordinal()]);
+      }
+      profiler.record(
+          new BlockImportProfile(
+              block.getHeader().getNumber(),
+              block.getHash(),
+              block.getBody().getTransactions().size(),
+              block.getHeader().getGasUsed(),
+              successful,
+              totalNanos,
+              Collections.unmodifiableMap(phases),
+              Math.max(0, stateReads - stateDatabaseReads),
+              stateDatabaseReads));
+    }
+  }
+}
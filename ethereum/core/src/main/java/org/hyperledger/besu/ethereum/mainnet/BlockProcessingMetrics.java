@@ -136,8 +136,11 @@ public class BlockProcessingMetrics {
         final WorldStateKeyValueStorage.Updater stateUpdater,
         final BlockHeader blockHeader,
         final WorldStateConfig cfg) {
+      final long start = System.nanoTime();
       try (var timing = operationTimer.startTimer()) {
         return wrapped.computeRootAndCommit(worldState, stateUpdater, blockHeader, cfg);
+      } finally {
+        BlockImportProfiler.recordPhase(BlockImportProfiler.Phase.STATE_ROOT, start);
       }
     }
 
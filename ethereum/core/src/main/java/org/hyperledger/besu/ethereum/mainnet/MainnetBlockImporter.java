@@ -54,34 +54,41 @@ public class MainnetBlockImporter implements BlockImporter {
       return new BlockImportResult(BlockImportStatus.ALREADY_IMPORTED);
     }
 
-    final var result =
-        blockValidator.validateAndProcessBlock(
-            context, block, headerValidationMode, ommerValidationMode, blockAccessList, false);
+    try (final BlockImportProfiler.Recording recording =
+        BlockImportProfiler.startRecording(context, block)) {
+      final var result =
+          blockValidator.validateAndProcessBlock(
+              context, block, headerValidationMode, ommerValidationMode, blockAccessList, false);
 
-    if (result.isSuccessful()) {
-      result
-          .getYield()
-          .ifPresent(
-              processingOutputs -> {
-                context
-                    .getBlockchain()
-                    .appendBlock(
-                        block,
-                        processingOutputs.getReceipts(),
-                        processingOutputs.getBlockAccessList());
+      if (result.isSuccessful()) {
+        result
+            .getYield()
+            .ifPresent(
+                processingOutputs -> {
+                  final long appendStart = System.nanoTime();
+                  context
+                      .getBlockchain()
+                      .appendBlock(
+                          block,
+                          processingOutputs.getReceipts(),
+                          processingOutputs.getBlockAccessList());
+                  BlockImportProfiler.recordPhase(
+                      BlockImportProfiler.Phase.CHAIN_APPEND, appendStart);
 
-                // move the head worldstate if block processing was successful:
-                context
-                    .getWorldStateArchive()
-                    .getWorldState(
-                        WorldStateQueryParams.newBuilder()
-                            .withBlockHeader(block.getHeader())
-                            .withShouldWorldStateUpdateHead(true)
-                            .build());
-              });
-    }
+                  // move the head worldstate if block processing was successful:
+                  context
+                      .getWorldStateArchive()
+                      .getWorldState(
+                          WorldStateQueryParams.newBuilder()
+                              .withBlockHeader(block.getHeader())
+                              .withShouldWorldStateUpdateHead(true)
+                              .build());
+                });
+      }
 
-    return new BlockImportResult(result.isSuccessful());
+      recording.setSuccessful(result.isSuccessful());
+      return new BlockImportResult(result.isSuccessful());
+    }
   }
 
   @Override
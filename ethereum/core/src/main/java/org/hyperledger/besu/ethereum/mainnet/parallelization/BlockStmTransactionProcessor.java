@@ -0,0 +1,792 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.AccessLocationTracker;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.AccessLocationTracker.AccountAccessList;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMap.VersionedValue;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.CodeCache;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedAccount;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedValue;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldView;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.preload.Consumer;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Block-STM style parallel transaction processor.
+ *
+ * <p>Every transaction of the block is executed speculatively on the executor against the parent
+ * state overlaid with the latest values written by the transactions preceding it, as recorded in
+ * a {@link MultiVersionMap} keyed by account and by storage slot. Each execution records the
+ * version of every account and slot it read. When an execution publishes writes that differ from
+ * its previous incarnation, only the later transactions that read one of those keys are validated
+ * again, and those whose reads became stale are re-executed in parallel.
+ *
+ * <p>The block processor still consumes the results in order through {@link
+ * #getProcessingResult}. Before a result is applied, its read set is checked against the block
+ * state, which also covers the pre-execution system calls and the transactions that were replayed
+ * sequentially. Transactions that cannot be validated fall back to sequential execution.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class BlockStmTransactionProcessor extends ParallelBlockTransactionProcessor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BlockStmTransactionProcessor.class);
+
+  /**
+   * Maximum number of speculative executions of a transaction before leaving it to the sequential
+   * replay of the block processor.
+   */
+  static final int MAX_INCARNATIONS = 4;
+
+  private final MainnetTransactionProcessor transactionProcessor;
+  private final Optional<Counter> reexecutedTransactionCounter;
+
+  private final MultiVersionMap<Address, AccountValue> accountVersions = new MultiVersionMap<>();
+  private final MultiVersionMap<SlotKey, UInt256> slotVersions = new MultiVersionMap<>();
+  private final Map<Address, Set<Integer>> accountReaders = new ConcurrentHashMap<>();
+  private final Map<SlotKey, Set<Integer>> slotReaders = new ConcurrentHashMap<>();
+  private final AtomicInteger mergeFrontier = new AtomicInteger();
+
+  private BlockContext blockContext;
+  private AtomicIntegerArray incarnations;
+  private AtomicReferenceArray<Attempt> attempts;
+  private AtomicReferenceArray<Execution> executions;
+
+  public BlockStmTransactionProcessor(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Optional<Counter> reexecutedTransactionCounter) {
+    this.transactionProcessor = transactionProcessor;
+    this.reexecutedTransactionCounter = reexecutedTransactionCounter;
+  }
+
+  @Override
+  public void runAsyncBlock(
+      final ProtocolContext protocolContext,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final Executor executor,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder) {
+    blockContext =
+        new BlockContext(
+            protocolContext,
+            blockHeader,
+            transactions,
+            miningBeneficiary,
+            blockHashLookup,
+            blobGasPrice,
+            executor);
+    incarnations = new AtomicIntegerArray(transactions.size());
+    attempts = new AtomicReferenceArray<>(transactions.size());
+    executions = new AtomicReferenceArray<>(transactions.size());
+
+    for (int i = 0; i < transactions.size(); i++) {
+      schedule(i, 0);
+    }
+  }
+
+  @Override
+  protected ParallelizedTransactionContext runTransaction(
+      final ProtocolContext protocolContext,
+      final BlockHeader blockHeader,
+      final int transactionLocation,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder) {
+    return execute(transactionLocation, incarnations.get(transactionLocation)).context();
+  }
+
+  /**
+   * Returns the result of the speculative execution of a transaction if its read set is consistent
+   * with the state of the block after the preceding transactions, and applies its writes to the
+   * block state. Otherwise an empty result is returned so that the block processor replays the
+   * transaction sequentially.
+   *
+   * @param worldState Mutable world state intended for applying transaction results.
+   * @param miningBeneficiary Address of the beneficiary for mining rewards.
+   * @param transaction Transaction for which the result is to be applied.
+   * @param transactionLocation Index of the transaction within the block.
+   * @param confirmedParallelizedTransactionCounter Metric counter for confirmed parallelized
+   *     transactions
+   * @param conflictingButCachedTransactionCounter Metric counter for transactions that had to be
+   *     replayed sequentially
+   * @return Optional containing the transaction processing result if applied, or empty if the
+   *     transaction needs to be replayed.
+   */
+  @Override
+  public Optional<TransactionProcessingResult> getProcessingResult(
+      final MutableWorldState worldState,
+      final Address miningBeneficiary,
+      final Transaction transaction,
+      final int transactionLocation,
+      final Optional<Counter> confirmedParallelizedTransactionCounter,
+      final Optional<Counter> conflictingButCachedTransactionCounter) {
+    if (attempts == null || attempts.get(transactionLocation) == null) {
+      return Optional.empty();
+    }
+    // transactions preceding this one are final, their re-executions are no longer useful
+    mergeFrontier.set(transactionLocation);
+    final Execution execution = awaitLatestExecution(transactionLocation);
+    mergeFrontier.set(transactionLocation + 1);
+
+    final PathBasedWorldState pathBasedWorldState = (PathBasedWorldState) worldState;
+    final PathBasedWorldStateUpdateAccumulator blockAccumulator =
+        (PathBasedWorldStateUpdateAccumulator) pathBasedWorldState.updater();
+
+    if (execution == null || execution.context() == null) {
+      conflictingButCachedTransactionCounter.ifPresent(Counter::inc);
+      return Optional.empty();
+    }
+
+    final ParallelizedTransactionContext context = execution.context();
+    final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator =
+        context.transactionAccumulator();
+    final TransactionProcessingResult transactionProcessingResult =
+        context.transactionProcessingResult();
+
+    // reverted and failed transactions are applied like successful ones, only an invalid
+    // transaction or a read set left stale by the re-execution limit is replayed
+    if (execution.sequentialOnly()
+        || transactionProcessingResult.isInvalid()
+        || !isConsistentWithBlockState(execution, blockAccumulator)) {
+      // keep what was read from the database to speed up the sequential replay
+      blockAccumulator.importPriorStateFromSource(transactionAccumulator);
+      conflictingButCachedTransactionCounter.ifPresent(Counter::inc);
+      return Optional.empty();
+    }
+
+    blockAccumulator.importPriorStateFromSource(transactionAccumulator);
+    applyWrites(blockAccumulator, execution.accountWrites(), execution.slotWrites());
+
+    final MutableAccount miningBeneficiaryAccount = blockAccumulator.getOrCreate(miningBeneficiary);
+    final Wei reward = context.miningBeneficiaryReward();
+    if (!reward.isZero() || !transactionProcessor.getClearEmptyAccounts()) {
+      miningBeneficiaryAccount.incrementBalance(reward);
+    }
+    final Wei miningBeneficiaryPostBalance = miningBeneficiaryAccount.getBalance();
+    transactionProcessingResult
+        .getPartialBlockAccessView()
+        .ifPresent(
+            partialBlockAccessView ->
+                partialBlockAccessView.accountChanges().stream()
+                    .filter(accountChanges -> accountChanges.getAddress().equals(miningBeneficiary))
+                    .findFirst()
+                    .ifPresent(
+                        accountChanges ->
+                            accountChanges.setPostBalance(miningBeneficiaryPostBalance)));
+
+    confirmedParallelizedTransactionCounter.ifPresent(Counter::inc);
+    transactionProcessingResult.setIsProcessedInParallel(Optional.of(Boolean.TRUE));
+    transactionProcessingResult.accumulator = transactionAccumulator;
+    return Optional.of(transactionProcessingResult);
+  }
+
+  private Execution awaitLatestExecution(final int txIndex) {
+    while (true) {
+      final int incarnation = incarnations.get(txIndex);
+      final Attempt attempt = attempts.get(txIndex);
+      if (attempt.incarnation() != incarnation) {
+        // a re-execution has just been requested and is being submitted
+        Thread.onSpinWait();
+        continue;
+      }
+      final Execution execution;
+      try {
+        execution = attempt.future().join();
+      } catch (final Exception e) {
+        LOG.trace("Speculative execution of transaction {} failed", txIndex, e);
+        return null;
+      }
+      if (incarnations.get(txIndex) == incarnation) {
+        return execution;
+      }
+    }
+  }
+
+  private void schedule(final int txIndex, final int incarnation) {
+    attempts.set(
+        txIndex,
+        new Attempt(
+            incarnation,
+            CompletableFuture.supplyAsync(
+                () -> executeAndPublish(txIndex, incarnation), blockContext.executor())));
+  }
+
+  private void reschedule(final int txIndex, final int fromIncarnation) {
+    if (txIndex < mergeFrontier.get() || fromIncarnation + 1 >= MAX_INCARNATIONS) {
+      return;
+    }
+    if (incarnations.compareAndSet(txIndex, fromIncarnation, fromIncarnation + 1)) {
+      reexecutedTransactionCounter.ifPresent(Counter::inc);
+      schedule(txIndex, fromIncarnation + 1);
+    }
+  }
+
+  private Execution executeAndPublish(final int txIndex, final int incarnation) {
+    final Execution execution = execute(txIndex, incarnation);
+    if (incarnations.get(txIndex) != incarnation || txIndex < mergeFrontier.get()) {
+      return execution;
+    }
+    final Execution previous = executions.get(txIndex);
+
+    execution
+        .accountReads()
+        .keySet()
+        .forEach(
+            address ->
+                accountReaders
+                    .computeIfAbsent(address, __ -> ConcurrentHashMap.newKeySet())
+                    .add(txIndex));
+    execution
+        .slotReads()
+        .keySet()
+        .forEach(
+            slotKey ->
+                slotReaders
+                    .computeIfAbsent(slotKey, __ -> ConcurrentHashMap.newKeySet())
+                    .add(txIndex));
+
+    final Set<Address> changedAccounts =
+        publish(
+            accountVersions,
+            txIndex,
+            incarnation,
+            previous == null ? Map.of() : previous.accountWrites(),
+            execution.accountWrites());
+    final Set<SlotKey> changedSlots =
+        publish(
+            slotVersions,
+            txIndex,
+            incarnation,
+            previous == null ? Map.of() : previous.slotWrites(),
+            execution.slotWrites());
+    executions.set(txIndex, execution);
+
+    changedAccounts.forEach(
+        address -> invalidateReaders(accountReaders.get(address), txIndex));
+    changedSlots.forEach(slotKey -> invalidateReaders(slotReaders.get(slotKey), txIndex));
+
+    // a preceding transaction may have published a new write while this one was running
+    if (!isValid(execution)) {
+      reschedule(txIndex, incarnation);
+    }
+    return execution;
+  }
+
+  private static <K, V> Set<K> publish(
+      final MultiVersionMap<K, V> versions,
+      final int txIndex,
+      final int incarnation,
+      final Map<K, V> previousWrites,
+      final Map<K, V> writes) {
+    final Set<K> changed = new HashSet<>();
+    previousWrites.forEach(
+        (key, value) -> {
+          if (!writes.containsKey(key)) {
+            versions.remove(key, txIndex);
+            changed.add(key);
+          }
+        });
+    writes.forEach(
+        (key, value) -> {
+          // an identical value keeps the version observed by the readers
+          if (!previousWrites.containsKey(key)
+              || !Objects.equals(previousWrites.get(key), value)) {
+            versions.write(key, txIndex, incarnation, value);
+            changed.add(key);
+          }
+        });
+    return changed;
+  }
+
+  private void invalidateReaders(final Set<Integer> readers, final int writerIndex) {
+    if (readers == null) {
+      return;
+    }
+    for (final Integer reader : readers) {
+      if (reader <= writerIndex || reader < mergeFrontier.get()) {
+        continue;
+      }
+      final Execution execution = executions.get(reader);
+      if (execution != null
+          && execution.incarnation() == incarnations.get(reader)
+          && !isValid(execution)) {
+        reschedule(reader, execution.incarnation());
+      }
+    }
+  }
+
+  private boolean isValid(final Execution execution) {
+    final int txIndex = execution.txIndex();
+    for (final Map.Entry<Address, VersionedValue<AccountValue>> read :
+        execution.accountReads().entrySet()) {
+      if (!accountVersions.isLatestBefore(read.getKey(), txIndex, read.getValue())) {
+        return false;
+      }
+    }
+    for (final Map.Entry<SlotKey, VersionedValue<UInt256>> read :
+        execution.slotReads().entrySet()) {
+      if (!slotVersions.isLatestBefore(read.getKey(), txIndex, read.getValue())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Execution execute(final int txIndex, final int incarnation) {
+    if (txIndex < mergeFrontier.get()) {
+      return Execution.failed(txIndex, incarnation);
+    }
+    final BonsaiWorldState ws =
+        getWorldState(blockContext.protocolContext(), blockContext.blockHeader());
+    if (ws == null) {
+      return Execution.failed(txIndex, incarnation);
+    }
+
+    try {
+      ws.disableCacheMerkleTrieLoader();
+      final Address miningBeneficiary = blockContext.miningBeneficiary();
+      final PathBasedWorldStateUpdateAccumulator<?> parentAccumulator = ws.getAccumulator();
+      final VersionedWorldStateUpdateAccumulator roundWorldStateUpdater =
+          new VersionedWorldStateUpdateAccumulator(
+              ws,
+              parentAccumulator.getAccountPreloader(),
+              parentAccumulator.getStoragePreloader(),
+              parentAccumulator.getEvmConfiguration(),
+              parentAccumulator.codeCache(),
+              txIndex);
+      ws.setAccumulator(roundWorldStateUpdater);
+
+      final ParallelizedTransactionContext.Builder contextBuilder =
+          new ParallelizedTransactionContext.Builder();
+      final WorldUpdater transactionUpdater = roundWorldStateUpdater.updater();
+      // the access tracker is always enabled as it provides the read set of the transaction
+      final AccessLocationTracker accessLocationTracker =
+          BlockAccessListBuilder.createTransactionAccessLocationTracker(txIndex);
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              transactionUpdater,
+              blockContext.blockHeader(),
+              blockContext.transactions().get(txIndex).detachedCopy(),
+              miningBeneficiary,
+              new OperationTracer() {
+                @Override
+                public void traceBeforeRewardTransaction(
+                    final WorldView worldView,
+                    final org.hyperledger.besu.datatypes.Transaction tx,
+                    final Wei miningReward) {
+                  // the reward is added when merging unless the beneficiary was used by the
+                  // transaction itself, in which case its balance is part of the read set
+                  if (isTouched(accessLocationTracker, miningBeneficiary)) {
+                    contextBuilder.isMiningBeneficiaryTouchedPreRewardByTransaction(true);
+                  }
+                  contextBuilder.miningBeneficiaryReward(miningReward);
+                }
+              },
+              blockContext.blockHashLookup(),
+              TransactionValidationParams.processingBlock(),
+              blockContext.blobGasPrice(),
+              Optional.of(accessLocationTracker));
+
+      transactionUpdater.commit();
+      roundWorldStateUpdater.commit();
+
+      final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator = ws.getAccumulator();
+      final ParallelizedTransactionContext context =
+          contextBuilder
+              .transactionAccumulator(transactionAccumulator)
+              .transactionProcessingResult(result)
+              .build();
+      if (!context.isMiningBeneficiaryTouchedPreRewardByTransaction()) {
+        transactionAccumulator.getAccountsToUpdate().remove(miningBeneficiary);
+        roundWorldStateUpdater.accountReads.remove(miningBeneficiary);
+      }
+      return captureReadWriteSets(
+          txIndex,
+          incarnation,
+          context,
+          accessLocationTracker,
+          miningBeneficiary,
+          roundWorldStateUpdater.accountReads,
+          roundWorldStateUpdater.slotReads);
+    } catch (final Exception e) {
+      LOG.trace("Failed speculative execution of transaction {}", txIndex, e);
+      return Execution.failed(txIndex, incarnation);
+    } finally {
+      ws.close();
+    }
+  }
+
+  private Execution captureReadWriteSets(
+      final int txIndex,
+      final int incarnation,
+      final ParallelizedTransactionContext context,
+      final AccessLocationTracker accessLocationTracker,
+      final Address miningBeneficiary,
+      final Map<Address, VersionedValue<AccountValue>> versionedAccountReads,
+      final Map<SlotKey, VersionedValue<UInt256>> versionedSlotReads) {
+    final PathBasedWorldStateUpdateAccumulator<?> accumulator = context.transactionAccumulator();
+    final Map<Address, ? extends PathBasedValue<? extends PathBasedAccount>> accountsToUpdate =
+        accumulator.getAccountsToUpdate();
+    final Map<Address, VersionedValue<AccountValue>> accountReads = new HashMap<>();
+    final Map<SlotKey, VersionedValue<UInt256>> slotReads = new HashMap<>();
+    final Map<Address, AccountValue> accountWrites = new HashMap<>();
+    final Map<SlotKey, UInt256> slotWrites = new HashMap<>();
+
+    // self-destructs and storage clearing cannot be expressed as per-key writes
+    boolean sequentialOnly =
+        context.isMiningBeneficiaryTouchedPreRewardByTransaction()
+            || !accumulator.getStorageToClear().isEmpty();
+
+    for (final Map.Entry<Address, ? extends PathBasedValue<? extends PathBasedAccount>> entry :
+        accountsToUpdate.entrySet()) {
+      final Address address = entry.getKey();
+      final PathBasedAccount prior = entry.getValue().getPrior();
+      final PathBasedAccount updated = entry.getValue().getUpdated();
+      // every account of the accumulator was loaded, either from a preceding write or from the
+      // parent state, so it is necessarily part of the read set
+      final VersionedValue<AccountValue> observed =
+          versionedAccountReads.getOrDefault(
+              address, VersionedValue.base(AccountValue.of(prior)));
+      accountReads.put(address, observed);
+      if (AccountValue.matches(observed.value(), updated)) {
+        continue;
+      }
+      if (updated == null) {
+        sequentialOnly = true;
+        continue;
+      }
+      accountWrites.put(
+          address,
+          AccountValue.of(updated, prior == null ? Hash.EMPTY : prior.getCodeHash()));
+    }
+
+    for (final var storageEntry : accumulator.getStorageToUpdate().entrySet()) {
+      final Address address = storageEntry.getKey();
+      for (final Map.Entry<StorageSlotKey, PathBasedValue<UInt256>> slotEntry :
+          storageEntry.getValue().entrySet()) {
+        final SlotKey slotKey = new SlotKey(address, slotEntry.getKey());
+        final VersionedValue<UInt256> observed =
+            versionedSlotReads.getOrDefault(
+                slotKey, VersionedValue.base(orZero(slotEntry.getValue().getPrior())));
+        slotReads.put(slotKey, observed);
+        final UInt256 updated = orZero(slotEntry.getValue().getUpdated());
+        if (!updated.equals(observed.value())) {
+          if (slotEntry.getKey().getSlotKey().isEmpty()) {
+            sequentialOnly = true;
+            continue;
+          }
+          slotWrites.put(slotKey, updated);
+        }
+      }
+    }
+
+    for (final AccountAccessList access : accessLocationTracker.getTouchedAccounts()) {
+      final Address address = access.getAddress();
+      if (!accountReads.containsKey(address)
+          && !(address.equals(miningBeneficiary) && !accountsToUpdate.containsKey(address))) {
+        // touched without being loaded in the accumulator, its observed value is unknown
+        sequentialOnly = true;
+      }
+      for (final UInt256 slot : access.getSlots()) {
+        if (!slotReads.containsKey(new SlotKey(address, new StorageSlotKey(slot)))) {
+          sequentialOnly = true;
+        }
+      }
+    }
+
+    if (sequentialOnly) {
+      return new Execution(
+          txIndex, incarnation, context, accountReads, slotReads, Map.of(), Map.of(), true);
+    }
+    return new Execution(
+        txIndex, incarnation, context, accountReads, slotReads, accountWrites, slotWrites, false);
+  }
+
+  private static boolean isTouched(
+      final AccessLocationTracker accessLocationTracker, final Address address) {
+    for (final AccountAccessList access : accessLocationTracker.getTouchedAccounts()) {
+      if (access.getAddress().equals(address)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isConsistentWithBlockState(
+      final Execution execution,
+      final PathBasedWorldStateUpdateAccumulator<?> blockAccumulator) {
+    for (final Map.Entry<Address, VersionedValue<AccountValue>> read :
+        execution.accountReads().entrySet()) {
+      if (!AccountValue.matches(read.getValue().value(), blockAccumulator.get(read.getKey()))) {
+        return false;
+      }
+    }
+    for (final Map.Entry<SlotKey, VersionedValue<UInt256>> read :
+        execution.slotReads().entrySet()) {
+      final SlotKey slotKey = read.getKey();
+      final UInt256 current =
+          isStorageClearedInBlock(blockAccumulator, slotKey)
+              ? UInt256.ZERO
+              : blockAccumulator
+                  .getStorageValueByStorageSlotKey(slotKey.address(), slotKey.slotKey())
+                  .orElse(UInt256.ZERO);
+      if (!current.equals(read.getValue().value())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isStorageClearedInBlock(
+      final PathBasedWorldStateUpdateAccumulator<?> blockAccumulator, final SlotKey slotKey) {
+    if (!blockAccumulator.getStorageToClear().contains(slotKey.address())) {
+      return false;
+    }
+    final Map<StorageSlotKey, PathBasedValue<UInt256>> slots =
+        blockAccumulator.getStorageToUpdate().get(slotKey.address());
+    return slots == null || !slots.containsKey(slotKey.slotKey());
+  }
+
+  private static void applyWrites(
+      final WorldUpdater updater,
+      final Map<Address, AccountValue> accountWrites,
+      final Map<SlotKey, UInt256> slotWrites) {
+    final Map<Address, MutableAccount> accounts = new HashMap<>();
+    accountWrites.forEach(
+        (address, value) -> {
+          final MutableAccount account =
+              accounts.computeIfAbsent(address, updater::getOrCreate);
+          account.setNonce(value.nonce());
+          account.setBalance(value.balance());
+          if (value.code() != null && !account.getCodeHash().equals(value.codeHash())) {
+            account.setCode(value.code());
+          }
+        });
+    slotWrites.forEach(
+        (slotKey, value) ->
+            accounts
+                .computeIfAbsent(slotKey.address(), updater::getOrCreate)
+                .setStorageValue(slotKey.slotKey().getSlotKey().orElseThrow(), value));
+  }
+
+  private static UInt256 orZero(final UInt256 value) {
+    return value == null ? UInt256.ZERO : value;
+  }
+
+  /**
+   * Accumulator of a speculative execution that resolves every account and slot missing from it
+   * against the multi-version map before falling back to the parent state, and records the version
+   * it observed. Only the keys actually read by the transaction are looked up, so an execution
+   * never copies the writes of the whole block prefix.
+   */
+  private final class VersionedWorldStateUpdateAccumulator
+      extends BonsaiWorldStateUpdateAccumulator {
+
+    private final int txIndex;
+    private final Map<Address, VersionedValue<AccountValue>> accountReads =
+        new ConcurrentHashMap<>();
+    private final Map<SlotKey, VersionedValue<UInt256>> slotReads = new ConcurrentHashMap<>();
+
+    VersionedWorldStateUpdateAccumulator(
+        final PathBasedWorldView world,
+        final Consumer accountPreloader,
+        final Consumer<StorageSlotKey> storagePreloader,
+        final EvmConfiguration evmConfiguration,
+        final CodeCache codeCache,
+        final int txIndex) {
+      super(world, accountPreloader, storagePreloader, evmConfiguration, codeCache);
+      this.txIndex = txIndex;
+    }
+
+    @Override
+    protected BonsaiAccount loadAccount(
+        final Address address,
+        final Function<PathBasedValue<BonsaiAccount>, BonsaiAccount> accountFunction) {
+      if (getAccountsToUpdate().containsKey(address)) {
+        return super.loadAccount(address, accountFunction);
+      }
+      final Optional<VersionedValue<AccountValue>> version =
+          accountVersions.readBefore(address, txIndex);
+      if (version.isEmpty()) {
+        return super.loadAccount(address, accountFunction);
+      }
+      // load the parent state first so that it stays the prior value of the account
+      super.loadAccount(address, PathBasedValue::getUpdated);
+      final PathBasedValue<BonsaiAccount> accountValue = getAccountsToUpdate().get(address);
+      final AccountValue value = version.get().value();
+      BonsaiAccount account = accountValue.getUpdated();
+      if (account == null) {
+        account =
+            createAccount(
+                this,
+                address,
+                hashAndSaveAccountPreImage(address),
+                value.nonce(),
+                value.balance(),
+                Hash.EMPTY_TRIE_HASH,
+                Hash.EMPTY,
+                true);
+        accountValue.setUpdated(account);
+      }
+      account.setNonce(value.nonce());
+      account.setBalance(value.balance());
+      if (value.code() != null && !account.getCodeHash().equals(value.codeHash())) {
+        account.setCode(value.code());
+      }
+      accountReads.put(address, version.get());
+      return accountFunction.apply(accountValue);
+    }
+
+    @Override
+    public Optional<UInt256> getStorageValueByStorageSlotKey(
+        final Address address, final StorageSlotKey storageSlotKey) {
+      final Map<StorageSlotKey, PathBasedValue<UInt256>> localAccountStorage =
+          getStorageToUpdate().get(address);
+      if (localAccountStorage != null && localAccountStorage.containsKey(storageSlotKey)) {
+        return super.getStorageValueByStorageSlotKey(address, storageSlotKey);
+      }
+      final SlotKey slotKey = new SlotKey(address, storageSlotKey);
+      final Optional<VersionedValue<UInt256>> version = slotVersions.readBefore(slotKey, txIndex);
+      if (version.isEmpty()) {
+        return super.getStorageValueByStorageSlotKey(address, storageSlotKey);
+      }
+      // load the parent state first so that it stays the prior value of the slot
+      super.getStorageValueByStorageSlotKey(address, storageSlotKey);
+      getStorageToUpdate().get(address).get(storageSlotKey).setUpdated(version.get().value());
+      slotReads.put(slotKey, version.get());
+      return Optional.of(version.get().value());
+    }
+  }
+
+  /**
+   * A storage slot of an account, as keyed in the multi-version map.
+   *
+   * @param address the account address
+   * @param slotKey the storage slot
+   */
+  record SlotKey(Address address, StorageSlotKey slotKey) {}
+
+  /**
+   * The account fields written by a transaction. The code is only carried when it differs from
+   * the parent state.
+   *
+   * @param nonce the account nonce
+   * @param balance the account balance
+   * @param codeHash the hash of the account code
+   * @param code the account code if it was changed in the block, otherwise null
+   */
+  record AccountValue(long nonce, Wei balance, Hash codeHash, Bytes code) {
+
+    static AccountValue of(final Account account) {
+      return account == null
+          ? null
+          : new AccountValue(account.getNonce(), account.getBalance(), account.getCodeHash(), null);
+    }
+
+    static AccountValue of(final Account account, final Hash parentCodeHash) {
+      final Hash codeHash = account.getCodeHash();
+      return new AccountValue(
+          account.getNonce(),
+          account.getBalance(),
+          codeHash,
+          codeHash.equals(parentCodeHash) ? null : account.getCode());
+    }
+
+    static boolean matches(final AccountValue value, final Account account) {
+      if (value == null || account == null) {
+        return value == null && account == null;
+      }
+      return value.nonce() == account.getNonce()
+          && value.balance().equals(account.getBalance())
+          && value.codeHash().equals(account.getCodeHash());
+    }
+  }
+
+  private record BlockContext(
+      ProtocolContext protocolContext,
+      BlockHeader blockHeader,
+      List<Transaction> transactions,
+      Address miningBeneficiary,
+      BlockHashLookup blockHashLookup,
+      Wei blobGasPrice,
+      Executor executor) {}
+
+  private record Attempt(int incarnation, CompletableFuture<Execution> future) {}
+
+  private record Execution(
+      int txIndex,
+      int incarnation,
+      ParallelizedTransactionContext context,
+      Map<Address, VersionedValue<AccountValue>> accountReads,
+      Map<SlotKey, VersionedValue<UInt256>> slotReads,
+      Map<Address, AccountValue> accountWrites,
+      Map<SlotKey, UInt256> slotWrites,
+      boolean sequentialOnly) {
+
+    static Execution failed(final int txIndex, final int incarnation) {
+      return new Execution(
+          txIndex, incarnation, null, Map.of(), Map.of(), Map.of(), Map.of(), true);
+    }
+  }
+}
@@ -54,6 +54,7 @@ public class MainnetParallelBlockProcessor extends MainnetBlockProcessor {
 
   private final Optional<Counter> confirmedParallelizedTransactionCounter;
   private final Optional<Counter> conflictingButCachedTransactionCounter;
+  private final Optional<Counter> reexecutedTransactionCounter;
 
   private static final int NCPU = Runtime.getRuntime().availableProcessors();
   private static final Executor executor = Executors.newFixedThreadPool(NCPU);
@@ -89,6 +90,13 @@ public class MainnetParallelBlockProcessor extends MainnetBlockProcessor {
                 BesuMetricCategory.BLOCK_PROCESSING,
                 "conflicted_transactions_counter",
                 "Counter for the number of conflicted transactions during block processing"));
+
+    this.reexecutedTransactionCounter =
+        Optional.of(
+            metricsSystem.createCounter(
+                BesuMetricCategory.BLOCK_PROCESSING,
+                "reexecuted_transactions_counter",
+                "Counter for the number of speculative re-executions of invalidated transactions during block processing"));
   }
 
   @Override
@@ -150,7 +158,8 @@ public class MainnetParallelBlockProcessor extends MainnetBlockProcessor {
             worldState,
             block,
             blockAccessList,
-            new ParallelTransactionPreprocessing(transactionProcessor, executor, balConfiguration));
+            new ParallelTransactionPreprocessing(
+                transactionProcessor, executor, balConfiguration, reexecutedTransactionCounter));
 
     if (blockProcessingResult.isFailed()) {
       // Fallback to non-parallel processing if there is a block processing exception .
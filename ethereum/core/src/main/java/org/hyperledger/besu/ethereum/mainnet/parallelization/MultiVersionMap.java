@@ -0,0 +1,126 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Multi-version store of the values written by the transactions of a block, as used by Block-STM
+ * style execution. Every key keeps one entry per writing transaction, so a transaction at index
+ * {@code i} can read the value written by the closest preceding transaction without waiting for
+ * the whole prefix of the block to be committed.
+ *
+ * <p>All operations are thread-safe and lock-free.
+ *
+ * @param <K> the type of the state key (an account address or a storage slot)
+ * @param <V> the type of the value written for a key
+ */
+public final class MultiVersionMap<K, V> {
+
+  /** Version reported for reads that were served by the parent state of the block. */
+  public static final int BASE_TX_INDEX = -1;
+
+  private final Map<K, ConcurrentSkipListMap<Integer, VersionedValue<V>>> entries =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Records the value written to a key by an incarnation of a transaction, replacing any value
+   * written by a previous incarnation of the same transaction.
+   *
+   * @param key the state key
+   * @param txIndex the index of the writing transaction in the block
+   * @param incarnation the incarnation of the writing transaction
+   * @param value the written value
+   */
+  public void write(final K key, final int txIndex, final int incarnation, final V value) {
+    entries
+        .computeIfAbsent(key, __ -> new ConcurrentSkipListMap<>())
+        .put(txIndex, new VersionedValue<>(txIndex, incarnation, value));
+  }
+
+  /**
+   * Removes the value written to a key by a transaction, typically because its latest incarnation
+   * no longer writes that key.
+   *
+   * @param key the state key
+   * @param txIndex the index of the transaction whose write must be dropped
+   */
+  public void remove(final K key, final int txIndex) {
+    final ConcurrentSkipListMap<Integer, VersionedValue<V>> versions = entries.get(key);
+    if (versions != null) {
+      versions.remove(txIndex);
+    }
+  }
+
+  /**
+   * Returns the value of a key as seen by a transaction, that is the value written by the closest
+   * transaction preceding it in the block.
+   *
+   * @param key the state key
+   * @param txIndex the index of the reading transaction
+   * @return the latest preceding write, or empty if the key must be read from the parent state
+   */
+  public Optional<VersionedValue<V>> readBefore(final K key, final int txIndex) {
+    final ConcurrentSkipListMap<Integer, VersionedValue<V>> versions = entries.get(key);
+    if (versions == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(versions.lowerEntry(txIndex)).map(Map.Entry::getValue);
+  }
+
+  /**
+   * Checks whether a read performed by a transaction is still valid, i.e. whether the latest write
+   * preceding the reader is the same one that was observed during its execution.
+   *
+   * @param key the state key
+   * @param txIndex the index of the reading transaction
+   * @param observed the version observed during execution
+   * @return true if the observed version is still the latest preceding one
+   */
+  public boolean isLatestBefore(final K key, final int txIndex, final VersionedValue<V> observed) {
+    return readBefore(key, txIndex)
+        .map(
+            latest ->
+                latest.txIndex() == observed.txIndex()
+                    && latest.incarnation() == observed.incarnation())
+        .orElse(observed.txIndex() == BASE_TX_INDEX);
+  }
+
+  /**
+   * A value written by a given incarnation of a transaction.
+   *
+   * @param txIndex the index of the writing transaction, or {@link #BASE_TX_INDEX} for the parent
+   *     state
+   * @param incarnation the incarnation of the writing transaction
+   * @param value the written value, may be null
+   * @param <V> the type of the value
+   */
+  public record VersionedValue<V>(int txIndex, int incarnation, V value) {
+
+    /**
+     * Creates a version for a value read from the parent state of the block.
+     *
+     * @param value the value read from the parent state
+     * @return the base version of the value
+     * @param <V> the type of the value
+     */
+    public static <V> VersionedValue<V> base(final V value) {
+      return new VersionedValue<>(BASE_TX_INDEX, 0, value);
+    }
+  }
+}
@@ -15,6 +15,8 @@
 package org.hyperledger.besu.ethereum.mainnet.parallelization;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -23,11 +25,17 @@ import org.hyperledger.besu.ethereum.mainnet.AbstractBlockProcessor.Preprocessin
 import org.hyperledger.besu.ethereum.mainnet.BalConfiguration;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.AccountChanges;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.PathBasedWorldStateProvider;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Executor;
 
@@ -36,14 +44,24 @@ public class ParallelTransactionPreprocessing implements PreprocessingFunction {
   private final MainnetTransactionProcessor transactionProcessor;
   private final Executor executor;
   private final BalConfiguration balConfiguration;
+  private final Optional<Counter> reexecutedTransactionCounter;
 
   public ParallelTransactionPreprocessing(
       final MainnetTransactionProcessor transactionProcessor,
       final Executor executor,
       final BalConfiguration balConfiguration) {
+    this(transactionProcessor, executor, balConfiguration, Optional.empty());
+  }
+
+  public ParallelTransactionPreprocessing(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Executor executor,
+      final BalConfiguration balConfiguration,
+      final Optional<Counter> reexecutedTransactionCounter) {
     this.transactionProcessor = transactionProcessor;
     this.executor = executor;
     this.balConfiguration = balConfiguration;
+    this.reexecutedTransactionCounter = reexecutedTransactionCounter;
   }
 
   @Override
@@ -60,12 +78,20 @@ public class ParallelTransactionPreprocessing implements PreprocessingFunction {
       return Optional.empty();
     }
 
+    maybeBlockBal.ifPresent(
+        blockBal ->
+            prefetchBlockAccessList(
+                (PathBasedWorldStateProvider) protocolContext.getWorldStateArchive(), blockBal));
+
     final ParallelBlockTransactionProcessor parallelProcessor;
 
     if (balConfiguration.isPerfectParallelizationEnabled() && maybeBlockBal.isPresent()) {
       parallelProcessor =
           new BalConcurrentTransactionProcessor(
               transactionProcessor, maybeBlockBal.get(), balConfiguration);
+    } else if (balConfiguration.isBlockStmEnabled()) {
+      parallelProcessor =
+          new BlockStmTransactionProcessor(transactionProcessor, reexecutedTransactionCounter);
     } else {
       parallelProcessor = new ParallelizedConcurrentTransactionProcessor(transactionProcessor);
     }
@@ -82,4 +108,26 @@ public class ParallelTransactionPreprocessing implements PreprocessingFunction {
 
     return Optional.of(new PreprocessingContext(parallelProcessor));
   }
+
+  /**
+   * Reads the flat entries of every account and storage slot listed in the block access list with
+   * batched lookups, so that the transactions executed in parallel hit warm storage caches instead
+   * of issuing one cold point lookup each.
+   */
+  private void prefetchBlockAccessList(
+      final PathBasedWorldStateProvider worldStateProvider, final BlockAccessList blockBal) {
+    if (!(worldStateProvider.getWorldStateKeyValueStorage()
+        instanceof BonsaiWorldStateKeyValueStorage bonsaiStorage)) {
+      return;
+    }
+    final Map<Hash, List<StorageSlotKey>> storageSlotKeysByAccountHash = new HashMap<>();
+    for (final AccountChanges accountChanges : blockBal.accountChanges()) {
+      final List<StorageSlotKey> storageSlotKeys =
+          storageSlotKeysByAccountHash.computeIfAbsent(
+              accountChanges.address().addressHash(), __ -> new ArrayList<>());
+      accountChanges.storageChanges().forEach(change -> storageSlotKeys.add(change.slot()));
+      accountChanges.storageReads().forEach(read -> storageSlotKeys.add(read.slot()));
+    }
+    bonsaiStorage.prefetchFlatAccountsAndStorage(storageSlotKeysByAccountHash);
+  }
 }
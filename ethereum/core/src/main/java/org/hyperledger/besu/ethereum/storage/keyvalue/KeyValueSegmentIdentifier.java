@@ -62,7 +62,11 @@ public enum KeyValueSegmentIdentifier implements SegmentIdentifier {
   BACKWARD_SYNC_CHAIN(new byte[] {15}),
   SNAPSYNC_MISSING_ACCOUNT_RANGE(new byte[] {16}),
   SNAPSYNC_ACCOUNT_TO_FIX(new byte[] {17}),
-  CHAIN_PRUNER_STATE(new byte[] {18});
+  CHAIN_PRUNER_STATE(new byte[] {18}),
+  // only written with --api-log-index-enabled; otherwise BesuCommand registers it as an ignorable
+  // segment of the RocksDB plugin, so its column family is not created in databases lacking it
+  LOG_INDEX(new byte[] {19}),
+  TRACE_INDEX(new byte[] {20});
 
   private final byte[] id;
   private final EnumSet<DataStorageFormat> formats;
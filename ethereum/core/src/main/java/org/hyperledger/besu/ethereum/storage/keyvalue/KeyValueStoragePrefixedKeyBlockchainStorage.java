@@ -143,12 +143,22 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
         .map(b -> BlockHeader.readFrom(RLP.input(b), blockHeaderFunctions, blockHash));
   }
 
+  @Override
+  public Optional<Bytes> getBlockHeaderRlp(final Hash blockHash) {
+    return get(BLOCK_HEADER_PREFIX, blockHash.getBytes());
+  }
+
   @Override
   public Optional<BlockBody> getBlockBody(final Hash blockHash) {
     return get(BLOCK_BODY_PREFIX, blockHash.getBytes())
         .map(bytes -> BlockBody.readWrappedBodyFrom(RLP.input(bytes), blockHeaderFunctions));
   }
 
+  @Override
+  public Optional<Bytes> getBlockBodyRlp(final Hash blockHash) {
+    return get(BLOCK_BODY_PREFIX, blockHash.getBytes());
+  }
+
   @Override
   public Optional<BlockAccessList> getBlockAccessList(final Hash blockHash) {
     return get(BLOCK_ACCESS_LIST_PREFIX, blockHash.getBytes()).map(this::rlpDecodeBlockAccessList);
@@ -160,6 +170,11 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
         .map(this::rlpDecodeTransactionReceipts);
   }
 
+  @Override
+  public Optional<Bytes> getTransactionReceiptsRlp(final Hash blockHash) {
+    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash.getBytes());
+  }
+
   @Override
   public Optional<Hash> getBlockHash(final long blockNumber) {
     return get(BLOCK_HASH_PREFIX, UInt256.valueOf(blockNumber)).map(this::bytesToHash);
@@ -14,7 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
 
-import static org.hyperledger.besu.metrics.BesuMetricCategory.BLOCKCHAIN;
+import static org.hyperledger.besu.metrics.BesuMetricCategory.BONSAI_CACHE;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
@@ -24,8 +24,11 @@ import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.StorageSubscriber;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -33,8 +36,6 @@ import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 
@@ -42,16 +43,62 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
 
   private static final ExecutorService VIRTUAL_POOL = Executors.newVirtualThreadPerTaskExecutor();
 
-  private static final int ACCOUNT_CACHE_SIZE = 100_000;
-  private static final int STORAGE_CACHE_SIZE = 200_000;
-  private final Cache<Bytes, Bytes> accountNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(ACCOUNT_CACHE_SIZE).build();
-  private final Cache<Bytes, Bytes> storageNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(STORAGE_CACHE_SIZE).build();
+  private final TrieNodeCache accountNodes;
+  private final TrieNodeCache storageNodes;
 
   public BonsaiCachedMerkleTrieLoader(final ObservableMetricsSystem metricsSystem) {
-    metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "accountsNodes", accountNodes);
-    metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "storageNodes", storageNodes);
+    this(
+        metricsSystem,
+        PathBasedUnstable.DEFAULT_ACCOUNT_TRIE_NODE_CACHE_SIZE,
+        PathBasedUnstable.DEFAULT_STORAGE_TRIE_NODE_CACHE_SIZE);
+  }
+
+  public BonsaiCachedMerkleTrieLoader(
+      final ObservableMetricsSystem metricsSystem,
+      final long accountNodesCacheSize,
+      final long storageNodesCacheSize) {
+    this.accountNodes = new TrieNodeCache(accountNodesCacheSize);
+    this.storageNodes = new TrieNodeCache(storageNodesCacheSize);
+    registerMetrics(metricsSystem);
+  }
+
+  private void registerMetrics(final ObservableMetricsSystem metricsSystem) {
+    final LabelledSuppliedMetric hits =
+        metricsSystem.createLabelledSuppliedCounter(
+            BONSAI_CACHE,
+            "trie_node_cache_hits",
+            "Number of trie node lookups served by the cache",
+            "trie");
+    final LabelledSuppliedMetric misses =
+        metricsSystem.createLabelledSuppliedCounter(
+            BONSAI_CACHE,
+            "trie_node_cache_misses",
+            "Number of trie node lookups not found in the cache",
+            "trie");
+    final LabelledSuppliedMetric evictions =
+        metricsSystem.createLabelledSuppliedCounter(
+            BONSAI_CACHE,
+            "trie_node_cache_evictions",
+            "Number of trie nodes evicted from the cache",
+            "trie");
+    final LabelledSuppliedMetric sizeBytes =
+        metricsSystem.createLabelledSuppliedGauge(
+            BONSAI_CACHE,
+            "trie_node_cache_size_bytes",
+            "Estimated memory footprint of the cached trie nodes",
+            "trie");
+    final LabelledSuppliedMetric entries =
+        metricsSystem.createLabelledSuppliedGauge(
+            BONSAI_CACHE, "trie_node_cache_entries", "Number of cached trie nodes", "trie");
+    for (final Map.Entry<String, TrieNodeCache> trie :
+        Map.of("account", accountNodes, "storage", storageNodes).entrySet()) {
+      final TrieNodeCache cache = trie.getValue();
+      hits.labels(cache::hitCount, trie.getKey());
+      misses.labels(cache::missCount, trie.getKey());
+      evictions.labels(cache::evictionCount, trie.getKey());
+      sizeBytes.labels(cache::weightedSize, trie.getKey());
+      entries.labels(cache::estimatedSize, trie.getKey());
+    }
   }
 
   public void preLoadAccount(
@@ -75,7 +122,8 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
               (location, hash) -> {
                 Optional<Bytes> node =
                     getAccountStateTrieNode(worldStateKeyValueStorage, location, hash);
-                node.ifPresent(bytes -> accountNodes.put(Hash.hash(bytes).getBytes(), bytes));
+                node.ifPresent(
+                    bytes -> accountNodes.put(Bytes32.wrap(Hash.hash(bytes).getBytes()), bytes));
                 return node;
               },
               Bytes32.wrap(worldStateRootHash.getBytes()),
@@ -117,7 +165,9 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
                                 getAccountStorageTrieNode(
                                     worldStateKeyValueStorage, accountHash, location, hash);
                             node.ifPresent(
-                                bytes -> storageNodes.put(Hash.hash(bytes).getBytes(), bytes));
+                                bytes ->
+                                    storageNodes.put(
+                                        Bytes32.wrap(Hash.hash(bytes).getBytes()), bytes));
                             return node;
                           },
                           Bytes32.wrap(Hash.hash(storageRoot).getBytes()),
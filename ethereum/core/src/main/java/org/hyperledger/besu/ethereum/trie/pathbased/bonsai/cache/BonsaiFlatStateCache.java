@@ -0,0 +1,207 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static org.hyperledger.besu.metrics.BesuMetricCategory.BONSAI_CACHE;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * An off-heap cache of the flat accounts and storage slots of the persisted (head) Bonsai world
+ * state, including the keys known to be absent from it.
+ *
+ * <p>Entries are loaded on a miss and kept in sync by the updater of the world state storage, which
+ * hands over the flat entries it wrote once its transaction is committed. A value loaded while a
+ * commit is in flight may predate that commit, so it is only cached if no update was published
+ * since the load started.
+ */
+public class BonsaiFlatStateCache {
+
+  // RLP of nonce, balance, storage root and code hash
+  private static final int MAX_ACCOUNT_SIZE = 112;
+  // RLP of a 32 bytes word
+  private static final int MAX_STORAGE_VALUE_SIZE = Bytes32.SIZE + 1;
+
+  private final FlatStateTable accounts;
+  private final FlatStateTable storage;
+  private final ReadWriteLock updateLock = new ReentrantReadWriteLock();
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * Creates a cache, allocating its direct memory upfront.
+   *
+   * @param maxBytes the direct memory to allocate, a quarter of it for accounts and the rest for
+   *     storage slots
+   * @param metricsSystem the metrics system
+   */
+  public BonsaiFlatStateCache(final long maxBytes, final MetricsSystem metricsSystem) {
+    this.accounts = new FlatStateTable(maxBytes / 4, Bytes32.SIZE, MAX_ACCOUNT_SIZE);
+    this.storage =
+        new FlatStateTable(maxBytes - maxBytes / 4, 2 * Bytes32.SIZE, MAX_STORAGE_VALUE_SIZE);
+    registerMetrics(metricsSystem);
+  }
+
+  /**
+   * Creates the cache configured for the persisted world state, if any.
+   *
+   * @param dataStorageConfiguration the data storage configuration
+   * @param metricsSystem the metrics system
+   * @return the cache, or empty if it is disabled
+   */
+  public static Optional<BonsaiFlatStateCache> create(
+      final DataStorageConfiguration dataStorageConfiguration, final MetricsSystem metricsSystem) {
+    final long flatStateCacheSize =
+        dataStorageConfiguration
+            .getPathBasedExtraStorageConfiguration()
+            .getUnstable()
+            .getFlatStateCacheSize();
+    return flatStateCacheSize > 0
+        ? Optional.of(new BonsaiFlatStateCache(flatStateCacheSize, metricsSystem))
+        : Optional.empty();
+  }
+
+  private void registerMetrics(final MetricsSystem metricsSystem) {
+    final LabelledSuppliedMetric hits =
+        metricsSystem.createLabelledSuppliedCounter(
+            BONSAI_CACHE,
+            "flat_state_cache_hits",
+            "Number of flat state lookups served by the cache",
+            "type");
+    final LabelledSuppliedMetric misses =
+        metricsSystem.createLabelledSuppliedCounter(
+            BONSAI_CACHE,
+            "flat_state_cache_misses",
+            "Number of flat state lookups not found in the cache",
+            "type");
+    final LabelledSuppliedMetric evictions =
+        metricsSystem.createLabelledSuppliedCounter(
+            BONSAI_CACHE,
+            "flat_state_cache_evictions",
+            "Number of flat state entries evicted from the cache",
+            "type");
+    final LabelledSuppliedMetric entries =
+        metricsSystem.createLabelledSuppliedGauge(
+            BONSAI_CACHE,
+            "flat_state_cache_entries",
+            "Number of cached flat state entries",
+            "type");
+    for (final Map.Entry<String, FlatStateTable> type :
+        Map.of("account", accounts, "storage", storage).entrySet()) {
+      final FlatStateTable table = type.getValue();
+      hits.labels(table::hitCount, type.getKey());
+      misses.labels(table::missCount, type.getKey());
+      evictions.labels(table::evictionCount, type.getKey());
+      entries.labels(table::size, type.getKey());
+    }
+  }
+
+  /**
+   * Returns a flat account, loading it on a miss.
+   *
+   * @param accountHash the hash of the account address
+   * @param loader reads the account from the flat database
+   * @return the RLP encoded account, if it exists
+   */
+  public Optional<Bytes> getAccount(
+      final Hash accountHash, final Supplier<Optional<Bytes>> loader) {
+    return get(accounts, accountHash.getBytes(), loader);
+  }
+
+  /**
+   * Returns a flat storage value, loading it on a miss.
+   *
+   * @param accountHash the hash of the account address
+   * @param slotHash the hash of the storage slot key
+   * @param loader reads the value from the flat database
+   * @return the RLP encoded value, if the slot is set
+   */
+  public Optional<Bytes> getStorageValue(
+      final Hash accountHash, final Hash slotHash, final Supplier<Optional<Bytes>> loader) {
+    return get(storage, storageKey(accountHash, slotHash), loader);
+  }
+
+  private Optional<Bytes> get(
+      final FlatStateTable table, final Bytes key, final Supplier<Optional<Bytes>> loader) {
+    final Bytes cached = table.get(key);
+    if (cached != null) {
+      return cached.isEmpty() ? Optional.empty() : Optional.of(cached);
+    }
+    final long loadGeneration = generation.get();
+    final Optional<Bytes> value = loader.get();
+    updateLock.readLock().lock();
+    try {
+      if (loadGeneration == generation.get()) {
+        table.put(key, value.orElse(Bytes.EMPTY));
+      }
+    } finally {
+      updateLock.readLock().unlock();
+    }
+    return value;
+  }
+
+  /**
+   * Publishes the flat entries written by a committed transaction.
+   *
+   * @param accountUpdates the written accounts by account hash, empty when removed
+   * @param storageUpdates the written storage values by storage key, empty when removed
+   */
+  public void update(
+      final Map<Bytes, Bytes> accountUpdates, final Map<Bytes, Bytes> storageUpdates) {
+    updateLock.writeLock().lock();
+    try {
+      generation.incrementAndGet();
+      accountUpdates.forEach(accounts::put);
+      storageUpdates.forEach(storage::put);
+    } finally {
+      updateLock.writeLock().unlock();
+    }
+  }
+
+  /** Drops every entry, for when the flat database is cleared or rewritten outside the updater. */
+  public void clear() {
+    updateLock.writeLock().lock();
+    try {
+      generation.incrementAndGet();
+      accounts.clear();
+      storage.clear();
+    } finally {
+      updateLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the key of a storage value, as used by {@link #update}.
+   *
+   * @param accountHash the hash of the account address
+   * @param slotHash the hash of the storage slot key
+   * @return the storage key
+   */
+  public static Bytes storageKey(final Hash accountHash, final Hash slotHash) {
+    return Bytes.concatenate(accountHash.getBytes(), slotHash.getBytes());
+  }
+}
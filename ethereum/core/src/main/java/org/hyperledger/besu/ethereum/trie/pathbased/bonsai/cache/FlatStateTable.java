@@ -0,0 +1,234 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A fixed capacity, set associative hash table of fixed size keys and small values, stored in
+ * direct memory so that its entries neither add to the heap nor to the work of the garbage
+ * collector.
+ *
+ * <p>Each record holds a flags byte, a value length byte, the key and room for the largest value.
+ * A key is hashed to a set of {@value #WAYS} consecutive records of one segment; when the set is
+ * full, a clock sweep over the referenced flags of its records selects the victim. Segments are
+ * guarded by their own monitor and backed by their own buffer, which keeps each buffer below the
+ * 2 GiB limit of {@link ByteBuffer} and spreads concurrent accesses.
+ */
+final class FlatStateTable {
+
+  static final int WAYS = 4;
+  private static final int SEGMENTS = 64;
+  private static final int HEADER_SIZE = 2;
+  private static final byte USED = 1;
+  private static final byte REFERENCED = 2;
+
+  private final int keySize;
+  private final int maxValueSize;
+  private final int recordSize;
+  private final Segment[] segments;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Creates a table.
+   *
+   * @param maxBytes the direct memory to allocate for the table
+   * @param keySize the size of the keys, a multiple of 8
+   * @param maxValueSize the size of the largest value that can be stored, at most 255
+   */
+  FlatStateTable(final long maxBytes, final int keySize, final int maxValueSize) {
+    checkArgument(keySize > 0 && keySize % Long.BYTES == 0, "key size must be a multiple of 8");
+    checkArgument(maxValueSize <= 0xFF, "values are limited to 255 bytes");
+    this.keySize = keySize;
+    this.maxValueSize = maxValueSize;
+    this.recordSize = HEADER_SIZE + keySize + maxValueSize;
+    final long setsPerSegment = Math.max(1, maxBytes / SEGMENTS / ((long) WAYS * recordSize));
+    checkArgument(
+        setsPerSegment * WAYS * recordSize <= Integer.MAX_VALUE,
+        "table is too large: %s",
+        maxBytes);
+    this.segments = new Segment[SEGMENTS];
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = new Segment((int) setsPerSegment);
+    }
+  }
+
+  Bytes get(final Bytes key) {
+    final long hash = hash(key);
+    final Bytes value = segment(hash).get(hash, key);
+    if (value == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return value;
+  }
+
+  void put(final Bytes key, final Bytes value) {
+    final long hash = hash(key);
+    if (value.size() > maxValueSize) {
+      // too large to be cached, drop any previous value so it cannot be read back
+      segment(hash).remove(hash, key);
+    } else {
+      segment(hash).put(hash, key, value);
+    }
+  }
+
+  void clear() {
+    for (final Segment segment : segments) {
+      segment.clear();
+    }
+  }
+
+  long capacity() {
+    return (long) segments.length * segments[0].sets * WAYS;
+  }
+
+  long size() {
+    long size = 0;
+    for (final Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  long hitCount() {
+    return hits.sum();
+  }
+
+  long missCount() {
+    return misses.sum();
+  }
+
+  long evictionCount() {
+    return evictions.sum();
+  }
+
+  private Segment segment(final long hash) {
+    return segments[(int) (hash & (SEGMENTS - 1))];
+  }
+
+  private long hash(final Bytes key) {
+    // keys are made of keccak hashes, mixing their first and last words is enough
+    final long hash = key.getLong(0) ^ Long.rotateLeft(key.getLong(keySize - Long.BYTES), 31);
+    return hash ^ (hash >>> 29);
+  }
+
+  private final class Segment {
+    private final ByteBuffer buffer;
+    private final int sets;
+    private int size;
+
+    private Segment(final int sets) {
+      this.sets = sets;
+      this.buffer = ByteBuffer.allocateDirect(sets * WAYS * recordSize);
+    }
+
+    private int setOffset(final long hash) {
+      return (int) ((hash >>> 6) % sets) * WAYS * recordSize;
+    }
+
+    private int find(final int setOffset, final Bytes key) {
+      for (int way = 0; way < WAYS; way++) {
+        final int offset = setOffset + way * recordSize;
+        if ((buffer.get(offset) & USED) != 0 && keyEquals(offset + HEADER_SIZE, key)) {
+          return offset;
+        }
+      }
+      return -1;
+    }
+
+    private boolean keyEquals(final int keyOffset, final Bytes key) {
+      for (int i = 0; i < keySize; i += Long.BYTES) {
+        if (buffer.getLong(keyOffset + i) != key.getLong(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private synchronized Bytes get(final long hash, final Bytes key) {
+      final int offset = find(setOffset(hash), key);
+      if (offset < 0) {
+        return null;
+      }
+      buffer.put(offset, (byte) (USED | REFERENCED));
+      final byte[] value = new byte[buffer.get(offset + 1) & 0xFF];
+      buffer.get(offset + HEADER_SIZE + keySize, value);
+      return Bytes.wrap(value);
+    }
+
+    private synchronized void put(final long hash, final Bytes key, final Bytes value) {
+      final int setOffset = setOffset(hash);
+      int offset = find(setOffset, key);
+      if (offset < 0) {
+        offset = victim(setOffset);
+        buffer.put(offset + HEADER_SIZE, key.toArrayUnsafe());
+      }
+      buffer.put(offset, USED);
+      buffer.put(offset + 1, (byte) value.size());
+      buffer.put(offset + HEADER_SIZE + keySize, value.toArrayUnsafe());
+    }
+
+    private int victim(final int setOffset) {
+      for (int way = 0; way < WAYS; way++) {
+        final int offset = setOffset + way * recordSize;
+        final byte flags = buffer.get(offset);
+        if ((flags & USED) == 0) {
+          size++;
+          return offset;
+        }
+      }
+      evictions.increment();
+      for (int way = 0; way < WAYS; way++) {
+        final int offset = setOffset + way * recordSize;
+        final byte flags = buffer.get(offset);
+        if ((flags & REFERENCED) == 0) {
+          return offset;
+        }
+        buffer.put(offset, USED);
+      }
+      // every record was referenced and has now been cleared, start over from the first one
+      return setOffset;
+    }
+
+    private synchronized void remove(final long hash, final Bytes key) {
+      final int offset = find(setOffset(hash), key);
+      if (offset >= 0) {
+        buffer.put(offset, (byte) 0);
+        size--;
+      }
+    }
+
+    private synchronized int size() {
+      return size;
+    }
+
+    private synchronized void clear() {
+      for (int offset = 0; offset < buffer.capacity(); offset += recordSize) {
+        buffer.put(offset, (byte) 0);
+      }
+      size = 0;
+    }
+  }
+}
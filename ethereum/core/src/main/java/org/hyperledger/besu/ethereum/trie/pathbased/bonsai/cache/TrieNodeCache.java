@@ -0,0 +1,138 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import org.hyperledger.besu.util.cache.MemoryBoundCache;
+
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * A cache of trie nodes indexed by node hash, bounded by the estimated memory footprint of its
+ * entries rather than by their number. The cache is split in independent shards, selected by the
+ * leading bytes of the node hash, so concurrent preloading threads rarely contend on the same
+ * shard.
+ */
+public class TrieNodeCache {
+
+  // object headers and references of the key, the value and the cache entry
+  private static final int ENTRY_OVERHEAD = 96;
+  private static final int MAX_SHARDS = 64;
+
+  private final MemoryBoundCache<Bytes32, Bytes>[] shards;
+
+  /**
+   * Creates a new trie node cache.
+   *
+   * @param maxBytes the maximum estimated memory footprint of the cache, in bytes
+   */
+  public TrieNodeCache(final long maxBytes) {
+    this(maxBytes, defaultShardCount());
+  }
+
+  @SuppressWarnings("unchecked")
+  TrieNodeCache(final long maxBytes, final int shardCount) {
+    final int shardsLength = Integer.highestOneBit(Math.max(1, shardCount));
+    this.shards = new MemoryBoundCache[shardsLength];
+    for (int i = 0; i < shardsLength; i++) {
+      shards[i] =
+          new MemoryBoundCache<>(maxBytes / shardsLength, TrieNodeCache::estimateFootprint);
+    }
+  }
+
+  private static int defaultShardCount() {
+    return Math.min(MAX_SHARDS, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * Adds a node to the cache.
+   *
+   * @param nodeHash the hash of the node
+   * @param node the encoded node
+   */
+  public void put(final Bytes32 nodeHash, final Bytes node) {
+    shard(nodeHash).put(nodeHash, node);
+  }
+
+  /**
+   * Returns a cached node.
+   *
+   * @param nodeHash the hash of the node
+   * @return the encoded node, or null if the node is not cached
+   */
+  public Bytes getIfPresent(final Bytes32 nodeHash) {
+    return shard(nodeHash).getIfPresent(nodeHash);
+  }
+
+  /**
+   * Returns the number of lookups that found their node in the cache.
+   *
+   * @return the number of hits
+   */
+  public long hitCount() {
+    return sum(MemoryBoundCache::hitCount);
+  }
+
+  /**
+   * Returns the number of lookups that did not find their node in the cache.
+   *
+   * @return the number of misses
+   */
+  public long missCount() {
+    return sum(MemoryBoundCache::missCount);
+  }
+
+  /**
+   * Returns the number of nodes evicted from the cache to honour its memory bound.
+   *
+   * @return the number of evictions
+   */
+  public long evictionCount() {
+    return sum(MemoryBoundCache::evictionCount);
+  }
+
+  /**
+   * Returns the estimated memory footprint of the cached nodes.
+   *
+   * @return the size of the cache, in bytes
+   */
+  public long weightedSize() {
+    return sum(MemoryBoundCache::weightedSize);
+  }
+
+  /**
+   * Returns the estimated number of cached nodes.
+   *
+   * @return the number of entries of the cache
+   */
+  public long estimatedSize() {
+    return sum(MemoryBoundCache::estimatedSize);
+  }
+
+  private MemoryBoundCache<Bytes32, Bytes> shard(final Bytes32 nodeHash) {
+    return shards[nodeHash.getInt(0) & (shards.length - 1)];
+  }
+
+  private long sum(final ToLongFunction<MemoryBoundCache<Bytes32, Bytes>> metric) {
+    return Arrays.stream(shards).mapToLong(metric).sum();
+  }
+
+  private static int estimateFootprint(final Bytes32 nodeHash, final Bytes node) {
+    return ENTRY_OVERHEAD + Bytes32.SIZE + node.size();
+  }
+}
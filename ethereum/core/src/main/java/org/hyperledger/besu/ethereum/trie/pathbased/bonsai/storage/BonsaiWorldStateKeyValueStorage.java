@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.common.PmtStateTrieAccountValue;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.BonsaiFlatStateCache;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.flat.BonsaiFlatDbStrategy;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.flat.BonsaiFlatDbStrategyProvider;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBasedWorldStateKeyValueStorage;
@@ -40,9 +41,12 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -51,11 +55,29 @@ import org.apache.tuweni.bytes.Bytes32;
 public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValueStorage
     implements WorldStateKeyValueStorage {
   protected final BonsaiFlatDbStrategyProvider flatDbStrategyProvider;
+  private final Optional<BonsaiFlatStateCache> flatStateCache;
 
   public BonsaiWorldStateKeyValueStorage(
       final StorageProvider provider,
       final MetricsSystem metricsSystem,
       final DataStorageConfiguration dataStorageConfiguration) {
+    this(provider, metricsSystem, dataStorageConfiguration, Optional.empty());
+  }
+
+  /**
+   * Creates the storage of a persisted world state.
+   *
+   * @param provider the storage provider
+   * @param metricsSystem the metrics system
+   * @param dataStorageConfiguration the data storage configuration
+   * @param flatStateCache the cache of the flat state read from this storage, only given to the
+   *     storage of the persisted head world state
+   */
+  public BonsaiWorldStateKeyValueStorage(
+      final StorageProvider provider,
+      final MetricsSystem metricsSystem,
+      final DataStorageConfiguration dataStorageConfiguration,
+      final Optional<BonsaiFlatStateCache> flatStateCache) {
     super(
         provider.getStorageBySegmentIdentifiers(
             List.of(
@@ -64,6 +86,7 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
     this.flatDbStrategyProvider =
         new BonsaiFlatDbStrategyProvider(metricsSystem, dataStorageConfiguration);
     flatDbStrategyProvider.loadFlatDbStrategy(composedWorldStateStorage);
+    this.flatStateCache = flatStateCache;
   }
 
   public BonsaiWorldStateKeyValueStorage(
@@ -72,6 +95,8 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
       final KeyValueStorage trieLogStorage) {
     super(composedWorldStateStorage, trieLogStorage);
     this.flatDbStrategyProvider = flatDbStrategyProvider;
+    // snapshots and layers may lag behind the persisted state, they always read their own storage
+    this.flatStateCache = Optional.empty();
   }
 
   @Override
@@ -93,6 +118,15 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
   }
 
   public Optional<Bytes> getAccount(final Hash accountHash) {
+    getAccessListener().onFlatStateRead();
+    if (isFlatStateCacheEnabled()) {
+      return flatStateCache.get().getAccount(accountHash, () -> getFlatAccount(accountHash));
+    }
+    return getFlatAccount(accountHash);
+  }
+
+  private Optional<Bytes> getFlatAccount(final Hash accountHash) {
+    getAccessListener().onFlatStateDatabaseRead();
     return getFlatDbStrategy()
         .getFlatAccount(
             this::getWorldStateRootHash,
@@ -148,6 +182,23 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
       final Supplier<Optional<Hash>> storageRootSupplier,
       final Hash accountHash,
       final StorageSlotKey storageSlotKey) {
+    getAccessListener().onFlatStateRead();
+    if (isFlatStateCacheEnabled()) {
+      return flatStateCache
+          .get()
+          .getStorageValue(
+              accountHash,
+              storageSlotKey.getSlotHash(),
+              () -> getFlatStorageValue(storageRootSupplier, accountHash, storageSlotKey));
+    }
+    return getFlatStorageValue(storageRootSupplier, accountHash, storageSlotKey);
+  }
+
+  private Optional<Bytes> getFlatStorageValue(
+      final Supplier<Optional<Hash>> storageRootSupplier,
+      final Hash accountHash,
+      final StorageSlotKey storageSlotKey) {
+    getAccessListener().onFlatStateDatabaseRead();
     return getFlatDbStrategy()
         .getFlatStorageValueByStorageSlotKey(
             this::getWorldStateRootHash,
@@ -158,17 +209,33 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
             composedWorldStateStorage);
   }
 
+  public void prefetchFlatAccountsAndStorage(
+      final Map<Hash, ? extends Collection<StorageSlotKey>> storageSlotKeysByAccountHash) {
+    getFlatDbStrategy()
+        .prefetchFlatAccountsAndStorage(storageSlotKeysByAccountHash, composedWorldStateStorage);
+  }
+
   public NavigableMap<Bytes32, AccountStorageEntry> storageEntriesFrom(
       final Hash addressHash, final Bytes32 startKeyHash, final int limit) {
     throw new RuntimeException("Bonsai Tries does not currently support enumerating storage");
   }
 
+  /**
+   * The flat state cache only serves the full flat database, where every read is answered by the
+   * flat entries that the updater writes.
+   */
+  private boolean isFlatStateCacheEnabled() {
+    return flatStateCache.isPresent() && getFlatDbMode() == FlatDbMode.FULL;
+  }
+
   public void upgradeToFullFlatDbMode() {
     flatDbStrategyProvider.upgradeToFullFlatDbMode(composedWorldStateStorage);
+    flatStateCache.ifPresent(BonsaiFlatStateCache::clear);
   }
 
   public void downgradeToPartialFlatDbMode() {
     flatDbStrategyProvider.downgradeToPartialFlatDbMode(composedWorldStateStorage);
+    flatStateCache.ifPresent(BonsaiFlatStateCache::clear);
   }
 
   @Override
@@ -176,6 +243,13 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
     super.clear();
     flatDbStrategyProvider.loadFlatDbStrategy(
         composedWorldStateStorage); // force reload of flat db reader strategy
+    flatStateCache.ifPresent(BonsaiFlatStateCache::clear);
+  }
+
+  @Override
+  public void clearFlatDatabase() {
+    super.clearFlatDatabase();
+    flatStateCache.ifPresent(BonsaiFlatStateCache::clear);
   }
 
   @Override
@@ -190,7 +264,8 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
         composedWorldStateStorage.startTransaction(),
         trieLogStorage.startTransaction(),
         getFlatDbStrategy(),
-        composedWorldStateStorage);
+        composedWorldStateStorage,
+        isFlatStateCacheEnabled() ? flatStateCache : Optional.empty());
   }
 
   public static class Updater implements PathBasedWorldStateKeyValueStorage.Updater {
@@ -199,12 +274,29 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
     private final KeyValueStorageTransaction trieLogStorageTransaction;
     private final FlatDbStrategy flatDbStrategy;
     private final SegmentedKeyValueStorage worldStorage;
+    private final Optional<BonsaiFlatStateCache> flatStateCache;
+    private final Map<Bytes, Bytes> flatAccountUpdates = new ConcurrentHashMap<>();
+    private final Map<Bytes, Bytes> flatStorageUpdates = new ConcurrentHashMap<>();
 
     public Updater(
         final SegmentedKeyValueStorageTransaction composedWorldStateTransaction,
         final KeyValueStorageTransaction trieLogStorageTransaction,
         final FlatDbStrategy flatDbStrategy,
         final SegmentedKeyValueStorage worldStorage) {
+      this(
+          composedWorldStateTransaction,
+          trieLogStorageTransaction,
+          flatDbStrategy,
+          worldStorage,
+          Optional.empty());
+    }
+
+    public Updater(
+        final SegmentedKeyValueStorageTransaction composedWorldStateTransaction,
+        final KeyValueStorageTransaction trieLogStorageTransaction,
+        final FlatDbStrategy flatDbStrategy,
+        final SegmentedKeyValueStorage worldStorage,
+        final Optional<BonsaiFlatStateCache> flatStateCache) {
 
       this.composedWorldStateTransaction = composedWorldStateTransaction;
       this.trieLogStorageTransaction = trieLogStorageTransaction;
@@ -212,6 +304,7 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
       this.worldStorage =
           worldStorage; // An update could need to read from world storage to decide how to PUT to
       // it (i.e. Bonsai archive)
+      this.flatStateCache = flatStateCache;
     }
 
     public Updater removeCode(final Hash accountHash, final Hash codeHash) {
@@ -238,6 +331,9 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
 
     public Updater removeAccountInfoState(final Hash accountHash) {
       flatDbStrategy.removeFlatAccount(worldStorage, composedWorldStateTransaction, accountHash);
+      if (flatStateCache.isPresent()) {
+        flatAccountUpdates.put(accountHash.getBytes(), Bytes.EMPTY);
+      }
       return this;
     }
 
@@ -248,6 +344,9 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
       }
       flatDbStrategy.putFlatAccount(
           worldStorage, composedWorldStateTransaction, accountHash, accountValue);
+      if (flatStateCache.isPresent()) {
+        flatAccountUpdates.put(accountHash.getBytes(), accountValue);
+      }
       return this;
     }
 
@@ -295,6 +394,10 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
         final Hash accountHash, final Hash slotHash, final Bytes storageValue) {
       flatDbStrategy.putFlatAccountStorageValueByStorageSlotHash(
           worldStorage, composedWorldStateTransaction, accountHash, slotHash, storageValue);
+      if (flatStateCache.isPresent()) {
+        flatStorageUpdates.put(
+            BonsaiFlatStateCache.storageKey(accountHash, slotHash), storageValue);
+      }
       return this;
     }
 
@@ -302,6 +405,10 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
         final Hash accountHash, final Hash slotHash) {
       flatDbStrategy.removeFlatAccountStorageValueByStorageSlotHash(
           worldStorage, composedWorldStateTransaction, accountHash, slotHash);
+      if (flatStateCache.isPresent()) {
+        flatStorageUpdates.put(
+            BonsaiFlatStateCache.storageKey(accountHash, slotHash), Bytes.EMPTY);
+      }
     }
 
     @Override
@@ -319,24 +426,38 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
       // write the log ahead, then the worldstate
       trieLogStorageTransaction.commit();
       composedWorldStateTransaction.commit();
+      publishFlatStateUpdates();
     }
 
     @Override
     public void commitTrieLogOnly() {
       trieLogStorageTransaction.commit();
       composedWorldStateTransaction.close();
+      discardFlatStateUpdates();
     }
 
     @Override
     public void commitComposedOnly() {
       composedWorldStateTransaction.commit();
       trieLogStorageTransaction.close();
+      publishFlatStateUpdates();
     }
 
     @Override
     public void rollback() {
       composedWorldStateTransaction.rollback();
       trieLogStorageTransaction.rollback();
+      discardFlatStateUpdates();
+    }
+
+    private void publishFlatStateUpdates() {
+      flatStateCache.ifPresent(cache -> cache.update(flatAccountUpdates, flatStorageUpdates));
+      discardFlatStateUpdates();
+    }
+
+    private void discardFlatStateUpdates() {
+      flatAccountUpdates.clear();
+      flatStorageUpdates.clear();
     }
   }
 }
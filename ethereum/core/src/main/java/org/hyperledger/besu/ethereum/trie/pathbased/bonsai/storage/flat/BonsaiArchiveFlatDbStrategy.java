@@ -33,6 +33,8 @@ import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -272,6 +274,17 @@ public class BonsaiArchiveFlatDbStrategy extends BonsaiFullFlatDbStrategy {
                             .trimLeadingZeros())));
   }
 
+  /*
+   * Does not prefetch anything, since archive entries are suffixed with the block number and
+   * resolved with a seek, which a batched point lookup cannot warm up.
+   */
+  @Override
+  public void prefetchFlatAccountsAndStorage(
+      final Map<Hash, ? extends Collection<StorageSlotKey>> storageSlotKeysByAccountHash,
+      final SegmentedKeyValueStorage storage) {
+    // NOOP
+  }
+
   /*
    * Puts the account data for the given account hash and block context.
    */
@@ -27,6 +27,10 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -69,6 +73,35 @@ public abstract class BonsaiFlatDbStrategy extends FlatDbStrategy {
       StorageSlotKey storageSlotKey,
       SegmentedKeyValueStorage storageStorage);
 
+  /*
+   * Warms up the storage caches with the flat entries of the given accounts and storage slots,
+   * read with two batched lookups, so that the transactions of a block later find them in cache
+   * when they look them up one at a time. This is only a cache warm-up: the values read are
+   * discarded and nothing is returned.
+   */
+  public void prefetchFlatAccountsAndStorage(
+      final Map<Hash, ? extends Collection<StorageSlotKey>> storageSlotKeysByAccountHash,
+      final SegmentedKeyValueStorage storage) {
+    if (storageSlotKeysByAccountHash.isEmpty()) {
+      return;
+    }
+    final List<byte[]> accountKeys = new ArrayList<>(storageSlotKeysByAccountHash.size());
+    final List<byte[]> storageKeys = new ArrayList<>();
+    storageSlotKeysByAccountHash.forEach(
+        (accountHash, storageSlotKeys) -> {
+          accountKeys.add(accountHash.getBytes().toArrayUnsafe());
+          for (final StorageSlotKey storageSlotKey : storageSlotKeys) {
+            storageKeys.add(
+                Bytes.concatenate(accountHash.getBytes(), storageSlotKey.getSlotHash().getBytes())
+                    .toArrayUnsafe());
+          }
+        });
+    storage.multiGet(ACCOUNT_INFO_STATE, accountKeys);
+    if (!storageKeys.isEmpty()) {
+      storage.multiGet(ACCOUNT_STORAGE_STORAGE, storageKeys);
+    }
+  }
+
   @Override
   public void putFlatAccount(
       final SegmentedKeyValueStorage storage,
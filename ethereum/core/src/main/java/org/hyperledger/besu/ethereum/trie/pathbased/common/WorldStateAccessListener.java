@@ -0,0 +1,46 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.common;
+
+/**
+ * Listens to the flat state reads and the persistence of a path-based world state, for instance to
+ * profile block imports. The callbacks are made on the thread accessing the world state, on hot
+ * paths, so implementations must be cheap and thread-safe.
+ */
+public interface WorldStateAccessListener {
+
+  /** A listener ignoring every access. */
+  WorldStateAccessListener NOOP = new WorldStateAccessListener() {};
+
+  /** Called on every read of the flat state, whether it is served by a cache or by the database. */
+  default void onFlatStateRead() {}
+
+  /** Called on every read of the flat state served by the database. */
+  default void onFlatStateDatabaseRead() {}
+
+  /**
+   * Called once the trie log of a persisted block is written.
+   *
+   * @param durationNanos the time taken to write the trie log
+   */
+  default void onTrieLogPersisted(final long durationNanos) {}
+
+  /**
+   * Called once the changes of a persisted world state are committed to the database.
+   *
+   * @param durationNanos the time taken by the commit
+   */
+  default void onWorldStateCommitted(final long durationNanos) {}
+}
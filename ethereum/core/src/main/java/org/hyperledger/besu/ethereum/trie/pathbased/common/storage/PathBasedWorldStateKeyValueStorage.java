@@ -28,6 +28,7 @@ import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.flat.BonsaiArchiveFlatDbStrategy;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.BonsaiContext;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.StorageSubscriber;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.WorldStateAccessListener;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.flat.FlatDbStrategy;
 import org.hyperledger.besu.ethereum.worldstate.FlatDbMode;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateKeyValueStorage;
@@ -79,6 +80,7 @@ public abstract class PathBasedWorldStateKeyValueStorage
   protected final Subscribers<StorageSubscriber> subscribers = Subscribers.create();
   protected final SegmentedKeyValueStorage composedWorldStateStorage;
   protected final KeyValueStorage trieLogStorage;
+  private volatile WorldStateAccessListener accessListener = WorldStateAccessListener.NOOP;
 
   public PathBasedWorldStateKeyValueStorage(final StorageProvider provider) {
     this.composedWorldStateStorage =
@@ -416,6 +418,25 @@ public abstract class PathBasedWorldStateKeyValueStorage
     tryClose();
   }
 
+  /**
+   * Returns the listener notified of the reads and the persistence of the world state.
+   *
+   * @return the access listener, a no-op one by default
+   */
+  public WorldStateAccessListener getAccessListener() {
+    return accessListener;
+  }
+
+  /**
+   * Sets the listener notified of the reads and the persistence of the world state, snapshots and
+   * layers of this storage report to the same listener.
+   *
+   * @param accessListener the access listener
+   */
+  public void setAccessListener(final WorldStateAccessListener accessListener) {
+    this.accessListener = accessListener;
+  }
+
   public synchronized long subscribe(final StorageSubscriber sub) {
     if (isClosed.get()) {
       throw new RuntimeException("Storage is marked to close or has already closed");
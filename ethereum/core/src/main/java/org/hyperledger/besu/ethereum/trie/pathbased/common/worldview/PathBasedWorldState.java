@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.mainnet.staterootcommitter.StateRootCommitter;
 import org.hyperledger.besu.ethereum.trie.common.StateRootMismatchException;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.StorageSubscriber;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.WorldStateAccessListener;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.cache.PathBasedCachedWorldStorageManager;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBasedLayeredWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBasedSnapshotWorldStateKeyValueStorage;
@@ -267,9 +268,15 @@ public abstract class PathBasedWorldState
     } finally {
       if (success) {
         // commit the trielog transaction ahead of the state, in case of an abnormal shutdown:
+        final long trieLogStart = System.nanoTime();
         saveTrieLog.run();
         // commit only the composed worldstate, as trielog transaction is already complete:
+        final long commitStart = System.nanoTime();
         stateUpdater.commitComposedOnly();
+        final WorldStateAccessListener accessListener =
+            worldStateKeyValueStorage.getAccessListener();
+        accessListener.onTrieLogPersisted(commitStart - trieLogStart);
+        accessListener.onWorldStateCommitted(System.nanoTime() - commitStart);
         if (!isStorageFrozen) {
           // optionally save the committed worldstate state in the cache
           cacheWorldState.run();
@@ -87,6 +87,9 @@ public interface PathBasedExtraStorageConfiguration {
 
     boolean DEFAULT_FULL_FLAT_DB_ENABLED = true;
     boolean DEFAULT_CODE_USING_CODE_HASH_ENABLED = true;
+    long DEFAULT_ACCOUNT_TRIE_NODE_CACHE_SIZE = 64L * 1024 * 1024;
+    long DEFAULT_STORAGE_TRIE_NODE_CACHE_SIZE = 128L * 1024 * 1024;
+    long DEFAULT_FLAT_STATE_CACHE_SIZE = 0L;
 
     @Value.Default
     default boolean getFullFlatDbEnabled() {
@@ -97,5 +100,20 @@ public interface PathBasedExtraStorageConfiguration {
     default boolean getCodeStoredByCodeHashEnabled() {
       return DEFAULT_CODE_USING_CODE_HASH_ENABLED;
     }
+
+    @Value.Default
+    default long getAccountTrieNodeCacheSize() {
+      return DEFAULT_ACCOUNT_TRIE_NODE_CACHE_SIZE;
+    }
+
+    @Value.Default
+    default long getStorageTrieNodeCacheSize() {
+      return DEFAULT_STORAGE_TRIE_NODE_CACHE_SIZE;
+    }
+
+    @Value.Default
+    default long getFlatStateCacheSize() {
+      return DEFAULT_FLAT_STATE_CACHE_SIZE;
+    }
   }
 }
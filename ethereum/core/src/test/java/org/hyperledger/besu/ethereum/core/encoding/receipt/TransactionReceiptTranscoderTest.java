@@ -0,0 +1,112 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core.encoding.receipt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class TransactionReceiptTranscoderTest {
+
+  private static final List<Log> LOGS =
+      List.of(
+          new Log(
+              Address.fromHexString("0x03"),
+              Bytes.fromHexString("0x" + "00".repeat(31) + "04"),
+              List.of(
+                  LogTopic.fromHexString("0x05"), LogTopic.fromHexString("0x" + "ff".repeat(32)))),
+          new Log(Address.fromHexString("0x06"), Bytes.EMPTY, List.of()));
+
+  private static final List<TransactionReceipt> RECEIPTS =
+      List.of(
+          new TransactionReceipt(Hash.fromHexStringLenient("0x01"), 21_000, LOGS, Optional.empty()),
+          new TransactionReceipt(1, 42_000, List.of(), Optional.empty()),
+          new TransactionReceipt(
+              TransactionType.EIP1559, 0, 63_000, LOGS, Optional.of(Bytes.fromHexString("0x07"))),
+          new TransactionReceipt(TransactionType.BLOB, 1, 84_000, LOGS, Optional.empty()));
+
+  static Stream<Arguments> encodings() {
+    final List<TransactionReceiptEncodingConfiguration> sources =
+        List.of(
+            TransactionReceiptEncodingConfiguration.STORAGE_WITH_COMPACTION,
+            TransactionReceiptEncodingConfiguration.STORAGE_WITHOUT_COMPACTION,
+            TransactionReceiptEncodingConfiguration.DEFAULT_NETWORK_CONFIGURATION,
+            TransactionReceiptEncodingConfiguration.ETH69_RECEIPT_CONFIGURATION);
+    final List<TransactionReceiptEncodingConfiguration> targets =
+        List.of(
+            TransactionReceiptEncodingConfiguration.DEFAULT_NETWORK_CONFIGURATION,
+            TransactionReceiptEncodingConfiguration.ETH69_RECEIPT_CONFIGURATION);
+    return sources.stream()
+        .flatMap(source -> targets.stream().map(target -> Arguments.of(source, target)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("encodings")
+  public void shouldTranscodeLikeTheEncoder(
+      final TransactionReceiptEncodingConfiguration source,
+      final TransactionReceiptEncodingConfiguration target) {
+    assertThat(TransactionReceiptTranscoder.transcode(encode(RECEIPTS, source), target))
+        .isEqualTo(encode(RECEIPTS, target));
+  }
+
+  @ParameterizedTest
+  @MethodSource("encodings")
+  public void shouldTranscodeEmptyReceipts(
+      final TransactionReceiptEncodingConfiguration source,
+      final TransactionReceiptEncodingConfiguration target) {
+    assertThat(TransactionReceiptTranscoder.transcode(encode(List.of(), source), target))
+        .isEqualTo(encode(List.of(), target));
+  }
+
+  @Test
+  public void shouldRejectStorageEncodings() {
+    final Bytes receipts =
+        encode(RECEIPTS, TransactionReceiptEncodingConfiguration.STORAGE_WITH_COMPACTION);
+
+    assertThatThrownBy(
+            () ->
+                TransactionReceiptTranscoder.transcode(
+                    receipts, TransactionReceiptEncodingConfiguration.STORAGE_WITHOUT_COMPACTION))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Bytes encode(
+      final List<TransactionReceipt> receipts,
+      final TransactionReceiptEncodingConfiguration options) {
+    return RLP.encode(
+        out ->
+            out.writeList(
+                receipts,
+                (receipt, receiptOut) ->
+                    TransactionReceiptEncoder.writeTo(receipt, receiptOut, options)));
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.mainnet.BlockImportProfiler.Phase;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class BlockImportProfilerTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final BlockImportProfiler profiler = new BlockImportProfiler(new NoOpMetricsSystem(), 2);
+
+  @Test
+  public void recordsPhasesOfNestedRecordingsOnce() {
+    final Block block = gen.block();
+
+    try (final BlockImportProfiler.Recording outer = profiler.startRecording(block)) {
+      try (final BlockImportProfiler.Recording inner = profiler.startRecording(block)) {
+        BlockImportProfiler.recordPhase(
+            Phase.EXECUTION, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5));
+        inner.setSuccessful(false);
+      }
+      assertThat(profiler.getSlowestBlocks()).isEmpty();
+      BlockImportProfiler.recordPhase(
+          Phase.CHAIN_APPEND, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(1));
+      outer.setSuccessful(true);
+    }
+
+    assertThat(profiler.getSlowestBlocks()).hasSize(1);
+    final BlockImportProfile profile = profiler.getSlowestBlocks().get(0);
+    assertThat(profile.blockHash()).isEqualTo(block.getHash());
+    assertThat(profile.successful()).isTrue();
+    assertThat(profile.phaseNanos().get(Phase.EXECUTION))
+        .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+    assertThat(profile.phaseNanos().get(Phase.CHAIN_APPEND))
+        .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(1));
+    assertThat(profile.phaseNanos().get(Phase.STATE_ROOT)).isZero();
+  }
+
+  @Test
+  public void phasesAreIgnoredWhenNoBlockIsProfiled() {
+    BlockImportProfiler.recordPhase(Phase.EXECUTION, System.nanoTime());
+
+    try (final BlockImportProfiler.Recording recording = profiler.startRecording(gen.block())) {
+      recording.setSuccessful(true);
+    }
+
+    assertThat(profiler.getSlowestBlocks().get(0).phaseNanos().get(Phase.EXECUTION)).isZero();
+  }
+
+  @Test
+  public void countsWorldStateAccessesOnlyOnTheImportingThread() throws InterruptedException {
+    profiler.onFlatStateRead();
+
+    try (final BlockImportProfiler.Recording recording = profiler.startRecording(gen.block())) {
+      profiler.onFlatStateRead();
+      profiler.onFlatStateRead();
+      profiler.onFlatStateDatabaseRead();
+      final Thread rpcThread =
+          new Thread(
+              () -> {
+                profiler.onFlatStateRead();
+                profiler.onFlatStateDatabaseRead();
+                profiler.onWorldStateCommitted(TimeUnit.SECONDS.toNanos(1));
+              });
+      rpcThread.start();
+      rpcThread.join();
+      profiler.onTrieLogPersisted(TimeUnit.MILLISECONDS.toNanos(2));
+      recording.setSuccessful(true);
+    }
+
+    final BlockImportProfile profile = profiler.getSlowestBlocks().get(0);
+    assertThat(profile.stateCacheReads()).isEqualTo(1);
+    assertThat(profile.stateDatabaseReads()).isEqualTo(1);
+    assertThat(profile.phaseNanos().get(Phase.TRIE_LOG))
+        .isEqualTo(TimeUnit.MILLISECONDS.toNanos(2));
+    assertThat(profile.phaseNanos().get(Phase.DB_COMMIT)).isZero();
+  }
+
+  @Test
+  public void keepsOnlyTheSlowestBlocks() {
+    profiler.record(profile(1, 30));
+    profiler.record(profile(2, 10));
+    profiler.record(profile(3, 20));
+    profiler.record(profile(4, 5));
+
+    assertThat(profiler.getSlowestBlocks())
+        .extracting(BlockImportProfile::blockNumber)
+        .containsExactly(1L, 3L);
+  }
+
+  @Test
+  public void reportsGasPerSecondAndTimeOutsideOfPhases() {
+    final Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+    phases.put(Phase.EXECUTION, TimeUnit.MILLISECONDS.toNanos(300));
+    final BlockImportProfile profile =
+        new BlockImportProfile(
+            1, Hash.ZERO, 1, 30_000_000, true, TimeUnit.MILLISECONDS.toNanos(500), phases, 0, 0);
+
+    assertThat(profile.gasPerSecond()).isEqualTo(60_000_000d);
+    assertThat(profile.otherNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+  }
+
+  private static BlockImportProfile profile(final long number, final long totalMillis) {
+    final Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+    for (final Phase phase : Phase.values()) {
+      phases.put(phase, 0L);
+    }
+    return new BlockImportProfile(
+        number,
+        Hash.ZERO,
+        0,
+        0,
+        true,
+        TimeUnit.MILLISECONDS.toNanos(totalMillis),
+        phases,
+        0,
+        0);
+  }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.config.GenesisConfig;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SECPPrivateKey;
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.BlockProcessingResult;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.AbstractBlockProcessor.PreprocessingFunction;
+import org.hyperledger.besu.ethereum.mainnet.BalConfiguration;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockProcessor;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+/**
+ * Processes the same blocks sequentially and with the Block-STM processor, each one on its own
+ * Bonsai state, and checks that both lead to the same receipts and state root.
+ */
+@SuppressWarnings("rawtypes")
+class BlockStmTransactionProcessorTest {
+
+  private static final String GENESIS_RESOURCE =
+      "/org/hyperledger/besu/ethereum/mainnet/genesis-bp-it.json";
+
+  private static final Address GENESIS_2 =
+      Address.fromHexString("0x7f2d653f56ea8de6ffa554c7a0cd4e03af79f3eb");
+  private static final Address CONTRACT =
+      Address.fromHexString("0x00000000000000000000000000000000000fffff");
+
+  private static final KeyPair GENESIS_1_KEYPAIR =
+      generateKeyPair("c87509a1c067bbde78beb793e6fa76530b6382a4c0241e5e4a9ec0a0f44dc0d3");
+  private static final KeyPair GENESIS_2_KEYPAIR =
+      generateKeyPair("fc5141e75bf622179f8eedada7fab3e2e6b3e3da8eb9df4f46d84df22df7430e");
+
+  private static final Wei COINBASE_REWARD = Wei.of(2_000_000_000_000_000L);
+  private static final long ONE_ETHER = 1_000_000_000_000_000_000L;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void nonConflictingTransfersAreAllAppliedFromTheirParallelExecution() {
+    final Block block =
+        createBlock(
+            "0x1473bc3018da0e0e036ab6a11652a75753f8c06d6d63740fc89af2bc0b4d923b",
+            transfer(0, ONE_ETHER, Address.fromHexString("0x02"), GENESIS_1_KEYPAIR),
+            transfer(0, 2 * ONE_ETHER, Address.fromHexString("0x03"), GENESIS_2_KEYPAIR));
+
+    final Outcome blockStm = processWithBlockStm(block);
+
+    assertSameOutcome(blockStm, processSequentially(block));
+    assertThat(blockStm.parallelResults()).isEqualTo(2);
+  }
+
+  @Test
+  void transfersFromTheSameSender() {
+    final Block block =
+        createBlock(
+            "0x06e86985eac65057e565f9ab44b825c4560dd1af50856a7ee3a5043fef039187",
+            transfer(0, ONE_ETHER, Address.fromHexString("0x04"), GENESIS_1_KEYPAIR),
+            transfer(1, 2 * ONE_ETHER, Address.fromHexString("0x05"), GENESIS_1_KEYPAIR),
+            transfer(2, 3 * ONE_ETHER, Address.fromHexString("0x06"), GENESIS_1_KEYPAIR));
+
+    assertSameOutcome(processWithBlockStm(block), processSequentially(block));
+  }
+
+  @Test
+  void transferToTheSenderOfALaterTransaction() {
+    final Block block =
+        createBlock(
+            "0xf2f6f0958f608eae7ed6b9b63a6711a8d37c7a9bf1efa45b9dff998fd40f4bd9",
+            transfer(0, ONE_ETHER, GENESIS_2, GENESIS_1_KEYPAIR),
+            transfer(0, 2 * ONE_ETHER, Address.fromHexString("0x02"), GENESIS_2_KEYPAIR));
+
+    assertSameOutcome(processWithBlockStm(block), processSequentially(block));
+  }
+
+  @Test
+  void storageSlotUpdatedThenRead() {
+    final Block block =
+        createBlock(
+            "0x9e6593d2efd9e4c44345322bf7827e24e1eeb358ff56c243bb68298f26c4bc15",
+            contractCall(0, "setSlot1", Optional.of(100), GENESIS_1_KEYPAIR),
+            contractCall(0, "getSlot1", Optional.empty(), GENESIS_2_KEYPAIR),
+            contractCall(1, "setSlot2", Optional.of(200), GENESIS_1_KEYPAIR),
+            contractCall(2, "setSlot3", Optional.of(300), GENESIS_1_KEYPAIR));
+
+    assertSameOutcome(processWithBlockStm(block), processSequentially(block));
+  }
+
+  private static void assertSameOutcome(final Outcome blockStm, final Outcome sequential) {
+    assertThat(sequential.result().isSuccessful()).isTrue();
+    assertThat(blockStm.result().isSuccessful()).isTrue();
+    assertThat(blockStm.result().getReceipts()).isEqualTo(sequential.result().getReceipts());
+    assertThat(blockStm.stateRoot()).isEqualTo(sequential.stateRoot());
+  }
+
+  private Outcome processSequentially(final Block block) {
+    final ExecutionContextTestFixture fixture = createFixture();
+    final ProtocolSpec protocolSpec = protocolSpec(fixture);
+    final MainnetBlockProcessor blockProcessor =
+        new MainnetBlockProcessor(
+            protocolSpec.getTransactionProcessor(),
+            protocolSpec.getTransactionReceiptFactory(),
+            COINBASE_REWARD,
+            BlockHeader::getCoinbase,
+            false,
+            fixture.getProtocolSchedule(),
+            BalConfiguration.DEFAULT);
+    final MutableWorldState worldState = fixture.getStateArchive().getWorldState();
+    final BlockProcessingResult result =
+        blockProcessor.processBlock(
+            fixture.getProtocolContext(), fixture.getBlockchain(), worldState, block);
+    return new Outcome(result, worldState.rootHash(), 0);
+  }
+
+  private Outcome processWithBlockStm(final Block block) {
+    final ExecutionContextTestFixture fixture = createFixture();
+    final ProtocolSpec protocolSpec = protocolSpec(fixture);
+    final MainnetTransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
+    final MainnetParallelBlockProcessor blockProcessor =
+        new MainnetParallelBlockProcessor(
+            transactionProcessor,
+            protocolSpec.getTransactionReceiptFactory(),
+            COINBASE_REWARD,
+            BlockHeader::getCoinbase,
+            false,
+            fixture.getProtocolSchedule(),
+            BalConfiguration.DEFAULT,
+            new NoOpMetricsSystem());
+
+    // counts the transactions applied from their parallel execution instead of being replayed
+    final AtomicInteger parallelResults = new AtomicInteger();
+    final BlockStmTransactionProcessor blockStmProcessor =
+        new BlockStmTransactionProcessor(transactionProcessor, Optional.empty()) {
+          @Override
+          public Optional<TransactionProcessingResult> getProcessingResult(
+              final MutableWorldState worldState,
+              final Address miningBeneficiary,
+              final Transaction transaction,
+              final int transactionLocation,
+              final Optional<Counter> confirmedParallelizedTransactionCounter,
+              final Optional<Counter> conflictingButCachedTransactionCounter) {
+            final Optional<TransactionProcessingResult> result =
+                super.getProcessingResult(
+                    worldState,
+                    miningBeneficiary,
+                    transaction,
+                    transactionLocation,
+                    confirmedParallelizedTransactionCounter,
+                    conflictingButCachedTransactionCounter);
+            result.ifPresent(applied -> parallelResults.incrementAndGet());
+            return result;
+          }
+        };
+    final PreprocessingFunction blockStmPreprocessing =
+        (protocolContext,
+            blockHeader,
+            transactions,
+            miningBeneficiary,
+            blockHashLookup,
+            blobGasPrice,
+            blockAccessListBuilder,
+            maybeBlockBal) -> {
+          blockStmProcessor.runAsyncBlock(
+              protocolContext,
+              blockHeader,
+              transactions,
+              miningBeneficiary,
+              blockHashLookup,
+              blobGasPrice,
+              executor,
+              blockAccessListBuilder);
+          return Optional.of(new PreprocessingContext(blockStmProcessor));
+        };
+
+    final MutableWorldState worldState = fixture.getStateArchive().getWorldState();
+    final BlockProcessingResult result =
+        blockProcessor.processBlock(
+            fixture.getProtocolContext(),
+            fixture.getBlockchain(),
+            worldState,
+            block,
+            blockStmPreprocessing);
+    return new Outcome(result, worldState.rootHash(), parallelResults.get());
+  }
+
+  private static ExecutionContextTestFixture createFixture() {
+    return ExecutionContextTestFixture.builder(GenesisConfig.fromResource(GENESIS_RESOURCE))
+        .dataStorageFormat(DataStorageFormat.BONSAI)
+        .build();
+  }
+
+  private static ProtocolSpec protocolSpec(final ExecutionContextTestFixture fixture) {
+    final ProtocolSchedule protocolSchedule = fixture.getProtocolSchedule();
+    return protocolSchedule.getByBlockHeader(new BlockHeaderTestFixture().number(0L).buildHeader());
+  }
+
+  private static Block createBlock(final String stateRoot, final Transaction... transactions) {
+    // every fixture starts from the same genesis block
+    final BlockHeader parentHeader = createFixture().getGenesis().getHeader();
+    final BlockHeader blockHeader =
+        new BlockHeaderTestFixture()
+            .number(parentHeader.getNumber() + 1L)
+            .parentHash(parentHeader.getHash())
+            .stateRoot(Hash.fromHexString(stateRoot))
+            .gasLimit(30_000_000L)
+            .baseFeePerGas(Wei.of(5))
+            .buildHeader();
+    return new Block(
+        blockHeader,
+        new BlockBody(Arrays.asList(transactions), Collections.emptyList(), Optional.empty()));
+  }
+
+  private static Transaction transfer(
+      final long nonce, final long value, final Address to, final KeyPair keyPair) {
+    return Transaction.builder()
+        .type(TransactionType.EIP1559)
+        .nonce(nonce)
+        .maxPriorityFeePerGas(Wei.of(5))
+        .maxFeePerGas(Wei.of(7))
+        .gasLimit(300_000L)
+        .to(to)
+        .value(Wei.of(value))
+        .payload(Bytes.EMPTY)
+        .chainId(BigInteger.valueOf(42))
+        .signAndBuild(keyPair);
+  }
+
+  private static Transaction contractCall(
+      final long nonce,
+      final String methodSignature,
+      final Optional<Integer> value,
+      final KeyPair keyPair) {
+    final List<Type> inputParameters =
+        value.isPresent() ? List.<Type>of(new Uint256(value.get())) : List.of();
+    final Function function = new Function(methodSignature, inputParameters, List.of());
+    return Transaction.builder()
+        .type(TransactionType.EIP1559)
+        .nonce(nonce)
+        .maxPriorityFeePerGas(Wei.of(5))
+        .maxFeePerGas(Wei.of(7))
+        .gasLimit(3_000_000L)
+        .to(CONTRACT)
+        .value(Wei.ZERO)
+        .payload(Bytes.fromHexString(FunctionEncoder.encode(function)))
+        .chainId(BigInteger.valueOf(42))
+        .signAndBuild(keyPair);
+  }
+
+  private static KeyPair generateKeyPair(final String privateKeyHex) {
+    return SignatureAlgorithmFactory.getInstance()
+        .createKeyPair(
+            SECPPrivateKey.create(
+                Bytes32.fromHexString(privateKeyHex), SignatureAlgorithm.ALGORITHM));
+  }
+
+  private record Outcome(BlockProcessingResult result, Hash stateRoot, int parallelResults) {}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMap.VersionedValue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MultiVersionMapTest {
+
+  private MultiVersionMap<String, Integer> versions;
+
+  @BeforeEach
+  void setUp() {
+    versions = new MultiVersionMap<>();
+  }
+
+  @Test
+  void readBeforeReturnsClosestPrecedingWrite() {
+    versions.write("key", 1, 0, 10);
+    versions.write("key", 4, 0, 40);
+
+    assertThat(versions.readBefore("key", 0)).isEmpty();
+    assertThat(versions.readBefore("key", 1)).isEmpty();
+    assertThat(versions.readBefore("key", 2)).contains(new VersionedValue<>(1, 0, 10));
+    assertThat(versions.readBefore("key", 4)).contains(new VersionedValue<>(1, 0, 10));
+    assertThat(versions.readBefore("key", 5)).contains(new VersionedValue<>(4, 0, 40));
+    assertThat(versions.readBefore("other", 5)).isEmpty();
+  }
+
+  @Test
+  void newIncarnationReplacesPreviousWrite() {
+    versions.write("key", 1, 0, 10);
+    versions.write("key", 1, 1, 11);
+
+    assertThat(versions.readBefore("key", 2)).contains(new VersionedValue<>(1, 1, 11));
+  }
+
+  @Test
+  void removedWriteExposesPrecedingVersion() {
+    versions.write("key", 1, 0, 10);
+    versions.write("key", 3, 0, 30);
+    versions.remove("key", 3);
+
+    assertThat(versions.readBefore("key", 5)).contains(new VersionedValue<>(1, 0, 10));
+  }
+
+  @Test
+  void baseReadIsValidOnlyWhileNoPrecedingWriteExists() {
+    final VersionedValue<Integer> observed = VersionedValue.base(0);
+    assertThat(versions.isLatestBefore("key", 2, observed)).isTrue();
+
+    versions.write("key", 3, 0, 30);
+    assertThat(versions.isLatestBefore("key", 2, observed)).isTrue();
+
+    versions.write("key", 1, 0, 10);
+    assertThat(versions.isLatestBefore("key", 2, observed)).isFalse();
+  }
+
+  @Test
+  void readIsInvalidatedByNewIncarnationOfWriter() {
+    versions.write("key", 1, 0, 10);
+    final VersionedValue<Integer> observed = versions.readBefore("key", 2).orElseThrow();
+    assertThat(versions.isLatestBefore("key", 2, observed)).isTrue();
+
+    versions.write("key", 1, 1, 12);
+    assertThat(versions.isLatestBefore("key", 2, observed)).isFalse();
+  }
+}
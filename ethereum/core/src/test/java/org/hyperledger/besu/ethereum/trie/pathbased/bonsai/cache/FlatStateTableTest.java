@@ -0,0 +1,71 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class FlatStateTableTest {
+
+  @Test
+  void shouldReturnValueAfterItIsPut() {
+    final FlatStateTable table = new FlatStateTable(1024 * 1024, 32, 16);
+    final Bytes key = Hash.hash(Bytes.of(1)).getBytes();
+
+    table.put(key, Bytes.of(1, 2, 3));
+    assertThat(table.get(key)).isEqualTo(Bytes.of(1, 2, 3));
+    table.put(key, Bytes.EMPTY);
+    assertThat(table.get(key)).isEqualTo(Bytes.EMPTY);
+    assertThat(table.get(Hash.hash(Bytes.of(2)).getBytes())).isNull();
+
+    assertThat(table.size()).isEqualTo(1);
+    assertThat(table.hitCount()).isEqualTo(2);
+    assertThat(table.missCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldDropValuesTooLargeToBeCached() {
+    final FlatStateTable table = new FlatStateTable(1024 * 1024, 32, 4);
+    final Bytes key = Hash.hash(Bytes.of(1)).getBytes();
+
+    table.put(key, Bytes.of(1));
+    table.put(key, Bytes.of(1, 2, 3, 4, 5));
+
+    assertThat(table.get(key)).isNull();
+    assertThat(table.size()).isZero();
+  }
+
+  @Test
+  void shouldEvictWhenFull() {
+    // the smallest table has a single set per segment
+    final FlatStateTable table = new FlatStateTable(0, 32, 1);
+    final long capacity = table.capacity();
+
+    for (int i = 0; i < 10 * capacity; i++) {
+      table.put(Hash.hash(Bytes.ofUnsignedInt(i)).getBytes(), Bytes.of((byte) i));
+    }
+
+    assertThat(table.size()).isLessThanOrEqualTo(capacity);
+    assertThat(table.evictionCount()).isPositive();
+
+    table.clear();
+    assertThat(table.size()).isZero();
+    assertThat(table.get(Hash.hash(Bytes.ofUnsignedInt(0)).getBytes())).isNull();
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+class TrieNodeCacheTest {
+
+  @Test
+  void shouldReturnNodeAfterItIsPut() {
+    final TrieNodeCache cache = new TrieNodeCache(1024 * 1024, 4);
+    final Bytes node = Bytes.of(1, 2, 3, 4);
+    final Bytes32 nodeHash = hash(node);
+
+    cache.put(nodeHash, node);
+
+    assertThat(cache.getIfPresent(nodeHash)).isEqualTo(node);
+    assertThat(cache.getIfPresent(hash(Bytes.of(5)))).isNull();
+    assertThat(cache.hitCount()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldStayWithinMemoryBound() {
+    final long maxBytes = 64 * 1024;
+    final TrieNodeCache cache = new TrieNodeCache(maxBytes, 4);
+
+    for (int i = 0; i < 1000; i++) {
+      final byte[] body = new byte[512];
+      body[0] = (byte) (i >> 8);
+      body[1] = (byte) i;
+      final Bytes node = Bytes.wrap(body);
+      cache.put(hash(node), node);
+    }
+
+    // eviction runs asynchronously on the cache maintenance executor
+    await()
+        .untilAsserted(
+            () -> {
+              assertThat(cache.weightedSize()).isLessThanOrEqualTo(maxBytes);
+              assertThat(cache.evictionCount()).isPositive();
+            });
+    assertThat(cache.estimatedSize()).isLessThan(1000);
+  }
+
+  private static Bytes32 hash(final Bytes node) {
+    return Bytes32.wrap(Hash.hash(node).getBytes());
+  }
+}
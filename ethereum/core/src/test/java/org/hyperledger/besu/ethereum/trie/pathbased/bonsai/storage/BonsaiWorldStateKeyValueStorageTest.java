@@ -989,6 +989,26 @@ public class BonsaiWorldStateKeyValueStorageTest {
             .build());
   }
 
+  private BonsaiWorldStateKeyValueStorage emptyStorageWithFlatStateCache() {
+    // the cache is only created for the world state storage of the storage provider
+    return (BonsaiWorldStateKeyValueStorage)
+        new InMemoryKeyValueStorageProvider().createWorldStateStorage(flatStateCacheConfig());
+  }
+
+  private static DataStorageConfiguration flatStateCacheConfig() {
+    return ImmutableDataStorageConfiguration.builder()
+        .dataStorageFormat(DataStorageFormat.BONSAI)
+        .pathBasedExtraStorageConfiguration(
+            ImmutablePathBasedExtraStorageConfiguration.builder()
+                .maxLayersToLoad(DEFAULT_MAX_LAYERS_TO_LOAD)
+                .unstable(
+                    ImmutablePathBasedExtraStorageConfiguration.PathBasedUnstable.builder()
+                        .flatStateCacheSize(1024 * 1024)
+                        .build())
+                .build())
+        .build();
+  }
+
   private BonsaiWorldStateKeyValueStorage emptyArchiveStorage(final boolean useCodeHashStorage) {
     final BonsaiWorldStateKeyValueStorage archiveStorage =
         new BonsaiWorldStateKeyValueStorage(
@@ -1010,6 +1030,85 @@ public class BonsaiWorldStateKeyValueStorageTest {
     return archiveStorage;
   }
 
+  @Test
+  void flatStateCacheServesCommittedFlatEntries() {
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorageWithFlatStateCache();
+    storage.upgradeToFullFlatDbMode();
+    final Hash accountHash = Hash.hash(Bytes.of(1));
+    final StorageSlotKey slotKey = new StorageSlotKey(UInt256.ONE);
+    final Bytes account = Bytes.of(1, 2, 3);
+    final Bytes slotValue = Bytes.of(4);
+
+    storage
+        .updater()
+        .putAccountInfoState(accountHash, account)
+        .putStorageValueBySlotHash(accountHash, slotKey.getSlotHash(), slotValue)
+        .commit();
+    assertThat(storage.getAccount(accountHash)).contains(account);
+    assertThat(storage.getStorageValueByStorageSlotKey(Optional::empty, accountHash, slotKey))
+        .contains(slotValue);
+
+    // entries written behind the back of the updater are not seen
+    final SegmentedKeyValueStorageTransaction tx =
+        storage.getComposedWorldStateStorage().startTransaction();
+    tx.remove(ACCOUNT_INFO_STATE, accountHash.getBytes().toArrayUnsafe());
+    tx.commit();
+    assertThat(storage.getAccount(accountHash)).contains(account);
+
+    final BonsaiWorldStateKeyValueStorage.Updater updater = storage.updater();
+    updater.removeAccountInfoState(accountHash);
+    updater.removeStorageValueBySlotHash(accountHash, slotKey.getSlotHash());
+    updater.commit();
+    assertThat(storage.getAccount(accountHash)).isEmpty();
+    assertThat(storage.getStorageValueByStorageSlotKey(Optional::empty, accountHash, slotKey))
+        .isEmpty();
+  }
+
+  @Test
+  void flatStateCacheIsNotCreatedForStandaloneStorage() {
+    // as for the genesis world state, which only lives while the genesis block is computed
+    final BonsaiWorldStateKeyValueStorage storage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(), new NoOpMetricsSystem(), flatStateCacheConfig());
+    storage.upgradeToFullFlatDbMode();
+    final Hash accountHash = Hash.hash(Bytes.of(1));
+    storage.updater().putAccountInfoState(accountHash, Bytes.of(1, 2, 3)).commit();
+
+    final SegmentedKeyValueStorageTransaction tx =
+        storage.getComposedWorldStateStorage().startTransaction();
+    tx.remove(ACCOUNT_INFO_STATE, accountHash.getBytes().toArrayUnsafe());
+    tx.commit();
+
+    assertThat(storage.getAccount(accountHash)).isEmpty();
+  }
+
+  @Test
+  void flatStateCacheIgnoresRolledBackUpdates() {
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorageWithFlatStateCache();
+    storage.upgradeToFullFlatDbMode();
+    final Hash accountHash = Hash.hash(Bytes.of(1));
+    assertThat(storage.getAccount(accountHash)).isEmpty();
+
+    final BonsaiWorldStateKeyValueStorage.Updater updater = storage.updater();
+    updater.putAccountInfoState(accountHash, Bytes.of(1, 2, 3));
+    updater.rollback();
+
+    assertThat(storage.getAccount(accountHash)).isEmpty();
+  }
+
+  @Test
+  void flatStateCacheIsDroppedWhenFlatDatabaseIsCleared() {
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorageWithFlatStateCache();
+    storage.upgradeToFullFlatDbMode();
+    final Hash accountHash = Hash.hash(Bytes.of(1));
+    storage.updater().putAccountInfoState(accountHash, Bytes.of(1, 2, 3)).commit();
+    assertThat(storage.getAccount(accountHash)).isPresent();
+
+    storage.clear();
+
+    assertThat(storage.getAccount(accountHash)).isEmpty();
+  }
+
   @Test
   void successfulPruneReturnsTrue() {
     final KeyValueStorage mockTrieLogStorage = mock(KeyValueStorage.class);
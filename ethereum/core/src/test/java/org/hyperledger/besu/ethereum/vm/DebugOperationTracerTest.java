@@ -18,6 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
@@ -25,7 +26,11 @@ import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
 import org.hyperledger.besu.ethereum.core.MessageFrameTestFixture;
 import org.hyperledger.besu.ethereum.referencetests.ReferenceTestBlockchain;
 import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.EvmSpecVersion;
 import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.fluent.EVMExecutor;
+import org.hyperledger.besu.evm.fluent.EvmSpec;
+import org.hyperledger.besu.evm.fluent.SimpleWorld;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.CancunGasCalculator;
@@ -42,6 +47,7 @@ import java.util.Map;
 import java.util.OptionalLong;
 import java.util.TreeMap;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.assertj.core.api.Assertions;
@@ -284,6 +290,44 @@ class DebugOperationTracerTest {
     assertThat(traceFrame.getStorage()).contains(updatedStorage);
   }
 
+  @Test
+  void shouldKeepInputOfNestedCallsOnceTheCallerHasReturned() {
+    final Address sender = Address.fromHexString("0x100");
+    final Address contract = Address.fromHexString("0x200");
+    final Address callee = Address.fromHexString("0x1000");
+    final Bytes32 input = Bytes32.fromHexString("ab".repeat(Bytes32.SIZE));
+    final SimpleWorld world = new SimpleWorld();
+    world.createAccount(sender, 0, Wei.fromEth(1));
+    world.createAccount(contract, 0, Wei.ZERO);
+    // PUSH1 0, STOP: the input of the second operation is not copied by the tracer itself
+    world.createAccount(callee, 0, Wei.ZERO).setCode(Bytes.fromHexString("0x600000"));
+    // MSTORE(0, input), then CALL(gas, callee, 0, 0, 32, 0, 0)
+    final Bytes caller =
+        Bytes.concatenate(
+            Bytes.of(0x7f),
+            input,
+            Bytes.fromHexString("0x600052600060006020600060006110005af15000"));
+
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(
+            OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
+                .traceStorage(false)
+                .build(),
+            false);
+    new EVMExecutor(EvmSpec.evmSpec(EvmSpecVersion.CANCUN))
+        .worldUpdater(world.updater())
+        .tracer(tracer)
+        .gas(1_000_000L)
+        .sender(sender)
+        .contract(contract)
+        .execute(caller, Bytes.EMPTY, Wei.ZERO, contract);
+
+    assertThat(tracer.getTraceFrames())
+        .filteredOn(traceFrame -> traceFrame.getDepth() == 1)
+        .hasSize(2)
+        .allSatisfy(traceFrame -> assertThat(traceFrame.getInputData()).isEqualTo(input));
+  }
+
   private TraceFrame traceFrame(final MessageFrame frame) {
     return traceFrame(
         frame,
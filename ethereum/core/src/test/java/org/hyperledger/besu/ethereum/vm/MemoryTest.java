@@ -16,10 +16,12 @@ package org.hyperledger.besu.ethereum.vm;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.evm.frame.Memory;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes;
 import org.junit.jupiter.api.Test;
 
 public class MemoryTest {
@@ -240,4 +242,88 @@ public class MemoryTest {
     assertThat(memory.getWord(32)).isEqualTo(Bytes32.ZERO);
     assertThat(memory.getWord(64)).isEqualTo(Bytes32.ZERO);
   }
+
+  @Test
+  public void shouldSetAndGetWordAcrossPages() {
+    final int index = Memory.PAGE_SIZE - 10;
+    memory.setWord(index, WORD1);
+    assertThat(memory.getWord(index)).isEqualTo(WORD1);
+    assertThat(memory.getBytes(Memory.PAGE_SIZE, 22)).isEqualTo(WORD1.slice(10));
+  }
+
+  @Test
+  public void shouldSetBytesAcrossPages() {
+    final Bytes value = Bytes.repeat((byte) 7, 3 * Memory.PAGE_SIZE);
+    memory.setBytes(100, value.size(), value);
+    assertThat(memory.getBytes(100, value.size())).isEqualTo(value);
+    assertThat(memory.getBytes(0, 100)).isEqualTo(Bytes.wrap(new byte[100]));
+  }
+
+  @Test
+  public void shouldCopyOverlappingBytesAcrossPages() {
+    final Bytes value = Bytes.concatenate(WORD1, WORD2, WORD3, WORD4);
+    final int location = Memory.PAGE_SIZE - 64;
+    memory.setBytes(location, value.size(), value);
+
+    memory.copy(location + 32, location, value.size());
+    assertThat(memory.getBytes(location, 160))
+        .isEqualTo(Bytes.concatenate(WORD1, WORD1, WORD2, WORD3, WORD4));
+
+    memory.copy(location, location + 32, value.size());
+    assertThat(memory.getBytes(location, 128)).isEqualTo(value);
+  }
+
+  @Test
+  public void shouldWriteBytesOfItsOwnPageAcrossPages() {
+    final Bytes page = Bytes.repeat((byte) 1, Memory.PAGE_SIZE);
+    memory.setBytes(0, page.size(), page);
+    memory.setWord(Memory.PAGE_SIZE - 32, WORD2);
+
+    memory.setBytes(32, Memory.PAGE_SIZE, memory.getMutableBytes(0, Memory.PAGE_SIZE));
+
+    assertThat(memory.getWord(Memory.PAGE_SIZE)).isEqualTo(WORD2);
+    assertThat(memory.getWord(32)).isEqualTo(Bytes32.wrap(page.slice(0, 32)));
+  }
+
+  @Test
+  public void mutableBytesAcrossPagesShouldWriteThrough() {
+    memory.setWord(Memory.PAGE_SIZE - 16, WORD1);
+    final MutableBytes bytes = memory.getMutableBytes(Memory.PAGE_SIZE - 16, 32);
+    assertThat(bytes).isEqualTo(WORD1);
+
+    memory.setWord(Memory.PAGE_SIZE - 32, WORD2);
+    bytes.set(15, (byte) 3);
+    bytes.mutableSlice(16, 16).set(15, (byte) 4);
+
+    final Bytes32 expected =
+        Bytes32.wrap(
+            Bytes.concatenate(WORD2.slice(16, 15), Bytes.of(3), WORD1.slice(16, 15), Bytes.of(4)));
+    assertThat(memory.getWord(Memory.PAGE_SIZE - 16)).isEqualTo(expected);
+    assertThat(bytes).isEqualTo(expected);
+    assertThat(Hash.keccak256(bytes)).isEqualTo(Hash.keccak256(expected));
+  }
+
+  @Test
+  public void sharedBytesShouldSurviveRelease() {
+    final Bytes value = Bytes.repeat((byte) 9, Memory.PAGE_SIZE / 2);
+    memory.setBytes(0, value.size(), value);
+    final Bytes shared = memory.getSharedBytes(0, value.size());
+
+    memory.release();
+    final Memory other = new Memory();
+    other.setBytes(0, value.size(), Bytes.repeat((byte) 3, value.size()));
+
+    assertThat(shared).isEqualTo(value);
+    assertThat(memory.getActiveWords()).isZero();
+  }
+
+  @Test
+  public void releasedPagesShouldBeReusedBlank() {
+    memory.setBytes(0, 2L * Memory.PAGE_SIZE, Bytes.repeat((byte) 5, 2 * Memory.PAGE_SIZE));
+    memory.release();
+
+    final Memory other = new Memory();
+    assertThat(other.getBytes(0, 2L * Memory.PAGE_SIZE))
+        .isEqualTo(Bytes.wrap(new byte[2 * Memory.PAGE_SIZE]));
+  }
 }
@@ -67,6 +67,10 @@ public class EthMessages {
     messageResponseConstructorsByCode.put(messageCode, messageResponseConstructor);
   }
 
+  public boolean hasResponseConstructor(final int messageCode) {
+    return messageResponseConstructorsByCode.containsKey(messageCode);
+  }
+
   @VisibleForTesting
   public List<Integer> messageCodesHandled() {
     List<Integer> retval = new ArrayList<>();
@@ -16,14 +16,12 @@ package org.hyperledger.besu.ethereum.eth.manager;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
-import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
-import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
 import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
-import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncoder;
 import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncodingConfiguration;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptTranscoder;
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
 import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
 import org.hyperledger.besu.ethereum.eth.messages.BlockBodiesMessage;
@@ -158,25 +156,24 @@ class EthServer {
     }
     responseSizeEstimate += firstEncodedHeader.size();
     rlp.writeRaw(firstEncodedHeader);
-    // Collect and encode the remaining headers
+    // Collect the remaining headers as stored, without decoding them
     final long numberDelta = reversed ? -(skip + 1) : (skip + 1);
     for (int i = 1; i < maxHeaders; i++) {
       final long blockNumber = firstHeader.getNumber() + i * numberDelta;
       if (blockNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
         break;
       }
-      final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNumber);
-      if (maybeHeader.isEmpty()) {
+      final Optional<Bytes> maybeEncodedHeader =
+          blockchain.getBlockHashByNumber(blockNumber).flatMap(blockchain::getBlockHeaderRlp);
+      if (maybeEncodedHeader.isEmpty()) {
         break;
       }
-      final BytesValueRLPOutput headerRlp = new BytesValueRLPOutput();
-      maybeHeader.get().writeTo(headerRlp);
-      final int encodedSize = headerRlp.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
+      final Bytes encodedHeader = maybeEncodedHeader.get();
+      if (responseSizeEstimate + encodedHeader.size() > maxMessageSize) {
         break;
       }
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(headerRlp.encoded());
+      responseSizeEstimate += encodedHeader.size();
+      rlp.writeRaw(encodedHeader);
     }
     rlp.endList();
 
@@ -200,20 +197,18 @@ class EthServer {
         break;
       }
       count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
-      if (maybeBody.isEmpty()) {
+      // the body is stored wrapped in a list, as sent to peers
+      final Optional<Bytes> maybeEncodedBody = blockchain.getBlockBodyRlp(hash);
+      if (maybeEncodedBody.isEmpty()) {
         continue;
       }
 
-      final BlockBody body = maybeBody.get();
-      final BytesValueRLPOutput bodyOutput = new BytesValueRLPOutput();
-      body.writeWrappedBodyTo(bodyOutput);
-      final int encodedSize = bodyOutput.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
+      final Bytes encodedBody = maybeEncodedBody.get();
+      if (responseSizeEstimate + encodedBody.size() > maxMessageSize) {
         break;
       }
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(bodyOutput.encoded());
+      responseSizeEstimate += encodedBody.size();
+      rlp.writeRaw(encodedBody);
     }
     rlp.endList();
     return BlockBodiesMessage.createUnsafe(rlp.encoded());
@@ -228,6 +223,11 @@ class EthServer {
     final GetReceiptsMessage getReceipts = GetReceiptsMessage.readFrom(message);
     final Iterable<Hash> hashes = getReceipts.hashes();
 
+    final TransactionReceiptEncodingConfiguration encodingConfiguration =
+        EthProtocol.isEth69Compatible(cap)
+            ? TransactionReceiptEncodingConfiguration.ETH69_RECEIPT_CONFIGURATION
+            : TransactionReceiptEncodingConfiguration.DEFAULT_NETWORK_CONFIGURATION;
+
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
     final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
     rlp.startList();
@@ -237,28 +237,19 @@ class EthServer {
         break;
       }
       count++;
-      final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
-      if (maybeReceipts.isEmpty()) {
+      final Optional<Bytes> maybeStoredReceipts = blockchain.getTxReceiptsRlp(hash);
+      if (maybeStoredReceipts.isEmpty()) {
         continue;
       }
-      final BytesValueRLPOutput encodedReceipts = new BytesValueRLPOutput();
-      encodedReceipts.startList();
-      TransactionReceiptEncodingConfiguration encodingConfiguration =
-          EthProtocol.isEth69Compatible(cap)
-              ? TransactionReceiptEncodingConfiguration.ETH69_RECEIPT_CONFIGURATION
-              : TransactionReceiptEncodingConfiguration.DEFAULT_NETWORK_CONFIGURATION;
-      maybeReceipts
-          .get()
-          .forEach(
-              r -> TransactionReceiptEncoder.writeTo(r, encodedReceipts, encodingConfiguration));
-      encodedReceipts.endList();
-      final int encodedSize = encodedReceipts.encodedSize();
+      final Bytes encodedReceipts =
+          TransactionReceiptTranscoder.transcode(maybeStoredReceipts.get(), encodingConfiguration);
+      final int encodedSize = encodedReceipts.size();
       if (responseSizeEstimate + encodedSize > maxMessageSize) {
         break;
       }
 
       responseSizeEstimate += encodedSize;
-      rlp.writeRaw(encodedReceipts.encoded());
+      rlp.writeRaw(encodedReceipts);
     }
     rlp.endList();
 
@@ -21,6 +21,8 @@ import org.hyperledger.besu.ethereum.eth.manager.EthMessage;
 import org.hyperledger.besu.ethereum.eth.manager.EthMessages;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
+import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncConfiguration;
 import org.hyperledger.besu.ethereum.p2p.network.ProtocolManager;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
@@ -31,12 +33,20 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
 import java.math.BigInteger;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.collect.ImmutableList;
 import org.slf4j.Logger;
@@ -44,10 +54,18 @@ import org.slf4j.LoggerFactory;
 
 public class SnapProtocolManager implements ProtocolManager {
   private static final Logger LOG = LoggerFactory.getLogger(SnapProtocolManager.class);
+  private static final int SERVER_WORKER_COUNT = 4;
+  private static final int SERVER_QUEUE_SIZE = 256;
+  // bytes of responses each peer can be served per second
+  private static final long PEER_BYTES_PER_SECOND = 16L * 1024 * 1024;
 
   private final List<Capability> supportedCapabilities;
   private final EthPeers ethPeers;
   private final EthMessages snapMessages;
+  private final ExecutorService serverExecutor;
+  private final Map<PeerConnection, PeerByteBudget> peerByteBudgets = new ConcurrentHashMap<>();
+  private final LabelledMetric<Counter> servedBytesCounter;
+  private final LabelledMetric<Counter> droppedRequestsCounter;
 
   public SnapProtocolManager(
       final WorldStateStorageCoordinator worldStateStorageCoordinator,
@@ -55,12 +73,33 @@ public class SnapProtocolManager implements ProtocolManager {
       final EthPeers ethPeers,
       final EthMessages snapMessages,
       final ProtocolContext protocolContext,
-      final Synchronizer synchronizer) {
+      final Synchronizer synchronizer,
+      final MetricsSystem metricsSystem) {
     this.ethPeers = ethPeers;
     this.snapMessages = snapMessages;
     this.supportedCapabilities = calculateCapabilities();
+    this.serverExecutor =
+        MonitoredExecutors.newBoundedThreadPool(
+            "SnapServer", SERVER_WORKER_COUNT, SERVER_QUEUE_SIZE, metricsSystem);
+    this.servedBytesCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_server_served_bytes_total",
+            "Bytes of snap responses served to peers",
+            "message");
+    this.droppedRequestsCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_server_dropped_requests_total",
+            "Snap requests dropped without a response",
+            "reason");
     new SnapServer(
-        snapConfig, snapMessages, worldStateStorageCoordinator, protocolContext, synchronizer);
+        snapConfig,
+        snapMessages,
+        worldStateStorageCoordinator,
+        protocolContext,
+        synchronizer,
+        metricsSystem);
   }
 
   private List<Capability> calculateCapabilities() {
@@ -81,10 +120,16 @@ public class SnapProtocolManager implements ProtocolManager {
   }
 
   @Override
-  public void stop() {}
+  public void stop() {
+    serverExecutor.shutdownNow();
+  }
 
   @Override
-  public void awaitStop() throws InterruptedException {}
+  public void awaitStop() throws InterruptedException {
+    if (!serverExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+      LOG.warn("Snap server did not stop in time");
+    }
+  }
 
   /**
    * This function is called by the P2P framework when a SNAP message has been received.
@@ -117,6 +162,53 @@ public class SnapProtocolManager implements ProtocolManager {
     ethPeers.dispatchMessage(ethPeer, ethMessage, getSupportedProtocol());
 
     // This will handle requests
+    if (snapMessages.hasResponseConstructor(code)) {
+      scheduleRequest(cap, ethPeer, ethMessage);
+    }
+  }
+
+  /**
+   * Serves a request on the snap server executor, so building the response does not hold up the
+   * thread that received the request. A request is dropped, without any response, when the
+   * executor queue is full or when the peer has exhausted its byte budget, in which case the peer
+   * times out and retries with another peer or later.
+   */
+  private void scheduleRequest(
+      final Capability cap, final EthPeer ethPeer, final EthMessage ethMessage) {
+    final PeerByteBudget byteBudget =
+        peerByteBudgets.computeIfAbsent(ethPeer.getConnection(), __ -> new PeerByteBudget());
+    if (!byteBudget.tryReserve()) {
+      LOG.atTrace()
+          .setMessage("Dropping snap request {} from {} over its byte budget")
+          .addArgument(() -> ethMessage.getData().getCode())
+          .addArgument(ethPeer::getLoggableId)
+          .log();
+      droppedRequestsCounter.labels("peer_byte_budget").inc();
+      return;
+    }
+    try {
+      serverExecutor.execute(
+          () -> {
+            long servedBytes = 0;
+            try {
+              servedBytes = serveRequest(cap, ethPeer, ethMessage);
+            } finally {
+              byteBudget.settle(servedBytes);
+            }
+          });
+    } catch (final RejectedExecutionException e) {
+      LOG.atTrace()
+          .setMessage("Dropping snap request {} from {}, the snap server is busy")
+          .addArgument(() -> ethMessage.getData().getCode())
+          .addArgument(ethPeer::getLoggableId)
+          .log();
+      byteBudget.settle(0);
+      droppedRequestsCounter.labels("server_busy").inc();
+    }
+  }
+
+  private long serveRequest(
+      final Capability cap, final EthPeer ethPeer, final EthMessage ethMessage) {
     Optional<MessageData> maybeResponseData = Optional.empty();
     try {
       final Map.Entry<BigInteger, MessageData> requestIdAndEthMessage =
@@ -127,20 +219,37 @@ public class SnapProtocolManager implements ProtocolManager {
               .map(responseData -> responseData.wrapMessageData(requestIdAndEthMessage.getKey()));
     } catch (final RLPException e) {
       LOG.debug(
-          "Received malformed message {} , disconnecting: {}", messageData.getData(), ethPeer, e);
+          "Received malformed message {} , disconnecting: {}",
+          ethMessage.getData().getData(),
+          ethPeer,
+          e);
       ethPeer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL_MALFORMED_MESSAGE_RECEIVED);
     }
-    maybeResponseData.ifPresent(
-        responseData -> {
-          try {
-            ethPeer.send(responseData, getSupportedProtocol());
-          } catch (final PeerConnection.PeerNotConnected error) {
-            LOG.atTrace()
-                .setMessage("Peer disconnected before we could respond - nothing to do {}")
-                .addArgument(error.getMessage())
-                .log();
-          }
-        });
+    if (maybeResponseData.isEmpty()) {
+      return 0;
+    }
+    final MessageData responseData = maybeResponseData.get();
+    try {
+      ethPeer.send(responseData, getSupportedProtocol());
+    } catch (final PeerConnection.PeerNotConnected error) {
+      LOG.atTrace()
+          .setMessage("Peer disconnected before we could respond - nothing to do {}")
+          .addArgument(error.getMessage())
+          .log();
+      return 0;
+    }
+    servedBytesCounter.labels(responseName(responseData.getCode())).inc(responseData.getSize());
+    return responseData.getSize();
+  }
+
+  private static String responseName(final int code) {
+    return switch (code) {
+      case SnapV1.ACCOUNT_RANGE -> "account_range";
+      case SnapV1.STORAGE_RANGE -> "storage_range";
+      case SnapV1.BYTECODES -> "bytecodes";
+      case SnapV1.TRIE_NODES -> "trie_nodes";
+      default -> "other";
+    };
   }
 
   @Override
@@ -150,7 +259,9 @@ public class SnapProtocolManager implements ProtocolManager {
   public void handleDisconnect(
       final PeerConnection connection,
       final DisconnectReason reason,
-      final boolean initiatedByPeer) {}
+      final boolean initiatedByPeer) {
+    peerByteBudgets.remove(connection);
+  }
 
   @Override
   public int getHighestProtocolVersion() {
@@ -159,4 +270,35 @@ public class SnapProtocolManager implements ProtocolManager {
         .map(Capability::getVersion)
         .orElse(0);
   }
+
+  /**
+   * Token bucket limiting the bytes of responses served to a peer, refilled at {@link
+   * #PEER_BYTES_PER_SECOND}. A request reserves the largest response the snap server can build
+   * before it is scheduled, so the requests of a peer waiting in the queue count against its
+   * budget, and the unused part of the reservation is returned once the response is sent.
+   */
+  private static class PeerByteBudget {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private long availableBytes = PEER_BYTES_PER_SECOND;
+    private long lastRefillNanos = System.nanoTime();
+
+    synchronized boolean tryReserve() {
+      final long now = System.nanoTime();
+      final long elapsedNanos = Math.min(now - lastRefillNanos, NANOS_PER_SECOND);
+      availableBytes =
+          Math.min(
+              PEER_BYTES_PER_SECOND,
+              availableBytes + elapsedNanos * PEER_BYTES_PER_SECOND / NANOS_PER_SECOND);
+      lastRefillNanos = now;
+      if (availableBytes <= 0) {
+        return false;
+      }
+      availableBytes -= SnapServer.MAX_RESPONSE_SIZE;
+      return true;
+    }
+
+    synchronized void settle(final long servedBytes) {
+      availableBytes += SnapServer.MAX_RESPONSE_SIZE - servedBytes;
+    }
+  }
 }
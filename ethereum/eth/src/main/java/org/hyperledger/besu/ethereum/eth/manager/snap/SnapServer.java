@@ -38,7 +38,9 @@ import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiWorldStateProvi
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.worldstate.FlatDbMode;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.BesuEvents;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -68,7 +70,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
   private static final Logger LOGGER = LoggerFactory.getLogger(SnapServer.class);
   private static final int PRIME_STATE_ROOT_CACHE_LIMIT = 128;
   private static final int MAX_ENTRIES_PER_REQUEST = 100000;
-  private static final int MAX_RESPONSE_SIZE = 2 * 1024 * 1024;
+  static final int MAX_RESPONSE_SIZE = 2 * 1024 * 1024;
   private static final int MAX_CODE_LOOKUPS_PER_REQUEST = 1024;
   private static final int MAX_TRIE_LOOKUPS_PER_REQUEST = 1024;
   private static final AccountRangeMessage EMPTY_ACCOUNT_RANGE =
@@ -87,6 +89,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
 
   private final WorldStateStorageCoordinator worldStateStorageCoordinator;
   private final Optional<ProtocolContext> protocolContext;
+  private final SnapServerResponseCache responseCache;
 
   // whether snap server is enabled
   private final boolean snapServerEnabled;
@@ -100,7 +103,8 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
       final EthMessages snapMessages,
       final WorldStateStorageCoordinator worldStateStorageCoordinator,
       final ProtocolContext protocolContext,
-      final Synchronizer synchronizer) {
+      final Synchronizer synchronizer,
+      final MetricsSystem metricsSystem) {
     this.snapServerEnabled =
         Optional.ofNullable(snapConfig)
             .map(SnapSyncConfiguration::isSnapServerEnabled)
@@ -108,6 +112,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
     this.snapMessages = snapMessages;
     this.worldStateStorageCoordinator = worldStateStorageCoordinator;
     this.protocolContext = Optional.of(protocolContext);
+    this.responseCache = new SnapServerResponseCache(metricsSystem);
     registerResponseConstructors();
 
     // subscribe to initial sync completed events to start/stop snap server,
@@ -129,6 +134,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
     this.worldStateStorageCoordinator = worldStateStorageCoordinator;
     this.worldStateStorageProvider = worldStateStorageProvider;
     this.protocolContext = Optional.empty();
+    this.responseCache = new SnapServerResponseCache(new NoOpMetricsSystem());
   }
 
   @Override
@@ -225,6 +231,12 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
         .addArgument(() -> asLogHash(Bytes32.wrap(range.startKeyHash().getBytes())))
         .addArgument(() -> asLogHash(Bytes32.wrap(range.endKeyHash().getBytes())))
         .log();
+    final Bytes requestKey = SnapServerResponseCache.requestKey(message);
+    final MessageData cachedResponse = responseCache.getResponse(requestKey);
+    if (cachedResponse != null) {
+      LOGGER.trace("returned cached account range in {}", stopWatch);
+      return cachedResponse;
+    }
     try {
       if (range.worldStateRootHash().equals(Hash.EMPTY_TRIE_HASH)) {
         return AccountRangeMessage.create(new HashMap<>(), List.of(MerkleTrie.EMPTY_TRIE_NODE));
@@ -269,14 +281,24 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
 
                 final var worldStateProof =
                     new WorldStateProofProvider(new WorldStateStorageCoordinator(storage));
+                final Bytes32 startKeyBytes = Bytes32.wrap(range.startKeyHash().getBytes());
                 final List<Bytes> proof =
-                    worldStateProof.getAccountProofRelatedNodes(
-                        range.worldStateRootHash(), Bytes32.wrap(range.startKeyHash().getBytes()));
+                    responseCache.getAccountProof(
+                        range.worldStateRootHash(),
+                        startKeyBytes,
+                        () ->
+                            worldStateProof.getAccountProofRelatedNodes(
+                                range.worldStateRootHash(), startKeyBytes));
 
                 if (!accounts.isEmpty()) {
+                  final Bytes32 lastKey = accounts.lastKey();
                   proof.addAll(
-                      worldStateProof.getAccountProofRelatedNodes(
-                          range.worldStateRootHash(), accounts.lastKey()));
+                      responseCache.getAccountProof(
+                          range.worldStateRootHash(),
+                          lastKey,
+                          () ->
+                              worldStateProof.getAccountProofRelatedNodes(
+                                  range.worldStateRootHash(), lastKey)));
                 }
                 var resp = AccountRangeMessage.create(accounts, proof);
                 if (accounts.isEmpty()) {
@@ -295,6 +317,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     proof.size(),
                     resp.getSize(),
                     maxResponseBytes);
+                responseCache.putResponse(requestKey, resp);
                 return resp;
               })
           .orElseGet(
@@ -334,6 +357,12 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     .map(SnapServer::asLogHash)
                     .collect(Collectors.joining(",", "[", "]")))
         .log();
+    final Bytes requestKey = SnapServerResponseCache.requestKey(message);
+    final MessageData cachedResponse = responseCache.getResponse(requestKey);
+    if (cachedResponse != null) {
+      LOGGER.trace("returned cached storage range in {}", stopWatch);
+      return cachedResponse;
+    }
     try {
       return worldStateStorageProvider
           .apply(range.worldStateRootHash())
@@ -404,20 +433,29 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                   // if a partial storage range was requested, or we interrupted storage due to
                   // request limits, send proofs:
                   if (isPartialRange || !predicate.shouldGetMore()) {
+                    final Bytes32 storageRoot =
+                        Bytes32.wrap(getAccountStorageRoot(forAccountHash, storage).getBytes());
                     // send a proof for the left side range origin
+                    final Bytes32 leftKey = startKeyBytes;
                     proofNodes.addAll(
-                        worldStateProof.getStorageProofRelatedNodes(
-                            Bytes32.wrap(getAccountStorageRoot(forAccountHash, storage).getBytes()),
+                        responseCache.getStorageProof(
+                            storageRoot,
                             forAccountHash,
-                            startKeyBytes));
+                            leftKey,
+                            () ->
+                                worldStateProof.getStorageProofRelatedNodes(
+                                    storageRoot, forAccountHash, leftKey)));
                     if (!accountStorages.isEmpty()) {
                       // send a proof for the last key on the right
+                      final Bytes32 rightKey = accountStorages.lastKey();
                       proofNodes.addAll(
-                          worldStateProof.getStorageProofRelatedNodes(
-                              Bytes32.wrap(
-                                  getAccountStorageRoot(forAccountHash, storage).getBytes()),
+                          responseCache.getStorageProof(
+                              storageRoot,
                               forAccountHash,
-                              accountStorages.lastKey()));
+                              rightKey,
+                              () ->
+                                  worldStateProof.getStorageProofRelatedNodes(
+                                      storageRoot, forAccountHash, rightKey)));
                     }
                   }
 
@@ -438,6 +476,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     proofNodes.size(),
                     resp.getSize(),
                     maxResponseBytes);
+                responseCache.putResponse(requestKey, resp);
                 return resp;
               })
           .orElseGet(
@@ -465,6 +504,12 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
         .setMessage("Received get bytecodes message for {} hashes")
         .addArgument(codeHashes.hashes()::size)
         .log();
+    final Bytes requestKey = SnapServerResponseCache.requestKey(message);
+    final MessageData cachedResponse = responseCache.getResponse(requestKey);
+    if (cachedResponse != null) {
+      LOGGER.trace("returned cached bytecodes in {}", stopWatch);
+      return cachedResponse;
+    }
 
     try {
       List<Bytes> codeBytes = new ArrayDeque<>();
@@ -494,6 +539,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
           codeBytes.size(),
           resp.getSize(),
           maxResponseBytes);
+      responseCache.putResponse(requestKey, resp);
       return resp;
     } catch (Exception ex) {
       LOGGER.error("Unexpected exception serving bytecodes request", ex);
@@ -515,6 +561,12 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
         .setMessage("Received get trie nodes message of size {}")
         .addArgument(() -> triePaths.paths().size())
         .log();
+    final Bytes requestKey = SnapServerResponseCache.requestKey(message);
+    final MessageData cachedResponse = responseCache.getResponse(requestKey);
+    if (cachedResponse != null) {
+      LOGGER.trace("returned cached trie nodes in {}", stopWatch);
+      return cachedResponse;
+    }
 
     try {
       return worldStateStorageProvider
@@ -584,6 +636,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     trieNodes.size(),
                     resp.getCode(),
                     maxResponseBytes);
+                responseCache.putResponse(requestKey, resp);
                 return resp;
               })
           .orElseGet(
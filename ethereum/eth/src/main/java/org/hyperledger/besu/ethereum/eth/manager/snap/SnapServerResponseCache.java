@@ -0,0 +1,175 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.snap;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+import org.hyperledger.besu.util.cache.MemoryBoundCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Memory bounded caches of the responses built by the {@link SnapServer} and of the range proofs
+ * they contain. Peers snap syncing at the same time request the same ranges of the same state
+ * roots, and every response is fully determined by its request since the state under a root never
+ * changes, so a response can be served again to any peer sending the same request.
+ *
+ * <p>Responses are keyed by their message code and by the content of the request without its
+ * request id, that is the root, the range and the response size limit. Proofs are keyed by the
+ * root of the trie and the proven key, so a proof of a range boundary is shared by the requests of
+ * the adjacent ranges and by requests of the same range with different limits.
+ */
+class SnapServerResponseCache {
+  static final long DEFAULT_RESPONSES_MAX_BYTES = 64L * 1024 * 1024;
+  static final long DEFAULT_PROOFS_MAX_BYTES = 16L * 1024 * 1024;
+  // rough size of the objects wrapping a cached entry
+  private static final int ENTRY_OVERHEAD = 96;
+
+  private final MemoryBoundCache<Bytes, MessageData> responses;
+  private final MemoryBoundCache<Bytes, List<Bytes>> proofs;
+
+  SnapServerResponseCache(final MetricsSystem metricsSystem) {
+    this(DEFAULT_RESPONSES_MAX_BYTES, DEFAULT_PROOFS_MAX_BYTES, metricsSystem);
+  }
+
+  SnapServerResponseCache(
+      final long responsesMaxBytes, final long proofsMaxBytes, final MetricsSystem metricsSystem) {
+    this.responses =
+        new MemoryBoundCache<>(
+            responsesMaxBytes,
+            (key, response) -> ENTRY_OVERHEAD + key.size() + response.getSize());
+    this.proofs =
+        new MemoryBoundCache<>(
+            proofsMaxBytes,
+            (key, nodes) ->
+                ENTRY_OVERHEAD + key.size() + nodes.stream().mapToInt(Bytes::size).sum());
+    registerMetrics(metricsSystem);
+  }
+
+  private void registerMetrics(final MetricsSystem metricsSystem) {
+    final LabelledSuppliedMetric hits =
+        metricsSystem.createLabelledSuppliedCounter(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_server_cache_hits_total",
+            "Number of snap server lookups served by the cache",
+            "cache");
+    final LabelledSuppliedMetric misses =
+        metricsSystem.createLabelledSuppliedCounter(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_server_cache_misses_total",
+            "Number of snap server lookups not found in the cache",
+            "cache");
+    final LabelledSuppliedMetric hitRatio =
+        metricsSystem.createLabelledSuppliedGauge(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_server_cache_hit_ratio",
+            "Ratio of the snap server lookups served by the cache",
+            "cache");
+    final LabelledSuppliedMetric sizeBytes =
+        metricsSystem.createLabelledSuppliedGauge(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_server_cache_size_bytes",
+            "Estimated memory footprint of the snap server cache",
+            "cache");
+    for (final Map.Entry<String, MemoryBoundCache<Bytes, ?>> cache :
+        Map.<String, MemoryBoundCache<Bytes, ?>>of("responses", responses, "proofs", proofs)
+            .entrySet()) {
+      hits.labels(cache.getValue()::hitCount, cache.getKey());
+      misses.labels(cache.getValue()::missCount, cache.getKey());
+      hitRatio.labels(cache.getValue()::hitRate, cache.getKey());
+      sizeBytes.labels(cache.getValue()::weightedSize, cache.getKey());
+    }
+  }
+
+  /**
+   * Returns the key of a request, made of its message code and of its content without the request
+   * id that precedes it.
+   *
+   * @param request the request, wrapped with its request id
+   * @return the key of the request
+   */
+  static Bytes requestKey(final MessageData request) {
+    final RLPInput input = RLP.input(request.getData());
+    input.enterList();
+    input.skipNext();
+    final List<Bytes> parts = new ArrayList<>();
+    parts.add(Bytes.of(request.getCode()));
+    // RLP items are self delimiting, so their concatenation is unambiguous
+    while (!input.isEndOfCurrentList()) {
+      parts.add(input.readAsRlp().raw());
+    }
+    return Bytes.concatenate(parts.toArray(Bytes[]::new));
+  }
+
+  MessageData getResponse(final Bytes requestKey) {
+    return responses.getIfPresent(requestKey);
+  }
+
+  void putResponse(final Bytes requestKey, final MessageData response) {
+    responses.put(requestKey, response);
+  }
+
+  /**
+   * Returns the nodes proving an account of a state trie, computing them if they are not cached.
+   *
+   * @param stateRoot the root of the state trie
+   * @param accountHash the hash of the account to prove
+   * @param proofSupplier computes the proof
+   * @return a mutable copy of the nodes of the proof
+   */
+  List<Bytes> getAccountProof(
+      final Hash stateRoot, final Bytes32 accountHash, final Supplier<List<Bytes>> proofSupplier) {
+    return getProof(Bytes.concatenate(stateRoot.getBytes(), accountHash), proofSupplier);
+  }
+
+  /**
+   * Returns the nodes proving a slot of an account storage trie, computing them if they are not
+   * cached.
+   *
+   * @param storageRoot the root of the storage trie
+   * @param accountHash the hash of the account owning the storage
+   * @param slotHash the hash of the slot to prove
+   * @param proofSupplier computes the proof
+   * @return a mutable copy of the nodes of the proof
+   */
+  List<Bytes> getStorageProof(
+      final Bytes32 storageRoot,
+      final Bytes32 accountHash,
+      final Bytes32 slotHash,
+      final Supplier<List<Bytes>> proofSupplier) {
+    return getProof(Bytes.concatenate(storageRoot, accountHash, slotHash), proofSupplier);
+  }
+
+  private List<Bytes> getProof(final Bytes key, final Supplier<List<Bytes>> proofSupplier) {
+    List<Bytes> proof = proofs.getIfPresent(key);
+    if (proof == null) {
+      proof = List.copyOf(proofSupplier.get());
+      proofs.put(key, proof);
+    }
+    // callers append the nodes of other proofs to the returned list
+    return new ArrayList<>(proof);
+  }
+}
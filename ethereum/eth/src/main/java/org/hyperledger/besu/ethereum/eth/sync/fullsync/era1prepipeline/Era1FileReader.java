@@ -24,6 +24,7 @@ import org.hyperledger.besu.util.era1.Era1BlockIndex;
 import org.hyperledger.besu.util.era1.Era1ExecutionBlockBody;
 import org.hyperledger.besu.util.era1.Era1ExecutionBlockHeader;
 import org.hyperledger.besu.util.era1.Era1ExecutionBlockReceipts;
+import org.hyperledger.besu.util.era1.Era1MappedFile;
 import org.hyperledger.besu.util.era1.Era1Reader;
 import org.hyperledger.besu.util.era1.Era1ReaderListener;
 import org.hyperledger.besu.util.io.InputStreamFactory;
@@ -31,6 +32,7 @@ import org.hyperledger.besu.util.snappy.SnappyFactory;
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -43,6 +45,8 @@ import org.slf4j.LoggerFactory;
 public class Era1FileReader implements Function<URI, CompletableFuture<List<Block>>> {
   private static final Logger LOG = LoggerFactory.getLogger(Era1FileReader.class);
   private static final int ERA1_BLOCK_COUNT_MAX = 8192;
+  // blocks decoded by each computation task when reading a local file
+  private static final int DECODING_CHUNK_SIZE = 256;
 
   private final BlockHeaderFunctions blockHeaderFunctions;
   private final EthScheduler ethScheduler;
@@ -55,6 +59,70 @@ public class Era1FileReader implements Function<URI, CompletableFuture<List<Bloc
 
   @Override
   public CompletableFuture<List<Block>> apply(final URI pathUri) {
+    if ("file".equals(pathUri.getScheme())) {
+      return readMappedFile(pathUri);
+    }
+    return readStream(pathUri);
+  }
+
+  /**
+   * Maps a local era1 file in memory and decompresses and decodes its blocks in chunks on the
+   * computation executor, using the block index of the file to find where each chunk starts.
+   */
+  private CompletableFuture<List<Block>> readMappedFile(final URI pathUri) {
+    return ethScheduler.scheduleServiceTask(
+        () -> {
+          LOG.info("Reading {} and producing blocks for import", pathUri.toString());
+          final Era1MappedFile era1File;
+          try {
+            era1File = Era1MappedFile.map(Path.of(pathUri), new SnappyFactory());
+          } catch (IOException e) {
+            LOG.error("Failed reading {} and creating blocks", pathUri, e);
+            throw new RuntimeException(e);
+          }
+
+          final List<CompletableFuture<List<Block>>> chunks = new ArrayList<>();
+          for (int start = 0; start < era1File.getBlockCount(); start += DECODING_CHUNK_SIZE) {
+            final int from = start;
+            final int to = Math.min(era1File.getBlockCount(), start + DECODING_CHUNK_SIZE);
+            chunks.add(
+                ethScheduler.scheduleComputationTask(() -> decodeBlocks(era1File, from, to)));
+          }
+          return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+              .thenApply(
+                  __ -> {
+                    final List<Block> blocks = new ArrayList<>(era1File.getBlockCount());
+                    chunks.forEach(chunk -> blocks.addAll(chunk.join()));
+                    return blocks;
+                  });
+        });
+  }
+
+  private List<Block> decodeBlocks(final Era1MappedFile era1File, final int from, final int to) {
+    final List<Block> blocks = new ArrayList<>(to - from);
+    try {
+      for (int blockIndex = from; blockIndex < to; blockIndex++) {
+        final BlockHeader header =
+            BlockHeader.readFrom(
+                new BytesValueRLPInput(
+                    Bytes.wrap(era1File.readExecutionBlockHeader(blockIndex).header()), false),
+                blockHeaderFunctions);
+        final BlockBody body =
+            BlockBody.readWrappedBodyFrom(
+                new BytesValueRLPInput(
+                    Bytes.wrap(era1File.readExecutionBlockBody(blockIndex).block()), false),
+                blockHeaderFunctions,
+                true);
+        blocks.add(new Block(header, body));
+      }
+    } catch (IOException e) {
+      LOG.error("Failed decoding blocks {} to {} of era1 file", from, to, e);
+      throw new RuntimeException(e);
+    }
+    return blocks;
+  }
+
+  private CompletableFuture<List<Block>> readStream(final URI pathUri) {
     return ethScheduler.scheduleServiceTask(
         () -> {
           LOG.info("Reading {} and producing blocks for import", pathUri.toString());
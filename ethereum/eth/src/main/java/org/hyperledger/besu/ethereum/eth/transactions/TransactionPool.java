@@ -104,6 +104,7 @@ import org.slf4j.LoggerFactory;
  */
 public class TransactionPool implements BlockAddedObserver {
   private static final Logger LOG = LoggerFactory.getLogger(TransactionPool.class);
+  private static final int STATELESS_VALIDATION_BATCH_SIZE = 32;
   private final Supplier<PendingTransactions> pendingTransactionsSupplier;
   private final BlobCache cacheForBlobsOfTransactionsAddedToABlock;
   private volatile PendingTransactions pendingTransactions = new DisabledPendingTransactions();
@@ -177,6 +178,8 @@ public class TransactionPool implements BlockAddedObserver {
     final List<Transaction> addedTransactions = new ArrayList<>(initialCount);
     LOG.trace("Adding {} remote transactions", initialCount);
 
+    final Map<Hash, StatelessValidation> statelessValidations = validateStateless(transactions);
+
     final var validationResults =
         sortedBySenderAndNonce(transactions)
             .collect(
@@ -184,7 +187,14 @@ public class TransactionPool implements BlockAddedObserver {
                     Transaction::getHash,
                     transaction -> {
                       final boolean hasPriority = isPriorityTransaction(transaction, false);
-                      final var result = addTransaction(transaction, false, hasPriority, MAX_SCORE);
+                      final var result =
+                          addTransaction(
+                              transaction,
+                              false,
+                              hasPriority,
+                              MAX_SCORE,
+                              Optional.ofNullable(
+                                  statelessValidations.get(transaction.getHash())));
                       if (result.isValid()) {
                         addedTransactions.add(transaction);
                       } else {
@@ -212,11 +222,107 @@ public class TransactionPool implements BlockAddedObserver {
     return validationResults;
   }
 
+  /**
+   * Runs, in batches on the computation executor, the part of the validation of the remote
+   * transactions that does not depend on the world state, that is dominated by the recovery of the
+   * senders from the signatures. Transactions that are already known or underpriced are skipped,
+   * since they are rejected before reaching this validation.
+   *
+   * @param transactions the transactions to validate
+   * @return the validations by transaction hash, to be checked against the current chain head
+   *     before being used
+   */
+  private Map<Hash, StatelessValidation> validateStateless(
+      final Collection<Transaction> transactions) {
+    final BlockHeader chainHeadBlockHeader = getChainHeadBlockHeader().orElse(null);
+    if (chainHeadBlockHeader == null || transactions.size() < 2) {
+      return Map.of();
+    }
+    final FeeMarket feeMarket =
+        protocolSchedule.getByBlockHeader(chainHeadBlockHeader).getFeeMarket();
+    final List<Transaction> transactionList = List.copyOf(transactions);
+    final List<CompletableFuture<Map<Hash, StatelessValidation>>> batches = new ArrayList<>();
+    for (int from = STATELESS_VALIDATION_BATCH_SIZE;
+        from < transactionList.size();
+        from += STATELESS_VALIDATION_BATCH_SIZE) {
+      final var batch =
+          transactionList.subList(
+              from, Math.min(from + STATELESS_VALIDATION_BATCH_SIZE, transactionList.size()));
+      batches.add(
+          ethContext
+              .getScheduler()
+              .scheduleComputationTask(
+                  () -> validateStatelessBatch(batch, chainHeadBlockHeader, feeMarket)));
+    }
+    // the first batch is validated by the calling thread, while the others are in progress
+    final Map<Hash, StatelessValidation> validations =
+        validateStatelessBatch(
+            transactionList.subList(
+                0, Math.min(STATELESS_VALIDATION_BATCH_SIZE, transactionList.size())),
+            chainHeadBlockHeader,
+            feeMarket);
+    try {
+      for (final var batch : batches) {
+        validations.putAll(batch.get());
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Map.of();
+    } catch (final ExecutionException e) {
+      // insertion falls back to validating the transactions itself
+      LOG.debug("Failed to validate transactions ahead of insertion", e);
+      return Map.of();
+    }
+    return validations;
+  }
+
+  private Map<Hash, StatelessValidation> validateStatelessBatch(
+      final List<Transaction> transactions,
+      final BlockHeader chainHeadBlockHeader,
+      final FeeMarket feeMarket) {
+    final Map<Hash, StatelessValidation> validations = new HashMap<>(transactions.size());
+    for (final Transaction transaction : transactions) {
+      if (!validations.containsKey(transaction.getHash())
+          && !pendingTransactions.containsTransaction(transaction)
+          && validatePrice(
+                  transaction, false, isPriorityTransaction(transaction, false), feeMarket)
+              == null) {
+        validations.put(
+            transaction.getHash(),
+            new StatelessValidation(
+                chainHeadBlockHeader.getHash(),
+                validateStateless(transaction, chainHeadBlockHeader)));
+      }
+    }
+    return validations;
+  }
+
+  private ValidationResult<TransactionInvalidReason> validateStateless(
+      final Transaction transaction, final BlockHeader chainHeadBlockHeader) {
+    // TransactionValidationParams.transactionPool() allows underpriced txs
+    return getTransactionValidator()
+        .validate(
+            transaction,
+            chainHeadBlockHeader.getBaseFee(),
+            Optional.of(Wei.ZERO),
+            TransactionValidationParams.transactionPool());
+  }
+
   private ValidationResult<TransactionInvalidReason> addTransaction(
       final Transaction baseTransaction,
       final boolean isLocal,
       final boolean hasPriority,
       final byte score) {
+    return addTransaction(baseTransaction, isLocal, hasPriority, score, Optional.empty());
+  }
+
+  @SuppressWarnings("ReferenceEquality")
+  private ValidationResult<TransactionInvalidReason> addTransaction(
+      final Transaction baseTransaction,
+      final boolean isLocal,
+      final boolean hasPriority,
+      final byte score,
+      final Optional<StatelessValidation> maybeStatelessValidation) {
 
     if (pendingTransactions.containsTransaction(baseTransaction)) {
       LOG.atTrace()
@@ -235,7 +341,12 @@ public class TransactionPool implements BlockAddedObserver {
             .orElse(baseTransaction);
 
     final ValidationResultAndAccount validationResult =
-        validateTransaction(transaction, isLocal, hasPriority);
+        validateTransaction(
+            transaction,
+            isLocal,
+            hasPriority,
+            // a validation done ahead of insertion is not valid for a pre-processed transaction
+            transaction == baseTransaction ? maybeStatelessValidation : Optional.empty());
 
     if (validationResult.result.isValid()) {
       final TransactionAddedResult status =
@@ -394,7 +505,10 @@ public class TransactionPool implements BlockAddedObserver {
   }
 
   private ValidationResultAndAccount validateTransaction(
-      final Transaction transaction, final boolean isLocal, final boolean hasPriority) {
+      final Transaction transaction,
+      final boolean isLocal,
+      final boolean hasPriority,
+      final Optional<StatelessValidation> maybeStatelessValidation) {
 
     final BlockHeader chainHeadBlockHeader = getChainHeadBlockHeader().orElse(null);
     if (chainHeadBlockHeader == null) {
@@ -413,15 +527,12 @@ public class TransactionPool implements BlockAddedObserver {
       return ValidationResultAndAccount.invalid(priceInvalidReason);
     }
 
+    // reuse the validation done ahead of insertion only if the chain head did not change since
     final ValidationResult<TransactionInvalidReason> basicValidationResult =
-        getTransactionValidator()
-            .validate(
-                transaction,
-                chainHeadBlockHeader.getBaseFee(),
-                Optional.of(
-                    Wei.ZERO), // TransactionValidationParams.transactionPool() allows underpriced
-                // txs
-                TransactionValidationParams.transactionPool());
+        maybeStatelessValidation
+            .filter(validation -> validation.chainHeadHash().equals(chainHeadBlockHeader.getHash()))
+            .map(StatelessValidation::result)
+            .orElseGet(() -> validateStateless(transaction, chainHeadBlockHeader));
     if (!basicValidationResult.isValid()) {
       return new ValidationResultAndAccount(basicValidationResult);
     }
@@ -586,6 +697,9 @@ public class TransactionPool implements BlockAddedObserver {
     void onTransactionsAdded(Collection<Transaction> transactions);
   }
 
+  private record StatelessValidation(
+      Hash chainHeadHash, ValidationResult<TransactionInvalidReason> result) {}
+
   private static class ValidationResultAndAccount {
     final ValidationResult<TransactionInvalidReason> result;
     final Optional<Account> maybeAccount;
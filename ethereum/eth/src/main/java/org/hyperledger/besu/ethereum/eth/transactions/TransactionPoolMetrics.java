@@ -24,6 +24,7 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -41,6 +42,7 @@ public class TransactionPoolMetrics {
   public static final String REJECTED_COUNTER_NAME = "rejected_total";
   public static final String PENALIZED_COUNTER_NAME = "penalized_total";
   public static final String EXPIRED_MESSAGES_COUNTER_NAME = "messages_expired_total";
+  public static final String LOCK_CONTENDED_COUNTER_NAME = "lock_contended_total";
   private static final int SKIPPED_MESSAGES_LOGGING_THRESHOLD = 1000;
   private final MetricsSystem metricsSystem;
   private final LabelledMetric<Counter> addedCounter;
@@ -54,6 +56,8 @@ public class TransactionPoolMetrics {
   private final LabelledMetric<Counter> expiredMessagesCounter;
   private final Map<String, RunnableCounter> expiredMessagesRunnableCounters = new HashMap<>();
   private final LabelledMetric<Counter> alreadySeenTransactionsCounter;
+  private final LabelledMetric<Counter> lockContendedCounter;
+  private final LabelledMetric<OperationTimer> lockWaitTimer;
   private final Map<String, ReplaceableDoubleSupplier> spaceUsedSuppliers = new HashMap<>();
   private final Map<String, ReplaceableDoubleSupplier> transactionCountSuppliers = new HashMap<>();
   private final Map<Pair<String, TransactionType>, ReplaceableDoubleSupplier>
@@ -144,6 +148,20 @@ public class TransactionPoolMetrics {
             "remote_transactions_already_seen_total",
             "Total number of received transactions already seen",
             "message");
+
+    lockContendedCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.TRANSACTION_POOL,
+            LOCK_CONTENDED_COUNTER_NAME,
+            "Count of operations that had to wait for the pending transactions lock",
+            "operation");
+
+    lockWaitTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.TRANSACTION_POOL,
+            "lock_wait_seconds",
+            "Time spent waiting for the pending transactions lock when it was contended",
+            "operation");
   }
 
   public MetricsSystem getMetricsSystem() {
@@ -279,6 +297,11 @@ public class TransactionPoolMetrics {
     alreadySeenTransactionsCounter.labels(message).inc(count);
   }
 
+  public OperationTimer.TimingContext startLockWait(final String operation) {
+    lockContendedCounter.labels(operation).inc();
+    return lockWaitTimer.labels(operation).startTimer();
+  }
+
   private String location(final boolean receivedFromLocalSource) {
     return receivedFromLocalSource ? "local" : "remote";
   }
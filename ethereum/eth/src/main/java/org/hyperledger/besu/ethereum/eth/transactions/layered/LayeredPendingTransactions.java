@@ -37,6 +37,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactionDroppedL
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.evm.account.Account;
@@ -49,18 +50,32 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+/**
+ * The pending transactions backed by a chain of transaction layers.
+ *
+ * <p>The layers share their capacity limits and evict across senders, so they are guarded by a
+ * single read-write lock: queries, that make the bulk of the accesses during transaction gossip,
+ * run concurrently, while adds, removals and block processing are exclusive. The time spent
+ * waiting for the lock when it is contended is reported per operation.
+ */
 public class LayeredPendingTransactions implements PendingTransactions {
   private static final Logger LOG = LoggerFactory.getLogger(LayeredPendingTransactions.class);
   private static final Marker INVALID_TX_REMOVED = MarkerFactory.getMarker("INVALID_TX_REMOVED");
   private final TransactionPoolConfiguration poolConfig;
   private final AbstractPrioritizedTransactions prioritizedTransactions;
   private final EthScheduler ethScheduler;
+  private final TransactionPoolMetrics metrics;
+  private final ReadWriteLock layersLock = new ReentrantReadWriteLock();
 
   public LayeredPendingTransactions(
       final TransactionPoolConfiguration poolConfig,
@@ -69,15 +84,52 @@ public class LayeredPendingTransactions implements PendingTransactions {
     this.poolConfig = poolConfig;
     this.prioritizedTransactions = prioritizedTransactions;
     this.ethScheduler = ethScheduler;
+    this.metrics = prioritizedTransactions.metrics;
+  }
+
+  private <T> T readLocked(final String operation, final Supplier<T> action) {
+    return locked(layersLock.readLock(), operation, action);
+  }
+
+  private <T> T writeLocked(final String operation, final Supplier<T> action) {
+    return locked(layersLock.writeLock(), operation, action);
+  }
+
+  private void writeLocked(final String operation, final Runnable action) {
+    locked(
+        layersLock.writeLock(),
+        operation,
+        () -> {
+          action.run();
+          return null;
+        });
+  }
+
+  private <T> T locked(final Lock lock, final String operation, final Supplier<T> action) {
+    if (!lock.tryLock()) {
+      final var lockWait = metrics.startLockWait(operation);
+      lock.lock();
+      lockWait.stopTimer();
+    }
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+    }
   }
 
   @Override
-  public synchronized void reset() {
-    prioritizedTransactions.reset();
+  public void reset() {
+    writeLocked("reset", prioritizedTransactions::reset);
   }
 
   @Override
-  public synchronized TransactionAddedResult addTransaction(
+  public TransactionAddedResult addTransaction(
+      final PendingTransaction pendingTransaction, final Optional<Account> maybeSenderAccount) {
+    return writeLocked("add", () -> internalAddTransaction(pendingTransaction, maybeSenderAccount));
+  }
+
+  private TransactionAddedResult internalAddTransaction(
       final PendingTransaction pendingTransaction, final Optional<Account> maybeSenderAccount) {
 
     final long stateSenderNonce = maybeSenderAccount.map(AccountState::getNonce).orElse(0L);
@@ -260,24 +312,22 @@ public class LayeredPendingTransactions implements PendingTransactions {
   public void evictOldTransactions() {}
 
   @Override
-  public synchronized List<Transaction> getLocalTransactions() {
-    return prioritizedTransactions.getAllLocal();
+  public List<Transaction> getLocalTransactions() {
+    return readLocked("get_local", prioritizedTransactions::getAllLocal);
   }
 
   @Override
-  public synchronized List<Transaction> getPriorityTransactions() {
-    return prioritizedTransactions.getAllPriority();
+  public List<Transaction> getPriorityTransactions() {
+    return readLocked("get_priority", prioritizedTransactions::getAllPriority);
   }
 
   @Override
   public void selectTransactions(final PendingTransactionsSelector selector) {
-    final List<PendingTransaction> candidateTxsByScore;
-    synchronized (this) {
-      // since selecting transactions for block creation is a potential long operation
-      // we want to avoid to keep the lock for all the process, but we just lock to get
-      // the candidate transactions
-      candidateTxsByScore = prioritizedTransactions.getByScore();
-    }
+    // since selecting transactions for block creation is a potential long operation
+    // we want to avoid to keep the lock for all the process, but we just lock to get
+    // the candidate transactions
+    final List<PendingTransaction> candidateTxsByScore =
+        readLocked("select", prioritizedTransactions::getByScore);
 
     final var evaluationResults =
         selector.evaluatePendingTransactions(Collections.unmodifiableList(candidateTxsByScore));
@@ -294,27 +344,29 @@ public class LayeredPendingTransactions implements PendingTransactions {
 
       if (result.discard()) {
         ethScheduler.scheduleServiceTask(
-            () -> {
-              synchronized (this) {
-                prioritizedTransactions.remove(evaluatedPendingTx, INVALIDATED);
-                logInvalidTransaction(evaluatedPendingTx, result);
-                LOG.atTrace()
-                    .setMessage("Transaction {} removed by block selection")
-                    .addArgument(evaluatedPendingTx::toTraceLog)
-                    .log();
-              }
-            });
+            () ->
+                writeLocked(
+                    "remove",
+                    () -> {
+                      prioritizedTransactions.remove(evaluatedPendingTx, INVALIDATED);
+                      logInvalidTransaction(evaluatedPendingTx, result);
+                      LOG.atTrace()
+                          .setMessage("Transaction {} removed by block selection")
+                          .addArgument(evaluatedPendingTx::toTraceLog)
+                          .log();
+                    }));
       } else if (result.penalize()) {
         ethScheduler.scheduleServiceTask(
-            () -> {
-              synchronized (this) {
-                prioritizedTransactions.penalize(evaluatedPendingTx, result);
-                LOG.atTrace()
-                    .setMessage("Transaction {} penalized by block selection")
-                    .addArgument(evaluatedPendingTx::toTraceLog)
-                    .log();
-              }
-            });
+            () ->
+                writeLocked(
+                    "penalize",
+                    () -> {
+                      prioritizedTransactions.penalize(evaluatedPendingTx, result);
+                      LOG.atTrace()
+                          .setMessage("Transaction {} penalized by block selection")
+                          .addArgument(evaluatedPendingTx::toTraceLog)
+                          .log();
+                    }));
       }
     }
   }
@@ -325,25 +377,28 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized int size() {
-    return prioritizedTransactions.count();
+  public int size() {
+    return readLocked("size", prioritizedTransactions::count);
   }
 
   @Override
-  public synchronized boolean containsTransaction(final Transaction transaction) {
-    return prioritizedTransactions.contains(transaction);
+  public boolean containsTransaction(final Transaction transaction) {
+    return readLocked("contains", () -> prioritizedTransactions.contains(transaction));
   }
 
   @Override
-  public synchronized Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
-    return prioritizedTransactions
-        .getByHash(transactionHash)
-        .map(PendingTransaction::getTransaction);
+  public Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
+    return readLocked(
+        "get_by_hash",
+        () ->
+            prioritizedTransactions
+                .getByHash(transactionHash)
+                .map(PendingTransaction::getTransaction));
   }
 
   @Override
-  public synchronized List<PendingTransaction> getPendingTransactions() {
-    return prioritizedTransactions.getAll();
+  public List<PendingTransaction> getPendingTransactions() {
+    return readLocked("get_all", prioritizedTransactions::getAll);
   }
 
   @Override
@@ -368,7 +423,7 @@ public class LayeredPendingTransactions implements PendingTransactions {
 
   @Override
   public OptionalLong getNextNonceForSender(final Address sender) {
-    return prioritizedTransactions.getNextNonceFor(sender);
+    return readLocked("next_nonce", () -> prioritizedTransactions.getNextNonceFor(sender));
   }
 
   @Override
@@ -384,21 +439,23 @@ public class LayeredPendingTransactions implements PendingTransactions {
 
     final var maxConfirmedNonceBySender = maxNonceBySender(confirmedTransactions);
 
-    synchronized (this) {
-      try {
-        prioritizedTransactions.blockAdded(feeMarket, blockHeader, maxConfirmedNonceBySender);
-      } catch (final Throwable throwable) {
-        LOG.warn(
-            "Unexpected error {} when managing added block {}, maxNonceBySender {}, reorgNonceRangeBySender {}",
-            throwable,
-            blockHeader.toLogString(),
-            maxConfirmedNonceBySender,
-            reorgTransactions);
-        LOG.warn("Stack trace", throwable);
-      }
-
-      logConfirmed(blockHeader, maxConfirmedNonceBySender, reorgTransactions);
-    }
+    writeLocked(
+        "block_added",
+        () -> {
+          try {
+            prioritizedTransactions.blockAdded(feeMarket, blockHeader, maxConfirmedNonceBySender);
+          } catch (final Throwable throwable) {
+            LOG.warn(
+                "Unexpected error {} when managing added block {}, maxNonceBySender {}, reorgNonceRangeBySender {}",
+                throwable,
+                blockHeader.toLogString(),
+                maxConfirmedNonceBySender,
+                reorgTransactions);
+            LOG.warn("Stack trace", throwable);
+          }
+
+          logConfirmed(blockHeader, maxConfirmedNonceBySender, reorgTransactions);
+        });
   }
 
   private Map<Address, Long> maxNonceBySender(final List<Transaction> confirmedTransactions) {
@@ -424,13 +481,13 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized String toTraceLog() {
+  public String toTraceLog() {
     return "";
   }
 
   @Override
-  public synchronized String logStats() {
-    return prioritizedTransactions.logStats();
+  public String logStats() {
+    return readLocked("log_stats", prioritizedTransactions::logStats);
   }
 
   @Override
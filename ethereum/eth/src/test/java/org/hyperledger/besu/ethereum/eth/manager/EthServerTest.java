@@ -284,6 +284,26 @@ public class EthServerTest {
     assertThat(result).contains(expectedMsg);
   }
 
+  @Test
+  public void shouldServeTxReceiptsInEth68Format() {
+    final Map<Hash, List<TransactionReceipt>> receiptsByHash = setupBlockReceipts(3);
+    final List<Hash> hashes = new ArrayList<>(receiptsByHash.keySet());
+    final List<List<TransactionReceipt>> expectedResults =
+        hashes.stream().map(receiptsByHash::get).collect(Collectors.toList());
+
+    setupEthServer();
+
+    final GetReceiptsMessage receiptsMsg = GetReceiptsMessage.create(hashes);
+    final EthMessage ethMsg = new EthMessage(ethPeer, receiptsMsg);
+
+    final ReceiptsMessage expectedMsg =
+        ReceiptsMessage.create(
+            expectedResults,
+            TransactionReceiptEncodingConfiguration.DEFAULT_NETWORK_CONFIGURATION);
+    final Optional<MessageData> result = ethMessages.dispatch(ethMsg, EthProtocol.ETH68);
+    assertThat(result).contains(expectedMsg);
+  }
+
   @Test
   public void shouldLimitTransactionsByMessageSize() {
     final List<Transaction> transactions = setupTransactions(10);
@@ -364,9 +384,15 @@ public class EthServerTest {
     final List<Block> blocks = dataGenerator.blockSequence(count);
     for (Block block : blocks) {
       when(blockchain.getBlockBody(block.getHash())).thenReturn(Optional.of(block.getBody()));
+      when(blockchain.getBlockBodyRlp(block.getHash()))
+          .thenReturn(Optional.of(RLP.encode(block.getBody()::writeWrappedBodyTo)));
       when(blockchain.getBlockHeader(block.getHash())).thenReturn(Optional.of(block.getHeader()));
       when(blockchain.getBlockHeader(block.getHeader().getNumber()))
           .thenReturn(Optional.of(block.getHeader()));
+      when(blockchain.getBlockHeaderRlp(block.getHash()))
+          .thenReturn(Optional.of(RLP.encode(block.getHeader()::writeTo)));
+      when(blockchain.getBlockHashByNumber(block.getHeader().getNumber()))
+          .thenReturn(Optional.of(block.getHash()));
     }
 
     return blocks;
@@ -378,6 +404,20 @@ public class EthServerTest {
     for (Block block : blocks) {
       final List<TransactionReceipt> receipts = dataGenerator.receipts(block);
       when(blockchain.getTxReceipts(block.getHash())).thenReturn(Optional.of(receipts));
+      // receipts are served from their compacted storage encoding
+      when(blockchain.getTxReceiptsRlp(block.getHash()))
+          .thenReturn(
+              Optional.of(
+                  RLP.encode(
+                      out ->
+                          out.writeList(
+                              receipts,
+                              (receipt, receiptOut) ->
+                                  TransactionReceiptEncoder.writeTo(
+                                      receipt,
+                                      receiptOut,
+                                      TransactionReceiptEncodingConfiguration
+                                          .STORAGE_WITH_COMPACTION)))));
       txReceiptsByHash.put(block.getHash(), receipts);
     }
 
@@ -29,6 +29,7 @@ import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncConfiguration;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.PathBasedWorldStateProvider;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 
 import java.math.BigInteger;
@@ -73,7 +74,8 @@ public class SnapServerGetAccountRangeTest {
                 new EthMessages(),
                 worldStateStorageCoordinator,
                 protocolContext,
-                mock(Synchronizer.class))
+                mock(Synchronizer.class),
+                new NoOpMetricsSystem())
             .start();
     initAccounts();
   }
@@ -21,6 +21,7 @@ import static org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBa
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.datatypes.Hash;
@@ -326,6 +327,26 @@ public class SnapServerTest {
     assertThat(assertIsValidAccountRangeProof(acct1.addressHash, rangeData)).isTrue();
   }
 
+  @ParameterizedTest
+  @MethodSource("flatDbMode")
+  public void assertRepeatedAccountRangeServedFromCache(final FlatDbMode flatDbMode) {
+    setup(flatDbMode);
+    insertTestAccounts(acct4, acct3, acct1, acct2);
+    var firstResponse = requestAccountRange(acct1.addressHash, acct4.addressHash);
+
+    // the same range requested with another request id is served without reading the worldstate
+    var secondResponse =
+        snapServer.constructGetAccountRangeResponse(
+            GetAccountRangeMessage.create(
+                    Hash.wrap(storageTrie.getRootHash()),
+                    Bytes32.wrap(acct1.addressHash.getBytes()),
+                    Bytes32.wrap(acct4.addressHash.getBytes()))
+                .wrapMessageData(BigInteger.TWO));
+
+    assertThat(secondResponse.getData()).isEqualTo(firstResponse.getData());
+    verify(spyProvider, times(1)).apply(any());
+  }
+
   @ParameterizedTest
   @MethodSource("flatDbMode")
   public void assertCompleteStorageForSingleAccount(final FlatDbMode flatDbMode) {
@@ -41,6 +41,7 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.WithdrawalsProcessor;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
 import java.util.ArrayList;
@@ -198,6 +199,8 @@ public class CompleteBlocksTaskTest extends RetryingMessageTaskTest<List<Block>>
     final Blockchain mockBlockchain = spy(blockchain);
     for (Block block : blocks) {
       when(mockBlockchain.getBlockBody(block.getHash())).thenReturn(Optional.of(block.getBody()));
+      when(mockBlockchain.getBlockBodyRlp(block.getHash()))
+          .thenReturn(Optional.of(RLP.encode(block.getBody()::writeWrappedBodyTo)));
     }
 
     return RespondingEthPeer.blockchainResponder(mockBlockchain);
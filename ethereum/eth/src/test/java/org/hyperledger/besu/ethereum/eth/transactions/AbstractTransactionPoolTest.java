@@ -61,6 +61,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -352,6 +353,25 @@ public abstract class AbstractTransactionPoolTest extends AbstractTransactionPoo
     verifyNoMoreInteractions(transactionValidatorFactory.get());
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldValidateRemoteTransactionsOnceWhenValidatedAheadOfInsertion() {
+    // enough transactions to be validated in several batches
+    final List<Transaction> transactions =
+        IntStream.range(0, 100).mapToObj(this::createTransaction).toList();
+    givenAllTransactionsAreValid();
+
+    final var results = transactionPool.addRemoteTransactions(transactions);
+
+    assertThat(results.values()).allMatch(ValidationResult::isValid);
+    transactions.forEach(
+        transaction -> {
+          assertTransactionPending(transaction);
+          verify(transactionValidatorFactory.get())
+              .validate(eq(transaction), any(Optional.class), any(Optional.class), any());
+        });
+  }
+
   @ParameterizedTest
   @ValueSource(booleans = {true, false})
   public void shouldAllowSequenceOfTransactionsWithIncreasingNonceFromSameSender(
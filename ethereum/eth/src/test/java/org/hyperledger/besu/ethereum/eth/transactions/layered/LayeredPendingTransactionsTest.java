@@ -16,11 +16,13 @@ package org.hyperledger.besu.ethereum.eth.transactions.layered;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
+import static org.awaitility.Awaitility.await;
 import static org.hyperledger.besu.datatypes.TransactionType.BLOB;
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.ADDED;
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.ALREADY_KNOWN;
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.NONCE_TOO_FAR_IN_FUTURE_FOR_SENDER;
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.REJECTED_UNDERPRICED_REPLACEMENT;
+import static org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics.LOCK_CONTENDED_COUNTER_NAME;
 import static org.hyperledger.besu.ethereum.eth.transactions.layered.AddReason.MOVE;
 import static org.hyperledger.besu.ethereum.eth.transactions.layered.AddReason.NEW;
 import static org.hyperledger.besu.ethereum.eth.transactions.layered.LayeredRemovalReason.PoolRemovalReason.DROPPED;
@@ -47,6 +49,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactionAddedListener;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactionDroppedListener;
 import org.hyperledger.besu.ethereum.eth.transactions.RemovalReason;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolReplacementHandler;
@@ -61,10 +64,13 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.SequencedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -822,6 +828,51 @@ public class LayeredPendingTransactionsTest extends BaseTransactionPoolTest {
         .hasValue(1);
   }
 
+  @Test
+  public void queriesDoNotWaitForEachOtherButWaitForAdds() throws Exception {
+    pendingTransactions.addTransaction(
+        createRemotePendingTransaction(transaction0), Optional.empty());
+
+    final CountDownLatch addStarted = new CountDownLatch(1);
+    final CountDownLatch releaseAdd = new CountDownLatch(1);
+    // the deterministic scheduler notifies the listeners while the add holds the lock
+    pendingTransactions.subscribePendingTransactions(
+        transaction -> {
+          addStarted.countDown();
+          Uninterruptibles.awaitUninterruptibly(releaseAdd);
+        });
+
+    // concurrent queries are never contended
+    final List<CompletableFuture<Boolean>> queries = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      queries.add(
+          CompletableFuture.supplyAsync(
+              () -> pendingTransactions.containsTransaction(transaction0)));
+    }
+    assertThat(queries).allSatisfy(query -> assertThat(query.join()).isTrue());
+    assertThat(metricsSystem.getCounterValue(LOCK_CONTENDED_COUNTER_NAME, "contains")).isZero();
+
+    final CompletableFuture<TransactionAddedResult> add =
+        CompletableFuture.supplyAsync(
+            () ->
+                pendingTransactions.addTransaction(
+                    createRemotePendingTransaction(transaction1), Optional.empty()));
+    addStarted.await();
+
+    final CompletableFuture<Integer> size =
+        CompletableFuture.supplyAsync(pendingTransactions::size);
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(metricsSystem.getCounterValue(LOCK_CONTENDED_COUNTER_NAME, "size"))
+                    .isOne());
+    assertThat(size).isNotDone();
+
+    releaseAdd.countDown();
+    assertThat(add.get()).isEqualTo(ADDED);
+    assertThat(size.get()).isEqualTo(2);
+  }
+
   private TransactionAndAccount[] populateCache(final int numTxs, final long startingNonce) {
     return populateCache(numTxs, KEYS1, startingNonce, OptionalLong.empty());
   }
@@ -0,0 +1,105 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.framing;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of a single RLPx connection: messages framed by one end and deframed by the other,
+ * with the Bouncy Castle based {@link Framer} or the {@link JdkCipherFramer}, through heap or
+ * direct buffers.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class FramerBenchmark {
+
+  @Param({"Framer", "JdkCipherFramer"})
+  public String framer;
+
+  // a small message, a typical block body, a large batch of transactions
+  @Param({"64", "4096", "1048576"})
+  public int messageSize;
+
+  @Param({"false", "true"})
+  public boolean direct;
+
+  private Framer sendingFramer;
+  private Framer receivingFramer;
+  private MessageData message;
+  private ByteBuf buffer;
+
+  @Setup
+  public void setUp() {
+    final FramerProvider framerProvider =
+        framer.equals("JdkCipherFramer") ? JdkCipherFramer::new : Framer::new;
+    sendingFramer = framerProvider.buildFramer(secrets());
+    receivingFramer = framerProvider.buildFramer(secrets());
+
+    final byte[] data = new byte[messageSize];
+    new Random(1).nextBytes(data);
+    message = new RawMessage(0x10, Bytes.wrap(data));
+    buffer = direct ? Unpooled.directBuffer(2 * messageSize) : Unpooled.buffer(2 * messageSize);
+  }
+
+  @TearDown
+  public void tearDown() {
+    buffer.release();
+  }
+
+  @Benchmark
+  public void frame() {
+    sendingFramer.frame(message, buffer);
+    buffer.clear();
+  }
+
+  @Benchmark
+  public void frameAndDeframe(final Blackhole blackhole) {
+    sendingFramer.frame(message, buffer);
+    blackhole.consume(receivingFramer.deframe(buffer));
+  }
+
+  private static HandshakeSecrets secrets() {
+    final byte[] aesSecret = new byte[32];
+    final byte[] macSecret = new byte[32];
+    final Random random = new Random(2);
+    random.nextBytes(aesSecret);
+    random.nextBytes(macSecret);
+    return new HandshakeSecrets(aesSecret, macSecret, new byte[32]);
+  }
+}
@@ -31,6 +31,7 @@ public class RlpxConfiguration {
   private Optional<String> bindHostIpv6 = Optional.empty();
   private Optional<Integer> bindPortIpv6 = Optional.empty();
   private List<SubProtocol> supportedProtocols = Collections.emptyList();
+  private boolean jdkCipherFramerEnabled = false;
 
   public static RlpxConfiguration create() {
     return new RlpxConfiguration();
@@ -99,6 +100,15 @@ public class RlpxConfiguration {
     return this;
   }
 
+  public boolean isJdkCipherFramerEnabled() {
+    return jdkCipherFramerEnabled;
+  }
+
+  public RlpxConfiguration setJdkCipherFramerEnabled(final boolean jdkCipherFramerEnabled) {
+    this.jdkCipherFramerEnabled = jdkCipherFramerEnabled;
+    return this;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
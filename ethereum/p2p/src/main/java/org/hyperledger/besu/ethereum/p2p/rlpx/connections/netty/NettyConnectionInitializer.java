@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnectionEventDis
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerLookup;
 import org.hyperledger.besu.ethereum.p2p.rlpx.framing.Framer;
 import org.hyperledger.besu.ethereum.p2p.rlpx.framing.FramerProvider;
+import org.hyperledger.besu.ethereum.p2p.rlpx.framing.JdkCipherFramer;
 import org.hyperledger.besu.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
 import org.hyperledger.besu.ethereum.p2p.rlpx.handshake.Handshaker;
 import org.hyperledger.besu.ethereum.p2p.rlpx.handshake.HandshakerProvider;
@@ -398,6 +399,6 @@ public class NettyConnectionInitializer
 
   @Override
   public Framer buildFramer(final HandshakeSecrets secrets) {
-    return new Framer(secrets);
+    return config.isJdkCipherFramerEnabled() ? new JdkCipherFramer(secrets) : new Framer(secrets);
   }
 }
@@ -58,13 +58,13 @@ import org.slf4j.LoggerFactory;
 public class Framer {
   private static final Logger LOG = LoggerFactory.getLogger(Framer.class);
 
-  private static final int LENGTH_HEADER_DATA = 16;
-  private static final int LENGTH_MAC = 16;
-  private static final int LENGTH_FULL_HEADER = LENGTH_HEADER_DATA + LENGTH_MAC;
-  private static final int LENGTH_MESSAGE_ID = 1;
+  static final int LENGTH_HEADER_DATA = 16;
+  static final int LENGTH_MAC = 16;
+  static final int LENGTH_FULL_HEADER = LENGTH_HEADER_DATA + LENGTH_MAC;
+  static final int LENGTH_MESSAGE_ID = 1;
 
-  private static final byte[] IV = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
-  private static final byte[] PROTOCOL_HEADER =
+  static final byte[] IV = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+  static final byte[] PROTOCOL_HEADER =
       RLP.encode(
               out -> {
                 out.startList();
@@ -277,21 +277,57 @@ public class Framer {
     // Decrypt frame data.
     decryptor.processBytes(frameData, 0, frameData.length, frameData, 0);
 
-    // Read the id.
-    final Bytes idbv = RLP.decodeOne(Bytes.of(frameData[0]));
-    final int id = idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
+    // Read the id and the message data, after the message id and before the padding.
+    return toMessage(
+        decodeMessageId(frameData[0]), frameData, LENGTH_MESSAGE_ID, frameSize - LENGTH_MESSAGE_ID);
+  }
+
+  /**
+   * Encodes a message id as the single RLP byte starting a frame.
+   *
+   * @param code The message id.
+   * @return The RLP encoded message id.
+   */
+  static byte encodeMessageId(final int code) {
+    final byte id = (byte) code;
+    final Bytes bv = id == 0 ? RLP.NULL : RLP.encodeOne(Bytes.of(id));
+    assert bv.size() == 1;
+    return bv.get(0);
+  }
+
+  /**
+   * Decodes the RLP encoded message id found in the first byte of a decrypted frame.
+   *
+   * @param encodedId The first byte of the decrypted frame.
+   * @return The message id.
+   */
+  static int decodeMessageId(final byte encodedId) {
+    final Bytes idbv = RLP.decodeOne(Bytes.of(encodedId));
+    return idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
+  }
 
-    // Write message data to ByteBuf, decompressing as necessary
+  /**
+   * Builds the message held by the decrypted frame data, decompressing it as necessary.
+   *
+   * <p>The uncompressed message data wraps the given array, which must not be modified afterwards.
+   *
+   * @param id The message id.
+   * @param frameData The array holding the decrypted message data.
+   * @param offset The offset of the message data in the array.
+   * @param length The length of the message data.
+   * @return The message.
+   */
+  MessageData toMessage(final int id, final byte[] frameData, final int offset, final int length) {
     final Bytes data;
     if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
+      // decompress straight from the frame
+      final int uncompressedLength = compressor.uncompressedLength(frameData, offset, length);
       if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
         throw error("Message size %s in excess of maximum length.", uncompressedLength);
       }
       Bytes _data;
       try {
-        final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
+        final byte[] decompressedMessageData = compressor.decompress(frameData, offset, length);
         _data = Bytes.wrap(decompressedMessageData);
         compressionSuccessful = true;
       } catch (final FramingException fe) {
@@ -302,15 +338,12 @@ public class Framer {
           // If failing on the first packet downgrade to uncompressed
           compressionEnabled = false;
           LOG.debug("Snappy decompression failed: downgrading to uncompressed");
-          final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-          _data = Bytes.wrap(frameData, 1, messageLength);
+          _data = Bytes.wrap(frameData, offset, length);
         }
       }
       data = _data;
     } else {
-      // Move data to a ByteBuf
-      final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-      data = Bytes.wrap(frameData, 1, messageLength);
+      data = Bytes.wrap(frameData, offset, length);
     }
 
     return new RawMessage(id, data);
@@ -351,8 +384,6 @@ public class Framer {
     final int frameSize = message.getSize() + LENGTH_MESSAGE_ID;
     final int pad = padding16(frameSize);
 
-    final byte id = (byte) message.getCode();
-
     // Generate the header data.
     final byte[] h = new byte[LENGTH_HEADER_DATA];
     h[0] = (byte) ((frameSize >> 16) & 0xff);
@@ -372,9 +403,7 @@ public class Framer {
     // Encrypt payload.
     final MutableBytes f = MutableBytes.create(frameSize + pad);
 
-    final Bytes bv = id == 0 ? RLP.NULL : RLP.encodeOne(Bytes.of(id));
-    assert bv.size() == 1;
-    f.set(0, bv.get(0));
+    f.set(0, encodeMessageId(message.getCode()));
 
     // Zero-padded to 16-byte boundary.
     message.getData().copyTo(f, 1);
@@ -390,7 +419,7 @@ public class Framer {
     buf.writeBytes(f.toArrayUnsafe()).writeBytes(fMac);
   }
 
-  private static int padding16(final int size) {
+  static int padding16(final int size) {
     final int pad = size % 16;
     return pad == 0 ? 0 : 16 - pad;
   }
@@ -413,7 +442,7 @@ public class Framer {
   }
 
   @FormatMethod
-  private static FramingException error(final String s, final Object... params) {
+  static FramingException error(final String s, final Object... params) {
     return new FramingException(String.format(s, params));
   }
 }
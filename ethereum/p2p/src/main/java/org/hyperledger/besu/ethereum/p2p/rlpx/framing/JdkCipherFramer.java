@@ -0,0 +1,280 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.framing;
+
+import static io.netty.buffer.ByteBufUtil.hexDump;
+import static org.hyperledger.besu.ethereum.p2p.rlpx.RlpxFrameConstants.LENGTH_FRAME_SIZE;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A {@link Framer} encrypting and authenticating frames with the AES implementation of the JDK,
+ * which the JIT compiles to the AES instructions of the CPU, instead of the Bouncy Castle engines.
+ *
+ * <p>Frames are encrypted, decrypted and MACed in place: the ciphertext is read from and written to
+ * the arrays backing the Netty buffers, and the plaintext straight from the message data and into
+ * the array of the deframed message. Buffers not backed by an array, like direct buffers, are
+ * streamed through a small scratch array owned by the framer, as the AES intrinsics of the JDK work
+ * on arrays.
+ *
+ * <p>The frames are the same as the ones of {@link Framer}, both interoperate.
+ */
+public class JdkCipherFramer extends Framer {
+  private static final int SCRATCH_SIZE = 8192;
+  private static final byte[] ZERO_PADDING = new byte[16];
+
+  private final HandshakeSecrets secrets;
+  private final Cipher encryptor;
+  private final Cipher decryptor;
+  private final Cipher macEncryptor;
+  // reused for the header, the MAC blocks, the message id and the padding
+  private final byte[] header = new byte[LENGTH_HEADER_DATA];
+  private final byte[] mac = new byte[LENGTH_MAC];
+  private final byte[] block = new byte[16];
+  private byte[] scratch;
+  private boolean headerProcessed;
+  private int frameSize;
+
+  /**
+   * Creates a new framer out of the handshake secrets derived during the cryptographic handshake.
+   *
+   * @param secrets The handshake secrets.
+   */
+  public JdkCipherFramer(final HandshakeSecrets secrets) {
+    this.secrets = secrets;
+
+    final SecretKeySpec aesKey = new SecretKeySpec(secrets.getAesSecret(), "AES");
+    final SecretKeySpec macKey = new SecretKeySpec(secrets.getMacSecret(), "AES");
+    try {
+      encryptor = Cipher.getInstance("AES/CTR/NoPadding");
+      encryptor.init(Cipher.ENCRYPT_MODE, aesKey, new IvParameterSpec(IV));
+
+      decryptor = Cipher.getInstance("AES/CTR/NoPadding");
+      decryptor.init(Cipher.DECRYPT_MODE, aesKey, new IvParameterSpec(IV));
+
+      macEncryptor = Cipher.getInstance("AES/ECB/NoPadding");
+      macEncryptor.init(Cipher.ENCRYPT_MODE, macKey);
+    } catch (final GeneralSecurityException e) {
+      throw new IllegalStateException("AES is not available in this JDK", e);
+    }
+  }
+
+  @Override
+  public synchronized MessageData deframe(final ByteBuf buf) throws FramingException {
+    if (buf == null || !buf.isReadable()) {
+      return null;
+    }
+
+    if (!headerProcessed) {
+      // We don't have enough bytes to read the header.
+      if (buf.readableBytes() < LENGTH_FULL_HEADER) {
+        return null;
+      }
+      frameSize = processHeader(buf);
+      headerProcessed = true;
+      buf.discardReadBytes();
+    }
+
+    final int size = frameSize + padding16(frameSize) + LENGTH_MAC;
+    if (buf.readableBytes() < size) {
+      return null;
+    }
+
+    final MessageData msg = processFrame(buf, frameSize);
+    buf.discardReadBytes();
+    headerProcessed = false;
+    return msg;
+  }
+
+  private int processHeader(final ByteBuf buf) {
+    buf.readBytes(header).readBytes(mac);
+
+    // Header MAC validation.
+    encryptMac(secrets.getIngressMac(), block);
+    xor(block, header);
+    validateMac(mac, secrets.updateIngress(block, 0, LENGTH_MAC).getIngressMac());
+
+    // Perform the header decryption.
+    update(decryptor, header, 0, LENGTH_HEADER_DATA, header, 0);
+
+    // Read the frame length.
+    final int frameSize =
+        ((header[0] & 0xff) << 16) | ((header[1] & 0xff) << 8) | (header[2] & 0xff);
+
+    // Discard the header data (RLP): being set to fixed value 0xc28080 (list of two null
+    // elements) by other clients, and the padding (= zero-fill to 16-byte boundary).
+    final int headerDataLength =
+        RLP.calculateSize(Bytes.wrap(header, LENGTH_FRAME_SIZE, header.length - LENGTH_FRAME_SIZE));
+    final int remaining = LENGTH_HEADER_DATA - LENGTH_FRAME_SIZE;
+    if (remaining < headerDataLength) {
+      throw error(
+          "Expected at least %d readable bytes while processing header, remaining: %s",
+          headerDataLength, remaining);
+    }
+    final int unread =
+        remaining - headerDataLength - padding16(LENGTH_FRAME_SIZE + headerDataLength);
+    if (unread != 0) {
+      throw error(
+          "Expected no more readable bytes while processing header, remaining: %s", unread);
+    }
+    return frameSize;
+  }
+
+  private MessageData processFrame(final ByteBuf buf, final int frameSize) {
+    // Decrypt the frame while updating its MAC, the message data going straight to its array.
+    readDecrypted(buf, block, 0, LENGTH_MESSAGE_ID);
+    final int id = decodeMessageId(block[0]);
+    final byte[] data = new byte[frameSize - LENGTH_MESSAGE_ID];
+    readDecrypted(buf, data, 0, data.length);
+    readDecrypted(buf, block, 0, padding16(frameSize));
+
+    // Validate the frame's MAC.
+    final byte[] fMacSeed = secrets.getIngressMac();
+    encryptMac(fMacSeed, block);
+    xor(block, fMacSeed);
+    buf.readBytes(mac);
+    validateMac(mac, secrets.updateIngress(block, 0, LENGTH_MAC).getIngressMac());
+
+    return toMessage(id, data, 0, data.length);
+  }
+
+  private void readDecrypted(
+      final ByteBuf buf, final byte[] plaintext, final int offset, final int length) {
+    if (buf.hasArray()) {
+      final int ciphertextOffset = buf.arrayOffset() + buf.readerIndex();
+      secrets.updateIngress(buf.array(), ciphertextOffset, length);
+      update(decryptor, buf.array(), ciphertextOffset, length, plaintext, offset);
+      buf.skipBytes(length);
+      return;
+    }
+    final byte[] ciphertext = scratch();
+    for (int done = 0; done < length; ) {
+      final int chunk = Math.min(length - done, ciphertext.length);
+      buf.readBytes(ciphertext, 0, chunk);
+      secrets.updateIngress(ciphertext, 0, chunk);
+      update(decryptor, ciphertext, 0, chunk, plaintext, offset + done);
+      done += chunk;
+    }
+  }
+
+  @Override
+  void frameMessage(final MessageData message, final ByteBuf buf) {
+    final int frameSize = message.getSize() + LENGTH_MESSAGE_ID;
+    final int pad = padding16(frameSize);
+    buf.ensureWritable(LENGTH_FULL_HEADER + frameSize + pad + LENGTH_MAC);
+
+    // Generate the header data.
+    Arrays.fill(header, (byte) 0);
+    header[0] = (byte) ((frameSize >> 16) & 0xff);
+    header[1] = (byte) ((frameSize >> 8) & 0xff);
+    header[2] = (byte) (frameSize & 0xff);
+    System.arraycopy(PROTOCOL_HEADER, 0, header, LENGTH_FRAME_SIZE, PROTOCOL_HEADER.length);
+    update(encryptor, header, 0, LENGTH_HEADER_DATA, header, 0);
+
+    // Generate the header MAC.
+    encryptMac(secrets.getEgressMac(), block);
+    xor(block, header);
+    final byte[] hMac = secrets.updateEgress(block, 0, LENGTH_MAC).getEgressMac();
+    buf.writeBytes(header).writeBytes(hMac, 0, LENGTH_MAC);
+
+    // Encrypt the message id, the data and the zero-padding to 16-byte boundary, while updating
+    // the frame's MAC.
+    block[0] = encodeMessageId(message.getCode());
+    writeEncrypted(buf, block, 0, LENGTH_MESSAGE_ID);
+    final byte[] data = message.getData().toArrayUnsafe();
+    writeEncrypted(buf, data, 0, data.length);
+    writeEncrypted(buf, ZERO_PADDING, 0, pad);
+
+    // Calculate the frame MAC.
+    final byte[] fMacSeed = secrets.getEgressMac();
+    encryptMac(fMacSeed, block);
+    xor(block, fMacSeed);
+    final byte[] fMac = secrets.updateEgress(block, 0, LENGTH_MAC).getEgressMac();
+    buf.writeBytes(fMac, 0, LENGTH_MAC);
+  }
+
+  private void writeEncrypted(
+      final ByteBuf buf, final byte[] plaintext, final int offset, final int length) {
+    if (buf.hasArray()) {
+      final int writerIndex = buf.writerIndex();
+      final int ciphertextOffset = buf.arrayOffset() + writerIndex;
+      update(encryptor, plaintext, offset, length, buf.array(), ciphertextOffset);
+      secrets.updateEgress(buf.array(), ciphertextOffset, length);
+      buf.writerIndex(writerIndex + length);
+      return;
+    }
+    final byte[] ciphertext = scratch();
+    for (int done = 0; done < length; ) {
+      final int chunk = Math.min(length - done, ciphertext.length);
+      update(encryptor, plaintext, offset + done, chunk, ciphertext, 0);
+      secrets.updateEgress(ciphertext, 0, chunk);
+      buf.writeBytes(ciphertext, 0, chunk);
+      done += chunk;
+    }
+  }
+
+  private byte[] scratch() {
+    if (scratch == null) {
+      scratch = new byte[SCRATCH_SIZE];
+    }
+    return scratch;
+  }
+
+  /** Encrypts the first block of the given MAC into the output block. */
+  private void encryptMac(final byte[] mac, final byte[] output) {
+    update(macEncryptor, mac, 0, LENGTH_MAC, output, 0);
+  }
+
+  private static void update(
+      final Cipher cipher,
+      final byte[] input,
+      final int inputOffset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    try {
+      cipher.update(input, inputOffset, length, output, outputOffset);
+    } catch (final ShortBufferException e) {
+      throw new FramingException("Output buffer too short", e);
+    }
+  }
+
+  private static void validateMac(final byte[] candidateMac, final byte[] expectedMac) {
+    if (!Arrays.equals(expectedMac, 0, LENGTH_MAC, candidateMac, 0, LENGTH_MAC)) {
+      throw error(
+          "Frame MAC did not match expected MAC; expected: %s, received: %s",
+          hexDump(expectedMac, 0, LENGTH_MAC), hexDump(candidateMac));
+    }
+  }
+
+  /** XORs the first block of the second array into the first one. */
+  private static void xor(final byte[] x1, final byte[] x2) {
+    for (int i = 0; i < LENGTH_MAC; i++) {
+      x1[i] ^= x2[i];
+    }
+  }
+}
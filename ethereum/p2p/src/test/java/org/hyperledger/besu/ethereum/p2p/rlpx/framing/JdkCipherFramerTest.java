@@ -0,0 +1,198 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.framing;
+
+import static io.netty.buffer.ByteBufUtil.decodeHexDump;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class JdkCipherFramerTest {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void deframeManyWithExtremeOneByteFragmentation(final boolean direct) throws IOException {
+    final JsonNode td = MAPPER.readTree(FramerTest.class.getResource("/peer1.json"));
+    final JsonNode messages = td.get("messages");
+    final ByteBuf all = Unpooled.buffer();
+    messages.forEach(n -> all.writeBytes(decodeHexDump(n.get("data").asText())));
+
+    final Framer framer = new JdkCipherFramer(secretsFrom(td, false));
+
+    int i = 0;
+    final ByteBuf in = direct ? Unpooled.directBuffer() : Unpooled.buffer();
+    while (all.isReadable()) {
+      in.writeByte(all.readByte());
+      final MessageData msg = framer.deframe(in);
+      if (msg != null) {
+        final int expectedFrameSize = messages.get(i++).get("frame_size").asInt();
+        assertThat(expectedFrameSize).isEqualTo(msg.getSize() + 1); // +1 for message id byte.
+        assertThat(in.readableBytes()).isZero();
+      }
+    }
+    // All messages were processed.
+    assertThat(i).isEqualTo(messages.size());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void frameMessage(final boolean direct) throws IOException {
+    // Decrypt the test vectors, then impersonate the sending end and frame them again.
+    final JsonNode td = MAPPER.readTree(FramerTest.class.getResource("/peer1.json"));
+    final JsonNode messages = td.get("messages");
+    final Framer deframer = new JdkCipherFramer(secretsFrom(td, false));
+    final List<MessageData> decrypted = new ArrayList<>();
+    messages.forEach(
+        n ->
+            decrypted.add(
+                deframer.deframe(Unpooled.wrappedBuffer(decodeHexDump(n.get("data").asText())))));
+
+    final Framer framer = new JdkCipherFramer(secretsFrom(td, true));
+    for (int i = 0; i < decrypted.size(); i++) {
+      final ByteBuf b = direct ? Unpooled.directBuffer() : Unpooled.buffer();
+      framer.frame(decrypted.get(i), b);
+      final byte[] enc = new byte[b.readableBytes()];
+      b.readBytes(enc);
+      assertThat(enc).isEqualTo(decodeHexDump(messages.get(i).get("data").asText()));
+    }
+  }
+
+  @Test
+  public void interoperatesWithFramer() {
+    // larger than the scratch array, so direct buffers are streamed through it in chunks
+    final byte[] data = new byte[100_000];
+    new Random(1).nextBytes(data);
+    final List<MessageData> messages =
+        List.of(
+            new RawMessage(0x00, Bytes.EMPTY),
+            new RawMessage(0x10, Bytes.of(1, 2, 3)),
+            new RawMessage(0x21, Bytes.wrap(data)));
+
+    assertRoundTrip(Framer::new, JdkCipherFramer::new, messages, Unpooled::buffer);
+    assertRoundTrip(JdkCipherFramer::new, Framer::new, messages, Unpooled::buffer);
+    assertRoundTrip(JdkCipherFramer::new, JdkCipherFramer::new, messages, Unpooled::directBuffer);
+  }
+
+  @Test
+  public void compressionWorks() {
+    final Framer sendingFramer = new JdkCipherFramer(secrets());
+    final Framer receivingFramer = new Framer(secrets());
+    sendingFramer.enableCompression();
+    receivingFramer.enableCompression();
+
+    final MessageData message = new RawMessage(0x10, Bytes.repeat((byte) 0xab, 1024));
+    final ByteBuf out = Unpooled.buffer();
+    sendingFramer.frame(message, out);
+
+    assertThat(out.readableBytes()).isLessThan(message.getSize());
+    assertThat(receivingFramer.deframe(out).getData()).isEqualTo(message.getData());
+    assertThat(receivingFramer.isCompressionSuccessful()).isTrue();
+  }
+
+  @Test
+  public void deframeTamperedFrameThrowsException() {
+    final ByteBuf out = Unpooled.buffer();
+    new Framer(secrets()).frame(new RawMessage(0x10, Bytes.of(1, 2, 3)), out);
+    out.setByte(40, out.getByte(40) ^ 0x01);
+
+    assertThatThrownBy(() -> new JdkCipherFramer(secrets()).deframe(out))
+        .isInstanceOf(FramingException.class)
+        .hasMessageStartingWith("Frame MAC did not match expected MAC");
+  }
+
+  @Test
+  public void deframeExcessDataThrowsException() throws IOException {
+    final JsonNode td = MAPPER.readTree(FramerTest.class.getResource("/peer2.json"));
+    final Framer framer = new JdkCipherFramer(secretsFrom(td, false));
+
+    // frame has 19 byte protocol header
+    final ByteBuf badFrame =
+        Unpooled.wrappedBuffer(
+            decodeHexDump(
+                "1457498af1e2ccd62d3ed4e013b1c78ab1a2790b7edbf77cf5fe903ae15beb024d264ee0942c5ac7c0f8fd1098f36a360cfcabdb958e9c6145b1ff6d41f937aa"));
+
+    assertThatThrownBy(() -> framer.deframe(badFrame))
+        .isInstanceOf(FramingException.class)
+        .hasMessage("Expected at least 19 readable bytes while processing header, remaining: 13");
+  }
+
+  private static void assertRoundTrip(
+      final FramerProvider sender,
+      final FramerProvider receiver,
+      final List<MessageData> messages,
+      final Supplier<ByteBuf> buffers) {
+    final Framer sendingFramer = sender.buildFramer(secrets());
+    final Framer receivingFramer = receiver.buildFramer(secrets());
+    final ByteBuf out = buffers.get();
+    messages.forEach(message -> sendingFramer.frame(message, out));
+
+    for (final MessageData message : messages) {
+      final MessageData received = receivingFramer.deframe(out);
+      assertThat(received.getCode()).isEqualTo(message.getCode());
+      assertThat(received.getData()).isEqualTo(message.getData());
+    }
+    assertThat(out.isReadable()).isFalse();
+  }
+
+  private static HandshakeSecrets secrets() {
+    return new HandshakeSecrets(
+        Bytes.fromHexString("0x75b3ee95adff0c529a05efd7612aa1dbe5057eb9facdde0dfc837ad143da1d43")
+            .toArray(),
+        Bytes.fromHexString("0x030dfd1566f4800c4842c177f7d476b64ae2b99a2aa0ab5600aa2f41a8710575")
+            .toArray(),
+        Bytes.fromHexString("0xc9d3385b1588a5969cba312f8c29bedb4cb9d56ec0cf825436addc1ec644f1d6")
+            .toArray());
+  }
+
+  private static HandshakeSecrets secretsFrom(final JsonNode td, final boolean swap) {
+    final byte[] aes = decodeHexDump(td.get("aes_secret").asText());
+    final byte[] mac = decodeHexDump(td.get("mac_secret").asText());
+
+    final byte[] e1 = decodeHexDump(td.get("egress_gen").get(0).asText());
+    final byte[] e2 = decodeHexDump(td.get("egress_gen").get(1).asText());
+    final byte[] i1 = decodeHexDump(td.get("ingress_gen").get(0).asText());
+    final byte[] i2 = decodeHexDump(td.get("ingress_gen").get(1).asText());
+
+    // 3rd parameter (token) is irrelevant.
+    final HandshakeSecrets secrets = new HandshakeSecrets(aes, mac, mac);
+
+    if (!swap) {
+      secrets.updateEgress(e1).updateEgress(e2).updateIngress(i1).updateIngress(i2);
+    } else {
+      secrets.updateIngress(e1).updateIngress(e2).updateEgress(i1).updateEgress(i2);
+    }
+
+    return secrets;
+  }
+}
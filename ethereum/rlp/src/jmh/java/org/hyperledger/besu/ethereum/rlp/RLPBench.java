@@ -19,6 +19,9 @@ import org.hyperledger.besu.ethereum.rlp.util.RLPTestUtil;
 import java.util.ArrayList;
 import java.util.List;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import org.apache.tuweni.bytes.Bytes;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
@@ -26,6 +29,7 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 
 @State(Scope.Benchmark)
 public class RLPBench {
@@ -61,11 +65,18 @@ public class RLPBench {
 
   volatile Object toEncode;
   volatile Bytes toDecode;
+  volatile ByteBuf toDecodeBuffer;
 
   @Setup(Level.Trial)
   public void prepare() {
     toEncode = generate(depth, width, size);
     toDecode = RLPTestUtil.encode(toEncode);
+    toDecodeBuffer = Unpooled.directBuffer(toDecode.size()).writeBytes(toDecode.toArrayUnsafe());
+  }
+
+  @TearDown(Level.Trial)
+  public void release() {
+    toDecodeBuffer.release();
   }
 
   @Benchmark
@@ -77,4 +88,14 @@ public class RLPBench {
   public Object getBenchmarkDecoding() {
     return RLPTestUtil.decode(toDecode);
   }
+
+  @Benchmark
+  public Object getBenchmarkByteBufCopyThenDecoding() {
+    return RLPTestUtil.decode(Bytes.wrap(ByteBufUtil.getBytes(toDecodeBuffer)));
+  }
+
+  @Benchmark
+  public Object getBenchmarkByteBufDecoding() {
+    return RLPTestUtil.decode(new ByteBufRLPInput(toDecodeBuffer, false));
+  }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import java.math.BigInteger;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
+
+/**
+ * An {@link RLPInput} that reads RLP encoded data from the readable bytes of a Netty {@link
+ * ByteBuf}, including composite buffers, without first gathering them in a single array.
+ *
+ * <p>Only the items that are read are copied out of the buffer, so the values returned remain
+ * valid once the buffer is released. The input neither moves the reader index of the buffer nor
+ * takes ownership of it: the caller keeps it retained while decoding and releases it afterwards.
+ */
+public class ByteBufRLPInput extends AbstractRLPInput {
+
+  private final ByteBuf buffer;
+  private final int start;
+  private final int inputLength;
+
+  public ByteBufRLPInput(final ByteBuf buffer, final boolean lenient) {
+    this(buffer, lenient, true);
+  }
+
+  public ByteBufRLPInput(
+      final ByteBuf buffer, final boolean lenient, final boolean shouldFitExactly) {
+    super(lenient);
+    this.buffer = buffer;
+    this.start = buffer.readerIndex();
+    this.inputLength = buffer.readableBytes();
+    init(inputLength, shouldFitExactly);
+  }
+
+  private int index(final long offset) {
+    return start + Math.toIntExact(offset);
+  }
+
+  private byte[] copy(final long offset, final int length) {
+    return ByteBufUtil.getBytes(buffer, index(offset), length);
+  }
+
+  @Override
+  byte inputByte(final long offset) {
+    return buffer.getByte(index(offset));
+  }
+
+  @Override
+  Bytes inputSlice(final long offset, final int length) {
+    return Bytes.wrap(copy(offset, length));
+  }
+
+  @Override
+  Bytes32 inputSlice32(final long offset) {
+    return Bytes32.wrap(copy(offset, 32));
+  }
+
+  @Override
+  Bytes48 inputSlice48(final long offset) {
+    return Bytes48.wrap(copy(offset, 48));
+  }
+
+  @Override
+  String inputHex(final long offset, final int length) {
+    return ByteBufUtil.hexDump(buffer, index(offset), length);
+  }
+
+  @Override
+  BigInteger getUnsignedBigInteger(final long offset, final int length) {
+    return new BigInteger(1, copy(offset, length));
+  }
+
+  @Override
+  int getInt(final long offset) {
+    return buffer.getInt(index(offset));
+  }
+
+  @Override
+  long getLong(final long offset) {
+    return buffer.getLong(index(offset));
+  }
+
+  @Override
+  public Bytes raw() {
+    return Bytes.wrap(copy(0, inputLength));
+  }
+}
@@ -44,7 +44,13 @@ public class RLPTestUtil {
     return decode(RLP.input(value));
   }
 
-  private static Object decode(final RLPInput in) {
+  /**
+   * Recursively decodes the next item of an RLP input, as {@link #decode(Bytes)} does.
+   *
+   * @param in The input to decode the next item of.
+   * @return The output of decoding the next item of {@code in}.
+   */
+  public static Object decode(final RLPInput in) {
     if (!in.nextIsList()) {
       return in.readBytes();
     }
@@ -0,0 +1,106 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.rlp.util.RLPTestUtil;
+
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+public class ByteBufRLPInputTest {
+
+  private static final Bytes ENCODED =
+      RLPTestUtil.encode(
+          List.of(
+              Bytes32.fromHexStringLenient("0x01"),
+              List.of(Bytes.fromHexString("0x0102"), Bytes.EMPTY),
+              Bytes.wrap(new byte[100])));
+
+  @Test
+  public void decodesLikeBytesValueInput() {
+    final ByteBuf buffer = Unpooled.wrappedBuffer(ENCODED.toArrayUnsafe());
+
+    assertThat(RLPTestUtil.decode(new ByteBufRLPInput(buffer, false)))
+        .isEqualTo(RLPTestUtil.decode(ENCODED));
+  }
+
+  @Test
+  public void decodesAcrossCompositeBufferComponents() {
+    final CompositeByteBuf buffer = Unpooled.compositeBuffer();
+    for (int i = 0; i < ENCODED.size(); i += 7) {
+      final Bytes component = ENCODED.slice(i, Math.min(7, ENCODED.size() - i));
+      buffer.addComponent(true, Unpooled.wrappedBuffer(component.toArray()));
+    }
+
+    final RLPInput in = new ByteBufRLPInput(buffer, false);
+    in.enterList();
+    assertThat(in.readBytes32()).isEqualTo(Bytes32.fromHexStringLenient("0x01"));
+    in.enterList();
+    assertThat(in.readBytes()).isEqualTo(Bytes.fromHexString("0x0102"));
+    assertThat(in.readBytes()).isEqualTo(Bytes.EMPTY);
+    in.leaveList();
+    assertThat(in.readBytes()).isEqualTo(Bytes.wrap(new byte[100]));
+    in.leaveList();
+    assertThat(in.isDone()).isTrue();
+  }
+
+  @Test
+  public void valuesOutliveReleasedBuffer() {
+    final ByteBuf buffer = Unpooled.buffer();
+    buffer.writeBytes(ENCODED.toArrayUnsafe());
+
+    final RLPInput in = new ByteBufRLPInput(buffer, false);
+    in.enterList();
+    final Bytes32 first = in.readBytes32();
+    final RLPInput nested = in.readAsRlp();
+    buffer.release();
+
+    assertThat(first).isEqualTo(Bytes32.fromHexStringLenient("0x01"));
+    assertThat(RLPTestUtil.decode(nested))
+        .isEqualTo(List.of(Bytes.fromHexString("0x0102"), Bytes.EMPTY));
+  }
+
+  @Test
+  public void readsFromReaderIndexWithoutMovingIt() {
+    final ByteBuf buffer = Unpooled.buffer();
+    buffer.writeBytes(new byte[] {1, 2, 3});
+    buffer.writeBytes(ENCODED.toArrayUnsafe());
+    buffer.readerIndex(3);
+
+    final RLPInput in = new ByteBufRLPInput(buffer, false);
+
+    assertThat(in.raw()).isEqualTo(ENCODED);
+    assertThat(RLPTestUtil.decode(in)).isEqualTo(RLPTestUtil.decode(ENCODED));
+    assertThat(buffer.readerIndex()).isEqualTo(3);
+  }
+
+  @Test
+  public void rejectsTruncatedInput() {
+    final ByteBuf buffer =
+        Unpooled.wrappedBuffer(ENCODED.slice(0, ENCODED.size() - 1).toArrayUnsafe());
+
+    assertThatThrownBy(() -> new ByteBufRLPInput(buffer, false))
+        .isInstanceOf(CorruptedRLPInputException.class);
+  }
+}
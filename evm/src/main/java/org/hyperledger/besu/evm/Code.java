@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.code.OpcodeInfo;
 import org.hyperledger.besu.evm.operation.JumpDestOperation;
+import org.hyperledger.besu.evm.operation.PushOperation;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
@@ -28,6 +29,9 @@ import org.apache.tuweni.bytes.Bytes;
 /** Represents EVM code associated with an account. */
 public class Code {
 
+  private static final byte JUMP_OPCODE = 0x56;
+  private static final byte JUMPI_OPCODE = 0x57;
+
   /** The constant EMPTY_CODE. */
   public static final Code EMPTY_CODE = new Code(Bytes.EMPTY);
 
@@ -42,6 +46,12 @@ public class Code {
   /** Bit mask for jump destinations, used to optimize JUMP/JUMPI operations */
   private long[] jumpDestBitMask = null;
 
+  /**
+   * Bit mask of the PUSH operations immediately followed by a JUMP or JUMPI to the valid jump
+   * destination they push, which the EVM may execute as a single step
+   */
+  private long[] staticJumpBitMask = null;
+
   /**
    * Public constructor.
    *
@@ -151,6 +161,69 @@ public class Code {
     return (targetLong & targetBit) == 0L;
   }
 
+  /**
+   * Is the PUSH operation at this offset immediately followed by a JUMP or JUMPI to the valid jump
+   * destination it pushes?
+   *
+   * @param pc the offset of a PUSH1-PUSH32 operation
+   * @return true if the push and the jump can be executed as a single step
+   */
+  boolean isStaticJump(final int pc) {
+    if (staticJumpBitMask == null) {
+      staticJumpBitMask = calculateStaticJumpBitMask();
+    }
+    return (staticJumpBitMask[pc >>> 6] & (1L << (pc & 0x3F))) != 0L;
+  }
+
+  /**
+   * Computes a bitmask where each bit set to 1 indicates a PUSH1-PUSH32 operation whose immediate
+   * is a valid jump destination and which is immediately followed by a JUMP or JUMPI. This only
+   * depends on the bytecode, so it can be shared by every fork executing the code.
+   */
+  long[] calculateStaticJumpBitMask() {
+    final int size = getSize();
+    final long[] bitmap = new long[(size >> 6) + 1];
+    final byte[] rawCode = getBytes().toArrayUnsafe();
+
+    for (int i = 0; i < size; ) {
+      final int opcode = rawCode[i] & 0xff;
+      if (opcode > PushOperation.PUSH_BASE && opcode <= PushOperation.PUSH_MAX) {
+        final int pushSize = opcode - PushOperation.PUSH_BASE;
+        final int next = i + pushSize + 1;
+        // a push truncated by the end of the code can only be followed by the implicit STOP
+        if (next < size
+            && (rawCode[next] == JUMP_OPCODE || rawCode[next] == JUMPI_OPCODE)
+            && !isJumpDestInvalid(staticJumpDestination(rawCode, i, pushSize))) {
+          bitmap[i >>> 6] |= 1L << (i & 0x3F);
+        }
+        i = next;
+      } else {
+        i++;
+      }
+    }
+
+    return bitmap;
+  }
+
+  /**
+   * Decodes the immediate of a PUSH operation as a jump destination.
+   *
+   * @param rawCode the bytecode
+   * @param pc the offset of the PUSH operation, its immediate must be within the bytecode
+   * @param pushSize the size of the immediate
+   * @return the jump destination, or -1 if it does not fit an int
+   */
+  static int staticJumpDestination(final byte[] rawCode, final int pc, final int pushSize) {
+    long destination = 0;
+    for (int i = pc + 1; i <= pc + pushSize; i++) {
+      destination = (destination << 8) | (rawCode[i] & 0xff);
+      if (destination > Integer.MAX_VALUE) {
+        return -1;
+      }
+    }
+    return (int) destination;
+  }
+
   /**
    * A more readable representation of the hex bytes, including whitespace and comments after hashes
    *
@@ -103,6 +103,17 @@ public class EVM {
   protected static final OperationResult UNDERFLOW_RESPONSE =
       new OperationResult(0L, ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS);
 
+  // PUSHn (3) followed by JUMP (8) or JUMPI (10), executed as a single step
+  private static final long STATIC_JUMP_GAS_COST = 11L;
+  private static final long STATIC_JUMPI_GAS_COST = 13L;
+  private static final OperationResult STATIC_JUMP_RESPONSE =
+      new OperationResult(STATIC_JUMP_GAS_COST, null, 0);
+  private static final OperationResult STATIC_JUMPI_RESPONSE =
+      new OperationResult(STATIC_JUMPI_GAS_COST, null, 0);
+  // the PC is left on the JUMPI, the increment steps over it
+  private static final OperationResult STATIC_NO_JUMPI_RESPONSE =
+      new OperationResult(STATIC_JUMPI_GAS_COST, null, 1);
+
   private final OperationRegistry operations;
   private final GasCalculator gasCalculator;
   private final Operation endOfScriptStop;
@@ -114,6 +125,9 @@ public class EVM {
   private final boolean enableShanghai;
   private final boolean enableAmsterdam;
   private final boolean enableOsaka;
+  private final boolean enableOptimizedOpcodes;
+  // the fused PUSH and JUMP/JUMPI step only stands in for the standard jump operations
+  private final boolean enableStaticJumps;
 
   private final JumpDestOnlyCodeCache jumpDestOnlyCodeCache;
 
@@ -141,6 +155,10 @@ public class EVM {
     enableShanghai = EvmSpecVersion.SHANGHAI.ordinal() <= evmSpecVersion.ordinal();
     enableAmsterdam = EvmSpecVersion.AMSTERDAM.ordinal() <= evmSpecVersion.ordinal();
     enableOsaka = EvmSpecVersion.OSAKA.ordinal() <= evmSpecVersion.ordinal();
+    enableOptimizedOpcodes = evmConfiguration.enableOptimizedOpcodes();
+    enableStaticJumps =
+        operations.get(0x56) instanceof JumpOperation
+            && operations.get(0x57) instanceof JumpiOperation;
   }
 
   /**
@@ -217,7 +235,10 @@ public class EVM {
     evmSpecVersion.maybeWarnVersion();
 
     var operationTracer = tracing == OperationTracer.NO_TRACING ? null : tracing;
-    byte[] code = frame.getCode().getBytes().toArrayUnsafe();
+    final Code codeObject = frame.getCode();
+    byte[] code = codeObject.getBytes().toArrayUnsafe();
+    // tracers observe every operation, so they only get single steps
+    final boolean staticJumps = enableStaticJumps && operationTracer == null;
     Operation[] operationArray = operations.getOperations();
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
       Operation currentOperation;
@@ -241,7 +262,7 @@ public class EVM {
             switch (opcode) {
               case 0x00 -> StopOperation.staticOperation(frame);
               case 0x01 ->
-                  evmConfiguration.enableOptimizedOpcodes()
+                  enableOptimizedOpcodes
                       ? AddOperationOptimized.staticOperation(frame)
                       : AddOperation.staticOperation(frame);
               case 0x02 -> MulOperation.staticOperation(frame);
@@ -249,19 +270,19 @@ public class EVM {
               case 0x04 -> DivOperation.staticOperation(frame);
               case 0x05 -> SDivOperation.staticOperation(frame);
               case 0x06 ->
-                  evmConfiguration.enableOptimizedOpcodes()
+                  enableOptimizedOpcodes
                       ? ModOperationOptimized.staticOperation(frame)
                       : ModOperation.staticOperation(frame);
               case 0x07 ->
-                  evmConfiguration.enableOptimizedOpcodes()
+                  enableOptimizedOpcodes
                       ? SModOperationOptimized.staticOperation(frame)
                       : SModOperation.staticOperation(frame);
               case 0x08 ->
-                  evmConfiguration.enableOptimizedOpcodes()
+                  enableOptimizedOpcodes
                       ? AddModOperationOptimized.staticOperation(frame)
                       : AddModOperation.staticOperation(frame);
               case 0x09 ->
-                  evmConfiguration.enableOptimizedOpcodes()
+                  enableOptimizedOpcodes
                       ? MulModOperationOptimized.staticOperation(frame)
                       : MulModOperation.staticOperation(frame);
               case 0x0a -> ExpOperation.staticOperation(frame, gasCalculator);
@@ -273,19 +294,19 @@ public class EVM {
               case 0x13 -> SGtOperation.staticOperation(frame);
               case 0x15 -> IsZeroOperation.staticOperation(frame);
               case 0x16 ->
-                  evmConfiguration.enableOptimizedOpcodes()
+                  enableOptimizedOpcodes
                       ? AndOperationOptimized.staticOperation(frame)
                       : AndOperation.staticOperation(frame);
               case 0x17 ->
-                  evmConfiguration.enableOptimizedOpcodes()
+                  enableOptimizedOpcodes
                       ? OrOperationOptimized.staticOperation(frame)
                       : OrOperation.staticOperation(frame);
               case 0x18 ->
-                  evmConfiguration.enableOptimizedOpcodes()
+                  enableOptimizedOpcodes
                       ? XorOperationOptimized.staticOperation(frame)
                       : XorOperation.staticOperation(frame);
               case 0x19 ->
-                  evmConfiguration.enableOptimizedOpcodes()
+                  enableOptimizedOpcodes
                       ? NotOperationOptimized.staticOperation(frame)
                       : NotOperation.staticOperation(frame);
               case 0x1a -> ByteOperation.staticOperation(frame);
@@ -354,7 +375,9 @@ public class EVM {
                   0x7d,
                   0x7e,
                   0x7f ->
-                  PushOperation.staticOperation(frame, code, pc, opcode - PUSH_BASE);
+                  staticJumps && codeObject.isStaticJump(pc)
+                      ? staticJumpOperation(frame, code, pc, opcode - PUSH_BASE)
+                      : PushOperation.staticOperation(frame, code, pc, opcode - PUSH_BASE);
               case 0x80, // DUP1-16
                   0x81,
                   0x82,
@@ -440,13 +463,35 @@ public class EVM {
     return operations.getOperations();
   }
 
+  /**
+   * Executes a PUSH immediately followed by a JUMP or JUMPI to the valid jump destination it
+   * pushes, without materializing the destination on the stack. Whenever one of the two operations
+   * would halt, only the PUSH is executed so that the halt happens exactly where single steps
+   * would have put it.
+   */
+  private static OperationResult staticJumpOperation(
+      final MessageFrame frame, final byte[] code, final int pc, final int pushSize) {
+    final int jumpPC = pc + pushSize + 1;
+    final boolean conditional = code[jumpPC] == 0x57;
+    final int stackSize = frame.stackSize();
+    if (frame.getRemainingGas() < (conditional ? STATIC_JUMPI_GAS_COST : STATIC_JUMP_GAS_COST)
+        || stackSize >= frame.getMaxStackSize()
+        || (conditional && stackSize == 0)) {
+      return PushOperation.staticOperation(frame, code, pc, pushSize);
+    }
+    if (conditional && frame.popStackItem().trimLeadingZeros().isEmpty()) {
+      frame.setPC(jumpPC);
+      return STATIC_NO_JUMPI_RESPONSE;
+    }
+    frame.setPC(Code.staticJumpDestination(code, pc, pushSize));
+    return conditional ? STATIC_JUMPI_RESPONSE : STATIC_JUMP_RESPONSE;
+  }
+
   private OperationResult shiftOperation(
       final MessageFrame frame,
       final Function<MessageFrame, OperationResult> standard,
       final Function<MessageFrame, OperationResult> optimized) {
-    return evmConfiguration.enableOptimizedOpcodes()
-        ? optimized.apply(frame)
-        : standard.apply(frame);
+    return enableOptimizedOpcodes ? optimized.apply(frame) : standard.apply(frame);
   }
 
   /**
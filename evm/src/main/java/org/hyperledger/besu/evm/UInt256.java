@@ -42,6 +42,9 @@ public record UInt256(long u3, long u2, long u1, long u0) {
   /** The constant 0. */
   public static final UInt256 ZERO = new UInt256(0, 0, 0, 0);
 
+  /** The constant 1. */
+  public static final UInt256 ONE = new UInt256(0, 0, 0, 1);
+
   private static final byte[] ZERO_BYTES = new byte[BYTESIZE];
 
   /** The constant All ones */
@@ -294,6 +297,29 @@ public record UInt256(long u3, long u2, long u1, long u0) {
     return u3 == 0;
   }
 
+  /**
+   * Number of significant bits.
+   *
+   * @return the position of the highest set bit plus one, 0 if this UInt256 value is 0.
+   */
+  public int bitLength() {
+    if (u3 != 0) return 256 - Long.numberOfLeadingZeros(u3);
+    if (u2 != 0) return 192 - Long.numberOfLeadingZeros(u2);
+    if (u1 != 0) return 128 - Long.numberOfLeadingZeros(u1);
+    return 64 - Long.numberOfLeadingZeros(u0);
+  }
+
+  private boolean testBit(final int bit) {
+    final long limb =
+        switch (bit >>> 6) {
+          case 0 -> u0;
+          case 1 -> u1;
+          case 2 -> u2;
+          default -> u3;
+        };
+    return ((limb >>> (bit & (N_BITS_PER_LIMB - 1))) & 1L) != 0;
+  }
+
   /**
    * Compares two UInt256.
    *
@@ -308,6 +334,20 @@ public record UInt256(long u3, long u2, long u1, long u0) {
     return Long.compareUnsigned(a.u0, b.u0);
   }
 
+  /**
+   * Compares two UInt256 as two-complement signed integers.
+   *
+   * @param a left UInt256
+   * @param b right UInt256
+   * @return 0 if a == b, negative if a &lt; b and positive if a &gt; b.
+   */
+  public static int compareSigned(final UInt256 a, final UInt256 b) {
+    if (a.u3 != b.u3) return Long.compare(a.u3, b.u3);
+    if (a.u2 != b.u2) return Long.compareUnsigned(a.u2, b.u2);
+    if (a.u1 != b.u1) return Long.compareUnsigned(a.u1, b.u1);
+    return Long.compareUnsigned(a.u0, b.u0);
+  }
+
   // --------------------------------------------------------------------------
   // endregion
 
@@ -387,6 +427,86 @@ public record UInt256(long u3, long u2, long u1, long u0) {
     return new UInt256(z3, z2, z1, z0);
   }
 
+  /**
+   * Logical shift left, as the EVM SHL operation.
+   *
+   * @param shift The number of bits to shift left.
+   * @return The shifted UInt256, zero if shift is 256 or more.
+   */
+  public UInt256 shl(final int shift) {
+    if (shift < 0 || shift >= 256) return ZERO;
+    final UInt256 words =
+        switch (shift >>> 6) {
+          case 0 -> this;
+          case 1 -> new UInt256(u2, u1, u0, 0);
+          case 2 -> new UInt256(u1, u0, 0, 0);
+          default -> new UInt256(u0, 0, 0, 0);
+        };
+    return words.shiftLeft(shift & (N_BITS_PER_LIMB - 1));
+  }
+
+  /**
+   * Logical shift right, as the EVM SHR operation.
+   *
+   * @param shift The number of bits to shift right.
+   * @return The shifted UInt256, zero if shift is 256 or more.
+   */
+  public UInt256 shr(final int shift) {
+    if (shift < 0 || shift >= 256) return ZERO;
+    final UInt256 words =
+        switch (shift >>> 6) {
+          case 0 -> this;
+          case 1 -> new UInt256(0, u3, u2, u1);
+          case 2 -> new UInt256(0, 0, u3, u2);
+          default -> new UInt256(0, 0, 0, u3);
+        };
+    return words.shiftRight(shift & (N_BITS_PER_LIMB - 1));
+  }
+
+  /**
+   * Arithmetic shift right, as the EVM SAR operation.
+   *
+   * @param shift The number of bits to shift right.
+   * @return The shifted UInt256, zero or all ones depending on the sign if shift is 256 or more.
+   */
+  public UInt256 sar(final int shift) {
+    if (!isNegative()) return shr(shift);
+    if (shift < 0 || shift >= 256) return MAX;
+    // shifting a negative value in ones is shifting its complement in zeros
+    return not().shr(shift).not();
+  }
+
+  /**
+   * Byte extraction, as the EVM BYTE operation.
+   *
+   * @param index The index of the byte, 0 being the most significant one.
+   * @return The byte at index, zero if index is 32 or more.
+   */
+  public UInt256 byteAt(final int index) {
+    if (index < 0 || index >= BYTESIZE) return ZERO;
+    final long limb =
+        switch (index >>> 3) {
+          case 0 -> u3;
+          case 1 -> u2;
+          case 2 -> u1;
+          default -> u0;
+        };
+    return fromLong((limb >>> (56 - ((index & 7) << 3))) & 0xFFL);
+  }
+
+  /**
+   * Sign extension, as the EVM SIGNEXTEND operation.
+   *
+   * @param index The index of the byte holding the sign bit, 0 being the least significant one.
+   * @return This integer extended from the sign bit, unchanged if index is 31 or more.
+   */
+  public UInt256 signExtend(final int index) {
+    if (index < 0 || index >= BYTESIZE - 1) return this;
+    final int bits = (index + 1) << 3;
+    final UInt256 mask = MAX.shr(256 - bits);
+    return testBit(bits - 1) ? or(mask.not()) : and(mask);
+  }
+
   // --------------------------------------------------------------------------
   // endregion
 
@@ -432,6 +552,19 @@ public record UInt256(long u3, long u2, long u1, long u0) {
     return adc(other).UInt256Value();
   }
 
+  /**
+   * Subtraction
+   *
+   * <p>Compute the wrapping difference of 2 256-bits integers.
+   *
+   * @param other Integer to subtract from this integer.
+   * @return The difference.
+   */
+  public UInt256 sub(final UInt256 other) {
+    if (other.isZero()) return this;
+    return add(other.neg());
+  }
+
   /**
    * Multiplication
    *
@@ -450,6 +583,59 @@ public record UInt256(long u3, long u2, long u1, long u0) {
     return mul64(other);
   }
 
+  /**
+   * Unsigned division.
+   *
+   * <p>Compute the quotient of 2 256-bits integers, rounded toward zero.
+   *
+   * @param divisor The divisor.
+   * @return The quotient, zero if divisor is zero.
+   */
+  public UInt256 div(final UInt256 divisor) {
+    if (divisor.isZero()) return ZERO;
+    if (divisor.isOne()) return this;
+    final int cmp = compare(this, divisor);
+    if (cmp < 0) return ZERO;
+    if (cmp == 0) return ONE;
+    if (isUInt64()) return fromLong(Long.divideUnsigned(u0, divisor.u0));
+    if (divisor.isUInt64()) return div64(divisor.u0);
+    return divNormalised(divisor);
+  }
+
+  /**
+   * Signed division.
+   *
+   * <p>In signed division, integers are interpreted as fixed 256 bits width two's complement
+   * signed integers, and the quotient is rounded toward zero.
+   *
+   * @param divisor The divisor.
+   * @return The quotient, zero if divisor is zero.
+   */
+  public UInt256 signedDiv(final UInt256 divisor) {
+    if (divisor.isZero()) return ZERO;
+    final UInt256 q = abs().div(divisor.abs());
+    return isNegative() != divisor.isNegative() ? q.neg() : q;
+  }
+
+  /**
+   * Exponentiation.
+   *
+   * <p>Compute the wrapping power of this integer, by square and multiply.
+   *
+   * @param exponent The exponent.
+   * @return This integer raised to exponent.
+   */
+  public UInt256 pow(final UInt256 exponent) {
+    if (exponent.isZero()) return ONE;
+    if (isZeroOrOne()) return this;
+    UInt256 result = ONE;
+    for (int bit = exponent.bitLength() - 1; bit >= 0; bit--) {
+      result = result.mul(result);
+      if (exponent.testBit(bit)) result = result.mul(this);
+    }
+    return result;
+  }
+
   /**
    * Unsigned modulo reduction.
    *
@@ -816,6 +1002,107 @@ public record UInt256(long u3, long u2, long u1, long u0) {
   // --------------------------------------------------------------------------
   // endregion
 
+  // region private division
+  // --------------------------------------------------------------------------
+
+  private UInt256 div64(final long divisor) {
+    // Unchecked: divisor != 0
+    final int shift = Long.numberOfLeadingZeros(divisor);
+    final long d = divisor << shift;
+    final long inv = reciprocal(d);
+    final UInt320 v = shiftLeftWide(shift);
+    DivEstimate qr = div2by1(v.u4, v.u3, d, inv);
+    final long q3 = qr.q();
+    qr = div2by1(qr.r(), v.u2, d, inv);
+    final long q2 = qr.q();
+    qr = div2by1(qr.r(), v.u1, d, inv);
+    final long q1 = qr.q();
+    qr = div2by1(qr.r(), v.u0, d, inv);
+    return new UInt256(q3, q2, q1, qr.q());
+  }
+
+  private UInt256 divNormalised(final UInt256 divisor) {
+    // Knuth, TAOCP vol. 2, 4.3.1, algorithm D, with 64-bit digits stored least significant first.
+    // Unchecked: divisor has at least 2 digits and is less than this.
+    final int n = (divisor.u3 != 0) ? 4 : (divisor.u2 != 0) ? 3 : 2;
+    final long top = (n == 4) ? divisor.u3 : (n == 3) ? divisor.u2 : divisor.u1;
+    final int shift = Long.numberOfLeadingZeros(top);
+    final UInt320 v = divisor.shiftLeftWide(shift);
+    final UInt320 u = shiftLeftWide(shift);
+    final long[] vn = {v.u0, v.u1, v.u2, v.u3};
+    final long[] un = {u.u0, u.u1, u.u2, u.u3, u.u4};
+    final long vTop = vn[n - 1];
+    final long vNext = vn[n - 2];
+    final long inv = reciprocal(vTop);
+    final long[] q = new long[4];
+    for (int j = 4 - n; j >= 0; j--) {
+      long qHat = -1L;
+      if (un[j + n] != vTop) {
+        final DivEstimate qr = div2by1(un[j + n], un[j + n - 1], vTop, inv);
+        qHat = qr.q();
+        long rHat = qr.r();
+        // Refine the estimate with the next digit, it then exceeds the quotient digit by at most 1
+        while (true) {
+          final long p1 = Math.unsignedMultiplyHigh(qHat, vNext);
+          final long p0 = qHat * vNext;
+          if (Long.compareUnsigned(p1, rHat) < 0
+              || (p1 == rHat && Long.compareUnsigned(p0, un[j + n - 2]) <= 0)) break;
+          qHat--;
+          rHat += vTop;
+          if (Long.compareUnsigned(rHat, vTop) < 0) break;
+        }
+      }
+      boolean negative = mulSub(un, vn, n, j, qHat);
+      while (negative) {
+        qHat--;
+        negative = !addBack(un, vn, n, j);
+      }
+      q[j] = qHat;
+    }
+    return new UInt256(q[3], q[2], q[1], q[0]);
+  }
+
+  private static boolean mulSub(
+      final long[] un, final long[] vn, final int n, final int j, final long multiplier) {
+    // un[j..j+n] <- un[j..j+n] - vn * multiplier, returns true if the difference is negative
+    long carry = 0;
+    long borrow = 0;
+    for (int i = 0; i < n; i++) {
+      long p0 = multiplier * vn[i];
+      long p1 = Math.unsignedMultiplyHigh(multiplier, vn[i]);
+      p0 += carry;
+      carry = p1 + ((Long.compareUnsigned(p0, carry) < 0) ? 1 : 0);
+      final long x = un[i + j];
+      final long d = x - p0;
+      un[i + j] = d - borrow;
+      borrow =
+          ((Long.compareUnsigned(x, p0) < 0) ? 1 : 0)
+              + ((Long.compareUnsigned(d, borrow) < 0) ? 1 : 0);
+    }
+    final long x = un[j + n];
+    final long d = x - carry;
+    un[j + n] = d - borrow;
+    return Long.compareUnsigned(x, carry) < 0 || Long.compareUnsigned(d, borrow) < 0;
+  }
+
+  private static boolean addBack(final long[] un, final long[] vn, final int n, final int j) {
+    // un[j..j+n] <- un[j..j+n] + vn, returns true if the sum carries out of the top digit
+    long carry = 0;
+    for (int i = 0; i < n; i++) {
+      final long x = un[i + j];
+      final long s = x + vn[i];
+      un[i + j] = s + carry;
+      carry =
+          ((Long.compareUnsigned(s, x) < 0) ? 1 : 0)
+              + ((Long.compareUnsigned(un[i + j], s) < 0) ? 1 : 0);
+    }
+    un[j + n] += carry;
+    return carry != 0 && un[j + n] == 0;
+  }
+
+  // --------------------------------------------------------------------------
+  // endregion
+
   // region private quotient estimation
   // --------------------------------------------------------------------------
 
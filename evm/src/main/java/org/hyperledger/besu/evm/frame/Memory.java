@@ -16,8 +16,12 @@ package org.hyperledger.besu.evm.frame;
 
 import org.hyperledger.besu.evm.internal.Words;
 
+import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
 
+import org.apache.tuweni.bytes.AbstractBytes;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.bytes.MutableBytes;
@@ -27,27 +31,45 @@ import org.apache.tuweni.bytes.MutableBytes;
  *
  * <p>Note: this is meant to map to I in Section 9.1 "Basics" and Section 9.4.1 "Machine State" in
  * the Yellow Paper Revision 59dccd.
+ *
+ * <p>The memory is made of fixed size pages, so it expands by adding pages without copying the
+ * bytes already stored. The pages are taken from the {@link MemoryPagePool} of the executing thread
+ * and given back to it by {@link #release()} once the frame owning the memory has completed.
  */
 public class Memory {
 
   // See below.
   private static final long MAX_BYTES = Integer.MAX_VALUE;
 
+  private static final int PAGE_SHIFT = 12;
+
+  /** The size of the pages of the memory, a multiple of the word size. */
+  public static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+  private static final byte[][] NO_PAGES = new byte[0][];
+  // shorter shared bytes are copied, so they do not keep a whole page reachable
+  private static final int MIN_SHARED_BYTES = PAGE_SIZE / 4;
+
   /**
-   * The data stored within the memory.
+   * The data stored within the memory, byte {@code i} is stored at index {@code i % PAGE_SIZE} of
+   * page {@code i / PAGE_SIZE}.
    *
    * <p>Note that the current Ethereum spec don't put a limit on memory, so we could theoretically
-   * overflow this. A byte array implementation limits us to 2 GiB. But that would cost over 51
+   * overflow this. Indexing bytes with an int limits us to 2 GiB. But that would cost over 51
    * trillion gas. So this is likely a reasonable limitation, at least at first.
    */
-  private byte[] memBytes;
+  private byte[][] pages = NO_PAGES;
+
+  private int pageCount;
+
+  // pages referenced by the bytes returned by getSharedBytes, never given back to the pool
+  private BitSet sharedPages;
 
   private int activeWords;
 
   /** Instantiates a new Memory. */
-  public Memory() {
-    memBytes = new byte[0];
-  }
+  public Memory() {}
 
   private static RuntimeException overflow(final long v) {
     return overflow(String.valueOf(v));
@@ -132,16 +154,119 @@ public class Memory {
   private void maybeExpandCapacity(final int newActiveWords) {
     if (activeWords >= newActiveWords) return;
 
-    int neededSize = newActiveWords * Bytes32.SIZE;
-    if (neededSize > memBytes.length) {
-      int newSize = Math.max(neededSize, memBytes.length * 2);
-      byte[] newMem = new byte[newSize];
-      System.arraycopy(memBytes, 0, newMem, 0, memBytes.length);
-      memBytes = newMem;
+    final long neededSize = (long) newActiveWords * Bytes32.SIZE;
+    final int neededPages = (int) ((neededSize + PAGE_MASK) >>> PAGE_SHIFT);
+    if (neededPages > pageCount) {
+      addPages(neededPages);
     }
     activeWords = newActiveWords;
   }
 
+  private void addPages(final int neededPages) {
+    if (neededPages > pages.length) {
+      // only the page references are copied, not the bytes they hold
+      pages = Arrays.copyOf(pages, Math.max(neededPages, pages.length * 2));
+    }
+    final MemoryPagePool pool = MemoryPagePool.current();
+    while (pageCount < neededPages) {
+      pages[pageCount++] = pool.acquire();
+    }
+  }
+
+  /**
+   * Gives the pages of this memory back to the pool of the current thread, except those shared by
+   * {@link #getSharedBytes(long, long)}, and empties the memory. Views previously returned by
+   * {@link #getMutableBytes(long, long)} must not be used anymore, as their pages may be reused by
+   * another memory.
+   */
+  public void release() {
+    if (pageCount == 0) {
+      return;
+    }
+    final MemoryPagePool pool = MemoryPagePool.current();
+    final long activeBytes = (long) activeWords * Bytes32.SIZE;
+    for (int i = 0; i < pageCount; i++) {
+      if (sharedPages == null || !sharedPages.get(i)) {
+        final long usedBytes = Math.min(PAGE_SIZE, activeBytes - ((long) i << PAGE_SHIFT));
+        pool.release(pages[i], (int) usedBytes);
+      }
+    }
+    pages = NO_PAGES;
+    pageCount = 0;
+    sharedPages = null;
+    activeWords = 0;
+  }
+
+  private static int pageIndex(final int location) {
+    return location >>> PAGE_SHIFT;
+  }
+
+  private static int pageOffset(final int location) {
+    return location & PAGE_MASK;
+  }
+
+  private static boolean isWithinPage(final int location, final int length) {
+    return pageOffset(location) + length <= PAGE_SIZE;
+  }
+
+  /** Copies bytes from memory, reading zeros beyond the pages allocated. */
+  private void read(final int location, final byte[] dst, final int dstOffset, final int length) {
+    int position = location;
+    int offset = dstOffset;
+    int remaining = length;
+    while (remaining > 0 && pageIndex(position) < pageCount) {
+      final int chunk = Math.min(remaining, PAGE_SIZE - pageOffset(position));
+      System.arraycopy(pages[pageIndex(position)], pageOffset(position), dst, offset, chunk);
+      position += chunk;
+      offset += chunk;
+      remaining -= chunk;
+    }
+  }
+
+  /** Copies bytes into memory, which must already be expanded to hold them. */
+  private void write(final int location, final byte[] src, final int srcOffset, final int length) {
+    int position = location;
+    int offset = srcOffset;
+    int remaining = length;
+    while (remaining > 0) {
+      final int chunk = Math.min(remaining, PAGE_SIZE - pageOffset(position));
+      System.arraycopy(src, offset, pages[pageIndex(position)], pageOffset(position), chunk);
+      position += chunk;
+      offset += chunk;
+      remaining -= chunk;
+    }
+  }
+
+  /** Zeroes bytes of memory, which must already be expanded to hold them. */
+  private void fill(final int location, final int length) {
+    int position = location;
+    int remaining = length;
+    while (remaining > 0) {
+      final int chunk = Math.min(remaining, PAGE_SIZE - pageOffset(position));
+      final int offset = pageOffset(position);
+      Arrays.fill(pages[pageIndex(position)], offset, offset + chunk, (byte) 0);
+      position += chunk;
+      remaining -= chunk;
+    }
+  }
+
+  /**
+   * Returns the array backing some bytes to write into this memory, copying it if it is one of the
+   * pages of this memory and the write spans several pages, as the page could then be overwritten
+   * before it is fully read.
+   */
+  private byte[] sourceArray(final Bytes value, final int location, final int length) {
+    final byte[] array = value.toArrayUnsafe();
+    if (array.length == PAGE_SIZE && !isWithinPage(location, length)) {
+      for (int i = 0; i < pageCount; i++) {
+        if (pages[i] == array) {
+          return array.clone();
+        }
+      }
+    }
+    return array;
+  }
+
   /**
    * Returns true if the object is equal to this memory instance; otherwise false.
    *
@@ -154,12 +279,24 @@ public class Memory {
     if (other == this) return true;
     if (!(other instanceof Memory)) return false;
 
-    return Arrays.equals(memBytes, ((Memory) other).memBytes);
+    final Memory that = (Memory) other;
+    if (activeWords != that.activeWords) return false;
+    final int activeBytes = getActiveBytes();
+    for (int i = 0; i < pageCount; i++) {
+      final int length = Math.min(PAGE_SIZE, activeBytes - (i << PAGE_SHIFT));
+      if (!Arrays.equals(pages[i], 0, length, that.pages[i], 0, length)) return false;
+    }
+    return true;
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(memBytes);
+    int result = activeWords;
+    final int activeBytes = getActiveBytes();
+    for (int i = 0; i < activeBytes; i++) {
+      result = 31 * result + pages[pageIndex(i)][pageOffset(i)];
+    }
+    return result;
   }
 
   /**
@@ -200,7 +337,17 @@ public class Memory {
 
     final int start = asByteIndex(location);
     ensureCapacityForBytes(start, length);
-    return Bytes.wrap(Arrays.copyOfRange(memBytes, start, start + length));
+    return Bytes.wrap(copyOfRange(start, length));
+  }
+
+  private byte[] copyOfRange(final int start, final int length) {
+    if (isWithinPage(start, length) && pageIndex(start) < pageCount) {
+      final int offset = pageOffset(start);
+      return Arrays.copyOfRange(pages[pageIndex(start)], offset, offset + length);
+    }
+    final byte[] bytes = new byte[length];
+    read(start, bytes, 0, length);
+    return bytes;
   }
 
   /**
@@ -223,22 +370,18 @@ public class Memory {
 
     final int start = asByteIndex(location);
 
-    // Arrays.copyOfRange would throw if start > memBytes.length, so just return the expected
-    // number of zeros without expanding the memory.
-    // Otherwise, just follow the happy path.
-    if (start > memBytes.length) {
-      return Bytes.wrap(new byte[(int) numBytes]);
-    } else {
-      return Bytes.wrap(Arrays.copyOfRange(memBytes, start, start + length));
-    }
+    // the bytes beyond the pages allocated are read as zeros, without expanding the memory
+    return Bytes.wrap(copyOfRange(start, length));
   }
 
   /**
-   * Returns a copy of bytes from memory.
+   * Returns a view of bytes from memory, without copying them. Changes of the memory are visible
+   * through the view and writes to the view change the memory, whether or not the bytes span
+   * several pages. The view must not be used once the memory is released.
    *
    * @param location The location in memory to start with.
    * @param numBytes The number of bytes to get.
-   * @return A fresh copy of the bytes from memory starting at {@code location} and extending {@code
+   * @return A view of the bytes from memory starting at {@code location} and extending {@code
    *     numBytes}.
    */
   public MutableBytes getMutableBytes(final long location, final long numBytes) {
@@ -254,7 +397,47 @@ public class Memory {
     final int start = asByteIndex(location);
 
     ensureCapacityForBytes(start, length);
-    return MutableBytes.wrap(memBytes, start, length);
+    return view(pages, start, length);
+  }
+
+  private static MutableBytes view(final byte[][] pages, final int start, final int length) {
+    if (isWithinPage(start, length)) {
+      return MutableBytes.wrap(pages[pageIndex(start)], pageOffset(start), length);
+    }
+    final byte[][] viewPages =
+        Arrays.copyOfRange(pages, pageIndex(start), pageIndex(start + length - 1) + 1);
+    return new PagedBytes(viewPages, pageOffset(start), length);
+  }
+
+  /**
+   * Returns bytes from memory that stay valid once the memory is released, without copying them
+   * when they are held by a single page and are long enough to be worth keeping the page for. That
+   * page is then never given back to the pool, so the bytes can be handed to another frame, like
+   * the output of a frame to its parent. The bytes still change if this memory is written to, so
+   * they must only be taken once no more writes are expected, like when the frame halts.
+   *
+   * @param location The location in memory to start with.
+   * @param numBytes The number of bytes to get.
+   * @return The bytes from memory starting at {@code location} and extending {@code numBytes}.
+   */
+  public Bytes getSharedBytes(final long location, final long numBytes) {
+    // See getBytes for why we check length == 0 first.
+    final int length = asByteLength(numBytes);
+    if (length == 0) {
+      return Bytes.EMPTY;
+    }
+
+    final int start = asByteIndex(location);
+
+    ensureCapacityForBytes(start, length);
+    if (length >= MIN_SHARED_BYTES && isWithinPage(start, length)) {
+      if (sharedPages == null) {
+        sharedPages = new BitSet();
+      }
+      sharedPages.set(pageIndex(start));
+      return Bytes.wrap(pages[pageIndex(start)], pageOffset(start), length);
+    }
+    return Bytes.wrap(copyOfRange(start, length));
   }
 
   /**
@@ -317,11 +500,11 @@ public class Memory {
 
     ensureCapacityForBytes(start, length);
     if (srcLength >= length) {
-      System.arraycopy(taintedValue.toArrayUnsafe(), 0, memBytes, start, length);
+      write(start, sourceArray(taintedValue, start, length), 0, length);
     } else {
-      Arrays.fill(memBytes, start + srcLength, end, (byte) 0);
+      fill(start + srcLength, end - start - srcLength);
       if (srcLength > 0) {
-        System.arraycopy(taintedValue.toArrayUnsafe(), 0, memBytes, start, srcLength);
+        write(start, sourceArray(taintedValue, start, srcLength), 0, srcLength);
       }
     }
   }
@@ -357,12 +540,12 @@ public class Memory {
 
     ensureCapacityForBytes(start, length);
     if (srcLength >= length) {
-      System.arraycopy(value.toArrayUnsafe(), 0, memBytes, start, length);
+      write(start, sourceArray(value, start, length), 0, length);
     } else {
       int divider = end - srcLength;
-      Arrays.fill(memBytes, start, divider, (byte) 0);
+      fill(start, divider - start);
       if (srcLength > 0) {
-        System.arraycopy(value.toArrayUnsafe(), 0, memBytes, divider, srcLength);
+        write(divider, sourceArray(value, divider, srcLength), 0, srcLength);
       }
     }
   }
@@ -394,7 +577,7 @@ public class Memory {
     }
 
     ensureCapacityForBytes(location, numBytes);
-    Arrays.fill(memBytes, location, location + numBytes, (byte) 0);
+    fill(location, numBytes);
   }
 
   /**
@@ -406,7 +589,7 @@ public class Memory {
   void setByte(final long location, final byte value) {
     final int start = asByteIndex(location);
     ensureCapacityForBytes(start, 1);
-    memBytes[start] = value;
+    pages[pageIndex(start)][pageOffset(start)] = value;
   }
 
   /**
@@ -418,7 +601,7 @@ public class Memory {
   public Bytes32 getWord(final long location) {
     final int start = asByteIndex(location);
     ensureCapacityForBytes(start, Bytes32.SIZE);
-    return Bytes32.wrap(Arrays.copyOfRange(memBytes, start, start + Bytes32.SIZE));
+    return Bytes32.wrap(copyOfRange(start, Bytes32.SIZE));
   }
 
   /**
@@ -433,7 +616,7 @@ public class Memory {
   public void setWord(final long location, final Bytes32 bytes) {
     final int start = asByteIndex(location);
     ensureCapacityForBytes(start, Bytes32.SIZE);
-    System.arraycopy(bytes.toArrayUnsafe(), 0, memBytes, start, Bytes32.SIZE);
+    write(start, bytes.toArrayUnsafe(), 0, Bytes32.SIZE);
   }
 
   /**
@@ -447,11 +630,136 @@ public class Memory {
    */
   public void copy(final long dst, final long src, final long length) {
     ensureCapacityForBytes(Math.max(dst, src), length);
-    System.arraycopy(memBytes, asByteIndex(src), memBytes, asByteIndex(dst), asByteLength(length));
+    final int srcIndex = asByteIndex(src);
+    final int dstIndex = asByteIndex(dst);
+    int remaining = asByteLength(length);
+    if (srcIndex == dstIndex) {
+      return;
+    }
+    if (dstIndex < srcIndex) {
+      // copying forward never overwrites source bytes not copied yet
+      int from = srcIndex;
+      int to = dstIndex;
+      while (remaining > 0) {
+        final int chunk =
+            Math.min(remaining, Math.min(PAGE_SIZE - pageOffset(from), PAGE_SIZE - pageOffset(to)));
+        System.arraycopy(
+            pages[pageIndex(from)], pageOffset(from), pages[pageIndex(to)], pageOffset(to), chunk);
+        from += chunk;
+        to += chunk;
+        remaining -= chunk;
+      }
+    } else {
+      // copying backward never overwrites source bytes not copied yet
+      int fromEnd = srcIndex + remaining;
+      int toEnd = dstIndex + remaining;
+      while (remaining > 0) {
+        final int chunk =
+            Math.min(
+                remaining, Math.min(pageOffset(fromEnd - 1) + 1, pageOffset(toEnd - 1) + 1));
+        fromEnd -= chunk;
+        toEnd -= chunk;
+        System.arraycopy(
+            pages[pageIndex(fromEnd)],
+            pageOffset(fromEnd),
+            pages[pageIndex(toEnd)],
+            pageOffset(toEnd),
+            chunk);
+        remaining -= chunk;
+      }
+    }
   }
 
   @Override
   public String toString() {
-    return Bytes.wrap(memBytes).toHexString();
+    return Bytes.wrap(copyOfRange(0, getActiveBytes())).toHexString();
+  }
+
+  /** A view of bytes of memory spanning several pages, from an offset in the first one. */
+  private static final class PagedBytes extends AbstractBytes implements MutableBytes {
+    private final byte[][] pages;
+    private final int offset;
+    private final int length;
+
+    private PagedBytes(final byte[][] pages, final int offset, final int length) {
+      this.pages = pages;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int size() {
+      return length;
+    }
+
+    @Override
+    public byte get(final int i) {
+      final int position = offset + Objects.checkIndex(i, length);
+      return pages[pageIndex(position)][pageOffset(position)];
+    }
+
+    @Override
+    public void set(final int i, final byte b) {
+      final int position = offset + Objects.checkIndex(i, length);
+      pages[pageIndex(position)][pageOffset(position)] = b;
+    }
+
+    @Override
+    public Bytes slice(final int i, final int sliceLength) {
+      return mutableSlice(i, sliceLength);
+    }
+
+    @Override
+    public MutableBytes mutableSlice(final int i, final int sliceLength) {
+      Objects.checkFromIndexSize(i, sliceLength, length);
+      if (sliceLength == 0) {
+        return MutableBytes.EMPTY;
+      }
+      if (i == 0 && sliceLength == length) {
+        return this;
+      }
+      return view(pages, offset + i, sliceLength);
+    }
+
+    @Override
+    public Bytes copy() {
+      return Bytes.wrap(toArray());
+    }
+
+    @Override
+    public MutableBytes mutableCopy() {
+      return MutableBytes.wrap(toArray());
+    }
+
+    @Override
+    public byte[] toArray() {
+      final byte[] bytes = new byte[length];
+      int position = offset;
+      int copied = 0;
+      while (copied < length) {
+        final int chunk = Math.min(length - copied, PAGE_SIZE - pageOffset(position));
+        System.arraycopy(pages[pageIndex(position)], pageOffset(position), bytes, copied, chunk);
+        position += chunk;
+        copied += chunk;
+      }
+      return bytes;
+    }
+
+    @Override
+    public byte[] toArrayUnsafe() {
+      return toArray();
+    }
+
+    @Override
+    public void update(final MessageDigest digest) {
+      int position = offset;
+      int remaining = length;
+      while (remaining > 0) {
+        final int chunk = Math.min(remaining, PAGE_SIZE - pageOffset(position));
+        digest.update(pages[pageIndex(position)], pageOffset(position), chunk);
+        position += chunk;
+        remaining -= chunk;
+      }
+    }
   }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.frame;
+
+import java.util.Arrays;
+
+/**
+ * A per-thread pool of the pages backing {@link Memory}, so the frames executed by a thread reuse
+ * the pages released by the frames that completed before them instead of allocating new ones.
+ *
+ * <p>Pages are zeroed when they are released, so an acquired page is always blank. The pool keeps
+ * a bounded number of pages, the pages released beyond it are left to the garbage collector.
+ */
+final class MemoryPagePool {
+  /** The maximum number of pages kept by the pool of each thread. */
+  static final int MAX_POOLED_PAGES = 256;
+
+  private static final ThreadLocal<MemoryPagePool> POOLS =
+      ThreadLocal.withInitial(MemoryPagePool::new);
+
+  private final byte[][] pages = new byte[MAX_POOLED_PAGES][];
+  private int size;
+
+  private MemoryPagePool() {}
+
+  /**
+   * Returns the pool of the current thread.
+   *
+   * @return the pool of the current thread
+   */
+  static MemoryPagePool current() {
+    return POOLS.get();
+  }
+
+  /**
+   * Takes a blank page from the pool, or allocates one if the pool is empty.
+   *
+   * @return a page filled with zeros
+   */
+  byte[] acquire() {
+    if (size == 0) {
+      return new byte[Memory.PAGE_SIZE];
+    }
+    final byte[] page = pages[--size];
+    pages[size] = null;
+    return page;
+  }
+
+  /**
+   * Returns a page to the pool, if it is not full.
+   *
+   * @param page the page
+   * @param usedBytes the number of bytes at the start of the page that may not be zero
+   */
+  void release(final byte[] page, final int usedBytes) {
+    if (size < MAX_POOLED_PAGES) {
+      Arrays.fill(page, 0, usedBytes, (byte) 0);
+      pages[size++] = page;
+    }
+  }
+
+  /**
+   * Returns the number of pages in the pool.
+   *
+   * @return the number of pages in the pool
+   */
+  int size() {
+    return size;
+  }
+}
@@ -437,6 +437,29 @@ public class MessageFrame {
     return stack.pop();
   }
 
+  /**
+   * Returns the item at the specified offset in the stack as a 256-bit unsigned integer, without
+   * boxing it into {@link Bytes}.
+   *
+   * @param offset The item's position relative to the top of the stack
+   * @return The item at the specified offset in the stack
+   * @throws UnderflowException if the offset is out of range
+   */
+  public org.hyperledger.besu.evm.UInt256 getStackUInt256(final int offset) {
+    return stack.getUInt256(offset);
+  }
+
+  /**
+   * Removes the item at the top of the stack as a 256-bit unsigned integer, without boxing it into
+   * {@link Bytes}.
+   *
+   * @return the item at the top of the stack
+   * @throws UnderflowException if the stack is empty
+   */
+  public org.hyperledger.besu.evm.UInt256 popStackUInt256() {
+    return stack.popUInt256();
+  }
+
   /**
    * Removes the corresponding number of items from the top of the stack.
    *
@@ -455,6 +478,36 @@ public class MessageFrame {
     stack.push(value);
   }
 
+  /**
+   * Pushes a 256-bit unsigned integer onto the top of the stack, held as limbs until it is read as
+   * {@link Bytes}.
+   *
+   * @param value The value to push onto the stack.
+   */
+  public void pushStackUInt256(final org.hyperledger.besu.evm.UInt256 value) {
+    stack.pushUInt256(value);
+  }
+
+  /**
+   * Pushes a copy of the stack item at the specified offset onto the top of the stack.
+   *
+   * @param offset The item's position relative to the top of the stack
+   * @throws UnderflowException if the offset is out of range
+   */
+  public void dupStackItem(final int offset) {
+    stack.dup(offset);
+  }
+
+  /**
+   * Exchanges the item at the top of the stack with the item at the specified offset.
+   *
+   * @param offset The item's position relative to the top of the stack
+   * @throws UnderflowException if the offset is out of range
+   */
+  public void swapStackItems(final int offset) {
+    stack.swap(offset);
+  }
+
   /**
    * Sets the stack item at the specified offset from the top of the stack to the value
    *
@@ -466,6 +519,90 @@ public class MessageFrame {
     stack.set(offset, value);
   }
 
+  /**
+   * Sets the stack item at the specified offset from the top of the stack to a 256-bit unsigned
+   * integer.
+   *
+   * @param offset The item's position relative to the top of the stack
+   * @param value The value to set the stack item to
+   * @throws IllegalStateException if the stack is too small
+   */
+  public void setStackUInt256(final int offset, final org.hyperledger.besu.evm.UInt256 value) {
+    stack.setUInt256(offset, value);
+  }
+
+  /**
+   * Replaces the two items at the top of the stack by their wrapping product, computed in place on
+   * the stack.
+   *
+   * @throws UnderflowException if the stack holds less than two items
+   */
+  public void mulStackItems() {
+    stack.mul();
+  }
+
+  /**
+   * Replaces the dividend at the top of the stack and the divisor below it by their unsigned
+   * quotient, computed in place on the stack.
+   *
+   * @throws UnderflowException if the stack holds less than two items
+   */
+  public void divStackItems() {
+    stack.div();
+  }
+
+  /**
+   * Replaces the dividend at the top of the stack and the divisor below it by their signed
+   * quotient, computed in place on the stack.
+   *
+   * @throws UnderflowException if the stack holds less than two items
+   */
+  public void signedDivStackItems() {
+    stack.signedDiv();
+  }
+
+  /**
+   * Replaces the base at the top of the stack and the exponent below it by the wrapping power,
+   * computed in place on the stack.
+   *
+   * @throws UnderflowException if the stack holds less than two items
+   */
+  public void expStackItems() {
+    stack.exp();
+  }
+
+  /**
+   * Replaces the byte index at the top of the stack and the value below it by the byte of the
+   * value at that index, computed in place on the stack.
+   *
+   * @throws UnderflowException if the stack holds less than two items
+   */
+  public void byteStackItems() {
+    stack.byteAt();
+  }
+
+  /**
+   * Replaces the byte index at the top of the stack and the value below it by the value sign
+   * extended from that byte, computed in place on the stack.
+   *
+   * @throws UnderflowException if the stack holds less than two items
+   */
+  public void signExtendStackItems() {
+    stack.signExtend();
+  }
+
+  /**
+   * Returns the number of significant bits of the stack item at the specified offset, without
+   * boxing it into {@link Bytes}.
+   *
+   * @param offset The item's position relative to the top of the stack
+   * @return the position of the highest set bit of the item plus one, zero for zero
+   * @throws UnderflowException if the offset is out of range
+   */
+  public int getStackItemBitLength(final int offset) {
+    return stack.bitLength(offset);
+  }
+
   /**
    * Return the current stack size.
    *
@@ -572,7 +709,43 @@ public class MessageFrame {
    * @return The bytes in the specified range
    */
   public Bytes readMemory(final long offset, final long length) {
-    return readMutableMemory(offset, length, false).copy();
+    return memory.getBytes(offset, length);
+  }
+
+  /**
+   * Read bytes in memory that stay valid once the frame has completed, without copying them when
+   * possible, to hand them over to the parent frame. Must only be used when the frame halts, as
+   * the bytes change if the memory is written to.
+   *
+   * @param offset The offset in memory
+   * @param length The length of the bytes to read
+   * @return The bytes in the specified range
+   */
+  public Bytes readSharedMemory(final long offset, final long length) {
+    return memory.getSharedBytes(offset, length);
+  }
+
+  /**
+   * Read a word in memory.
+   *
+   * @param offset The offset in memory
+   * @param explicitMemoryRead true if triggered by a memory opcode, false otherwise
+   * @return a copy of the word at the specified offset
+   */
+  public Bytes32 readMemoryWord(final long offset, final boolean explicitMemoryRead) {
+    final Bytes32 word = memory.getWord(offset);
+    if (explicitMemoryRead) {
+      setUpdatedMemory(offset, word);
+    }
+    return word;
+  }
+
+  /**
+   * Releases the memory of the frame, whose pages can then be reused by the frames executed next on
+   * the current thread. Must only be called once the frame has completed.
+   */
+  public void releaseMemory() {
+    memory.release();
   }
 
   /**
@@ -0,0 +1,441 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+/**
+ * 256-bit arithmetic on the limbs of the operand stack.
+ *
+ * <p>An operand is addressed by the index of its most significant limb in a {@code long[]}, the
+ * three following entries holding the less significant limbs, as laid out by {@link
+ * OperandStack}. Every operation reads its operands and writes its result by index, so that it
+ * can run in place on the stack without allocating. The result may be written over one of the
+ * operands.
+ */
+final class LimbArithmetic {
+
+  /** Number of entries of the scratch array needed by {@link #div} and {@link #exp}. */
+  static final int SCRATCH_SIZE = 13;
+
+  // offsets in the scratch array of the normalised 64-bit digits, least significant first, used by
+  // the division
+  private static final int DIVIDEND = 0;
+  private static final int DIVISOR = 5;
+  private static final int QUOTIENT = 9;
+
+  private LimbArithmetic() {}
+
+  /**
+   * Wrapping multiplication.
+   *
+   * @param limbs the limbs array
+   * @param x the index of the first factor
+   * @param y the index of the second factor
+   * @param out the index of the product
+   */
+  static void mul(final long[] limbs, final int x, final int y, final int out) {
+    final long a0 = limbs[x + 3];
+    final long a1 = limbs[x + 2];
+    final long a2 = limbs[x + 1];
+    final long a3 = limbs[x];
+    final long b0 = limbs[y + 3];
+    final long b1 = limbs[y + 2];
+    final long b2 = limbs[y + 1];
+    final long b3 = limbs[y];
+
+    // a0 * b
+    final long r0 = a0 * b0;
+    long carry = Math.unsignedMultiplyHigh(a0, b0);
+    long lo = a0 * b1;
+    long r1 = lo + carry;
+    carry = Math.unsignedMultiplyHigh(a0, b1) + carryOf(r1, lo);
+    lo = a0 * b2;
+    long r2 = lo + carry;
+    carry = Math.unsignedMultiplyHigh(a0, b2) + carryOf(r2, lo);
+    long r3 = a0 * b3 + carry;
+
+    // a1 * b, shifted by one limb
+    lo = a1 * b0;
+    long sum = r1 + lo;
+    carry = Math.unsignedMultiplyHigh(a1, b0) + carryOf(sum, lo);
+    r1 = sum;
+    lo = a1 * b1;
+    sum = r2 + lo;
+    long carryOut = carryOf(sum, lo);
+    lo = sum;
+    sum += carry;
+    carry = Math.unsignedMultiplyHigh(a1, b1) + carryOut + carryOf(sum, lo);
+    r2 = sum;
+    r3 += a1 * b2 + carry;
+
+    // a2 * b, shifted by two limbs
+    lo = a2 * b0;
+    sum = r2 + lo;
+    carry = Math.unsignedMultiplyHigh(a2, b0) + carryOf(sum, lo);
+    r2 = sum;
+    r3 += a2 * b1 + carry;
+
+    // a3 * b, shifted by three limbs
+    r3 += a3 * b0;
+
+    set(limbs, out, r3, r2, r1, r0);
+  }
+
+  /**
+   * Unsigned division, zero if the divisor is zero.
+   *
+   * @param limbs the limbs array
+   * @param x the index of the dividend
+   * @param y the index of the divisor
+   * @param out the index of the quotient
+   * @param scratch a scratch array of at least {@link #SCRATCH_SIZE} entries
+   */
+  static void div(
+      final long[] limbs, final int x, final int y, final int out, final long[] scratch) {
+    if ((limbs[y] | limbs[y + 1] | limbs[y + 2]) == 0) {
+      final long divisor = limbs[y + 3];
+      if (divisor == 0) {
+        set(limbs, out, 0, 0, 0, 0);
+        return;
+      }
+      if ((limbs[x] | limbs[x + 1] | limbs[x + 2]) == 0) {
+        set(limbs, out, 0, 0, 0, Long.divideUnsigned(limbs[x + 3], divisor));
+        return;
+      }
+    }
+    if (compare(limbs, x, y) < 0) {
+      set(limbs, out, 0, 0, 0, 0);
+      return;
+    }
+    divideNormalised(scratch, normalise(limbs, x, y, scratch));
+    set(
+        limbs,
+        out,
+        scratch[QUOTIENT + 3],
+        scratch[QUOTIENT + 2],
+        scratch[QUOTIENT + 1],
+        scratch[QUOTIENT]);
+  }
+
+  /**
+   * Signed division of two's complement operands, rounded toward zero, zero if the divisor is
+   * zero. Negative operands are negated in place.
+   *
+   * @param limbs the limbs array
+   * @param x the index of the dividend
+   * @param y the index of the divisor
+   * @param out the index of the quotient
+   * @param scratch a scratch array of at least {@link #SCRATCH_SIZE} entries
+   */
+  static void signedDiv(
+      final long[] limbs, final int x, final int y, final int out, final long[] scratch) {
+    final boolean negativeDividend = limbs[x] < 0;
+    final boolean negativeDivisor = limbs[y] < 0;
+    if (negativeDividend) {
+      negate(limbs, x);
+    }
+    if (negativeDivisor) {
+      negate(limbs, y);
+    }
+    div(limbs, x, y, out, scratch);
+    if (negativeDividend != negativeDivisor) {
+      negate(limbs, out);
+    }
+  }
+
+  /**
+   * Wrapping exponentiation, by square and multiply.
+   *
+   * @param limbs the limbs array
+   * @param x the index of the base
+   * @param y the index of the exponent
+   * @param out the index of the power
+   * @param scratch a scratch array of at least {@link #SCRATCH_SIZE} entries
+   */
+  static void exp(
+      final long[] limbs, final int x, final int y, final int out, final long[] scratch) {
+    final int bitLength = bitLength(limbs, y);
+    if (bitLength == 0) {
+      set(limbs, out, 0, 0, 0, 1);
+      return;
+    }
+    // result in scratch[0..3], base in scratch[4..7]
+    set(scratch, 0, 0, 0, 0, 1);
+    System.arraycopy(limbs, x, scratch, 4, 4);
+    for (int bit = bitLength - 1; bit >= 0; bit--) {
+      mul(scratch, 0, 0, 0);
+      if (((limbs[y + 3 - (bit >>> 6)] >>> (bit & 63)) & 1) != 0) {
+        mul(scratch, 0, 4, 0);
+      }
+    }
+    System.arraycopy(scratch, 0, limbs, out, 4);
+  }
+
+  /**
+   * Byte extraction, as the EVM BYTE operation.
+   *
+   * @param limbs the limbs array
+   * @param x the index of the byte index, 0 being the most significant byte
+   * @param y the index of the value
+   * @param out the index of the extracted byte, zero if the byte index is 32 or more
+   */
+  static void byteAt(final long[] limbs, final int x, final int y, final int out) {
+    if ((limbs[x] | limbs[x + 1] | limbs[x + 2]) != 0
+        || Long.compareUnsigned(limbs[x + 3], 32) >= 0) {
+      set(limbs, out, 0, 0, 0, 0);
+      return;
+    }
+    final int index = (int) limbs[x + 3];
+    final long limb = limbs[y + (index >>> 3)];
+    set(limbs, out, 0, 0, 0, (limb >>> (56 - ((index & 7) << 3))) & 0xFFL);
+  }
+
+  /**
+   * Sign extension, as the EVM SIGNEXTEND operation.
+   *
+   * @param limbs the limbs array
+   * @param x the index of the byte index holding the sign bit, 0 being the least significant byte
+   * @param y the index of the value
+   * @param out the index of the extended value, the value itself if the byte index is 31 or more
+   */
+  static void signExtend(final long[] limbs, final int x, final int y, final int out) {
+    final boolean unchanged =
+        (limbs[x] | limbs[x + 1] | limbs[x + 2]) != 0
+            || Long.compareUnsigned(limbs[x + 3], 31) >= 0;
+    final int index = (int) limbs[x + 3];
+    if (out != y) {
+      System.arraycopy(limbs, y, limbs, out, 4);
+    }
+    if (unchanged) {
+      return;
+    }
+    final int signBit = ((index + 1) << 3) - 1;
+    // index of the limb holding the sign bit, counted from the least significant one
+    final int signLimb = signBit >>> 6;
+    final int bit = signBit & 63;
+    final boolean negative = ((limbs[out + 3 - signLimb] >>> bit) & 1) != 0;
+    if (bit != 63) {
+      final long mask = -1L << (bit + 1);
+      limbs[out + 3 - signLimb] =
+          negative ? limbs[out + 3 - signLimb] | mask : limbs[out + 3 - signLimb] & ~mask;
+    }
+    for (int i = signLimb + 1; i < 4; i++) {
+      limbs[out + 3 - i] = negative ? -1L : 0L;
+    }
+  }
+
+  /**
+   * Number of significant bits of an operand.
+   *
+   * @param limbs the limbs array
+   * @param x the index of the operand
+   * @return the position of the highest set bit plus one, zero for zero
+   */
+  static int bitLength(final long[] limbs, final int x) {
+    for (int i = 0; i < 4; i++) {
+      if (limbs[x + i] != 0) {
+        return ((4 - i) << 6) - Long.numberOfLeadingZeros(limbs[x + i]);
+      }
+    }
+    return 0;
+  }
+
+  private static long carryOf(final long sum, final long addend) {
+    return Long.compareUnsigned(sum, addend) < 0 ? 1 : 0;
+  }
+
+  private static long borrowOf(final long minuend, final long subtrahend) {
+    return Long.compareUnsigned(minuend, subtrahend) < 0 ? 1 : 0;
+  }
+
+  private static int compare(final long[] limbs, final int x, final int y) {
+    for (int i = 0; i < 4; i++) {
+      final int cmp = Long.compareUnsigned(limbs[x + i], limbs[y + i]);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return 0;
+  }
+
+  private static void negate(final long[] limbs, final int x) {
+    long carry = 1;
+    for (int i = 3; i >= 0; i--) {
+      final long sum = ~limbs[x + i] + carry;
+      carry = carry != 0 && sum == 0 ? 1 : 0;
+      limbs[x + i] = sum;
+    }
+  }
+
+  private static void set(
+      final long[] limbs, final int x, final long u3, final long u2, final long u1, final long u0) {
+    limbs[x] = u3;
+    limbs[x + 1] = u2;
+    limbs[x + 2] = u1;
+    limbs[x + 3] = u0;
+  }
+
+  /**
+   * Copies the dividend and the divisor into the scratch array as 64-bit digits, least significant
+   * first, both shifted left so that the most significant digit of the divisor has its high bit
+   * set.
+   *
+   * @return the number of significant digits of the divisor, at least one
+   */
+  private static int normalise(final long[] limbs, final int x, final int y, final long[] scratch) {
+    int n = 4;
+    while (limbs[y + 4 - n] == 0) {
+      n--;
+    }
+    final int shift = Long.numberOfLeadingZeros(limbs[y + 4 - n]);
+    // (v >>> 1) >>> (63 - shift) is v >>> (64 - shift), that also holds for a zero shift
+    scratch[DIVIDEND + 4] = (limbs[x] >>> 1) >>> (63 - shift);
+    for (int i = 3; i > 0; i--) {
+      scratch[DIVIDEND + i] =
+          (limbs[x + 3 - i] << shift) | ((limbs[x + 4 - i] >>> 1) >>> (63 - shift));
+      scratch[DIVISOR + i] =
+          (limbs[y + 3 - i] << shift) | ((limbs[y + 4 - i] >>> 1) >>> (63 - shift));
+    }
+    scratch[DIVIDEND] = limbs[x + 3] << shift;
+    scratch[DIVISOR] = limbs[y + 3] << shift;
+    return n;
+  }
+
+  /**
+   * Divides the normalised dividend by the normalised divisor, following Knuth's algorithm D
+   * (TAOCP vol. 2, 4.3.1) with 64-bit digits, and leaves the quotient digits in the scratch array.
+   * The quotient digits are estimated by multiplying with the reciprocal of the most significant
+   * divisor digit rather than with hardware divisions.
+   */
+  private static void divideNormalised(final long[] scratch, final int n) {
+    final long top = scratch[DIVISOR + n - 1];
+    final long inv = reciprocal(top);
+    for (int j = 3; j > 4 - n; j--) {
+      scratch[QUOTIENT + j] = 0;
+    }
+
+    if (n == 1) {
+      long remainder = scratch[DIVIDEND + 4];
+      for (int j = 3; j >= 0; j--) {
+        final long quotient = div2by1(remainder, scratch[DIVIDEND + j], top, inv);
+        remainder = scratch[DIVIDEND + j] - quotient * top;
+        scratch[QUOTIENT + j] = quotient;
+      }
+      return;
+    }
+
+    final long next = scratch[DIVISOR + n - 2];
+    for (int j = 4 - n; j >= 0; j--) {
+      long quotient = -1L;
+      if (scratch[DIVIDEND + j + n] != top) {
+        quotient = div2by1(scratch[DIVIDEND + j + n], scratch[DIVIDEND + j + n - 1], top, inv);
+        long remainder = scratch[DIVIDEND + j + n - 1] - quotient * top;
+        // refine the estimate with the next digit, it then exceeds the quotient digit by at most 1
+        while (true) {
+          final long high = Math.unsignedMultiplyHigh(quotient, next);
+          final long low = quotient * next;
+          if (Long.compareUnsigned(high, remainder) < 0
+              || (high == remainder
+                  && Long.compareUnsigned(low, scratch[DIVIDEND + j + n - 2]) <= 0)) {
+            break;
+          }
+          quotient--;
+          remainder += top;
+          if (Long.compareUnsigned(remainder, top) < 0) {
+            break;
+          }
+        }
+      }
+
+      // multiply and subtract
+      long carry = 0;
+      long borrow = 0;
+      for (int i = 0; i < n; i++) {
+        long low = quotient * scratch[DIVISOR + i];
+        final long high = Math.unsignedMultiplyHigh(quotient, scratch[DIVISOR + i]);
+        low += carry;
+        carry = high + carryOf(low, carry);
+        final long digit = scratch[DIVIDEND + i + j];
+        final long difference = digit - low;
+        scratch[DIVIDEND + i + j] = difference - borrow;
+        borrow = borrowOf(digit, low) + borrowOf(difference, borrow);
+      }
+      final long digit = scratch[DIVIDEND + j + n];
+      final long difference = digit - carry;
+      scratch[DIVIDEND + j + n] = difference - borrow;
+      boolean negative =
+          Long.compareUnsigned(digit, carry) < 0 || Long.compareUnsigned(difference, borrow) < 0;
+
+      // the estimate was one too large, add the divisor back
+      while (negative) {
+        quotient--;
+        carry = 0;
+        for (int i = 0; i < n; i++) {
+          final long addend = scratch[DIVIDEND + i + j];
+          final long sum = addend + scratch[DIVISOR + i];
+          scratch[DIVIDEND + i + j] = sum + carry;
+          carry = carryOf(sum, addend) + carryOf(scratch[DIVIDEND + i + j], sum);
+        }
+        scratch[DIVIDEND + j + n] += carry;
+        negative = !(carry != 0 && scratch[DIVIDEND + j + n] == 0);
+      }
+      scratch[QUOTIENT + j] = quotient;
+    }
+  }
+
+  /**
+   * Reciprocal of a normalised digit, floor((2^128 - 1) / d) - 2^64, by Newton iterations from a
+   * 11-bit estimate, as Möller and Granlund, "Improved division by invariant integers", algorithm
+   * 2. The initial estimate is the one of their lookup table, computed with an int division.
+   */
+  private static long reciprocal(final long d) {
+    final long d0 = d & 1L;
+    final long d9 = d >>> 55;
+    final long d40 = (d >>> 24) + 1;
+    final long d63 = (d >>> 1) + d0;
+    final long v0 = (long) (0x7FD00 / (int) d9);
+    final long v1 = (v0 << 11) - ((v0 * v0 * d40) >>> 40) - 1;
+    final long v2 = (v1 << 13) + ((v1 * ((1L << 60) - v1 * d40)) >>> 47);
+    final long e = ((v2 >>> 1) & -d0) - v2 * d63;
+    final long v3 = (Math.unsignedMultiplyHigh(v2, e) >>> 1) + (v2 << 31);
+    final long low = v3 * d + d;
+    final long high = Math.unsignedMultiplyHigh(v3, d) + carryOf(low, d) + d;
+    return v3 - high;
+  }
+
+  /**
+   * Divides a two digit number by a normalised digit using its reciprocal, as Möller and Granlund
+   * algorithm 4. The remainder is x0 - q * d, wrapping.
+   *
+   * @return the quotient
+   */
+  private static long div2by1(final long x1, final long x0, final long d, final long inv) {
+    long q0 = x1 * inv;
+    long q1 = Math.unsignedMultiplyHigh(x1, inv);
+    final long sum = q0 + x0;
+    q1 += x1 + carryOf(sum, q0) + 1;
+    q0 = sum;
+
+    long r = x0 - q1 * d;
+    if (Long.compareUnsigned(r, q0) > 0) {
+      q1--;
+      r += d;
+    }
+    if (Long.compareUnsigned(r, d) >= 0) {
+      q1++;
+      r -= d;
+    }
+    return q1;
+  }
+}
@@ -14,10 +14,64 @@
  */
 package org.hyperledger.besu.evm.internal;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.evm.UInt256;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * The operand stack of the Ethereum Virtual Machine (EVM).
+ *
+ * <p>Each slot is held either as a {@link Bytes} reference or as four 64-bit limbs, most
+ * significant first, in a flat {@code long[]}. Arithmetic operations read and write the limbs
+ * through the {@link UInt256} accessors without allocating byte arrays, while values pushed as
+ * {@link Bytes} are kept as they are. A limb slot is only boxed into {@link Bytes} when it is read
+ * as such, and the boxed value is kept in the slot so that it is boxed at most once. The
+ * multiplication, division, exponentiation, byte extraction and sign extension operations run in
+ * place on the limbs of their operands, without allocating any value.
+ *
+ * <p>The stack grows by 50% at a time if it expands past the top of the allocated stack, up to
+ * maxSize.
+ */
+public class OperandStack {
+  /**
+   * Formula `x = round( y / ( (1 + 0,5)^n ) ) + 1`, computes the initial stack size, `x` that one
+   * has to start with to reach a maximum stack size, `y`, in `n` number of array resizes at a
+   * growth rate of 50%. Currently, for mainnet y=1024 and, if considering n=6 in the worst case,
+   * the start size is 91 which is reasonable for mainnet.
+   */
+  private static final int INITIAL_SIZE =
+      (int) Math.round(MessageFrame.DEFAULT_MAX_STACK_SIZE / Math.pow(1.5D, 6D)) + 1;
+
+  private static final int LIMBS = 4;
+
+  /**
+   * Soft limit imposed for growing arrays, taken from OpenJDK. Every slot takes {@value #LIMBS}
+   * entries of the limbs array, so the maxSize of the stack is capped accordingly.
+   */
+  private static final int MAX_ARRAY_LENGTH = (Integer.MAX_VALUE - 8) / LIMBS;
+
+  private static final VarHandle LONG_BE =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
 
-/** The Operand stack. */
-public class OperandStack extends FlexStack<Bytes> {
+  // a null entry means the slot is held in the limbs array
+  private Bytes[] entries;
+  private long[] limbs;
+  // temporaries of the division and the exponentiation, allocated on first use
+  private long[] scratch;
+
+  private final int maxSize;
+  private int currentCapacity;
+
+  private int top;
 
   /**
    * Instantiates a new Operand stack.
@@ -25,6 +79,495 @@ public class OperandStack extends FlexStack<Bytes> {
    * @param maxSize the max size
    */
   public OperandStack(final int maxSize) {
-    super(maxSize, Bytes.class);
+    checkArgument(maxSize > 0, "max size must be positive");
+    checkArgument(maxSize <= MAX_ARRAY_LENGTH, "max size is too large");
+
+    this.currentCapacity = Math.min(INITIAL_SIZE, maxSize);
+    this.entries = new Bytes[currentCapacity];
+    this.limbs = new long[currentCapacity * LIMBS];
+    this.maxSize = maxSize;
+    this.top = -1;
+  }
+
+  /**
+   * Get operand.
+   *
+   * @param offset the offset
+   * @return the operand
+   */
+  public Bytes get(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+
+    return box(top - offset);
+  }
+
+  /**
+   * Get operand as a 256-bit unsigned integer.
+   *
+   * @param offset the offset
+   * @return the operand
+   */
+  public UInt256 getUInt256(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+
+    return read(top - offset);
+  }
+
+  /**
+   * Pop operand.
+   *
+   * @return the operand
+   */
+  public Bytes pop() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+
+    final Bytes removed = toBytes(top);
+    entries[top--] = null;
+    return removed;
+  }
+
+  /**
+   * Pop operand as a 256-bit unsigned integer.
+   *
+   * @return the operand
+   */
+  public UInt256 popUInt256() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+
+    final UInt256 removed = read(top);
+    entries[top--] = null;
+    return removed;
+  }
+
+  /**
+   * Peek and return the top operand.
+   *
+   * @return the top operand, or null if the stack is empty
+   */
+  public Bytes peek() {
+    if (top < 0) {
+      return null;
+    } else {
+      return box(top);
+    }
+  }
+
+  /**
+   * Pops the specified number of operands from the stack.
+   *
+   * @param items the number of operands to pop off the stack
+   * @throws IllegalArgumentException if the items to pop is negative.
+   * @throws UnderflowException when the items to pop is greater than {@link #size()}
+   */
+  public void bulkPop(final int items) {
+    checkArgument(items > 0, "number of items to pop must be greater than 0");
+    if (items > size()) {
+      throw new UnderflowException();
+    }
+
+    Arrays.fill(entries, top - items + 1, top + 1, null);
+    top -= items;
+  }
+
+  /**
+   * Trims the "middle" section of items out of the stack. Items below the cutpoint remains, and of
+   * the items above only the itemsToKeep items remain. All items in the middle are removed.
+   *
+   * @param cutPoint Point at which to start removing items
+   * @param itemsToKeep itemsToKeep Number of items on top to place at the cutPoint
+   * @throws IllegalArgumentException if the cutPoint or items to keep is negative.
+   * @throws UnderflowException If there are less than itemsToKeep above the cutPoint
+   */
+  public void preserveTop(final int cutPoint, final int itemsToKeep) {
+    checkArgument(cutPoint >= 0, "cutPoint must be positive");
+    checkArgument(itemsToKeep >= 0, "itemsToKeep must be positive");
+    if (itemsToKeep == 0) {
+      if (cutPoint < size()) {
+        bulkPop(top - cutPoint);
+      }
+    } else {
+      int targetSize = cutPoint + itemsToKeep;
+      int currentSize = size();
+      if (targetSize > currentSize) {
+        throw new UnderflowException();
+      } else if (targetSize < currentSize) {
+        System.arraycopy(entries, currentSize - itemsToKeep, entries, cutPoint, itemsToKeep);
+        System.arraycopy(
+            limbs,
+            (currentSize - itemsToKeep) * LIMBS,
+            limbs,
+            cutPoint * LIMBS,
+            itemsToKeep * LIMBS);
+        Arrays.fill(entries, targetSize, currentSize, null);
+        top = targetSize - 1;
+      }
+    }
+  }
+
+  private void expandEntries(final int nextSize) {
+    entries = Arrays.copyOf(entries, nextSize);
+    limbs = Arrays.copyOf(limbs, nextSize * LIMBS);
+    currentCapacity = nextSize;
+  }
+
+  private int pushSlot() {
+    final int nextTop = top + 1;
+    if (nextTop >= maxSize) {
+      throw new OverflowException();
+    }
+    if (nextTop >= currentCapacity) {
+      final int newCapacity = newLength(currentCapacity, currentCapacity >> 1);
+      expandEntries(newCapacity);
+    }
+    top = nextTop;
+    return nextTop;
+  }
+
+  /**
+   * Push operand.
+   *
+   * @param operand the operand
+   */
+  public void push(final Bytes operand) {
+    entries[pushSlot()] = operand;
+  }
+
+  /**
+   * Push a 256-bit unsigned integer operand.
+   *
+   * @param operand the operand
+   */
+  public void pushUInt256(final UInt256 operand) {
+    write(pushSlot(), operand);
+  }
+
+  /**
+   * Push a copy of an operand, without boxing it.
+   *
+   * @param offset the offset of the operand to duplicate
+   */
+  public void dup(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+    final int source = top - offset;
+    final int target = pushSlot();
+    entries[target] = entries[source];
+    System.arraycopy(limbs, source * LIMBS, limbs, target * LIMBS, LIMBS);
+  }
+
+  /**
+   * Exchange the top operand with another one, without boxing them.
+   *
+   * @param offset the offset of the operand to exchange with the top one
+   */
+  public void swap(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+    final int other = top - offset;
+    final Bytes entry = entries[top];
+    entries[top] = entries[other];
+    entries[other] = entry;
+    final int topLimbs = top * LIMBS;
+    final int otherLimbs = other * LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      final long limb = limbs[topLimbs + i];
+      limbs[topLimbs + i] = limbs[otherLimbs + i];
+      limbs[otherLimbs + i] = limb;
+    }
+  }
+
+  /**
+   * Pops the two top operands and pushes their wrapping product, computed in place.
+   *
+   * @throws UnderflowException if the stack holds less than two operands
+   */
+  public void mul() {
+    checkBinaryOperands();
+    final int result = limbIndex(top - 1);
+    LimbArithmetic.mul(limbs, limbIndex(top), result, result);
+    entries[top--] = null;
+  }
+
+  /**
+   * Pops the dividend, then the divisor, and pushes their unsigned quotient, zero if the divisor
+   * is zero, computed in place.
+   *
+   * @throws UnderflowException if the stack holds less than two operands
+   */
+  public void div() {
+    checkBinaryOperands();
+    final int result = limbIndex(top - 1);
+    LimbArithmetic.div(limbs, limbIndex(top), result, result, scratch());
+    entries[top--] = null;
+  }
+
+  /**
+   * Pops the dividend, then the divisor, and pushes their signed quotient, zero if the divisor is
+   * zero, computed in place.
+   *
+   * @throws UnderflowException if the stack holds less than two operands
+   */
+  public void signedDiv() {
+    checkBinaryOperands();
+    final int result = limbIndex(top - 1);
+    LimbArithmetic.signedDiv(limbs, limbIndex(top), result, result, scratch());
+    entries[top--] = null;
+  }
+
+  /**
+   * Pops the base, then the exponent, and pushes the wrapping power, computed in place.
+   *
+   * @throws UnderflowException if the stack holds less than two operands
+   */
+  public void exp() {
+    checkBinaryOperands();
+    final int result = limbIndex(top - 1);
+    LimbArithmetic.exp(limbs, limbIndex(top), result, result, scratch());
+    entries[top--] = null;
+  }
+
+  /**
+   * Pops the byte index, then the value, and pushes the byte of the value at that index, as the
+   * EVM BYTE operation.
+   *
+   * @throws UnderflowException if the stack holds less than two operands
+   */
+  public void byteAt() {
+    checkBinaryOperands();
+    final int result = limbIndex(top - 1);
+    LimbArithmetic.byteAt(limbs, limbIndex(top), result, result);
+    entries[top--] = null;
+  }
+
+  /**
+   * Pops the byte index, then the value, and pushes the value sign extended from that byte, as
+   * the EVM SIGNEXTEND operation.
+   *
+   * @throws UnderflowException if the stack holds less than two operands
+   */
+  public void signExtend() {
+    checkBinaryOperands();
+    final int result = limbIndex(top - 1);
+    LimbArithmetic.signExtend(limbs, limbIndex(top), result, result);
+    entries[top--] = null;
+  }
+
+  /**
+   * Returns the number of significant bits of an operand.
+   *
+   * @param offset the offset
+   * @return the position of the highest set bit of the operand plus one, zero for zero
+   */
+  public int bitLength(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+
+    return LimbArithmetic.bitLength(limbs, limbIndex(top - offset));
+  }
+
+  private void checkBinaryOperands() {
+    if (top < 1) {
+      throw new UnderflowException();
+    }
+  }
+
+  private long[] scratch() {
+    if (scratch == null) {
+      scratch = new long[LimbArithmetic.SCRATCH_SIZE];
+    }
+    return scratch;
+  }
+
+  private int newLength(final int oldCapacity, final int prefGrowth) {
+    final int growth = Math.max(1, prefGrowth);
+    if (MAX_ARRAY_LENGTH - growth < oldCapacity) {
+      return maxSize;
+    }
+    return Math.min(oldCapacity + growth, maxSize);
+  }
+
+  /**
+   * Set operand.
+   *
+   * @param offset the offset
+   * @param operand the operand
+   */
+  public void set(final int offset, final Bytes operand) {
+    checkSetOffset(offset);
+
+    entries[top - offset] = operand;
+  }
+
+  /**
+   * Set a 256-bit unsigned integer operand.
+   *
+   * @param offset the offset
+   * @param operand the operand
+   */
+  public void setUInt256(final int offset, final UInt256 operand) {
+    checkSetOffset(offset);
+
+    write(top - offset, operand);
+  }
+
+  private void checkSetOffset(final int offset) {
+    if (offset < 0) {
+      throw new UnderflowException();
+    } else if (offset > top) {
+      throw new OverflowException();
+    }
+  }
+
+  private UInt256 read(final int slot) {
+    final Bytes entry = entries[slot];
+    if (entry == null) {
+      final int i = slot * LIMBS;
+      return new UInt256(limbs[i], limbs[i + 1], limbs[i + 2], limbs[i + 3]);
+    }
+    final byte[] bytes = entry.toArrayUnsafe();
+    if (bytes.length == Bytes32.SIZE) {
+      return new UInt256(
+          (long) LONG_BE.get(bytes, 0),
+          (long) LONG_BE.get(bytes, 8),
+          (long) LONG_BE.get(bytes, 16),
+          (long) LONG_BE.get(bytes, 24));
+    }
+    return UInt256.fromBytesBE(bytes);
+  }
+
+  /**
+   * Moves an operand held as {@link Bytes} into the limbs array, so that it can be updated in
+   * place.
+   *
+   * @return the index of the most significant limb of the operand
+   */
+  private int limbIndex(final int slot) {
+    final int i = slot * LIMBS;
+    final Bytes entry = entries[slot];
+    if (entry != null) {
+      final byte[] bytes = entry.toArrayUnsafe();
+      if (bytes.length == Bytes32.SIZE) {
+        limbs[i] = (long) LONG_BE.get(bytes, 0);
+        limbs[i + 1] = (long) LONG_BE.get(bytes, 8);
+        limbs[i + 2] = (long) LONG_BE.get(bytes, 16);
+        limbs[i + 3] = (long) LONG_BE.get(bytes, 24);
+      } else {
+        Arrays.fill(limbs, i, i + LIMBS, 0L);
+        // as UInt256.fromBytesBE, only the 32 least significant bytes are kept
+        for (int b = bytes.length - 1, shift = 0; b >= 0 && shift < 256; b--, shift += 8) {
+          limbs[i + 3 - (shift >>> 6)] |= (bytes[b] & 0xFFL) << (shift & 63);
+        }
+      }
+      entries[slot] = null;
+    }
+    return i;
+  }
+
+  private void write(final int slot, final UInt256 operand) {
+    entries[slot] = null;
+    final int i = slot * LIMBS;
+    limbs[i] = operand.u3();
+    limbs[i + 1] = operand.u2();
+    limbs[i + 2] = operand.u1();
+    limbs[i + 3] = operand.u0();
+  }
+
+  private Bytes box(final int slot) {
+    Bytes entry = entries[slot];
+    if (entry == null) {
+      entry = toBytes(slot);
+      entries[slot] = entry;
+    }
+    return entry;
+  }
+
+  /** Returns an operand as {@link Bytes} without keeping the boxed value in its slot. */
+  private Bytes toBytes(final int slot) {
+    final Bytes entry = entries[slot];
+    if (entry != null) {
+      return entry;
+    }
+    final byte[] bytes = new byte[Bytes32.SIZE];
+    final int i = slot * LIMBS;
+    LONG_BE.set(bytes, 0, limbs[i]);
+    LONG_BE.set(bytes, 8, limbs[i + 1]);
+    LONG_BE.set(bytes, 16, limbs[i + 2]);
+    LONG_BE.set(bytes, 24, limbs[i + 3]);
+    return Bytes32.wrap(bytes);
+  }
+
+  /**
+   * Size of entries.
+   *
+   * @return the size
+   */
+  public int size() {
+    return top + 1;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < top; ++i) {
+      builder.append(String.format("%n0x%04X ", i)).append(toBytes(i));
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 1;
+
+    for (int i = 0; i <= top; i++) {
+      result = 31 * result + toBytes(i).hashCode();
+    }
+
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof OperandStack that)) {
+      return false;
+    }
+
+    if (this.top != that.top) {
+      return false;
+    }
+    for (int i = 0; i <= top; i++) {
+      if (!this.toBytes(i).equals(that.toBytes(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Is stack full.
+   *
+   * @return the boolean
+   */
+  public boolean isFull() {
+    return top + 1 >= maxSize;
+  }
+
+  /**
+   * Is stack empty.
+   *
+   * @return the boolean
+   */
+  public boolean isEmpty() {
+    return top < 0;
   }
 }
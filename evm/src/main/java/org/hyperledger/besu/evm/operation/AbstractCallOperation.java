@@ -261,7 +261,8 @@ public abstract class AbstractCallOperation extends AbstractOperation {
       return new OperationResult(cost, 1, softFailureReason, gasAvailableForChildCall);
     }
 
-    final Bytes inputData = frame.readMutableMemory(inputDataOffset(frame), inputDataLength(frame));
+    // copied, as the child frame and the tracers keep the input after the memory is released
+    final Bytes inputData = frame.readMemory(inputDataOffset(frame), inputDataLength(frame));
 
     final Code code = getCode(evm, frame, contract);
 
@@ -19,8 +19,6 @@ import org.hyperledger.besu.evm.UInt256;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 
-import org.apache.tuweni.bytes.Bytes;
-
 /** The Add operation. */
 public class AddOperationOptimized extends AbstractFixedCostOperation {
 
@@ -49,15 +47,9 @@ public class AddOperationOptimized extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
-
-    final Bytes value0 = frame.popStackItem();
-    final Bytes value1 = frame.popStackItem();
-
-    byte[] b0 = value0.toArrayUnsafe();
-    byte[] b1 = value1.toArrayUnsafe();
-    byte[] resultArray = UInt256.add(b0, b1);
-    frame.pushStackItem(Bytes.wrap(resultArray));
-
+    final UInt256 value0 = frame.popStackUInt256();
+    final UInt256 value1 = frame.popStackUInt256();
+    frame.pushStackUInt256(value0.add(value1));
     return addSuccess;
   }
 }
@@ -18,10 +18,6 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 
-import java.math.BigInteger;
-
-import org.apache.tuweni.bytes.Bytes;
-
 /** The Div operation. */
 public class DivOperation extends AbstractFixedCostOperation {
 
@@ -50,28 +46,7 @@ public class DivOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
-
-    final Bytes value0 = frame.popStackItem();
-    final Bytes value1 = frame.popStackItem();
-
-    if (value1.isZero()) {
-      frame.pushStackItem(Bytes.EMPTY);
-    } else {
-      BigInteger b1 = new BigInteger(1, value0.toArrayUnsafe());
-      BigInteger b2 = new BigInteger(1, value1.toArrayUnsafe());
-      final BigInteger result = b1.divide(b2);
-
-      // because it's unsigned there is a change a 33 byte result will occur
-      // there is no toByteArrayUnsigned so we have to check and trim
-      byte[] resultArray = result.toByteArray();
-      int length = resultArray.length;
-      if (length > 32) {
-        frame.pushStackItem(Bytes.wrap(resultArray, length - 32, 32));
-      } else {
-        frame.pushStackItem(Bytes.wrap(resultArray));
-      }
-    }
-
+    frame.divStackItems();
     return divSuccess;
   }
 }
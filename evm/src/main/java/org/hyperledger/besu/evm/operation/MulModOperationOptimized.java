@@ -19,8 +19,6 @@ import org.hyperledger.besu.evm.UInt256;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 
-import org.apache.tuweni.bytes.Bytes;
-
 /** The Mul mod operation. */
 public class MulModOperationOptimized extends AbstractFixedCostOperation {
 
@@ -48,16 +46,10 @@ public class MulModOperationOptimized extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
-    final Bytes value0 = frame.popStackItem();
-    final Bytes value1 = frame.popStackItem();
-    final Bytes value2 = frame.popStackItem();
-
-    UInt256 b0 = UInt256.fromBytesBE(value0.toArrayUnsafe());
-    UInt256 b1 = UInt256.fromBytesBE(value1.toArrayUnsafe());
-    UInt256 b2 = UInt256.fromBytesBE(value2.toArrayUnsafe());
-    Bytes resultBytes = Bytes.wrap(b0.mulMod(b1, b2).toBytesBE());
-
-    frame.pushStackItem(resultBytes);
+    final UInt256 value0 = frame.popStackUInt256();
+    final UInt256 value1 = frame.popStackUInt256();
+    final UInt256 value2 = frame.popStackUInt256();
+    frame.pushStackUInt256(value0.mulMod(value1, value2));
     return mulModSuccess;
   }
 }
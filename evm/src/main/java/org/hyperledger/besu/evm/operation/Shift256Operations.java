@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.evm.operation;
 
+import org.hyperledger.besu.evm.UInt256;
+
 import java.util.Arrays;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -50,4 +52,17 @@ public final class Shift256Operations {
     if (len <= 0) return false;
     return !Arrays.equals(shiftBytes, 0, len, ZERO_31, 0, len);
   }
+
+  /**
+   * Returns the EVM shift amount held by a stack operand.
+   *
+   * @param shift the shift operand
+   * @return the shift amount in the range {@code [0..255]}, or 256 if it is 256 or more
+   */
+  public static int shiftAmount(final UInt256 shift) {
+    if ((shift.u3() | shift.u2() | shift.u1()) != 0 || Long.compareUnsigned(shift.u0(), 256) >= 0) {
+      return 256;
+    }
+    return (int) shift.u0();
+  }
 }
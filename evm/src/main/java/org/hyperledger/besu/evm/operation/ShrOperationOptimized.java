@@ -14,20 +14,18 @@
  */
 package org.hyperledger.besu.evm.operation;
 
-import static org.hyperledger.besu.evm.operation.Shift256Operations.isShiftOverflow;
+import static org.hyperledger.besu.evm.operation.Shift256Operations.shiftAmount;
 
 import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.UInt256;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 
-import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.Bytes32;
-
 /**
  * The optimized SHR (Shift Right Logical) operation.
  *
- * <p>This implementation uses direct byte[] manipulation instead of Tuweni's Bytes.shiftRight() to
- * avoid intermediate object allocation and improve performance.
+ * <p>This implementation shifts the 64-bit limbs of the operand held on the stack, avoiding the
+ * byte arrays and intermediate objects of Tuweni's Bytes.
  */
 public class ShrOperationOptimized extends AbstractFixedCostOperation {
 
@@ -56,61 +54,9 @@ public class ShrOperationOptimized extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
-    final Bytes shiftAmount = frame.popStackItem();
-    final Bytes value = frame.popStackItem();
-    if (value.isZero()) {
-      frame.pushStackItem(Bytes.EMPTY);
-      return shrSuccess;
-    }
-
-    final byte[] valueBytes = Bytes32.leftPad(value).toArrayUnsafe();
-    final byte[] shiftBytes = shiftAmount.toArrayUnsafe();
-
-    // shift >= 256, push All 0s
-    if (isShiftOverflow(shiftBytes)) {
-      frame.pushStackItem(Bytes.EMPTY);
-      return shrSuccess;
-    }
-
-    final int shift = shiftBytes.length == 0 ? 0 : (shiftBytes[shiftBytes.length - 1] & 0xFF);
-
-    frame.pushStackItem(shr256(valueBytes, shift));
+    final int shift = shiftAmount(frame.popStackUInt256());
+    final UInt256 value = frame.popStackUInt256();
+    frame.pushStackUInt256(value.shr(shift));
     return shrSuccess;
   }
-
-  /**
-   * Performs a 256-bit logical right shift (EVM SHR).
-   *
-   * <p>The shift amount is in the range {@code [0..255]} and is assumed to have been validated by
-   * the caller. For shift values >= 256, zero is returned by the caller.
-   *
-   * @param in the raw 32-byte array of the input value
-   * @param shift the right shift amount in bits (0–255)
-   * @return the shifted 256-bit value
-   */
-  private static Bytes shr256(final byte[] in, final int shift) {
-    if (shift == 0) {
-      return Bytes.wrap(in);
-    }
-
-    final int shiftBytes = shift >>> 3; // /8
-    final int shiftBits = shift & 7; // %8
-
-    final byte[] out = new byte[32];
-
-    // Shift right: bytes move to higher indices (towards index 31)
-    // Bytes below shiftBytes are guaranteed zero (already from new byte[32])
-    for (int i = 31; i >= shiftBytes; i--) {
-      final int srcIndex = i - shiftBytes;
-      final int curr = in[srcIndex] & 0xFF;
-      if (shiftBits == 0) {
-        out[i] = (byte) curr;
-      } else {
-        final int prev = (srcIndex - 1 >= 0) ? (in[srcIndex - 1] & 0xFF) : 0;
-        out[i] = (byte) ((curr >>> shiftBits) | (prev << (8 - shiftBits)));
-      }
-    }
-
-    return Bytes.wrap(out);
-  }
 }
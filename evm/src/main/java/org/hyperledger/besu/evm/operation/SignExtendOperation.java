@@ -18,10 +18,6 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 
-import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.Bytes32;
-import org.apache.tuweni.bytes.MutableBytes32;
-
 /** The Sign extend operation. */
 public class SignExtendOperation extends AbstractFixedCostOperation {
 
@@ -49,31 +45,8 @@ public class SignExtendOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
-    final Bytes value0 = frame.popStackItem().trimLeadingZeros();
-    final Bytes value1 = Bytes32.leftPad(frame.popStackItem());
-
-    final MutableBytes32 result = MutableBytes32.create();
-
-    // Any value >= 31 imply an index <= 0, so no work to do (note that 0 itself is a valid index,
-    // but copying the 0th byte to itself is only so useful).
-    int value0size = value0.size();
-    if (value0size > 1) {
-      frame.pushStackItem(value1);
-      return signExtendSuccess;
-    }
-
-    int value0Value = value0.toInt();
-    if (value0Value >= 31) {
-      frame.pushStackItem(value1);
-      return signExtendSuccess;
-    }
-
-    final int byteIndex = 31 - value0.toInt();
-    final byte toSet = value1.get(byteIndex) < 0 ? (byte) 0xFF : 0x00;
-    result.mutableSlice(0, byteIndex).fill(toSet);
-    value1.slice(byteIndex).copyTo(result, byteIndex);
-    frame.pushStackItem(result);
-
+    // Any index >= 31 leaves the value unchanged, as byte 31 already holds the sign of the word.
+    frame.signExtendStackItems();
     return signExtendSuccess;
   }
 }
@@ -165,6 +165,7 @@ public abstract class AbstractMessageProcessor {
     frame.getWorldUpdater().commit();
     frame.getMessageFrameStack().removeFirst();
     frame.notifyCompletion();
+    frame.releaseMemory();
   }
 
   /**
@@ -175,6 +176,7 @@ public abstract class AbstractMessageProcessor {
   private void completedFailed(final MessageFrame frame) {
     frame.getMessageFrameStack().removeFirst();
     frame.notifyCompletion();
+    frame.releaseMemory();
   }
 
   /**
@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.evm;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.evm.frame.MessageFrame.Type.MESSAGE_CALL;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
@@ -67,6 +68,20 @@ class CodeTest {
     Mockito.verify(getsCached, times(1)).calculateJumpDestBitMask();
   }
 
+  @Test
+  void shouldOnlyMarkPushesOfValidJumpDestinations() {
+    // PUSH1 4, JUMP, STOP, JUMPDEST, STOP
+    assertThat(new Code(Bytes.fromHexString("0x600456005b00")).isStaticJump(0)).isTrue();
+    // PUSH1 3, JUMP, STOP, JUMPDEST: the destination is a STOP
+    assertThat(new Code(Bytes.fromHexString("0x600356005b")).isStaticJump(0)).isFalse();
+    // JUMPDEST, PUSH1 0, PUSH1 0, JUMPI: only the push feeding the jump is marked
+    final Code code = new Code(Bytes.fromHexString("0x5b6000600057"));
+    assertThat(code.isStaticJump(1)).isFalse();
+    assertThat(code.isStaticJump(3)).isTrue();
+    // PUSH2 truncated by the end of the code
+    assertThat(new Code(Bytes.fromHexString("0x5b6100")).isStaticJump(1)).isFalse();
+  }
+
   @NotNull
   private MessageFrame createJumpFrame(final Code getsCached) {
     final MessageFrame frame =
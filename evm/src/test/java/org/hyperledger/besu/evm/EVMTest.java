@@ -0,0 +1,115 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.evm.frame.MessageFrame.Type.MESSAGE_CALL;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.frame.BlockValues;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class EVMTest {
+
+  private static final EVM evm = MainnetEVMs.futureEips(EvmConfiguration.DEFAULT);
+
+  // counts down from 10: PUSH1 10, JUMPDEST, PUSH1 1, SWAP1, SUB, DUP1, PUSH1 2, JUMPI
+  private static final String LOOP = "0x600a5b6001900380600257";
+
+  static Stream<Arguments> programs() {
+    return Stream.concat(
+        Stream.of(
+            // PUSH1 4, JUMP, STOP, JUMPDEST, STOP
+            Arguments.of("0x600456005b00", 100L),
+            // PUSH1 1, PUSH1 6, JUMPI, STOP, JUMPDEST, STOP
+            Arguments.of("0x6001600657005b00", 100L),
+            // PUSH1 0, PUSH1 6, JUMPI, STOP, JUMPDEST, STOP
+            Arguments.of("0x6000600657005b00", 100L),
+            // PUSH1 3, JUMP, STOP, JUMPDEST: jumps to a STOP
+            Arguments.of("0x600356005b", 100L),
+            // PUSH1 3, JUMPI, JUMPDEST, STOP: no condition on the stack
+            Arguments.of("0x6003575b00", 100L),
+            // PUSH2 5, JUMP, JUMPDEST, STOP
+            Arguments.of("0x610005565b00", 100L)),
+        // run out of gas at every step of the loop
+        IntStream.range(0, 200).mapToObj(gas -> Arguments.of(LOOP, (long) gas)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("programs")
+  void staticJumpsShouldMatchSingleSteps(final String code, final long gas) {
+    final MessageFrame fused = run(code, gas, OperationTracer.NO_TRACING);
+    // tracing disables the fused push and jump steps
+    final MessageFrame singleSteps = run(code, gas, new OperationTracer() {});
+
+    assertThat(fused.getState()).isEqualTo(singleSteps.getState());
+    assertThat(fused.getExceptionalHaltReason()).isEqualTo(singleSteps.getExceptionalHaltReason());
+    assertThat(fused.getRemainingGas()).isEqualTo(singleSteps.getRemainingGas());
+    assertThat(fused.getPC()).isEqualTo(singleSteps.getPC());
+    assertThat(fused.stackSize()).isEqualTo(singleSteps.stackSize());
+  }
+
+  @Test
+  void loopShouldCompleteWithEnoughGas() {
+    final MessageFrame frame = run(LOOP, 10_000L, OperationTracer.NO_TRACING);
+
+    assertThat(frame.getState()).isEqualTo(MessageFrame.State.CODE_SUCCESS);
+    assertThat(frame.getExceptionalHaltReason()).isEqualTo(Optional.empty());
+    // PUSH1 (3) and ten times JUMPDEST (1), PUSH1, SWAP1, SUB, DUP1, PUSH1 (3 each) and JUMPI (10)
+    assertThat(frame.getRemainingGas()).isEqualTo(10_000L - 263L);
+    assertThat(frame.stackSize()).isEqualTo(1);
+  }
+
+  private static MessageFrame run(final String code, final long gas, final OperationTracer tracer) {
+    final MessageFrame frame =
+        MessageFrame.builder()
+            .type(MESSAGE_CALL)
+            .worldUpdater(mock(WorldUpdater.class))
+            .initialGas(gas)
+            .address(Address.ZERO)
+            .originator(Address.ZERO)
+            .contract(Address.ZERO)
+            .gasPrice(Wei.ZERO)
+            .inputData(Bytes.EMPTY)
+            .sender(Address.ZERO)
+            .value(Wei.ZERO)
+            .apparentValue(Wei.ZERO)
+            .code(new Code(Bytes.fromHexString(code)))
+            .blockValues(mock(BlockValues.class))
+            .completer(f -> {})
+            .miningBeneficiary(Address.ZERO)
+            .blockHashLookup((__, ___) -> Hash.EMPTY)
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, tracer);
+    return frame;
+  }
+}
@@ -1881,6 +1881,98 @@ public class UInt256PropertyBasedTest {
     assertThat(got).containsExactly(expected);
   }
 
+  @Property(seed = "24682468")
+  void property_div_matches_big_integer_unsigned(
+      @ForAll("bytes0to64_shaped") final byte[] a, @ForAll("bytes0to64_shaped") final byte[] d) {
+    // Arrange.
+    final UInt256 ua = UInt256.fromBytesBE(a);
+    final UInt256 ud = UInt256.fromBytesBE(d);
+    final BigInteger A = toBigUnsignedMod256(a);
+    final BigInteger D = toBigUnsignedMod256(d);
+    final byte[] expected = (D.signum() == 0) ? new byte[32] : bigUnsignedToBytes32(A.divide(D));
+
+    // Act.
+    final byte[] got = ua.div(ud).toBytesBE();
+
+    // Assert.
+    assertThat(got).containsExactly(expected);
+  }
+
+  @Property(seed = "97531975")
+  void property_signedDiv_matches_evm_semantics(
+      @ForAll("bytes0to64_shaped") final byte[] a, @ForAll("bytes0to64_shaped") final byte[] d) {
+    // Arrange.
+    final byte[] a32 = toBytes32Unsigned(a);
+    final byte[] d32 = toBytes32Unsigned(d);
+    final UInt256 ua = UInt256.fromBytesBE(a32);
+    final UInt256 ud = UInt256.fromBytesBE(d32);
+    final BigInteger A = new BigInteger(a32);
+    final BigInteger D = new BigInteger(d32);
+    final byte[] expected =
+        (D.signum() == 0) ? new byte[32] : bigUnsignedToBytes32(A.divide(D).mod(TWO_256));
+
+    // Act.
+    final byte[] got = ua.signedDiv(ud).toBytesBE();
+
+    // Assert.
+    assertThat(got).containsExactly(expected);
+  }
+
+  @Property(seed = "31415926")
+  void property_pow_matches_big_integer_mod_2_256(
+      @ForAll("bytes0to64_shaped") final byte[] a, @ForAll("bytes0to64_shaped") final byte[] e) {
+    // Arrange.
+    final UInt256 ua = UInt256.fromBytesBE(a);
+    final UInt256 ue = UInt256.fromBytesBE(e);
+    final byte[] expected =
+        bigUnsignedToBytes32(toBigUnsignedMod256(a).modPow(toBigUnsignedMod256(e), TWO_256));
+
+    // Act.
+    final byte[] got = ua.pow(ue).toBytesBE();
+
+    // Assert.
+    assertThat(got).containsExactly(expected);
+  }
+
+  @Property(seed = "11235813")
+  void property_byteAt_matches_big_integer(
+      @ForAll("bytes0to64_shaped") final byte[] a, @ForAll("shifts") final int index) {
+    // Arrange.
+    final BigInteger A = toBigUnsignedMod256(a);
+    final byte[] expected =
+        (index < 0 || index >= 32)
+            ? new byte[32]
+            : bigUnsignedToBytes32(A.shiftRight(8 * (31 - index)).and(BigInteger.valueOf(0xFF)));
+
+    // Act.
+    final byte[] got = UInt256.fromBytesBE(a).byteAt(index).toBytesBE();
+
+    // Assert.
+    assertThat(got).containsExactly(expected);
+  }
+
+  @Property(seed = "21345589")
+  void property_signExtend_matches_big_integer(
+      @ForAll("bytes0to64_shaped") final byte[] a, @ForAll("shifts") final int index) {
+    // Arrange.
+    final BigInteger A = toBigUnsignedMod256(a);
+    final BigInteger expectedValue;
+    if (index < 0 || index >= 31) {
+      expectedValue = A;
+    } else {
+      final int bits = 8 * (index + 1);
+      final BigInteger low = A.mod(BigInteger.ONE.shiftLeft(bits));
+      expectedValue =
+          A.testBit(bits - 1) ? low.subtract(BigInteger.ONE.shiftLeft(bits)).mod(TWO_256) : low;
+    }
+
+    // Act.
+    final byte[] got = UInt256.fromBytesBE(a).signExtend(index).toBytesBE();
+
+    // Assert.
+    assertThat(got).containsExactly(bigUnsignedToBytes32(expectedValue));
+  }
+
   // --------------------------------------------------------------------------
   // endregion
 
@@ -182,4 +182,104 @@ class OperandStackTest {
     }
     assertThatThrownBy(() -> stack.push(UInt256.ONE)).isInstanceOf(OverflowException.class);
   }
+
+  @Test
+  void pushPopLimbs() {
+    final OperandStack stack = new OperandStack(2);
+    stack.pushUInt256(limbs(1));
+    stack.push(Bytes32.fromHexString("0x02"));
+    assertThat(stack.popUInt256()).isEqualTo(limbs(2));
+    assertThat(stack.popUInt256()).isEqualTo(limbs(1));
+    assertThatThrownBy(stack::popUInt256).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void limbsAreBoxedWhenReadAsBytes() {
+    final OperandStack stack = new OperandStack(3);
+    stack.pushUInt256(new org.hyperledger.besu.evm.UInt256(1, 2, 3, 4));
+    stack.pushUInt256(limbs(5));
+    assertThat(stack.get(1))
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0x0000000000000001000000000000000200000000000000030000000000000004"));
+    assertThat(stack.get(1)).isSameAs(stack.get(1));
+    assertThat(stack.peek()).isEqualTo(Bytes32.fromHexString("0x05"));
+    stack.setUInt256(0, limbs(6));
+    assertThat(stack.pop()).isEqualTo(Bytes32.fromHexString("0x06"));
+  }
+
+  @Test
+  void dupAndSwapKeepLimbs() {
+    final OperandStack stack = new OperandStack(3);
+    stack.push(Bytes32.fromHexString("0x01"));
+    stack.pushUInt256(limbs(2));
+    stack.dup(1);
+    assertThat(stack.getUInt256(0)).isEqualTo(limbs(1));
+    stack.swap(1);
+    assertThat(stack.getUInt256(0)).isEqualTo(limbs(2));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThatThrownBy(() -> stack.dup(0)).isInstanceOf(OverflowException.class);
+    assertThatThrownBy(() -> stack.swap(3)).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void preserveTopWithLimbs() {
+    final OperandStack stack = new OperandStack(4);
+    stack.pushUInt256(limbs(1));
+    stack.pushUInt256(limbs(2));
+    stack.pushUInt256(limbs(3));
+    stack.push(Bytes32.fromHexString("0x04"));
+    stack.preserveTop(1, 2);
+    assertThat(stack.size()).isEqualTo(3);
+    assertThat(stack.getUInt256(0)).isEqualTo(limbs(4));
+    assertThat(stack.getUInt256(1)).isEqualTo(limbs(3));
+    assertThat(stack.getUInt256(2)).isEqualTo(limbs(1));
+  }
+
+  @Test
+  void arithmeticRunsInPlaceOnMixedOperands() {
+    final OperandStack stack = new OperandStack(4);
+    stack.push(Bytes32.fromHexString("0x07"));
+    stack.pushUInt256(limbs(6));
+    stack.mul();
+    assertThat(stack.size()).isEqualTo(1);
+    assertThat(stack.getUInt256(0)).isEqualTo(limbs(42));
+    stack.push(Bytes32.fromHexString("0x0100"));
+    stack.div();
+    assertThat(stack.getUInt256(0)).isEqualTo(limbs(6));
+    stack.pushUInt256(limbs(12).neg());
+    stack.signedDiv();
+    assertThat(stack.getUInt256(0)).isEqualTo(limbs(2).neg());
+    stack.pop();
+    stack.pushUInt256(limbs(6));
+    stack.pushUInt256(limbs(3));
+    stack.exp();
+    assertThat(stack.getUInt256(0)).isEqualTo(limbs(3 * 3 * 3 * 3 * 3 * 3));
+    assertThat(stack.bitLength(0)).isEqualTo(10);
+    stack.pushUInt256(limbs(30));
+    stack.byteAt();
+    assertThat(stack.getUInt256(0)).isEqualTo(limbs(2));
+    stack.pushUInt256(limbs(0xFF));
+    stack.pushUInt256(limbs(0));
+    stack.signExtend();
+    assertThat(stack.getUInt256(0)).isEqualTo(limbs(1).neg());
+    stack.pop();
+    stack.pop();
+    assertThatThrownBy(stack::mul).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void equalityIgnoresOperandRepresentation() {
+    final OperandStack bytes = new OperandStack(2);
+    bytes.push(Bytes32.fromHexString("0x01"));
+    bytes.push(Bytes32.fromHexString("0x02"));
+    final OperandStack limbs = new OperandStack(2);
+    limbs.pushUInt256(limbs(1));
+    limbs.pushUInt256(limbs(2));
+    assertThat(limbs).isEqualTo(bytes).hasSameHashCodeAs(bytes).hasToString(bytes.toString());
+  }
+
+  private static org.hyperledger.besu.evm.UInt256 limbs(final long value) {
+    return org.hyperledger.besu.evm.UInt256.fromLong(value);
+  }
 }
@@ -15,15 +15,9 @@
 package org.hyperledger.besu.evm.operation;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.evm.frame.MessageFrame;
-
-import java.util.ArrayDeque;
-import java.util.Deque;
+import org.hyperledger.besu.evm.testutils.TestMessageFrameBuilder;
 
 import net.jqwik.api.Arbitraries;
 import net.jqwik.api.Arbitrary;
@@ -365,24 +359,12 @@ public class SarOperationPropertyBasedTest {
 
   private Bytes runOperation(
       final Bytes shift, final Bytes value, final OperationExecutor executor) {
-    final MessageFrame frame = mock(MessageFrame.class);
-    final Deque<Bytes> stack = new ArrayDeque<>();
-    stack.push(value);
-    stack.push(shift);
-
-    when(frame.popStackItem()).thenAnswer(invocation -> stack.pop());
-
-    final Bytes[] result = new Bytes[1];
-    doAnswer(
-            invocation -> {
-              result[0] = invocation.getArgument(0);
-              return null;
-            })
-        .when(frame)
-        .pushStackItem(any(Bytes.class));
+    // the optimized operations work on the limbs held by the operand stack of a real frame
+    final MessageFrame frame =
+        new TestMessageFrameBuilder().pushStackItem(value).pushStackItem(shift).build();
 
     executor.execute(frame);
-    return result[0];
+    return frame.popStackItem();
   }
 
   private Bytes intToMinimalBytes(final int value) {
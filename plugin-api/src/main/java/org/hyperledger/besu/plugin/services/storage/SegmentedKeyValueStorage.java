@@ -17,6 +17,8 @@ package org.hyperledger.besu.plugin.services.storage;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -38,6 +40,48 @@ public interface SegmentedKeyValueStorage extends Closeable {
    */
   Optional<byte[]> get(SegmentIdentifier segment, byte[] key) throws StorageException;
 
+  /**
+   * Get the values associated with several keys of the same segment. Storage implementations
+   * backed by disk can serve the lookups as a single batch, which saves a round trip per key and
+   * lets the storage coalesce the I/O.
+   *
+   * @param segment the segment
+   * @param keys the keys to look up
+   * @return the values persisted at the keys, in the order of the keys, empty for absent keys
+   * @throws StorageException the storage exception
+   */
+  default List<Optional<byte[]>> multiGet(final SegmentIdentifier segment, final List<byte[]> keys)
+      throws StorageException {
+    final List<Optional<byte[]>> values = new ArrayList<>(keys.size());
+    for (final byte[] key : keys) {
+      values.add(get(segment, key));
+    }
+    return values;
+  }
+
+  /**
+   * Get the values associated with several keys spread across segments, the key at a given index
+   * being looked up in the segment at the same index.
+   *
+   * @param segments the segment of each key
+   * @param keys the keys to look up
+   * @return the values persisted at the keys, in the order of the keys, empty for absent keys
+   * @throws StorageException the storage exception
+   * @throws IllegalArgumentException if there is not exactly one segment per key
+   */
+  default List<Optional<byte[]>> multiGet(
+      final List<SegmentIdentifier> segments, final List<byte[]> keys) throws StorageException {
+    if (segments.size() != keys.size()) {
+      throw new IllegalArgumentException(
+          "Expected one segment per key, got " + segments.size() + " for " + keys.size());
+    }
+    final List<Optional<byte[]>> values = new ArrayList<>(keys.size());
+    for (int i = 0; i < keys.size(); i++) {
+      values.add(get(segments.get(i), keys.get(i)));
+    }
+    return values;
+  }
+
   /**
    * Finds the key and corresponding value that is "nearest before" the specified key. "Nearest
    * before" is defined as the closest key that is either exactly matching the supplied key or
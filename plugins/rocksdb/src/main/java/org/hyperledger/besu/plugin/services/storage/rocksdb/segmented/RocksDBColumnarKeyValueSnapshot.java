@@ -26,6 +26,9 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbIterator;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -115,6 +118,51 @@ public class RocksDBColumnarKeyValueSnapshot
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final SegmentIdentifier segment, final List<byte[]> keys)
+      throws StorageException {
+    throwIfClosed();
+    if (keys.isEmpty()) {
+      return List.of();
+    }
+    final boolean useCache = isReadCacheEnabledForSnapshots && segment.isEligibleToHighSpecFlag();
+    final List<Optional<byte[]>> values = new ArrayList<>(Collections.nCopies(keys.size(), null));
+    final List<Integer> missingIndexes = new ArrayList<>(keys.size());
+    final List<byte[]> missingKeys = new ArrayList<>(keys.size());
+    for (int i = 0; i < keys.size(); i++) {
+      final Optional<byte[]> cached =
+          useCache
+              ? maybeCache.get().getIfPresent(makeCacheKey(segment.getId(), keys.get(i)))
+              : null;
+      if (cached == null) {
+        missingIndexes.add(i);
+        missingKeys.add(keys.get(i));
+      } else {
+        values.set(i, cached);
+      }
+    }
+    if (missingKeys.isEmpty()) {
+      return values;
+    }
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      final ColumnFamilyHandle handle = columnFamilyMapper.apply(segment);
+      final List<byte[]> read =
+          snapshot.multiGetAsList(
+              Collections.nCopies(missingKeys.size(), handle), readOptions, missingKeys);
+      for (int i = 0; i < read.size(); i++) {
+        final Optional<byte[]> value = Optional.ofNullable(read.get(i));
+        values.set(missingIndexes.get(i), value);
+        if (useCache) {
+          maybeCache.get().put(makeCacheKey(segment.getId(), missingKeys.get(i)), value);
+        }
+      }
+      return values;
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   private Optional<byte[]> getFromCacheOrRead(
       final byte[] segmentId,
       final byte[] key,
@@ -32,6 +32,7 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksD
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -419,6 +420,45 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final SegmentIdentifier segment, final List<byte[]> keys)
+      throws StorageException {
+    throwIfClosed();
+    if (keys.isEmpty()) {
+      return List.of();
+    }
+    return multiGetFromColumns(Collections.nCopies(keys.size(), safeColumnHandle(segment)), keys);
+  }
+
+  @Override
+  public List<Optional<byte[]>> multiGet(
+      final List<SegmentIdentifier> segments, final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+    if (segments.size() != keys.size()) {
+      throw new IllegalArgumentException(
+          "Expected one segment per key, got " + segments.size() + " for " + keys.size());
+    }
+    if (keys.isEmpty()) {
+      return List.of();
+    }
+    return multiGetFromColumns(segments.stream().map(this::safeColumnHandle).toList(), keys);
+  }
+
+  private List<Optional<byte[]>> multiGetFromColumns(
+      final List<ColumnFamilyHandle> columnHandles, final List<byte[]> keys)
+      throws StorageException {
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      final List<byte[]> values = getDB().multiGetAsList(readOptions, columnHandles, keys);
+      final List<Optional<byte[]>> result = new ArrayList<>(values.size());
+      for (final byte[] value : values) {
+        result.add(Optional.ofNullable(value));
+      }
+      return result;
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public Optional<NearestKeyValue> getNearestBefore(
       final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
 
+import java.util.List;
+
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.ReadOptions;
@@ -49,4 +51,12 @@ class RocksDBSnapshot {
       throws RocksDBException {
     return db.get(columnFamilyHandle, readOptions, key);
   }
+
+  public List<byte[]> multiGetAsList(
+      final List<ColumnFamilyHandle> columnFamilyHandles,
+      final ReadOptions readOptions,
+      final List<byte[]> keys)
+      throws RocksDBException {
+    return db.multiGetAsList(readOptions, columnFamilyHandles, keys);
+  }
 }
@@ -17,13 +17,19 @@ package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.services.kvstore.LayeredKeyValueStorage;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.NavigableMap;
 import java.util.Optional;
@@ -336,4 +342,39 @@ public class LayeredKeyValueStorageTest {
     assertArrayEquals(key3, resultList.get(2).getKey());
     assertArrayEquals(value3, resultList.get(2).getValue());
   }
+
+  @Test
+  void shouldResolveOnlyKeysMissingFromLayerWithSingleParentMultiGet() {
+    byte[] key1 = {1};
+    byte[] value1 = {10};
+    byte[] key2 = {2};
+    byte[] value2 = {20};
+    byte[] key3 = {3};
+    byte[] key4 = {4};
+    byte[] value4 = {40};
+
+    var hashValueStore = createSegmentMap();
+    hashValueStore.get(segmentId).put(Bytes.wrap(key2), Optional.of(value2));
+    hashValueStore.get(segmentId).put(Bytes.wrap(key3), Optional.empty());
+    layeredKeyValueStorage = new LayeredKeyValueStorage(hashValueStore, parentStorage);
+
+    when(parentStorage.multiGet(
+            eq(segmentId),
+            argThat(
+                (List<byte[]> keys) ->
+                    keys.size() == 2
+                        && Arrays.equals(keys.get(0), key1)
+                        && Arrays.equals(keys.get(1), key4))))
+        .thenReturn(List.of(Optional.of(value1), Optional.of(value4)));
+
+    List<Optional<byte[]>> result =
+        layeredKeyValueStorage.multiGet(segmentId, List.of(key1, key2, key3, key4));
+
+    assertEquals(4, result.size());
+    assertArrayEquals(value1, result.get(0).orElseThrow());
+    assertArrayEquals(value2, result.get(1).orElseThrow());
+    assertTrue(result.get(2).isEmpty());
+    assertArrayEquals(value4, result.get(3).orElseThrow());
+    verify(parentStorage, times(1)).multiGet(eq(segmentId), anyList());
+  }
 }
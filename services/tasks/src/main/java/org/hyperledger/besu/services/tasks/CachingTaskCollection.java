@@ -15,14 +15,19 @@
 package org.hyperledger.besu.services.tasks;
 
 import java.io.IOException;
-import java.util.ArrayDeque;
-import java.util.HashSet;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The Caching task collection.
  *
+ * <p>The cache is lock-free, so the threads adding and removing tasks only contend in the wrapped
+ * collection once the cache is full. The cache size is checked before a task is cached, so it is a
+ * soft limit that concurrent adds may briefly exceed.
+ *
  * @param <T> the type parameter
  */
 public class CachingTaskCollection<T> implements TaskCollection<T> {
@@ -38,12 +43,15 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
   /**
    * A cache of tasks to operate on before going to {@link CachingTaskCollection#wrappedCollection}
    */
-  private final Queue<Task<T>> cache = new ArrayDeque<>();
+  private final Queue<Task<T>> cache = new ConcurrentLinkedQueue<>();
+
+  // The number of tasks in the cache, counted before a task is queued and after it is removed
+  private final AtomicInteger cachedTaskCount = new AtomicInteger();
 
   // Tasks that have been removed, but not marked completed yet
-  private final Set<Task<T>> outstandingTasks = new HashSet<>();
+  private final Set<Task<T>> outstandingTasks = ConcurrentHashMap.newKeySet();
 
-  private boolean closed = false;
+  private volatile boolean closed = false;
 
   /**
    * Instantiates a new Caching task collection.
@@ -66,7 +74,7 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
   }
 
   @Override
-  public synchronized void add(final T taskData) {
+  public void add(final T taskData) {
     assertNotClosed();
     if (cacheSize() >= maxCacheSize) {
       // Too many tasks in the cache, push this to the underlying collection
@@ -75,32 +83,40 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
     }
 
     Task<T> newTask = new CachedTask<>(this, taskData);
+    cachedTaskCount.incrementAndGet();
     cache.add(newTask);
   }
 
   @Override
-  public synchronized Task<T> remove() {
+  public Task<T> remove() {
     assertNotClosed();
-    if (cache.size() == 0) {
+    final Task<T> pendingTask = cache.poll();
+    if (pendingTask == null) {
       return wrappedCollection.remove();
     }
 
-    final Task<T> pendingTask = cache.remove();
     outstandingTasks.add(pendingTask);
+    cachedTaskCount.decrementAndGet();
     return pendingTask;
   }
 
   @Override
-  public synchronized void clear() {
+  public void clear() {
     assertNotClosed();
     wrappedCollection.clear();
     outstandingTasks.clear();
-    cache.clear();
+    clearCache();
+  }
+
+  private void clearCache() {
+    while (cache.poll() != null) {
+      cachedTaskCount.decrementAndGet();
+    }
   }
 
   @Override
-  public synchronized long size() {
-    return wrappedCollection.size() + cache.size();
+  public long size() {
+    return wrappedCollection.size() + cachedTaskCount.get();
   }
 
   /**
@@ -108,12 +124,12 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
    *
    * @return the cache size
    */
-  public synchronized int cacheSize() {
-    return outstandingTasks.size() + cache.size();
+  public int cacheSize() {
+    return outstandingTasks.size() + cachedTaskCount.get();
   }
 
   @Override
-  public synchronized boolean isEmpty() {
+  public boolean isEmpty() {
     return size() == 0;
   }
 
@@ -121,26 +137,30 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
    * @return True if all tasks have been removed and processed.
    */
   @Override
-  public synchronized boolean allTasksCompleted() {
+  public boolean allTasksCompleted() {
     return cacheSize() == 0 && wrappedCollection.allTasksCompleted();
   }
 
-  private synchronized boolean completePendingTask(final CachedTask<T> cachedTask) {
+  private boolean completePendingTask(final CachedTask<T> cachedTask) {
     return outstandingTasks.remove(cachedTask);
   }
 
-  private synchronized void failPendingTask(final CachedTask<T> cachedTask) {
+  private void failPendingTask(final CachedTask<T> cachedTask) {
+    // count the task before it stops being outstanding, so it is never unaccounted for
+    cachedTaskCount.incrementAndGet();
     if (completePendingTask(cachedTask)) {
       cache.add(cachedTask);
+    } else {
+      cachedTaskCount.decrementAndGet();
     }
   }
 
   @Override
-  public synchronized void close() throws IOException {
+  public void close() throws IOException {
+    closed = true;
     outstandingTasks.clear();
-    cache.clear();
+    clearCache();
     wrappedCollection.close();
-    closed = true;
   }
 
   private void assertNotClosed() {
@@ -14,35 +14,44 @@
  */
 package org.hyperledger.besu.services.tasks;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The InMemory task queue.
  *
+ * <p>The queue is lock-free, so the pipeline threads adding and removing tasks do not contend on a
+ * monitor. The size is counted apart from the queue, incremented before a task is queued and
+ * decremented once a removed task is tracked as outstanding, so a task is always accounted for by
+ * either the size or the outstanding tasks, and {@link #allTasksCompleted()} never reports
+ * completion while a task is being handed over.
+ *
  * @param <T> the type parameter
  */
 public class InMemoryTaskQueue<T> implements TaskCollection<T> {
-  private final Queue<T> internalQueue = new ArrayDeque<>();
-  private final Set<InMemoryTask<T>> unfinishedOutstandingTasks = new HashSet<>();
+  private final Queue<T> internalQueue = new ConcurrentLinkedQueue<>();
+  private final AtomicLong size = new AtomicLong();
+  private final Set<InMemoryTask<T>> unfinishedOutstandingTasks = ConcurrentHashMap.newKeySet();
   private final AtomicBoolean closed = new AtomicBoolean(false);
 
   /** Default constructor. */
   public InMemoryTaskQueue() {}
 
   @Override
-  public synchronized void add(final T taskData) {
+  public void add(final T taskData) {
     assertNotClosed();
+    size.incrementAndGet();
     internalQueue.add(taskData);
   }
 
   @Override
-  public synchronized Task<T> remove() {
+  public Task<T> remove() {
     assertNotClosed();
     T data = internalQueue.poll();
     if (data == null) {
@@ -50,44 +59,47 @@ public class InMemoryTaskQueue<T> implements TaskCollection<T> {
     }
     InMemoryTask<T> task = new InMemoryTask<>(this, data);
     unfinishedOutstandingTasks.add(task);
+    size.decrementAndGet();
     return task;
   }
 
   @Override
-  public synchronized long size() {
+  public long size() {
     assertNotClosed();
-    return internalQueue.size();
+    return size.get();
   }
 
   @Override
-  public synchronized boolean isEmpty() {
+  public boolean isEmpty() {
     assertNotClosed();
     return size() == 0;
   }
 
   @Override
-  public synchronized void clear() {
+  public void clear() {
     assertNotClosed();
 
     unfinishedOutstandingTasks.clear();
-    internalQueue.clear();
+    clearInternalQueue();
   }
 
   /** Clear internal queue. */
   public void clearInternalQueue() {
-    internalQueue.clear();
+    while (internalQueue.poll() != null) {
+      size.decrementAndGet();
+    }
   }
 
   @Override
-  public synchronized boolean allTasksCompleted() {
+  public boolean allTasksCompleted() {
     assertNotClosed();
-    return isEmpty() && unfinishedOutstandingTasks.size() == 0;
+    return isEmpty() && unfinishedOutstandingTasks.isEmpty();
   }
 
   @Override
-  public synchronized void close() {
+  public void close() {
     closed.set(true);
-    internalQueue.clear();
+    clearInternalQueue();
   }
 
   private void assertNotClosed() {
@@ -101,17 +113,22 @@ public class InMemoryTaskQueue<T> implements TaskCollection<T> {
    *
    * @return the list
    */
-  public synchronized List<T> asList() {
+  public List<T> asList() {
     return new ArrayList<>(internalQueue);
   }
 
-  private synchronized void handleFailedTask(final InMemoryTask<T> task) {
+  private void handleFailedTask(final InMemoryTask<T> task) {
+    assertNotClosed();
+    // count the task before it stops being outstanding, so it is never unaccounted for
+    size.incrementAndGet();
     if (markTaskCompleted(task)) {
-      add(task.getData());
+      internalQueue.add(task.getData());
+    } else {
+      size.decrementAndGet();
     }
   }
 
-  private synchronized boolean markTaskCompleted(final InMemoryTask<T> task) {
+  private boolean markTaskCompleted(final InMemoryTask<T> task) {
     return unfinishedOutstandingTasks.remove(task);
   }
 
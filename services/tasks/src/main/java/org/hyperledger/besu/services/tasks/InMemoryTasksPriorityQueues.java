@@ -14,95 +14,108 @@
  */
 package org.hyperledger.besu.services.tasks;
 
-import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Queue;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
-
-import jakarta.validation.constraints.NotNull;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The InMemory tasks priority queues.
  *
+ * <p>Tasks are queued by depth, the deepest tasks being removed first, and within a depth by
+ * priority, tasks of equal priority being removed in insertion order. Each depth is a lock-free
+ * skip list, so the pipeline threads adding and removing tasks do not contend on a monitor; only
+ * adding the queue of a depth that was never seen before takes a lock. The size is counted apart
+ * from the queues, incremented before a task is queued and decremented once a removed task is
+ * tracked as outstanding, so {@link #allTasksCompleted()} never reports completion while a task is
+ * being handed over.
+ *
  * @param <T> the type parameter
  */
 public class InMemoryTasksPriorityQueues<T extends TasksPriorityProvider>
     implements TaskCollection<T> {
-  private final List<PriorityQueue<T>> internalQueues = new ArrayList<>(16);
-  private final Set<InMemoryTask<T>> unfinishedOutstandingTasks = new HashSet<>();
+  private static final int INITIAL_DEPTH_COUNT = 16;
+  private static final Comparator<QueueKey> QUEUE_ORDER =
+      Comparator.comparingLong(QueueKey::priority).thenComparingLong(QueueKey::sequence);
+
+  private final List<ConcurrentSkipListMap<QueueKey, T>> internalQueues =
+      new CopyOnWriteArrayList<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicLong size = new AtomicLong();
+  private final Set<InMemoryTask<T>> unfinishedOutstandingTasks = ConcurrentHashMap.newKeySet();
   private final AtomicBoolean closed = new AtomicBoolean(false);
 
   /** Instantiates a new InMemory tasks priority queues. */
   public InMemoryTasksPriorityQueues() {
-    clearInternalQueues();
+    addQueues(INITIAL_DEPTH_COUNT - 1);
   }
 
   /** Clear internal queues. */
-  public synchronized void clearInternalQueues() {
-    internalQueues.clear();
-    for (int i = 0; i < 16; i++) {
-      internalQueues.add(newEmptyQueue());
+  public void clearInternalQueues() {
+    for (final ConcurrentSkipListMap<QueueKey, T> queue : internalQueues) {
+      while (queue.pollFirstEntry() != null) {
+        size.decrementAndGet();
+      }
     }
   }
 
-  @NotNull
-  private PriorityQueue<T> newEmptyQueue() {
-    return new PriorityQueue<>(Comparator.comparingLong(TasksPriorityProvider::getPriority));
-  }
-
   @Override
-  public synchronized void add(final T taskData) {
+  public void add(final T taskData) {
     assertNotClosed();
-    var dequeue = findQueue(taskData.getDepth());
-    dequeue.add(taskData);
+    size.incrementAndGet();
+    enqueue(taskData);
+  }
+
+  private void enqueue(final T taskData) {
+    findQueue(taskData.getDepth())
+        .put(new QueueKey(taskData.getPriority(), sequence.getAndIncrement()), taskData);
   }
 
-  private PriorityQueue<T> findQueue(final int priority) {
-    while (priority + 1 > internalQueues.size()) {
-      internalQueues.add(newEmptyQueue());
+  private ConcurrentSkipListMap<QueueKey, T> findQueue(final int depth) {
+    if (depth >= internalQueues.size()) {
+      addQueues(depth);
     }
-    return internalQueues.get(priority);
+    return internalQueues.get(depth);
   }
 
-  @Override
-  public synchronized Task<T> remove() {
-    assertNotClosed();
-    final Queue<T> lastNonEmptyQueue = findLastNonEmptyQueue();
-    if (lastNonEmptyQueue.isEmpty()) {
-      return null;
+  private synchronized void addQueues(final int depth) {
+    while (depth + 1 > internalQueues.size()) {
+      internalQueues.add(new ConcurrentSkipListMap<>(QUEUE_ORDER));
     }
-    T data = lastNonEmptyQueue.remove();
-    InMemoryTask<T> task = new InMemoryTask<>(this, data);
-    unfinishedOutstandingTasks.add(task);
-    return task;
   }
 
-  private Queue<T> findLastNonEmptyQueue() {
-    for (int i = internalQueues.size() - 1; i > 0; i--) {
-      final Queue<T> queue = internalQueues.get(i);
-      if (!queue.isEmpty()) {
-        return queue;
+  @Override
+  public Task<T> remove() {
+    assertNotClosed();
+    for (int depth = internalQueues.size() - 1; depth >= 0; depth--) {
+      final Map.Entry<QueueKey, T> entry = internalQueues.get(depth).pollFirstEntry();
+      if (entry != null) {
+        InMemoryTask<T> task = new InMemoryTask<>(this, entry.getValue());
+        unfinishedOutstandingTasks.add(task);
+        size.decrementAndGet();
+        return task;
       }
     }
-    return internalQueues.get(0);
+    return null;
   }
 
   @Override
-  public synchronized long size() {
-    return internalQueues.stream().mapToInt(Queue::size).sum();
+  public long size() {
+    return size.get();
   }
 
   @Override
-  public synchronized boolean isEmpty() {
-    return findLastNonEmptyQueue().isEmpty();
+  public boolean isEmpty() {
+    return size() == 0;
   }
 
   @Override
-  public synchronized void clear() {
+  public void clear() {
     assertNotClosed();
 
     unfinishedOutstandingTasks.clear();
@@ -110,14 +123,14 @@ public class InMemoryTasksPriorityQueues<T extends TasksPriorityProvider>
   }
 
   @Override
-  public synchronized boolean allTasksCompleted() {
+  public boolean allTasksCompleted() {
     return isEmpty() && unfinishedOutstandingTasks.isEmpty();
   }
 
   @Override
-  public synchronized void close() {
+  public void close() {
     if (closed.compareAndSet(false, true)) {
-      internalQueues.clear();
+      clearInternalQueues();
       unfinishedOutstandingTasks.clear();
     }
   }
@@ -128,13 +141,18 @@ public class InMemoryTasksPriorityQueues<T extends TasksPriorityProvider>
     }
   }
 
-  private synchronized void handleFailedTask(final InMemoryTask<T> task) {
+  private void handleFailedTask(final InMemoryTask<T> task) {
+    assertNotClosed();
+    // count the task before it stops being outstanding, so it is never unaccounted for
+    size.incrementAndGet();
     if (markTaskCompleted(task)) {
-      add(task.getData());
+      enqueue(task.getData());
+    } else {
+      size.decrementAndGet();
     }
   }
 
-  private synchronized boolean markTaskCompleted(final InMemoryTask<T> task) {
+  private boolean markTaskCompleted(final InMemoryTask<T> task) {
     return unfinishedOutstandingTasks.remove(task);
   }
 
@@ -144,14 +162,15 @@ public class InMemoryTasksPriorityQueues<T extends TasksPriorityProvider>
    * @param request the request
    * @return the boolean
    */
-  public synchronized boolean contains(final T request) {
-    final PriorityQueue<T> queue = findQueue(request.getDepth());
-    return queue.contains(request)
+  public boolean contains(final T request) {
+    return findQueue(request.getDepth()).containsValue(request)
         || unfinishedOutstandingTasks.stream()
             .map(InMemoryTask::getData)
             .anyMatch(data -> data.equals(request));
   }
 
+  private record QueueKey(long priority, long sequence) {}
+
   private static class InMemoryTask<T extends TasksPriorityProvider> implements Task<T> {
     private final T data;
     private final InMemoryTasksPriorityQueues<T> queue;
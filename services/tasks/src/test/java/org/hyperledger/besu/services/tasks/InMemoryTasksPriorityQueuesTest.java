@@ -20,6 +20,11 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -131,6 +136,52 @@ public class InMemoryTasksPriorityQueuesTest {
     assertThat(removed.getData()).isNotEqualTo(item);
   }
 
+  @Test
+  public void shouldHandOverEveryTaskExactlyOnceWhenUsedConcurrently() throws Exception {
+    final int threadCount = 4;
+    final int itemsPerThread = 10_000;
+    final InMemoryTasksPriorityQueues<Item> queue = new InMemoryTasksPriorityQueues<>();
+    final CountDownLatch queuingFinished = new CountDownLatch(threadCount);
+    final AtomicInteger completed = new AtomicInteger();
+    final AtomicInteger failed = new AtomicInteger();
+    final ExecutorService executor = Executors.newFixedThreadPool(threadCount * 2);
+
+    for (int i = 0; i < threadCount; i++) {
+      executor.execute(
+          () -> {
+            try {
+              for (int j = 0; j < itemsPerThread; j++) {
+                queue.add(item(j % 32, j));
+              }
+            } finally {
+              queuingFinished.countDown();
+            }
+          });
+      executor.execute(
+          () -> {
+            while (queuingFinished.getCount() > 0 || !queue.allTasksCompleted()) {
+              final Task<Item> task = queue.remove();
+              if (task == null) {
+                continue;
+              }
+              // fail some tasks, so they are requeued and handed over again
+              if (task.getData().getPriority() % 10 == 0 && failed.incrementAndGet() <= 1_000) {
+                task.markFailed();
+              } else {
+                task.markCompleted();
+                completed.incrementAndGet();
+              }
+            }
+          });
+    }
+    executor.shutdown();
+
+    assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    assertThat(completed.get()).isEqualTo(threadCount * itemsPerThread);
+    assertThat(queue.size()).isZero();
+    assertThat(queue.allTasksCompleted()).isTrue();
+  }
+
   private Item item(final int depth, final int priority) {
     return new Item(depth, priority);
   }
@@ -74,6 +74,38 @@ public class MemoryBoundCache<K, V> {
     return cache.estimatedSize();
   }
 
+  /**
+   * Gets the total weight of the entries in the cache, as computed by the memory footprint
+   * calculator.
+   *
+   * @return the weighted size of the cache in bytes
+   */
+  public long weightedSize() {
+    return cache
+        .policy()
+        .eviction()
+        .map(eviction -> eviction.weightedSize().orElse(0L))
+        .orElse(0L);
+  }
+
+  /**
+   * Gets the total number of lookups that found a value in the cache.
+   *
+   * @return the total number of hits
+   */
+  public long hitCount() {
+    return cache.stats().hitCount();
+  }
+
+  /**
+   * Gets the total number of lookups that did not find a value in the cache.
+   *
+   * @return the total number of misses
+   */
+  public long missCount() {
+    return cache.stats().missCount();
+  }
+
   /**
    * Gets the hit rate of the cache.
    *
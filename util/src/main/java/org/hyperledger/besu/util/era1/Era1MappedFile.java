@@ -0,0 +1,203 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.util.era1;
+
+import org.hyperledger.besu.util.snappy.SnappyFactory;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.xerial.snappy.SnappyFramedInputStream;
+
+/**
+ * Random access to the blocks of an era1 file mapped in memory.
+ *
+ * <p>The block index at the end of the file gives the offset of the header entry of every block,
+ * which is followed by the body and receipts entries of the same block, so any block can be read
+ * without scanning the entries before it. Reads do not share any state, so blocks can be read and
+ * decompressed from several threads at once.
+ */
+public class Era1MappedFile {
+  private static final int HEADER_LENGTH = 8;
+  private static final int TYPE_LENGTH = 2;
+  // header, starting block number and block count
+  private static final int BLOCK_INDEX_OVERHEAD = HEADER_LENGTH + 2 * Long.BYTES;
+
+  private final MappedByteBuffer buffer;
+  private final SnappyFactory snappyFactory;
+  private final long startingBlockNumber;
+  private final int blockCount;
+  private final int blockIndexOffset;
+
+  private Era1MappedFile(
+      final MappedByteBuffer buffer,
+      final SnappyFactory snappyFactory,
+      final long startingBlockNumber,
+      final int blockCount,
+      final int blockIndexOffset) {
+    this.buffer = buffer;
+    this.snappyFactory = snappyFactory;
+    this.startingBlockNumber = startingBlockNumber;
+    this.blockCount = blockCount;
+    this.blockIndexOffset = blockIndexOffset;
+  }
+
+  /**
+   * Maps an era1 file in memory and reads its block index
+   *
+   * @param path The path of the era1 file
+   * @param snappyFactory A factory to provide objects for snappy decompression
+   * @return the mapped era1 file
+   * @throws IOException If the file cannot be mapped or does not end with a valid block index
+   */
+  public static Era1MappedFile map(final Path path, final SnappyFactory snappyFactory)
+      throws IOException {
+    final MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("era1 file is too large to be mapped: " + path);
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+    final int fileLength = buffer.capacity();
+    if (fileLength < BLOCK_INDEX_OVERHEAD) {
+      throw new IOException("era1 file is too short to hold a block index: " + path);
+    }
+    final long blockCount = buffer.getLong(fileLength - Long.BYTES);
+    final long blockIndexOffset = fileLength - BLOCK_INDEX_OVERHEAD - blockCount * Long.BYTES;
+    if (blockCount < 0
+        || blockIndexOffset < 0
+        || typeAt(buffer, (int) blockIndexOffset) != Era1Type.BLOCK_INDEX) {
+      throw new IOException("era1 file does not end with a block index: " + path);
+    }
+    return new Era1MappedFile(
+        buffer,
+        snappyFactory,
+        buffer.getLong((int) blockIndexOffset + HEADER_LENGTH),
+        (int) blockCount,
+        (int) blockIndexOffset);
+  }
+
+  /**
+   * Gets the number of the first block of the file
+   *
+   * @return the number of the first block of the file
+   */
+  public long getStartingBlockNumber() {
+    return startingBlockNumber;
+  }
+
+  /**
+   * Gets the number of blocks in the file
+   *
+   * @return the number of blocks in the file
+   */
+  public int getBlockCount() {
+    return blockCount;
+  }
+
+  /**
+   * Reads and decompresses the header of a block
+   *
+   * @param blockIndex the position of the block in the file, from 0
+   * @return the execution block header
+   * @throws IOException if the entry is not a compressed header or cannot be decompressed
+   */
+  public Era1ExecutionBlockHeader readExecutionBlockHeader(final int blockIndex)
+      throws IOException {
+    return new Era1ExecutionBlockHeader(
+        decompress(headerOffset(blockIndex), Era1Type.COMPRESSED_EXECUTION_BLOCK_HEADER),
+        blockIndex);
+  }
+
+  /**
+   * Reads and decompresses the body of a block
+   *
+   * @param blockIndex the position of the block in the file, from 0
+   * @return the execution block body
+   * @throws IOException if the entry is not a compressed body or cannot be decompressed
+   */
+  public Era1ExecutionBlockBody readExecutionBlockBody(final int blockIndex) throws IOException {
+    return new Era1ExecutionBlockBody(
+        decompress(bodyOffset(blockIndex), Era1Type.COMPRESSED_EXECUTION_BLOCK_BODY), blockIndex);
+  }
+
+  /**
+   * Reads and decompresses the transaction receipts of a block
+   *
+   * @param blockIndex the position of the block in the file, from 0
+   * @return the execution block receipts
+   * @throws IOException if the entry is not compressed receipts or cannot be decompressed
+   */
+  public Era1ExecutionBlockReceipts readExecutionBlockReceipts(final int blockIndex)
+      throws IOException {
+    final int offset = nextEntryOffset(bodyOffset(blockIndex));
+    return new Era1ExecutionBlockReceipts(
+        decompress(offset, Era1Type.COMPRESSED_EXECUTION_BLOCK_RECEIPTS), blockIndex);
+  }
+
+  private int headerOffset(final int blockIndex) {
+    if (blockIndex < 0 || blockIndex >= blockCount) {
+      throw new IndexOutOfBoundsException(
+          "block index " + blockIndex + " out of " + blockCount + " blocks");
+    }
+    // offsets are relative to the start of the block index entry
+    return blockIndexOffset
+        + (int) buffer.getLong(blockIndexOffset + HEADER_LENGTH + (blockIndex + 1) * Long.BYTES);
+  }
+
+  private int bodyOffset(final int blockIndex) {
+    return nextEntryOffset(headerOffset(blockIndex));
+  }
+
+  private int nextEntryOffset(final int offset) {
+    return offset + HEADER_LENGTH + lengthAt(offset);
+  }
+
+  private int lengthAt(final int offset) {
+    return buffer.getInt(offset + TYPE_LENGTH);
+  }
+
+  private byte[] decompress(final int offset, final Era1Type expectedType) throws IOException {
+    final Era1Type type = typeAt(buffer, offset);
+    if (type != expectedType) {
+      throw new IOException(
+          "Expected " + expectedType + " entry at offset " + offset + " but found " + type);
+    }
+    final byte[] compressed = new byte[lengthAt(offset)];
+    buffer.get(offset + HEADER_LENGTH, compressed);
+    try (SnappyFramedInputStream decompressionStream =
+        snappyFactory.createFramedInputStream(compressed)) {
+      return decompressionStream.readAllBytes();
+    }
+  }
+
+  private static Era1Type typeAt(final MappedByteBuffer buffer, final int offset)
+      throws IOException {
+    final byte[] typeCode = new byte[TYPE_LENGTH];
+    buffer.get(offset, typeCode);
+    try {
+      return Era1Type.getForTypeCode(typeCode);
+    } catch (final IllegalArgumentException e) {
+      throw new IOException("Invalid entry at offset " + offset, e);
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.util.era1;
+
+import org.hyperledger.besu.util.snappy.SnappyFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xerial.snappy.SnappyFramedOutputStream;
+
+public class Era1MappedFileTest {
+
+  private static final int BLOCK_COUNT = 3;
+  private static final long STARTING_BLOCK_NUMBER = 8192;
+
+  private final SnappyFactory snappyFactory = new SnappyFactory();
+
+  @TempDir private Path tempDir;
+
+  @Test
+  public void testReadBlocksOutOfOrder() throws IOException {
+    final Era1MappedFile era1File = Era1MappedFile.map(writeEra1File(), snappyFactory);
+
+    Assertions.assertEquals(STARTING_BLOCK_NUMBER, era1File.getStartingBlockNumber());
+    Assertions.assertEquals(BLOCK_COUNT, era1File.getBlockCount());
+    for (int blockIndex = BLOCK_COUNT - 1; blockIndex >= 0; blockIndex--) {
+      final Era1ExecutionBlockHeader header = era1File.readExecutionBlockHeader(blockIndex);
+      Assertions.assertArrayEquals(content("header", blockIndex), header.header());
+      Assertions.assertEquals(blockIndex, header.blockIndex());
+      Assertions.assertArrayEquals(
+          content("body", blockIndex), era1File.readExecutionBlockBody(blockIndex).block());
+      Assertions.assertArrayEquals(
+          content("receipts", blockIndex),
+          era1File.readExecutionBlockReceipts(blockIndex).receipts());
+    }
+  }
+
+  @Test
+  public void testReadBlockOutOfRange() throws IOException {
+    final Era1MappedFile era1File = Era1MappedFile.map(writeEra1File(), snappyFactory);
+
+    Assertions.assertThrows(
+        IndexOutOfBoundsException.class, () -> era1File.readExecutionBlockHeader(BLOCK_COUNT));
+  }
+
+  @Test
+  public void testMapFileWithoutBlockIndex() throws IOException {
+    final Path path = tempDir.resolve("truncated.era1");
+    Files.write(path, entry(Era1Type.VERSION, new byte[0]));
+
+    Assertions.assertThrows(IOException.class, () -> Era1MappedFile.map(path, snappyFactory));
+  }
+
+  private Path writeEra1File() throws IOException {
+    final ByteArrayOutputStream file = new ByteArrayOutputStream();
+    file.writeBytes(entry(Era1Type.VERSION, new byte[0]));
+    final long[] offsets = new long[BLOCK_COUNT];
+    for (int blockIndex = 0; blockIndex < BLOCK_COUNT; blockIndex++) {
+      offsets[blockIndex] = file.size();
+      file.writeBytes(
+          entry(
+              Era1Type.COMPRESSED_EXECUTION_BLOCK_HEADER,
+              compress(content("header", blockIndex))));
+      file.writeBytes(
+          entry(Era1Type.COMPRESSED_EXECUTION_BLOCK_BODY, compress(content("body", blockIndex))));
+      file.writeBytes(
+          entry(
+              Era1Type.COMPRESSED_EXECUTION_BLOCK_RECEIPTS,
+              compress(content("receipts", blockIndex))));
+      file.writeBytes(entry(Era1Type.TOTAL_DIFFICULTY, new byte[32]));
+    }
+    file.writeBytes(entry(Era1Type.ACCUMULATOR, new byte[32]));
+
+    // block offsets are relative to the start of the block index entry
+    final long blockIndexOffset = file.size();
+    final ByteBuffer blockIndex =
+        ByteBuffer.allocate((BLOCK_COUNT + 2) * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    blockIndex.putLong(STARTING_BLOCK_NUMBER);
+    for (final long offset : offsets) {
+      blockIndex.putLong(offset - blockIndexOffset);
+    }
+    blockIndex.putLong(BLOCK_COUNT);
+    file.writeBytes(entry(Era1Type.BLOCK_INDEX, blockIndex.array()));
+
+    final Path path = tempDir.resolve("mainnet-00001-00000000.era1");
+    Files.write(path, file.toByteArray());
+    return path;
+  }
+
+  private static byte[] content(final String part, final int blockIndex) {
+    return (part + " of block " + blockIndex).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private byte[] compress(final byte[] data) throws IOException {
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (SnappyFramedOutputStream out = snappyFactory.createFramedOutputStream(compressed)) {
+      out.write(data);
+    }
+    return compressed.toByteArray();
+  }
+
+  private static byte[] entry(final Era1Type type, final byte[] data) {
+    return ByteBuffer.allocate(8 + data.length)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .put(type.getTypeCode())
+        .putInt(data.length)
+        .putShort((short) 0)
+        .put(data)
+        .array();
+  }
+}